@@ -0,0 +1,56 @@
+package duke.parse;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import duke.exception.DukeException;
+import duke.task.Task;
+import duke.task.TaskList;
+
+/**
+ * Compares the usual `Parser` with the garbage-free `FastParser` on the
+ * most frequent commands. Run with -PjmhProfilers=gc to compare the bytes
+ * allocated per command (gc.alloc.rate.norm).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CommandDispatchBenchmark {
+
+    @Param({"mark 7", "unmark 7", "priority 7 high", "list"})
+    private String input;
+
+    private TaskList tasks;
+    private FastParser fastParser;
+
+    /**
+     * Builds a short list of tasks, like a user's.
+     */
+    @Setup
+    public void setUp() {
+        tasks = new TaskList(new ArrayList<Task>());
+        for (int i = 0; i < 20; i++) {
+            tasks.addTask(new Task("sweep room " + i), false);
+        }
+        fastParser = new FastParser();
+    }
+
+    @Benchmark
+    public String parser() throws DukeException {
+        return Parser.settleInput(input, tasks);
+    }
+
+    @Benchmark
+    public int fastParser() {
+        return fastParser.settleInput(input, tasks).length();
+    }
+}
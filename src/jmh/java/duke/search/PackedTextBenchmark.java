@@ -0,0 +1,69 @@
+package duke.search;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import duke.task.Task;
+import duke.task.TaskList;
+
+/**
+ * Compares an exact search of a packed description buffer with calling
+ * String.contains on each task's description in turn, as
+ * `TaskList.searchUsingString` does, for searches that match few tasks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PackedTextBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    @Param({"report 99", "sweep room 12"})
+    private String query;
+
+    private TaskList tasks;
+
+    /**
+     * Builds a list of mixed tasks and packs their descriptions.
+     */
+    @Setup
+    public void setUp() {
+        tasks = new TaskList(new ArrayList<Task>(size));
+        for (int i = 0; i < size; i++) {
+            if (i % 3 == 0) {
+                tasks.addTask(new Task("submit report " + i, "2026-11-01", Task.Type.DEADLINE), false);
+            } else {
+                tasks.addTask(new Task("sweep room " + i), false);
+            }
+        }
+        tasks.getPackedText();
+    }
+
+    @Benchmark
+    public int packed() {
+        return tasks.getPackedText().find(query, Integer.MAX_VALUE).size();
+    }
+
+    @Benchmark
+    public int strings() {
+        String[] words = query.split(" ");
+        return tasks.filter(task -> {
+            for (String word : words) {
+                if (!task.getDescription().contains(word)) {
+                    return false;
+                }
+            }
+            return true;
+        }).size();
+    }
+}
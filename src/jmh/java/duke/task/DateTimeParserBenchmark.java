@@ -0,0 +1,61 @@
+package duke.task;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares `DateTimeParser` with the way that deadlines used to be read:
+ * `LocalDate.parse` with a "yyyy-MM-dd" formatter, which throws for any
+ * text that is not a date. Run with -PjmhProfilers=gc to compare the bytes
+ * allocated per parse (gc.alloc.rate.norm).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DateTimeParserBenchmark {
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    @Param({"2026-10-20", "home", "next fri 5pm"})
+    private String text;
+
+    private DateTimeParser parser;
+    private LocalDateTime now;
+
+    @Setup
+    public void setUp() {
+        parser = new DateTimeParser();
+        now = LocalDateTime.of(2026, 10, 19, 10, 30);
+    }
+
+    @Benchmark
+    public LocalDate formatter() {
+        try {
+            return LocalDate.parse(text, FORMATTER);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    @Benchmark
+    public boolean dateTimeParser() {
+        return parser.parse(text, now);
+    }
+
+    @Benchmark
+    public LocalDateTime dateTimeParserResult() {
+        return parser.parse(text, now) ? parser.getDateTime() : null;
+    }
+}
@@ -0,0 +1,62 @@
+package duke.task;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares sequential and ForkJoin scans of a TaskList across split
+ * thresholds, to choose `ParallelScan.DEFAULT_THRESHOLD`. A threshold of
+ * Integer.MAX_VALUE is the sequential baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskListScanBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    @Param({"1024", "8192", "65536", "2147483647"})
+    private int threshold;
+
+    private ArrayList<Task> tasks;
+
+    /**
+     * Builds a list of mixed tasks.
+     */
+    @Setup
+    public void setUp() {
+        tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            if (i % 3 == 0) {
+                tasks.add(new Task("submit report " + i, "2026-11-01", Task.Type.DEADLINE));
+            } else {
+                tasks.add(new Task("sweep room " + i));
+            }
+        }
+    }
+
+    @Benchmark
+    public ArrayList<Task> filter() {
+        return ParallelScan.filter(tasks, threshold, task -> task.getDescription().contains("report 9"));
+    }
+
+    @Benchmark
+    public long count() {
+        return ParallelScan.count(tasks, threshold, task -> task.getType() == Task.Type.DEADLINE);
+    }
+
+    @Benchmark
+    public String render() {
+        return ParallelScan.render(tasks, threshold);
+    }
+}
@@ -1,11 +1,24 @@
 package duke;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.time.LocalDateTime;
 import java.util.Scanner;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Consumer;
+
 import javafx.application.Application;
 
 import duke.exception.DukeException;
+import duke.command.ResponseCache;
+import duke.parse.FastParser;
 import duke.parse.Parser;
-import duke.storage.Storage;
+import duke.reminder.ReminderService;
+import duke.storage.RecoveryReport;
+import duke.storage.WorkspaceManager;
+import duke.task.TaskHistory;
 import duke.task.TaskList;
 import duke.ui.Ui;
 
@@ -17,23 +30,77 @@ import duke.ui.Ui;
 public class Duke {
 
     /**
-     * Stores all the tasks of the user.
+     * The directory that workspaces are stored in, unless the duke.dataDir
+     * system property says otherwise.
+     */
+    private static final String DEFAULT_DATA_DIRECTORY = "data";
+
+    /**
+     * Stores all the workspaces, and thus tasks, of the user.
+     */
+    private WorkspaceManager workspaces;
+
+    private ReminderService reminders;
+
+    /**
+     * Handles the most frequent commands without creating garbage.
      */
-    private TaskList tasks;
+    private final FastParser fastParser = new FastParser();
 
-    private Storage storage;
+    /**
+     * Remembers responses to commands that only read the tasks.
+     */
+    private final ResponseCache responses = new ResponseCache(ResponseCache.DEFAULT_MAX_WEIGHT);
 
     /**
      * Loads a previously stored list of tasks if present - if not,
-     * creates a new file.
+     * creates a new file. Reminders for upcoming deadlines are printed
+     * to the console.
      */
     public void loadFile() throws DukeException {
-        // Handling of the .txt file containing the list of tasks.
-        String filePath = "/Users/kw/Library/Mobile Documents/com~apple~CloudDocs/MODS/"
-                + "cs2103/projects/ip/data/duke.txt";
-        storage = new Storage(filePath);
-        tasks = storage.getTasks();
+        loadFile(Ui::print);
+    }
+
+    /**
+     * Loads a previously stored list of tasks if present - if not,
+     * creates a new file.
+     *
+     * @param notifier Receives reminders for upcoming deadlines, and word of
+     *                 any damage found in the saved tasks.
+     */
+    public void loadFile(Consumer<String> notifier) throws DukeException {
+        // Each workspace is a .txt file, or a .lsm store if duke.storage=lsm, in the data directory,
+        // loaded when it is first opened.
+        Path dataDirectory = Paths.get(System.getProperty("duke.dataDir", DEFAULT_DATA_DIRECTORY));
+        String fileExtension = System.getProperty("duke.storage", "txt").equals("lsm")
+                ? WorkspaceManager.LOG_STRUCTURED_EXTENSION
+                : WorkspaceManager.TEXT_EXTENSION;
+        reminders = createReminders(notifier);
+        workspaces = new WorkspaceManager(dataDirectory, fileExtension, WorkspaceManager.DEFAULT_MAX_RESIDENT,
+                reminders::watch, unloaded -> {
+                    reminders.unwatch(unloaded);
+                    responses.forget(unloaded);
+                });
+        TaskList tasks = workspaces.open(WorkspaceManager.DEFAULT_WORKSPACE);
         assert tasks != null: "tasks should not be null";
+        RecoveryReport recovery = workspaces.getCurrentRecoveryReport();
+        if (!recovery.isClean()) {
+            notifier.accept(recovery.toString());
+        }
+    }
+
+    /**
+     * Creates a service that sends reminders for the deadlines of loaded
+     * tasks, on a background thread that does not keep the programme alive.
+     */
+    private static ReminderService createReminders(Consumer<String> notifier) {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "mumbot-reminders");
+            thread.setDaemon(true);
+            return thread;
+        });
+        return new ReminderService(Clock.systemDefaultZone(), ReminderService.DEFAULT_LEAD_TIME,
+                notifier, scheduler);
     }
 
     /**
@@ -44,7 +111,44 @@ public class Duke {
      * @throws DukeException Throws a DukeException.
      */
     public String getResponse(String input) throws DukeException {
-        return Parser.settleInput(input, tasks);
+        if (input.equals("Bye")) {
+            workspaces.saveAll();
+        }
+        TaskList tasks = workspaces.getCurrentTasks();
+        boolean isCacheable = ResponseCache.isCacheable(input);
+        if (isCacheable) {
+            String cached = responses.get(tasks, input);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        // Started before the first command, so that its first version is the list as it was loaded.
+        TaskHistory history = tasks.getHistory();
+        String response;
+        try {
+            CharSequence fastResponse = fastParser.settleInput(input, tasks);
+            response = fastResponse != null ? fastResponse.toString() : Parser.settleInput(input, workspaces);
+        } finally {
+            history.commit(LocalDateTime.now());
+        }
+        DukeException logFailure = workspaces.takeCurrentLogFailure();
+        if (logFailure != null) {
+            // The change was made, but would be lost on the next sync; say so rather than fail the command.
+            response = response + "\n" + logFailure;
+        }
+        if (isCacheable) {
+            responses.put(tasks, input, response);
+        }
+        return response;
+    }
+
+    /**
+     * Returns the tasks of the workspace that is open, which changes when
+     * the user switches workspace.
+     */
+    public TaskList getCurrentTasks() {
+        return workspaces.getCurrentTasks();
     }
 
     /**
@@ -60,7 +164,7 @@ public class Duke {
      * Saves the current list of tasks and closes the programme.
      */
     private void exit() throws DukeException {
-        storage.save();
+        workspaces.saveAll();
         System.exit(0);
     }
 }
@@ -1,6 +1,8 @@
 package duke;
 
 import java.io.IOException;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
 
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
@@ -8,28 +10,57 @@ import javafx.scene.Scene;
 import javafx.scene.layout.AnchorPane;
 import javafx.stage.Stage;
 
-import duke.exception.DukeException;
+import duke.ui.DialogBox;
 import duke.ui.MainWindow;
 
 /**
  * A GUI for Duke using FXML.
+ *
+ * The window is shown before the tasks are loaded, and the classes needed
+ * to show the first reply are loaded in parallel with it, so that the user
+ * can start typing as early as possible. How long that took is printed to
+ * the console. Launching with -Dduke.exitAfterStartup=true quits as soon as
+ * the tasks are loaded, which is how the class list for the class-data
+ * sharing archive is recorded (see the appCds task in build.gradle).
  */
 public class Main extends Application {
 
     private Duke duke;
 
     @Override
-    public void start(Stage stage) throws DukeException {
+    public void start(Stage stage) {
+        long launchedAt = ProcessHandle.current().info().startInstant()
+                .map(Instant::toEpochMilli).orElse(System.currentTimeMillis());
+        warmUp();
         try {
             duke = new Duke();
             FXMLLoader fxmlLoader = new FXMLLoader(Main.class.getResource("/view/MainWindow.fxml"));
             AnchorPane ap = fxmlLoader.load();
             Scene scene = new Scene(ap);
             stage.setScene(scene);
-            fxmlLoader.<MainWindow>getController().setDuke(duke);
+            CompletableFuture<Void> loaded = fxmlLoader.<MainWindow>getController().setDuke(duke);
             stage.show();
+            long shownAt = System.currentTimeMillis();
+            loaded.thenRun(() -> {
+                System.out.println("MumBot: ready for input after " + (shownAt - launchedAt)
+                        + " ms, tasks loaded after " + (System.currentTimeMillis() - launchedAt) + " ms");
+                if (Boolean.getBoolean("duke.exitAfterStartup")) {
+                    System.exit(0);
+                }
+            });
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
+
+    /**
+     * Loads the classes behind a dialog box on a background thread, while
+     * the main window is being loaded, so that the first reply is not slowed
+     * down by loading them.
+     */
+    private static void warmUp() {
+        Thread thread = new Thread(() -> DialogBox.getDukeDialog("", null), "mumbot-warm-up");
+        thread.setDaemon(true);
+        thread.start();
+    }
 }
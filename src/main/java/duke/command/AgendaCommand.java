@@ -0,0 +1,99 @@
+package duke.command;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+
+import duke.task.Task;
+import duke.task.TaskList;
+
+/**
+ * Handles the listing of everything that happens within a range of dates,
+ * including each occurrence of recurring tasks. Occurrences are expanded
+ * only for the requested range.
+ */
+public class AgendaCommand extends Command {
+
+    /**
+     * The number of days shown when no range is given.
+     */
+    public static final int DEFAULT_DAYS = 7;
+
+    /**
+     * One dated entry on the agenda.
+     */
+    private static class Entry {
+        private final LocalDate date;
+        private final int index;
+        private final Task task;
+        private final boolean isDone;
+
+        private Entry(LocalDate date, int index, Task task, boolean isDone) {
+            this.date = date;
+            this.index = index;
+            this.task = task;
+            this.isDone = isDone;
+        }
+    }
+
+    /**
+     * Initialises an AgendaCommand.
+     *
+     * @param commandArgs An array of Strings containing information
+     *                    pertaining to this specific agenda command.
+     * @param tasks       An `ArrayList&lt;Task&gt;`, containing the
+     *                    current existing tasks in the programme.
+     */
+    public AgendaCommand(String[] commandArgs, TaskList tasks) {
+        super(commandArgs, tasks);
+    }
+
+    /**
+     * Lists the deadlines and recurring occurrences within the range, by date.
+     *
+     * @return Returns the message that MumBot should send to the GUI.
+     */
+    @Override
+    public String performAction() {
+        LocalDate from = LocalDate.now();
+        LocalDate to = from.plusDays(DEFAULT_DAYS - 1);
+        if (commandArgs.length == 3) {
+            from = LocalDate.parse(commandArgs[1]);
+            to = LocalDate.parse(commandArgs[2]);
+        }
+
+        List<Entry> entries = new ArrayList<>();
+        for (Task task : tasks.getIndexes().withType(Task.Type.RECURRING)) {
+            int index = tasks.indexOf(task);
+            Iterator<LocalDate> occurrences = task.getRecurrence().occurrencesBetween(from, to);
+            while (occurrences.hasNext()) {
+                LocalDate date = occurrences.next();
+                entries.add(new Entry(date, index, task, task.isDoneOn(date)));
+            }
+        }
+        for (NavigableSet<Task> onDate : tasks.getIndexes().byDate().subMap(from, true, to, true).values()) {
+            for (Task task : onDate) {
+                entries.add(new Entry(task.getDate(), tasks.indexOf(task), task, task.isDone()));
+            }
+        }
+        entries.sort(Comparator.comparing((Entry entry) -> entry.date).thenComparingInt(entry -> entry.index));
+
+        StringBuilder output = new StringBuilder("Here's what's coming up from " + from + " to " + to + ", dear <3\n");
+        for (Entry entry : entries) {
+            output.append(entry.date)
+                    .append(" | ")
+                    .append(entry.index + 1)
+                    .append(". [")
+                    .append(entry.task.getType().name().charAt(0))
+                    .append("][")
+                    .append(entry.isDone ? "X" : " ")
+                    .append("] ")
+                    .append(entry.task.getDescription())
+                    .append("\n");
+        }
+        return output.toString();
+    }
+}
@@ -0,0 +1,40 @@
+package duke.command;
+
+import duke.exception.DukeException;
+import duke.task.TaskList;
+
+/**
+ * Handles making one task depend on another.
+ */
+public class DependCommand extends Command {
+
+    /**
+     * Initialises a DependCommand.
+     *
+     * @param commandArgs An array of Strings containing information
+     *                    pertaining to this specific depend command.
+     * @param tasks       An `ArrayList&lt;Task&gt;`, containing the
+     *                    current existing tasks in the programme.
+     */
+    public DependCommand(String[] commandArgs, TaskList tasks) {
+        super(commandArgs, tasks);
+    }
+
+    /**
+     * Makes the first task wait until the second task is done.
+     *
+     * @return Returns the message that MumBot should send to the GUI.
+     */
+    @Override
+    public String performAction() {
+        int dependentIndex = Integer.parseInt(commandArgs[1]) - 1;
+        int prerequisiteIndex = Integer.parseInt(commandArgs[3]) - 1;
+        try {
+            tasks.addDependency(dependentIndex, prerequisiteIndex);
+        } catch (DukeException e) {
+            return e.toString();
+        }
+        return "Okay dear, '" + tasks.getTasks().get(dependentIndex) + "' will wait until '"
+                + tasks.getTasks().get(prerequisiteIndex) + "' is done <3";
+    }
+}
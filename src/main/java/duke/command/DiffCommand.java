@@ -0,0 +1,55 @@
+package duke.command;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import duke.exception.DukeException;
+import duke.task.TaskHistory;
+import duke.task.TaskList;
+
+/**
+ * Handles the comparison of the list of tasks at two times. Versions of the
+ * list share the tasks that did not change, so only the changes are visited.
+ */
+public class DiffCommand extends Command {
+
+    /**
+     * Initialises a DiffCommand.
+     *
+     * @param commandArgs An array of Strings containing information
+     *                    pertaining to this specific diff command.
+     * @param tasks       An `ArrayList&lt;Task&gt;`, containing the
+     *                    current existing tasks in the programme.
+     */
+    public DiffCommand(String[] commandArgs, TaskList tasks) {
+        super(commandArgs, tasks);
+    }
+
+    /**
+     * Lists the tasks that were added, removed or changed between two times.
+     *
+     * @return Returns the message that MumBot should send to the GUI.
+     */
+    @Override
+    public String performAction() {
+        String from = commandArgs[1];
+        String to = commandArgs.length == 3 ? commandArgs[2] : "now";
+        List<String> changes;
+        try {
+            TaskHistory history = tasks.getHistory();
+            LocalDateTime now = LocalDateTime.now();
+            changes = history.find(from, now).diff(history.find(to, now));
+        } catch (DukeException e) {
+            return e.toString();
+        }
+        String period = "between " + TaskHistory.describe(from) + " and " + TaskHistory.describe(to);
+        if (changes.isEmpty()) {
+            return "Nothing changed " + period + ", sweetie! <3";
+        }
+        StringBuilder output = new StringBuilder("Here's what changed " + period + ", dear <3\n");
+        for (String change : changes) {
+            output.append(change).append("\n");
+        }
+        return output.toString();
+    }
+}
@@ -0,0 +1,46 @@
+package duke.command;
+
+import java.nio.file.Paths;
+
+import duke.exception.DukeException;
+import duke.storage.TaskExporter;
+import duke.storage.TaskFormat;
+import duke.task.TaskList;
+
+/**
+ * Handles the exporting of tasks to a CSV or JSON file.
+ */
+public class ExportCommand extends Command {
+
+    /**
+     * Initialises an ExportCommand.
+     *
+     * @param commandArgs An array of Strings containing information
+     *                    pertaining to this specific export command.
+     * @param tasks       An `ArrayList&lt;Task&gt;`, containing the
+     *                    current existing tasks in the programme.
+     */
+    public ExportCommand(String[] commandArgs, TaskList tasks) {
+        super(commandArgs, tasks);
+    }
+
+    /**
+     * Writes every task to the file, in the given format or else the one
+     * named by the file's extension, falling back to CSV.
+     *
+     * @return Returns the message that MumBot should send to the GUI.
+     */
+    @Override
+    public String performAction() {
+        TaskFormat format = TaskFormat.fromName(commandArgs.length == 3 ? commandArgs[2] : commandArgs[1]);
+        if (format == null) {
+            format = TaskFormat.CSV;
+        }
+        try {
+            int count = TaskExporter.export(tasks, Paths.get(commandArgs[1]), format);
+            return "All done dear! I've exported " + count + " tasks to " + commandArgs[1] + " <3";
+        } catch (DukeException e) {
+            return e.toString();
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package duke.command;
 
+import java.util.Arrays;
+
 import duke.task.TaskList;
 import duke.ui.Ui;
 
@@ -8,6 +10,11 @@ import duke.ui.Ui;
  */
 public class FindCommand extends Command {
 
+    /**
+     * The maximum number of matching tasks to show.
+     */
+    public static final int MAX_RESULTS = 50;
+
     /**
      * Initialises a FindCommand.
      *
@@ -21,14 +28,22 @@ public class FindCommand extends Command {
     }
 
     /**
-     * Searches for tasks that fit the search string.
+     * Searches for the tasks that best fit the search words, best match first.
+     * With `find exact`, lists the tasks that contain every search word instead.
      *
      * @return Returns the message that MumBot should send to the GUI.
      */
     @Override
     public String performAction() {
-        TaskList foundTasks = tasks.searchUsingString(commandArgs[1]);
-        return "Sweetie, here is the list of tasks containing your search input <333\n"
+        if (commandArgs.length > 2 && commandArgs[1].equals("exact")) {
+            String query = String.join(" ", Arrays.copyOfRange(commandArgs, 2, commandArgs.length));
+            TaskList foundTasks = tasks.searchExact(query, MAX_RESULTS);
+            return "Sweetie, here are the tasks that contain all your search words <333\n"
+                + foundTasks.list();
+        }
+        String query = String.join(" ", Arrays.copyOfRange(commandArgs, 1, commandArgs.length));
+        TaskList foundTasks = tasks.search(query, MAX_RESULTS);
+        return "Sweetie, here are the tasks that best match your search input <333\n"
             + foundTasks.list();
     }
 }
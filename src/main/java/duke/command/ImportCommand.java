@@ -0,0 +1,59 @@
+package duke.command;
+
+import java.nio.file.Paths;
+
+import duke.exception.DukeException;
+import duke.storage.TaskFormat;
+import duke.storage.TaskImporter;
+import duke.task.TaskList;
+
+/**
+ * Handles the importing of tasks from a CSV or JSON file.
+ */
+public class ImportCommand extends Command {
+
+    /**
+     * Initialises an ImportCommand.
+     *
+     * @param commandArgs An array of Strings containing information
+     *                    pertaining to this specific import command.
+     * @param tasks       An `ArrayList&lt;Task&gt;`, containing the
+     *                    current existing tasks in the programme.
+     */
+    public ImportCommand(String[] commandArgs, TaskList tasks) {
+        super(commandArgs, tasks);
+    }
+
+    /**
+     * Appends the tasks in the file to the TaskList, reporting any lines
+     * that could not be imported.
+     *
+     * @return Returns the message that MumBot should send to the GUI.
+     */
+    @Override
+    public String performAction() {
+        TaskFormat format = TaskFormat.fromName(commandArgs[1]);
+        if (format == null) {
+            format = TaskFormat.CSV;
+        }
+        TaskImporter.Result result;
+        try {
+            result = TaskImporter.importFile(tasks, Paths.get(commandArgs[1]), format);
+        } catch (DukeException e) {
+            return e.toString();
+        }
+
+        StringBuilder output = new StringBuilder("I've imported " + result.getImportedCount()
+                + " tasks from " + commandArgs[1] + " for you <3");
+        if (result.getErrorCount() > 0) {
+            output.append("\nBut ").append(result.getErrorCount()).append(" lines couldn't be imported, hunbun:");
+            for (String error : result.getErrors()) {
+                output.append("\n").append(error);
+            }
+            if (result.getErrorCount() > result.getErrors().size()) {
+                output.append("\n...");
+            }
+        }
+        return output.toString();
+    }
+}
@@ -1,5 +1,9 @@
 package duke.command;
 
+import java.time.LocalDateTime;
+
+import duke.exception.DukeException;
+import duke.task.TaskHistory;
 import duke.task.TaskList;
 import duke.ui.Ui;
 
@@ -8,6 +12,20 @@ import duke.ui.Ui;
  */
 public class ListCommand extends Command {
 
+    private static final String HEADER = "Sweetie, here is the list of tasks that you have <3\n";
+
+    /**
+     * Lists all the tasks of the user's TaskList into the response buffer.
+     */
+    public static final StatelessCommand STATELESS = (args, tasks, response) -> {
+        if (args.count() != 1) {
+            return false;
+        }
+        response.append(HEADER);
+        tasks.appendList(response);
+        return true;
+    };
+
     /**
      * Initialises a ListCommand.
      *
@@ -21,13 +39,24 @@ public class ListCommand extends Command {
     }
 
     /**
-     * Lists all the tasks of the user's TaskList.
+     * Lists all the tasks of the user's TaskList, or with `list @<when>`,
+     * the tasks as they were at that time.
      *
      * @return Returns the message that MumBot should send to the GUI.
      */
     @Override
     public String performAction() {
-        return "Sweetie, here is the list of tasks that you have <3\n"
-                + tasks.list();
+        if (commandArgs.length == 1) {
+            return HEADER + tasks.list();
+        }
+        String when = commandArgs[1].substring(1);
+        TaskHistory.Version version;
+        try {
+            version = tasks.getHistory().find(when, LocalDateTime.now());
+        } catch (DukeException e) {
+            return e.toString();
+        }
+        return "Sweetie, here is the list of tasks that you had " + TaskHistory.describe(when)
+                + " (as of " + version.getTime().withNano(0) + ") <3\n" + version.list();
     }
 }
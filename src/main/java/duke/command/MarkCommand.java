@@ -1,5 +1,7 @@
 package duke.command;
 
+import java.time.LocalDate;
+
 import duke.task.TaskList;
 
 /**
@@ -7,6 +9,26 @@ import duke.task.TaskList;
  */
 public class MarkCommand extends Command {
 
+    /**
+     * Marks or unmarks a task without creating garbage. Marking a single
+     * occurrence is left to the usual path.
+     */
+    public static final StatelessCommand STATELESS = (args, tasks, response) -> {
+        int index = args.count() == 2 ? args.parseIndex(1) : -1;
+        if (index < 1 || index > tasks.getSize()) {
+            return false;
+        }
+        if (args.equals(0, "mark")) {
+            tasks.mark(index - 1);
+        } else {
+            tasks.unmark(index - 1);
+        }
+        response.append("Your ");
+        args.appendTo(0, response);
+        response.append(" command has been carried out! <3");
+        return true;
+    };
+
     /**
      * Initialises a MarkCommand.
      *
@@ -20,12 +42,18 @@ public class MarkCommand extends Command {
     }
 
     /**
-     * Marks or unmarks a task to denote its completion.
+     * Marks or unmarks a task to denote its completion. If a date is given,
+     * only the occurrence of a recurring task on that date is updated.
      *
      * @return Returns the message that MumBot should send to the GUI.
      */
     @Override
     public String performAction() {
+        if (commandArgs.length == 3) {
+            // Marking a single occurrence of a recurring task.
+            return tasks.updateOccurrence(Integer.parseInt(commandArgs[1]) - 1, LocalDate.parse(commandArgs[2]),
+                    commandArgs[0].equals("mark"));
+        }
         if (commandArgs[0].equals("mark")) {
             tasks.mark(Integer.parseInt(commandArgs[1]) - 1);
         } else if (this.commandArgs[0].equals("unmark")) {
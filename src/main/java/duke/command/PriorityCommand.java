@@ -8,6 +8,27 @@ import duke.task.Task.Priority;
  */
 public class PriorityCommand extends Command {
 
+    /**
+     * Assigns a priority to a task without creating garbage.
+     */
+    public static final StatelessCommand STATELESS = (args, tasks, response) -> {
+        int index = args.count() == 3 ? args.parseIndex(1) : -1;
+        if (index < 1 || index > tasks.getSize()) {
+            return false;
+        }
+        Priority priority = Priority.NONE;
+        if (args.equals(2, "high")) {
+            priority = Priority.HIGH;
+        } else if (args.equals(2, "med")) {
+            priority = Priority.MED;
+        } else if (args.equals(2, "low")) {
+            priority = Priority.LOW;
+        }
+        tasks.setPriority(index - 1, priority);
+        response.append("Your priority command has been carried out! <33");
+        return true;
+    };
+
     /**
      * Initialises a PriorityCommand.
      *
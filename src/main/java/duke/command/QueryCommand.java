@@ -0,0 +1,55 @@
+package duke.command;
+
+import java.util.Arrays;
+import java.util.List;
+
+import duke.exception.DukeException;
+import duke.query.Condition;
+import duke.query.QueryParser;
+import duke.query.QueryPlanner;
+import duke.task.Task;
+import duke.task.TaskList;
+
+/**
+ * Handles the filtering of tasks with a compound query, and the
+ * explaining of how such a query would be evaluated.
+ */
+public class QueryCommand extends Command {
+
+    private final Condition condition;
+
+    /**
+     * Initialises a QueryCommand.
+     *
+     * @param commandArgs An array of Strings containing information
+     *                    pertaining to this specific query command.
+     * @param tasks       An `ArrayList&lt;Task&gt;`, containing the
+     *                    current existing tasks in the programme.
+     * @throws DukeException If the query cannot be parsed.
+     */
+    public QueryCommand(String[] commandArgs, TaskList tasks) throws DukeException {
+        super(commandArgs, tasks);
+        condition = QueryParser.parse(Arrays.asList(commandArgs).subList(1, commandArgs.length));
+    }
+
+    /**
+     * Lists the tasks matching the query with their positions in the full
+     * list, or explains the query plan for an `explain` command.
+     *
+     * @return Returns the message that MumBot should send to the GUI.
+     */
+    @Override
+    public String performAction() {
+        if (commandArgs[0].equals("explain")) {
+            return "Here's how I would look for those tasks, dear:\n"
+                    + QueryPlanner.explain(condition, tasks);
+        }
+
+        List<Task> found = QueryPlanner.execute(condition, tasks);
+        StringBuilder output = new StringBuilder("Sweetie, here are the tasks matching your query <3\n");
+        for (Task task : found) {
+            output.append(tasks.indexOf(task) + 1).append(". ").append(task).append("\n");
+        }
+        return output.toString();
+    }
+}
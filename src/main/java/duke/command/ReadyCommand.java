@@ -0,0 +1,43 @@
+package duke.command;
+
+import java.util.List;
+
+import duke.task.Task;
+import duke.task.TaskList;
+
+/**
+ * Handles the listing of tasks that are ready to be done: tasks that are
+ * not done and are not waiting on any unfinished task.
+ */
+public class ReadyCommand extends Command {
+
+    /**
+     * Initialises a ReadyCommand.
+     *
+     * @param commandArgs An array of Strings containing information
+     *                    pertaining to this specific ready command.
+     * @param tasks       An `ArrayList&lt;Task&gt;`, containing the
+     *                    current existing tasks in the programme.
+     */
+    public ReadyCommand(String[] commandArgs, TaskList tasks) {
+        super(commandArgs, tasks);
+    }
+
+    /**
+     * Lists the ready tasks, numbered by their place in the full list.
+     *
+     * @return Returns the message that MumBot should send to the GUI.
+     */
+    @Override
+    public String performAction() {
+        List<Task> ready = tasks.getGraph().getReady();
+        if (ready.isEmpty()) {
+            return "Nothing is ready to be done, sweetie! Time for a nap <3";
+        }
+        StringBuilder output = new StringBuilder("These are ready for you to do, dear <3\n");
+        for (Task task : ready) {
+            output.append(tasks.indexOf(task) + 1).append(". ").append(task).append("\n");
+        }
+        return output.toString();
+    }
+}
@@ -0,0 +1,190 @@
+package duke.command;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import duke.task.TaskList;
+
+/**
+ * Remembers the responses to commands that only read the tasks, such as
+ * `list` and `find`, so that repeating one on an unchanged TaskList does
+ * not render it again. Each response is stamped with the modification
+ * count of its TaskList, so any change to the tasks invalidates exactly
+ * the responses made before it. The cache holds responses up to a total
+ * weight in bytes, evicting the least recently used first. Each response
+ * refers to its TaskList, so the responses of a workspace must be
+ * forgotten when it is unloaded.
+ */
+public class ResponseCache {
+
+    /**
+     * The total weight of responses that are kept, by default.
+     */
+    public static final long DEFAULT_MAX_WEIGHT = 4L * 1024 * 1024;
+
+    /**
+     * The commands whose responses only depend on the tasks.
+     */
+    private static final Set<String> CACHEABLE = Set.of("list", "find", "query", "explain", "ready", "sort");
+
+    private static final int ENTRY_OVERHEAD = 96; // Rough bytes used by an entry besides its Strings.
+
+    /**
+     * Identifies a response by its TaskList and the input that produced it.
+     */
+    private static final class Key {
+        private final TaskList tasks;
+        private final String input;
+
+        private Key(TaskList tasks, String input) {
+            this.tasks = tasks;
+            this.input = input;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return tasks == key.tasks && input.equals(key.input);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(tasks) + input.hashCode();
+        }
+    }
+
+    /**
+     * A response, and the modification count of the tasks it was made from.
+     */
+    private static final class Entry {
+        private final long modCount;
+        private final String response;
+        private final long weight;
+
+        private Entry(long modCount, String response, long weight) {
+            this.modCount = modCount;
+            this.response = response;
+            this.weight = weight;
+        }
+    }
+
+    private final long maxWeight;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long weight = 0;
+    private long hits = 0;
+    private long misses = 0;
+
+    /**
+     * Initialises an empty ResponseCache.
+     *
+     * @param maxWeight The total weight of responses to keep, in bytes.
+     */
+    public ResponseCache(long maxWeight) {
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * Returns true if the response to the input may be cached.
+     *
+     * @param input The input given by the user.
+     */
+    public static boolean isCacheable(String input) {
+        if (input.contains("@")) {
+            return false; // The list at a relative time, such as yesterday, changes as time passes.
+        }
+        int end = input.indexOf(' ');
+        return CACHEABLE.contains(end == -1 ? input : input.substring(0, end));
+    }
+
+    /**
+     * Returns the cached response to the input, or null if there is none
+     * or the tasks changed since it was made.
+     *
+     * @param tasks The tasks that the input acts on.
+     * @param input The input given by the user.
+     */
+    public String get(TaskList tasks, String input) {
+        Key key = new Key(tasks, input);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        if (entry.modCount != tasks.getModCount()) {
+            entries.remove(key);
+            weight -= entry.weight;
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.response;
+    }
+
+    /**
+     * Caches the response to the input, made from the tasks as they are now.
+     * Responses heavier than the whole cache are not kept.
+     *
+     * @param tasks    The tasks that the input acted on.
+     * @param input    The input given by the user.
+     * @param response The response of MumBot.
+     */
+    public void put(TaskList tasks, String input, String response) {
+        long entryWeight = 2L * (input.length() + response.length()) + ENTRY_OVERHEAD;
+        if (entryWeight > maxWeight) {
+            return;
+        }
+        Entry old = entries.put(new Key(tasks, input), new Entry(tasks.getModCount(), response, entryWeight));
+        if (old != null) {
+            weight -= old.weight;
+        }
+        weight += entryWeight;
+        Iterator<Entry> leastRecent = entries.values().iterator();
+        while (weight > maxWeight) {
+            weight -= leastRecent.next().weight;
+            leastRecent.remove();
+        }
+    }
+
+    /**
+     * Drops every response made from the given tasks, such as when their
+     * workspace is unloaded, so that the cache does not keep it in memory.
+     *
+     * @param tasks The tasks whose responses are dropped.
+     */
+    public void forget(TaskList tasks) {
+        Iterator<Map.Entry<Key, Entry>> all = entries.entrySet().iterator();
+        while (all.hasNext()) {
+            Map.Entry<Key, Entry> entry = all.next();
+            if (entry.getKey().tasks == tasks) {
+                weight -= entry.getValue().weight;
+                all.remove();
+            }
+        }
+    }
+
+    /**
+     * Returns the total weight of the cached responses, in bytes.
+     */
+    public long getWeight() {
+        return weight;
+    }
+
+    /**
+     * Returns the number of lookups that found a response.
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of lookups that found no response, or a stale one.
+     */
+    public long getMisses() {
+        return misses;
+    }
+}
@@ -0,0 +1,58 @@
+package duke.command;
+
+import java.util.List;
+import java.util.Locale;
+
+import duke.task.SortedView;
+import duke.task.Task;
+import duke.task.TaskList;
+
+/**
+ * Handles the listing of tasks sorted by priority, date or status, one page
+ * at a time. The sorted order is kept up to date as tasks change, so a page
+ * is read without sorting the whole list.
+ */
+public class SortCommand extends Command {
+
+    /**
+     * The number of tasks shown on a page.
+     */
+    public static final int PAGE_SIZE = 20;
+
+    /**
+     * Initialises a SortCommand.
+     *
+     * @param commandArgs An array of Strings containing information
+     *                    pertaining to this specific sort command.
+     * @param tasks       An `ArrayList&lt;Task&gt;`, containing the
+     *                    current existing tasks in the programme.
+     */
+    public SortCommand(String[] commandArgs, TaskList tasks) {
+        super(commandArgs, tasks);
+    }
+
+    /**
+     * Lists one page of the sorted tasks, numbered by their place in the full list.
+     *
+     * @return Returns the message that MumBot should send to the GUI.
+     */
+    @Override
+    public String performAction() {
+        String order = commandArgs[2].toLowerCase(Locale.ROOT);
+        int page = commandArgs.length == 4 ? Integer.parseInt(commandArgs[3]) : 1;
+        SortedView view = tasks.getSortedView(SortedView.Key.valueOf(order.toUpperCase(Locale.ROOT)));
+        int pageCount = Math.max(1, (view.size() + PAGE_SIZE - 1) / PAGE_SIZE);
+        List<Task> pageTasks = view.getPage(page, PAGE_SIZE);
+        if (pageTasks.isEmpty()) {
+            return view.size() == 0
+                    ? "You have no tasks to sort, sweetie! <3"
+                    : "Honey, there are only " + pageCount + " pages of tasks!";
+        }
+        StringBuilder output = new StringBuilder("Here are your tasks by " + order + ", dear (page " + page
+                + " of " + pageCount + ") <3\n");
+        for (Task task : pageTasks) {
+            output.append(tasks.indexOf(task) + 1).append(". ").append(task).append("\n");
+        }
+        return output.toString();
+    }
+}
@@ -0,0 +1,23 @@
+package duke.command;
+
+import duke.parse.CommandTokens;
+import duke.task.TaskList;
+
+/**
+ * A command that keeps no state of its own, so one instance serves every
+ * input. It reads its arguments from the tokenized input and writes its
+ * response into a buffer that the caller reuses.
+ */
+public interface StatelessCommand {
+
+    /**
+     * Performs the command, if its arguments are ones it can handle.
+     *
+     * @param args     The tokenized input, starting with the command name.
+     * @param tasks    The tasks to act on.
+     * @param response The buffer to write the response of MumBot into.
+     * @return False if nothing was done, and the input should be parsed the
+     *         usual way so that the user gets the usual error message.
+     */
+    boolean perform(CommandTokens args, TaskList tasks, StringBuilder response);
+}
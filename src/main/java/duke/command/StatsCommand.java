@@ -0,0 +1,70 @@
+package duke.command;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+import duke.task.Task.Priority;
+import duke.task.Task.Type;
+import duke.task.TaskList;
+import duke.task.TaskStats;
+
+/**
+ * Handles the summary of how many tasks there are and how many are done,
+ * by type and by priority, together with the deadlines due in each week.
+ * The numbers are read from counters that the TaskList keeps up to date.
+ */
+public class StatsCommand extends Command {
+
+    /**
+     * Initialises a StatsCommand.
+     *
+     * @param commandArgs An array of Strings containing information
+     *                    pertaining to this specific stats command.
+     * @param tasks       An `ArrayList&lt;Task&gt;`, containing the
+     *                    current existing tasks in the programme.
+     */
+    public StatsCommand(String[] commandArgs, TaskList tasks) {
+        super(commandArgs, tasks);
+    }
+
+    /**
+     * Summarises the tasks.
+     *
+     * @return Returns the message that MumBot should send to the GUI.
+     */
+    @Override
+    public String performAction() {
+        TaskStats stats = tasks.getStats();
+        int total = stats.count(null, null, null);
+        if (total == 0) {
+            return "You have no tasks at all, sweetie! Nothing to count <3";
+        }
+        StringBuilder output = new StringBuilder("Here's how you're doing, dear <3\n");
+        output.append("Done: ").append(stats.count(null, null, true)).append(" of ").append(total).append("\n");
+        output.append("By type:");
+        for (Type type : Type.values()) {
+            appendCount(output, type.name(), stats.count(type, null, true), stats.count(type, null, null));
+        }
+        output.append("\nBy priority:");
+        for (Priority priority : Priority.values()) {
+            appendCount(output, priority.name(), stats.count(null, priority, true), stats.count(null, priority, null));
+        }
+        output.append("\nOverdue deadlines: ").append(stats.countOverdue(LocalDate.now())).append("\n");
+        if (!stats.getDeadlinesPerWeek().isEmpty()) {
+            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM dd yyyy");
+            output.append("Deadlines per week:\n");
+            for (Map.Entry<LocalDate, Integer> week : stats.getDeadlinesPerWeek().entrySet()) {
+                output.append("  week of ").append(week.getKey().format(formatter))
+                        .append(": ").append(week.getValue()).append("\n");
+            }
+        }
+        return output.toString();
+    }
+
+    private static void appendCount(StringBuilder output, String name, int done, int total) {
+        if (total > 0) {
+            output.append(" ").append(name).append(" ").append(done).append("/").append(total);
+        }
+    }
+}
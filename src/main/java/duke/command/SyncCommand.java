@@ -0,0 +1,48 @@
+package duke.command;
+
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import duke.exception.DukeException;
+import duke.storage.WorkspaceManager;
+
+/**
+ * Handles the syncing of the current workspace with a copy of it in another
+ * data directory.
+ */
+public class SyncCommand extends Command {
+
+    private final WorkspaceManager workspaces;
+
+    /**
+     * Initialises a SyncCommand.
+     *
+     * @param commandArgs An array of Strings containing information
+     *                    pertaining to this specific sync command.
+     * @param workspaces  The workspaces of the user.
+     */
+    public SyncCommand(String[] commandArgs, WorkspaceManager workspaces) {
+        super(commandArgs, workspaces.getCurrentTasks());
+        this.workspaces = workspaces;
+    }
+
+    /**
+     * Merges the changes made in the other data directory into the current workspace.
+     *
+     * @return Returns the message that MumBot should send to the GUI.
+     */
+    @Override
+    public String performAction() {
+        String directory = String.join(" ", Arrays.copyOfRange(commandArgs, 1, commandArgs.length));
+        try {
+            int applied = workspaces.syncCurrent(Paths.get(directory));
+            if (applied == 0) {
+                return "Your " + workspaces.getCurrentName() + " workspace was already up to date with "
+                        + directory + ", dear <3";
+            }
+            return "All synced with " + directory + ", sweetie! I brought over " + applied + " changes <3";
+        } catch (DukeException e) {
+            return e.toString();
+        }
+    }
+}
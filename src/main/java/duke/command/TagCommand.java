@@ -0,0 +1,42 @@
+package duke.command;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import duke.task.TaskList;
+
+/**
+ * Handles the tagging of tasks.
+ */
+public class TagCommand extends Command {
+
+    /**
+     * Initialises a TagCommand.
+     *
+     * @param commandArgs An array of Strings containing information
+     *                    pertaining to this specific tag command.
+     * @param tasks       An `ArrayList&lt;Task&gt;`, containing the
+     *                    current existing tasks in the programme.
+     */
+    public TagCommand(String[] commandArgs, TaskList tasks) {
+        super(commandArgs, tasks);
+    }
+
+    /**
+     * Adds the given tags to a task.
+     *
+     * @return Returns the message that MumBot should send to the GUI.
+     */
+    @Override
+    public String performAction() {
+        int index = Integer.parseInt(commandArgs[1]) - 1;
+        List<String> tags = Arrays.asList(commandArgs).subList(2, commandArgs.length);
+        tags.replaceAll(tag -> tag.toLowerCase(Locale.ROOT));
+        int added = tasks.tag(index, tags);
+        if (added == 0) {
+            return "Honeypie, that task already has those tags!";
+        }
+        return "I've tagged it for you, dear <3\n" + tasks.getTasks().get(index);
+    }
+}
@@ -1,5 +1,9 @@
 package duke.command;
 
+import java.time.LocalDate;
+
+import duke.exception.DukeException;
+import duke.task.Recurrence;
 import duke.task.Task;
 import duke.task.TaskList;
 
@@ -8,6 +12,8 @@ import duke.task.TaskList;
  */
 public class TaskCommand extends Command {
 
+    private Recurrence recurrence; // Only set for a recurring command.
+
     /**
      * Initialises a TaskCommand.
      *
@@ -15,9 +21,13 @@ public class TaskCommand extends Command {
      *                    pertaining to this specific mark command.
      * @param tasks       An `ArrayList&lt;Task&gt;`, containing the
      *                    current existing tasks in the programme.
+     * @throws DukeException If the rule of a recurring command is invalid.
      */
-    public TaskCommand(String[] commandArgs, TaskList tasks) {
+    public TaskCommand(String[] commandArgs, TaskList tasks) throws DukeException {
         super(commandArgs, tasks);
+        if (commandArgs[0].equals("recurring")) {
+            recurrence = Recurrence.parse(commandArgs[2], LocalDate.now());
+        }
     }
 
     /**
@@ -36,6 +46,9 @@ public class TaskCommand extends Command {
 
         } else if (this.commandArgs[0].equals("event")) {
             tasks.addTask(new Task(this.commandArgs[1], this.commandArgs[2], Task.Type.EVENT), true);
+
+        } else if (this.commandArgs[0].equals("recurring")) {
+            tasks.addTask(new Task(this.commandArgs[1], recurrence), true);
         }
         return "Your " + commandArgs[0] + " command has been carried out! <3";
     }
@@ -0,0 +1,51 @@
+package duke.command;
+
+import duke.exception.DukeException;
+import duke.storage.WorkspaceManager;
+
+/**
+ * Handles the opening and listing of workspaces.
+ */
+public class WorkspaceCommand extends Command {
+
+    private final WorkspaceManager workspaces;
+
+    /**
+     * Initialises a WorkspaceCommand.
+     *
+     * @param commandArgs An array of Strings containing information
+     *                    pertaining to this specific workspace command.
+     * @param workspaces  The workspaces of the user.
+     */
+    public WorkspaceCommand(String[] commandArgs, WorkspaceManager workspaces) {
+        super(commandArgs, workspaces.getCurrentTasks());
+        this.workspaces = workspaces;
+    }
+
+    /**
+     * Opens the named workspace, or lists every workspace.
+     *
+     * @return Returns the message that MumBot should send to the GUI.
+     */
+    @Override
+    public String performAction() {
+        try {
+            if (commandArgs[1].equals("open")) {
+                workspaces.open(commandArgs[2]);
+                return "Welcome to your " + commandArgs[2] + " workspace, dear! It has "
+                        + workspaces.getCurrentTasks().getSize() + " tasks <3";
+            }
+
+            StringBuilder output = new StringBuilder("Here are your workspaces, sweetie <3\n");
+            for (String name : workspaces.getNames()) {
+                output.append(name.equals(workspaces.getCurrentName()) ? "* " : "  ")
+                        .append(name)
+                        .append(workspaces.isResident(name) ? " (loaded)" : "")
+                        .append("\n");
+            }
+            return output.toString();
+        } catch (DukeException e) {
+            return e.toString();
+        }
+    }
+}
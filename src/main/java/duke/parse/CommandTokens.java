@@ -0,0 +1,108 @@
+package duke.parse;
+
+/**
+ * Splits an input line into words by recording where each word starts and
+ * ends, without creating any Strings. One CommandTokens is reused for every
+ * line, so tokenizing a command creates no garbage.
+ */
+public class CommandTokens {
+
+    /**
+     * The most words that a line can have.
+     */
+    static final int MAX_TOKENS = 8;
+
+    private final int[] starts = new int[MAX_TOKENS];
+    private final int[] ends = new int[MAX_TOKENS];
+    private CharSequence input;
+    private int count;
+
+    /**
+     * Splits a line into words separated by single spaces. A line that
+     * starts or ends with a space, has two spaces in a row, or has too many
+     * words is left irregular, and should be parsed the usual way.
+     *
+     * @param input The line to split.
+     * @return True if the line was regular.
+     */
+    public boolean reset(CharSequence input) {
+        this.input = input;
+        count = 0;
+        int start = 0;
+        int length = input.length();
+        for (int i = 0; i <= length; i++) {
+            if (i < length && input.charAt(i) != ' ') {
+                continue;
+            }
+            if (i == start || count == MAX_TOKENS) {
+                count = -1;
+                return false;
+            }
+            starts[count] = start;
+            ends[count] = i;
+            count++;
+            start = i + 1;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of words in the line, or -1 if it was irregular.
+     */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * Returns true if a word is exactly the given text.
+     *
+     * @param index The position of the word.
+     * @param text  The text to compare with.
+     */
+    public boolean equals(int index, String text) {
+        int start = starts[index];
+        int length = ends[index] - start;
+        if (length != text.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (input.charAt(start + i) != text.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parses a word as a positive index of up to 9 digits.
+     *
+     * @param index The position of the word.
+     * @return The index, or -1 if the word is not one.
+     */
+    public int parseIndex(int index) {
+        int start = starts[index];
+        int end = ends[index];
+        if (end - start > 9) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char c = input.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Appends a word to a buffer.
+     *
+     * @param index  The position of the word.
+     * @param buffer The buffer to append to.
+     */
+    public void appendTo(int index, StringBuilder buffer) {
+        buffer.append(input, starts[index], ends[index]);
+    }
+}
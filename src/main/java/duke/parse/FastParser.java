@@ -0,0 +1,52 @@
+package duke.parse;
+
+import duke.command.ListCommand;
+import duke.command.MarkCommand;
+import duke.command.PriorityCommand;
+import duke.command.StatelessCommand;
+import duke.task.TaskList;
+
+/**
+ * Handles the most frequent commands (list, mark, unmark and priority)
+ * without creating garbage: the input is tokenized in place, commands are
+ * shared instances, and the response is written into a reused buffer.
+ * Any other input is left to `Parser`.
+ * Note that a FastParser must only be used by one thread.
+ */
+public class FastParser {
+
+    private final CommandTokens tokens = new CommandTokens();
+    private final StringBuilder response = new StringBuilder(256);
+
+    /**
+     * Performs the input, if it is a regular list, mark, unmark or priority
+     * command.
+     *
+     * @param input The input given by the user.
+     * @param tasks The tasks to act on.
+     * @return The response of MumBot, which is only valid until the next
+     *         call, or null if the input should be given to `Parser`.
+     */
+    public CharSequence settleInput(CharSequence input, TaskList tasks) {
+        if (!tokens.reset(input)) {
+            return null;
+        }
+        StatelessCommand command = lookup();
+        if (command == null) {
+            return null;
+        }
+        response.setLength(0);
+        return command.perform(tokens, tasks, response) ? response : null;
+    }
+
+    private StatelessCommand lookup() {
+        if (tokens.equals(0, "mark") || tokens.equals(0, "unmark")) {
+            return MarkCommand.STATELESS;
+        } else if (tokens.equals(0, "priority")) {
+            return PriorityCommand.STATELESS;
+        } else if (tokens.equals(0, "list")) {
+            return ListCommand.STATELESS;
+        }
+        return null;
+    }
+}
@@ -1,16 +1,34 @@
 package duke.parse;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.Arrays;
+import java.util.Locale;
 
+import duke.command.AgendaCommand;
 import duke.command.ByeCommand;
 import duke.command.Command;
 import duke.command.DeleteCommand;
+import duke.command.DependCommand;
+import duke.command.DiffCommand;
+import duke.command.ExportCommand;
 import duke.command.FindCommand;
+import duke.command.ImportCommand;
 import duke.command.ListCommand;
 import duke.command.MarkCommand;
 import duke.command.PriorityCommand;
+import duke.command.QueryCommand;
+import duke.command.ReadyCommand;
+import duke.command.SortCommand;
+import duke.command.StatsCommand;
+import duke.command.SyncCommand;
+import duke.command.TagCommand;
 import duke.command.TaskCommand;
+import duke.command.WorkspaceCommand;
 import duke.exception.DukeException;
+import duke.storage.TaskFormat;
+import duke.storage.WorkspaceManager;
+import duke.task.Task;
 import duke.task.TaskList;
 
 /**
@@ -20,21 +38,23 @@ import duke.task.TaskList;
 public class Parser {
 
     /**
-     * Parses a String[] for an "event", "deadline" or "todo" task.
+     * Parses a String[] for an "event", "deadline", "recurring" or "todo" task.
      *
-     * @param action The command. Will be ither "event", "deadline" or "todo".
+     * @param action The command. Will be ither "event", "deadline", "recurring" or "todo".
      * @param splitInput A String[] containing the user's input separated by a " " delimiter. Each separated
      *                   element is one element in the String[].
      * @return Returns a new String[] where the first element is the command name, the
      *         second element is the command description and if the command is a:
      *          - deadline: The third element is the due date.
      *          - event: The third element is the location of the event.
+     *          - recurring: The third element is the rule for how often it repeats.
      * @throws DukeException Throws exceptions if the following conditions
      *                       are fulfilled:
      *                       - The input has no task description.
      *                       - The input is for a deadline or event, but it has no task and/or date description.
-     *                       - The input is for a deadline or event, but it has no ' /by ' or ' /at ' keyword -
-     *                       respectively - in the middle of its task and date description.
+     *                       - The input is for a deadline, event or recurring task, but it has no ' /by ',
+     *                       ' /at ' or ' /every ' keyword - respectively - in the middle of its task and
+     *                       date description.
      */
     private static String[] parseString(String... input) throws DukeException {
         String[] newSplitInput = new String[3];
@@ -55,6 +75,8 @@ public class Parser {
                 dateDelimiter = " /at ";
             } else if (action.equals("deadline")) {
                 dateDelimiter = " /by ";
+            } else if (action.equals("recurring")) {
+                dateDelimiter = " /every ";
             }
 
             String[] inputArr = fullTaskDetails.split(dateDelimiter);
@@ -108,9 +130,11 @@ public class Parser {
      * @throws DukeException Throws a DukeException.
      */
     private static String parseListCommand(String[] splitInput, TaskList tasks) throws DukeException {
-        // Throw error if the input contains anything other than 'list'
-        if (!(splitInput.length == 1)) {
-            throw new DukeException("</3 your formatting for the list command is wrong - please just type list!");
+        // Throw error if the input contains anything other than 'list', or 'list' and a time
+        boolean isPast = splitInput.length == 2 && splitInput[1].startsWith("@") && splitInput[1].length() > 1;
+        if (!(splitInput.length == 1 || isPast)) {
+            throw new DukeException("</3 your formatting for the list command is wrong - please just type list,\n"
+                    + "or list @<when> (such as list @yesterday) to see your tasks as they were!");
         }
         Command command = new ListCommand(splitInput, tasks);
         return command.performAction();
@@ -126,13 +150,23 @@ public class Parser {
      */
     private static String parseMarkCommand(String[] splitInput, TaskList tasks) throws DukeException {
         String action = splitInput[0];
-        if (!(splitInput.length == 2)) {
+        if (!(splitInput.length == 2 || splitInput.length == 3)) {
             throw new DukeException(
                     "Your formatting for the " + action + " command is wrong...sigh\n"
-                    + "In future, please do: " + action + " <index of task>\n"
+                    + "In future, please do: " + action + " <index of task> [date of a recurring occurrence]\n"
                     + "You can do it peepaw!");
         }
 
+        // Throw an error if the date of a recurring occurrence is not a valid date
+        if (splitInput.length == 3) {
+            try {
+                LocalDate.parse(splitInput[2]);
+            } catch (DateTimeParseException e) {
+                throw new DukeException("The date of the occurrence for your " + action
+                        + " command has to look like yyyy-mm-dd!");
+            }
+        }
+
         Integer index;
         // Throw an error if the character after the 'mark' or 'unmark' string is not an integer
         try {
@@ -153,7 +187,35 @@ public class Parser {
     }
 
     /**
-     * Parses a `todo`, `deadline` or `event` command.
+     * Parses an `agenda` command.
+     *
+     * @param splitInput The input given by the user, that has been split into
+     *                   an array of individual words.
+     * @return Returns the message that MumBot should output, in respone to the input.
+     * @throws DukeException Throws a DukeException if the dates are invalid.
+     */
+    private static String parseAgendaCommand(String[] splitInput, TaskList tasks) throws DukeException {
+        String action = splitInput[0];
+        boolean isValid = splitInput.length == 1 || splitInput.length == 3;
+        if (splitInput.length == 3) {
+            try {
+                isValid = !LocalDate.parse(splitInput[1]).isAfter(LocalDate.parse(splitInput[2]));
+            } catch (DateTimeParseException e) {
+                isValid = false;
+            }
+        }
+        if (!isValid) {
+            throw new DukeException(
+                    "Your formatting for the " + action + " command is wrong!!\n"
+                    + "In future, please do: " + action + " [<from yyyy-mm-dd> <to yyyy-mm-dd>]");
+        }
+
+        Command command = new AgendaCommand(splitInput, tasks);
+        return command.performAction();
+    }
+
+    /**
+     * Parses a `todo`, `deadline`, `event` or `recurring` command.
      *
      * @param splitInput The input given by the user, that has been split into
      *                   an array of individual words.
@@ -176,16 +238,61 @@ public class Parser {
     private static String parseFindCommand(String[] splitInput, TaskList tasks) throws DukeException {
         String action = splitInput[0];
         // Throw an error  if the formatting for the 'find' command is wrong
-        if (!(splitInput.length == 2)) {
+        if (splitInput.length < 2) {
             throw new DukeException(
                     "Your formatting for the " + action + " command is wrong!!\n"
-                    + "In future, please do: " + action + " <search string>");
+                    + "In future, please do: " + action + " <search words>\n"
+                    + "or: " + action + " exact <search words>");
         }
 
         Command command = new FindCommand(splitInput, tasks);
         return command.performAction();
     }
 
+    /**
+     * Parses a `query` or `explain` command.
+     *
+     * @param splitInput The input given by the user, that has been split into
+     *                   an array of individual words.
+     * @return Returns the message that MumBot should output, in respone to the input.
+     * @throws DukeException Throws a DukeException if the query is invalid.
+     */
+    private static String parseQueryCommand(String[] splitInput, TaskList tasks) throws DukeException {
+        String action = splitInput[0];
+        if (splitInput.length < 2) {
+            throw new DukeException(
+                    "Your formatting for the " + action + " command is wrong!!\n"
+                    + "In future, please do: " + action + " <conditions>, e.g. "
+                    + action + " type:deadline done:false priority>=med");
+        }
+
+        Command command = new QueryCommand(splitInput, tasks);
+        return command.performAction();
+    }
+
+    /**
+     * Parses an `import` or `export` command.
+     *
+     * @param splitInput The input given by the user, that has been split into
+     *                   an array of individual words.
+     * @return Returns the message that MumBot should output, in respone to the input.
+     * @throws DukeException Throws a DukeException if the command is badly formatted.
+     */
+    private static String parseTransferCommand(String[] splitInput, TaskList tasks) throws DukeException {
+        String action = splitInput[0];
+        boolean isExport = action.equals("export");
+        boolean isValid = splitInput.length == 2
+                || (isExport && splitInput.length == 3 && TaskFormat.fromName(splitInput[2]) != null);
+        if (!isValid) {
+            throw new DukeException(
+                    "Your formatting for the " + action + " command is wrong!!\n"
+                    + "In future, please do: " + action + " <file>" + (isExport ? " [csv|json]" : ""));
+        }
+
+        Command command = isExport ? new ExportCommand(splitInput, tasks) : new ImportCommand(splitInput, tasks);
+        return command.performAction();
+    }
+
     /**
      * Parses a `delete` command.
      *
@@ -223,6 +330,229 @@ public class Parser {
         return command.performAction();
     }
 
+    /**
+     * Parses a `tag` command.
+     *
+     * @param splitInput The input given by the user, that has been split into
+     *                   an array of individual words.
+     * @return Returns the message that MumBot should output, in respone to the input.
+     * @throws DukeException Throws a DukeException if the command is badly formatted.
+     */
+    private static String parseTagCommand(String[] splitInput, TaskList tasks) throws DukeException {
+        String action = splitInput[0];
+        if (splitInput.length < 3) {
+            throw new DukeException(
+                    "Your formatting for the " + action + " command is wrong!!\n"
+                    + "In future, please do: " + action + " <index of task> <tag> [more tags]");
+        }
+
+        int index;
+        try {
+            index = Integer.parseInt(splitInput[1]);
+        } catch (NumberFormatException e) {
+            throw new DukeException("Index was not properly specified (has to be an integer) for your "
+                    + action + " command!");
+        }
+        if (index < 1 || index > tasks.getSize()) {
+            throw new DukeException("There isn't a task with that index !!!");
+        }
+        for (int i = 2; i < splitInput.length; i++) {
+            if (!Task.isValidTag(splitInput[i].toLowerCase(Locale.ROOT))) {
+                throw new DukeException("'" + splitInput[i] + "' can't be a tag, sweetie! "
+                        + "Tags can only have letters, digits, '-' and '_'.");
+            }
+        }
+
+        Command command = new TagCommand(splitInput, tasks);
+        return command.performAction();
+    }
+
+    /**
+     * Parses a `depend` command.
+     *
+     * @param splitInput The input given by the user, that has been split into
+     *                   an array of individual words.
+     * @return Returns the message that MumBot should output, in respone to the input.
+     * @throws DukeException Throws a DukeException if the command is badly formatted.
+     */
+    private static String parseDependCommand(String[] splitInput, TaskList tasks) throws DukeException {
+        String action = splitInput[0];
+        if (!(splitInput.length == 4 && splitInput[2].equals("on"))) {
+            throw new DukeException(
+                    "Your formatting for the " + action + " command is wrong!!\n"
+                    + "In future, please do: " + action + " <index of task> on <index of task to do first>");
+        }
+
+        for (int i : new int[] {1, 3}) {
+            int index;
+            try {
+                index = Integer.parseInt(splitInput[i]);
+            } catch (NumberFormatException e) {
+                throw new DukeException("Index was not properly specified (has to be an integer) for your "
+                        + action + " command!");
+            }
+            if (index < 1 || index > tasks.getSize()) {
+                throw new DukeException("There isn't a task with that index !!!");
+            }
+        }
+
+        Command command = new DependCommand(splitInput, tasks);
+        return command.performAction();
+    }
+
+    /**
+     * Parses a `ready` command.
+     *
+     * @param splitInput The input given by the user, that has been split into
+     *                   an array of individual words.
+     * @return Returns the message that MumBot should output, in respone to the input.
+     * @throws DukeException Throws a DukeException if the command is badly formatted.
+     */
+    private static String parseReadyCommand(String[] splitInput, TaskList tasks) throws DukeException {
+        if (!(splitInput.length == 1)) {
+            throw new DukeException("</3 your formatting for the ready command is wrong - please just type ready!");
+        }
+        Command command = new ReadyCommand(splitInput, tasks);
+        return command.performAction();
+    }
+
+    /**
+     * Parses a `sort` command.
+     *
+     * @param splitInput The input given by the user, that has been split into
+     *                   an array of individual words.
+     * @return Returns the message that MumBot should output, in respone to the input.
+     * @throws DukeException Throws a DukeException if the command is badly formatted.
+     */
+    private static String parseSortCommand(String[] splitInput, TaskList tasks) throws DukeException {
+        String action = splitInput[0];
+        if (!((splitInput.length == 3 || splitInput.length == 4) && splitInput[1].equals("by")
+                && splitInput[2].matches("priority|date|status"))) {
+            throw new DukeException(
+                    "Your formatting for the " + action + " command is wrong!!\n"
+                    + "In future, please do: " + action + " by <priority, date or status> [page]");
+        }
+        if (splitInput.length == 4) {
+            int page;
+            try {
+                page = Integer.parseInt(splitInput[3]);
+            } catch (NumberFormatException e) {
+                throw new DukeException("Page was not properly specified (has to be an integer) for your "
+                        + action + " command!");
+            }
+            if (page < 1) {
+                throw new DukeException("Sweetie, pages start from 1!");
+            }
+        }
+
+        Command command = new SortCommand(splitInput, tasks);
+        return command.performAction();
+    }
+
+    /**
+     * Parses a `diff` command.
+     *
+     * @param splitInput The input given by the user, that has been split into
+     *                   an array of individual words.
+     * @return Returns the message that the MumBot should output, in respone to the input.
+     * @throws DukeException Throws a DukeException if the command is badly formatted.
+     */
+    private static String parseDiffCommand(String[] splitInput, TaskList tasks) throws DukeException {
+        String action = splitInput[0];
+        if (splitInput.length < 2 || splitInput.length > 3) {
+            throw new DukeException(
+                    "Your formatting for the " + action + " command is wrong!!\n"
+                    + "In future, please do: " + action + " <from> <to>, such as " + action + " yesterday now");
+        }
+        Command command = new DiffCommand(splitInput, tasks);
+        return command.performAction();
+    }
+
+    /**
+     * Parses a `stats` command.
+     *
+     * @param splitInput The input given by the user, that has been split into
+     *                   an array of individual words.
+     * @return Returns the message that MumBot should output, in respone to the input.
+     * @throws DukeException Throws a DukeException if the command is badly formatted.
+     */
+    private static String parseStatsCommand(String[] splitInput, TaskList tasks) throws DukeException {
+        if (!(splitInput.length == 1)) {
+            throw new DukeException("</3 your formatting for the stats command is wrong - please just type stats!");
+        }
+        Command command = new StatsCommand(splitInput, tasks);
+        return command.performAction();
+    }
+
+    /**
+     * Parses a `workspace` command.
+     *
+     * @param splitInput The input given by the user, that has been split into
+     *                   an array of individual words.
+     * @return Returns the message that MumBot should output, in respone to the input.
+     * @throws DukeException Throws a DukeException if the command is badly formatted.
+     */
+    private static String parseWorkspaceCommand(String[] splitInput, WorkspaceManager workspaces)
+            throws DukeException {
+        String action = splitInput[0];
+        boolean isList = splitInput.length == 2 && splitInput[1].equals("list");
+        boolean isOpen = splitInput.length == 3 && splitInput[1].equals("open");
+        if (!(isList || isOpen)) {
+            throw new DukeException(
+                    "Your formatting for the " + action + " command is wrong!!\n"
+                    + "In future, please do: " + action + " open <name> or " + action + " list");
+        }
+        if (isOpen && !WorkspaceManager.isValidName(splitInput[2])) {
+            throw new DukeException("A workspace name can only have letters, digits, '-' and '_', honey!");
+        }
+
+        Command command = new WorkspaceCommand(splitInput, workspaces);
+        return command.performAction();
+    }
+
+    /**
+     * Parses a `sync` command.
+     *
+     * @param splitInput The input given by the user, that has been split into
+     *                   an array of individual words.
+     * @return Returns the message that MumBot should output, in respone to the input.
+     * @throws DukeException Throws a DukeException if no directory is given.
+     */
+    private static String parseSyncCommand(String[] splitInput, WorkspaceManager workspaces)
+            throws DukeException {
+        String action = splitInput[0];
+        if (splitInput.length < 2) {
+            throw new DukeException(
+                    "Your formatting for the " + action + " command is wrong!!\n"
+                    + "In future, please do: " + action + " <other data directory>");
+        }
+
+        Command command = new SyncCommand(splitInput, workspaces);
+        return command.performAction();
+    }
+
+    /**
+     * Performs actions based on the input, on the tasks of the current
+     * workspace. Also handles the `workspace open x` and `workspace list`
+     * commands, which switch between and list workspaces, and the `sync x`
+     * command, which merges the current workspace with its copy in the
+     * data directory x.
+     *
+     * @param input      The input given by the user.
+     * @param workspaces The workspaces of the user.
+     * @return Returns the message that MumBot should output, in response to the input.
+     * @throws DukeException When there are invalid inputs.
+     */
+    public static String settleInput(String input, WorkspaceManager workspaces) throws DukeException {
+        String[] splitInput = input.split(" ");
+        if (splitInput[0].equals("workspace")) {
+            return parseWorkspaceCommand(splitInput, workspaces);
+        } else if (splitInput[0].equals("sync")) {
+            return parseSyncCommand(splitInput, workspaces);
+        }
+        return settleInput(input, workspaces.getCurrentTasks());
+    }
+
     /**
      * Performs actions based on the input.
      * Commands:
@@ -233,7 +563,18 @@ public class Parser {
      *   - 'todo *', where * refers to any input: Create a Todo task.
      *   - 'event x /at y', where x and y refers to any input: Create an Event task that will happen at y.
      *   - 'deadline x /by y', where x and y refers to any input: Create a Deadline task that is due by y.
+     *   - 'recurring x /every y', where y is a recurrence rule: Create a Recurring task that repeats as y says.
+     *   - 'agenda [x y]', where x and y are dates: List what happens between x and y, or in the next week.
      *   - 'priority x y', where x is valid task index and y is a valid task Priority: Assigns the priority to the task.
+     *   - 'query x', where x is a list of conditions: Lists the tasks matching all the conditions.
+     *   - 'explain x', where x is a list of conditions: Describes how the query x would be evaluated.
+     *   - 'import x', where x is a .csv or .json file: Appends the tasks in x.
+     *   - 'export x [y]', where x is a file and y is csv or json: Writes all tasks to x.
+     *   - 'tag x y...', where x is a valid task index and y are words: Adds the tags y to task x.
+     *   - 'depend x on y', where x and y are valid task indexes: Task x waits until task y is done.
+     *   - 'ready': Lists the tasks that are not done and are not waiting on any other task.
+     *   - 'sort by x [y]', where x is priority, date or status: Lists page y of the tasks sorted by x.
+     *   - 'stats': Counts the tasks by type, priority and status, and the deadlines by week.
      *
      * @param input The input given by the user.
      * @param tasks The TaskList to perform appropriate actions on, after
@@ -263,18 +604,47 @@ public class Parser {
                 action.equals("event")
                 || action.equals("deadline")
                 || action.equals("todo")
+                || action.equals("recurring")
         ) {
             return parseTaskCommand(splitInput, tasks);
 
+        } else if (action.equals("agenda")) {
+            return parseAgendaCommand(splitInput, tasks);
+
         } else if (action.equals("find")) {
             return parseFindCommand(splitInput, tasks);
 
         } else if (action.equals("delete")) {
             return parseDeleteCommand(splitInput, tasks);
 
+        } else if (action.equals("query") || action.equals("explain")) {
+            return parseQueryCommand(splitInput, tasks);
+
+        } else if (action.equals("import") || action.equals("export")) {
+            return parseTransferCommand(splitInput, tasks);
+
+        } else if (action.equals("tag")) {
+            return parseTagCommand(splitInput, tasks);
+
+        } else if (action.equals("depend")) {
+            return parseDependCommand(splitInput, tasks);
+
+        } else if (action.equals("ready")) {
+            return parseReadyCommand(splitInput, tasks);
+
+        } else if (action.equals("sort")) {
+            return parseSortCommand(splitInput, tasks);
+
+        } else if (action.equals("stats")) {
+            return parseStatsCommand(splitInput, tasks);
+
+        } else if (action.equals("diff")) {
+            return parseDiffCommand(splitInput, tasks);
+
         } else {
             return "Your input is not recognised :(. It has to start with a command "
-                    + "(todo, deadline, event, mark, unmark, list, priority, find, delete, Bye)";
+                    + "(todo, deadline, event, recurring, mark, unmark, list, agenda, priority, find, delete, query, "
+                    + "explain, import, export, tag, depend, ready, sort, stats, diff, workspace, sync, Bye)";
         }
     }
 }
@@ -0,0 +1,548 @@
+package duke.query;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+import duke.search.Tokenizer;
+import duke.task.Task;
+import duke.task.Task.Priority;
+import duke.task.Task.Type;
+import duke.task.TaskList;
+
+/**
+ * A node in the predicate tree of a query. Besides testing a single task,
+ * a condition can estimate how many tasks an index lookup would return and
+ * perform that lookup, which the `QueryPlanner` uses to avoid full scans.
+ */
+public abstract class Condition {
+
+    /**
+     * The comparison operators a query may use.
+     */
+    public enum Operator {
+        EQ("="),
+        LT("<"),
+        LE("<="),
+        GT(">"),
+        GE(">=");
+
+        private final String symbol;
+
+        Operator(String symbol) {
+            this.symbol = symbol;
+        }
+
+        /**
+         * Returns true if a value that compares to the target as `comparison`
+         * satisfies this operator.
+         *
+         * @param comparison A negative, zero or positive comparison result.
+         */
+        boolean accepts(int comparison) {
+            switch (this) {
+            case LT:
+                return comparison < 0;
+            case LE:
+                return comparison <= 0;
+            case GT:
+                return comparison > 0;
+            case GE:
+                return comparison >= 0;
+            default:
+                return comparison == 0;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return symbol;
+        }
+    }
+
+    /**
+     * Returns true if the task satisfies this condition.
+     *
+     * @param task The task to test.
+     */
+    public abstract boolean test(Task task);
+
+    /**
+     * Estimates how many tasks an index lookup for this condition returns.
+     *
+     * @param tasks The TaskList being queried.
+     * @return The estimate, or -1 if this condition cannot use an index.
+     */
+    abstract long estimate(TaskList tasks);
+
+    /**
+     * Looks up the tasks that may satisfy this condition using the indexes.
+     * The planner only calls it when `estimate` is not negative, so a
+     * condition that cannot use an index may answer by scanning the tasks.
+     * The result may contain extra tasks, which the planner filters out.
+     *
+     * @param tasks The TaskList being queried.
+     */
+    abstract Collection<Task> lookup(TaskList tasks);
+
+    /**
+     * Returns the ids of exactly the tasks that satisfy this condition,
+     * computed with bitmap operations on the indexes, or null if this
+     * condition cannot be computed that way.
+     *
+     * @param tasks The TaskList being queried.
+     */
+    RoaringBitmap bitmap(TaskList tasks) {
+        return null;
+    }
+
+    /**
+     * Describes how this condition would be evaluated through the indexes.
+     *
+     * @param tasks The TaskList being queried.
+     */
+    String describeLookup(TaskList tasks) {
+        return "index lookup on " + this + " (~" + estimate(tasks) + " tasks)";
+    }
+
+    /**
+     * Matches tasks of one type.
+     */
+    static class TypeIs extends Condition {
+        private final Type type;
+
+        TypeIs(Type type) {
+            this.type = type;
+        }
+
+        @Override
+        public boolean test(Task task) {
+            return task.getType() == type;
+        }
+
+        @Override
+        long estimate(TaskList tasks) {
+            return tasks.getIndexes().withType(type).size();
+        }
+
+        @Override
+        Collection<Task> lookup(TaskList tasks) {
+            return tasks.getIndexes().withType(type);
+        }
+
+        @Override
+        public String toString() {
+            return "type = " + type;
+        }
+    }
+
+    /**
+     * Matches tasks that are done, or not done.
+     */
+    static class DoneIs extends Condition {
+        private final boolean isDone;
+
+        DoneIs(boolean isDone) {
+            this.isDone = isDone;
+        }
+
+        @Override
+        public boolean test(Task task) {
+            return task.isDone() == isDone;
+        }
+
+        @Override
+        long estimate(TaskList tasks) {
+            return tasks.getIndexes().withDone(isDone).size();
+        }
+
+        @Override
+        Collection<Task> lookup(TaskList tasks) {
+            return tasks.getIndexes().withDone(isDone);
+        }
+
+        @Override
+        RoaringBitmap bitmap(TaskList tasks) {
+            TaskIndexes indexes = tasks.getIndexes();
+            return isDone ? indexes.doneIds() : indexes.allIds().andNot(indexes.doneIds());
+        }
+
+        @Override
+        public String toString() {
+            return "done = " + isDone;
+        }
+    }
+
+    /**
+     * Compares the priority of tasks, where NONE &lt; LOW &lt; MED &lt; HIGH.
+     */
+    static class PriorityIs extends Condition {
+        private final Operator operator;
+        private final Priority priority;
+
+        PriorityIs(Operator operator, Priority priority) {
+            this.operator = operator;
+            this.priority = priority;
+        }
+
+        private static int rank(Priority priority) {
+            return Priority.values().length - 1 - priority.ordinal();
+        }
+
+        private boolean accepts(Priority other) {
+            return operator.accepts(Integer.compare(rank(other), rank(priority)));
+        }
+
+        @Override
+        public boolean test(Task task) {
+            return accepts(task.getPriority());
+        }
+
+        @Override
+        long estimate(TaskList tasks) {
+            long count = 0;
+            for (Priority other : Priority.values()) {
+                if (accepts(other)) {
+                    count += tasks.getIndexes().withPriority(other).size();
+                }
+            }
+            return count;
+        }
+
+        @Override
+        Collection<Task> lookup(TaskList tasks) {
+            List<Task> found = new ArrayList<>();
+            for (Priority other : Priority.values()) {
+                if (accepts(other)) {
+                    found.addAll(tasks.getIndexes().withPriority(other));
+                }
+            }
+            return found;
+        }
+
+        @Override
+        public String toString() {
+            return "priority " + operator + " " + priority;
+        }
+    }
+
+    /**
+     * Compares the date of tasks. Tasks without a date never match.
+     */
+    static class DueIs extends Condition {
+        private final Operator operator;
+        private final LocalDate date;
+
+        DueIs(Operator operator, LocalDate date) {
+            this.operator = operator;
+            this.date = date;
+        }
+
+        private NavigableMap<LocalDate, NavigableSet<Task>> range(TaskList tasks) {
+            NavigableMap<LocalDate, NavigableSet<Task>> byDate = tasks.getIndexes().byDate();
+            switch (operator) {
+            case LT:
+                return byDate.headMap(date, false);
+            case LE:
+                return byDate.headMap(date, true);
+            case GT:
+                return byDate.tailMap(date, false);
+            case GE:
+                return byDate.tailMap(date, true);
+            default:
+                return byDate.subMap(date, true, date, true);
+            }
+        }
+
+        @Override
+        public boolean test(Task task) {
+            return task.getDate() != null && operator.accepts(task.getDate().compareTo(date));
+        }
+
+        @Override
+        long estimate(TaskList tasks) {
+            long count = 0;
+            for (NavigableSet<Task> onDate : range(tasks).values()) {
+                count += onDate.size();
+            }
+            return count;
+        }
+
+        @Override
+        Collection<Task> lookup(TaskList tasks) {
+            List<Task> found = new ArrayList<>();
+            for (NavigableSet<Task> onDate : range(tasks).values()) {
+                found.addAll(onDate);
+            }
+            return found;
+        }
+
+        @Override
+        public String toString() {
+            return "due " + operator + " " + date;
+        }
+    }
+
+    /**
+     * Matches tasks whose descriptions contain a word, ignoring case.
+     */
+    static class TextHas extends Condition {
+        private final String term;
+
+        TextHas(String term) {
+            this.term = term;
+        }
+
+        @Override
+        public boolean test(Task task) {
+            return Tokenizer.tokenize(task.getDescription()).contains(term)
+                    || Tokenizer.tokenize(task.getMiscDescription()).contains(term);
+        }
+
+        @Override
+        long estimate(TaskList tasks) {
+            return tasks.getSearchIndex().tasksWithTerm(term).size();
+        }
+
+        @Override
+        Collection<Task> lookup(TaskList tasks) {
+            return tasks.getSearchIndex().tasksWithTerm(term);
+        }
+
+        @Override
+        public String toString() {
+            return "text has '" + term + "'";
+        }
+    }
+
+    /**
+     * Matches tasks that have a tag.
+     */
+    static class TagIs extends Condition {
+        private final String tag;
+
+        TagIs(String tag) {
+            this.tag = tag;
+        }
+
+        @Override
+        public boolean test(Task task) {
+            return task.getTags().contains(tag);
+        }
+
+        @Override
+        long estimate(TaskList tasks) {
+            return tasks.getIndexes().idsWithTag(tag).cardinality();
+        }
+
+        @Override
+        Collection<Task> lookup(TaskList tasks) {
+            List<Task> found = new ArrayList<>();
+            tasks.getIndexes().idsWithTag(tag).forEach(id -> found.add(tasks.getById(id)));
+            return found;
+        }
+
+        @Override
+        RoaringBitmap bitmap(TaskList tasks) {
+            return tasks.getIndexes().idsWithTag(tag);
+        }
+
+        @Override
+        public String toString() {
+            return "tagged " + tag;
+        }
+    }
+
+    /**
+     * Matches tasks that do not satisfy a condition. It can only use the
+     * indexes through bitmaps, as the complement of its condition's bitmap.
+     */
+    static class Not extends Condition {
+        private final Condition inner;
+
+        Not(Condition inner) {
+            this.inner = inner;
+        }
+
+        @Override
+        public boolean test(Task task) {
+            return !inner.test(task);
+        }
+
+        @Override
+        long estimate(TaskList tasks) {
+            return -1;
+        }
+
+        @Override
+        Collection<Task> lookup(TaskList tasks) {
+            return tasks.filter(this::test); // Not reached through the planner, as the estimate is -1.
+        }
+
+        @Override
+        RoaringBitmap bitmap(TaskList tasks) {
+            RoaringBitmap matching = inner.bitmap(tasks);
+            return matching == null ? null : tasks.getIndexes().allIds().andNot(matching);
+        }
+
+        @Override
+        public String toString() {
+            return "NOT " + inner;
+        }
+    }
+
+    /**
+     * Matches tasks that satisfy every one of its conditions. It is looked
+     * up through its most selective indexable condition.
+     */
+    static class And extends Condition {
+        private final List<Condition> parts;
+
+        And(List<Condition> parts) {
+            this.parts = parts;
+        }
+
+        /**
+         * Returns the indexable part that matches the fewest tasks, or null.
+         */
+        private Condition mostSelective(TaskList tasks) {
+            Condition best = null;
+            long bestEstimate = -1;
+            for (Condition part : parts) {
+                long estimate = part.estimate(tasks);
+                if (estimate >= 0 && (best == null || estimate < bestEstimate)) {
+                    best = part;
+                    bestEstimate = estimate;
+                }
+            }
+            return best;
+        }
+
+        @Override
+        public boolean test(Task task) {
+            for (Condition part : parts) {
+                if (!part.test(task)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        long estimate(TaskList tasks) {
+            Condition best = mostSelective(tasks);
+            return best == null ? -1 : best.estimate(tasks);
+        }
+
+        @Override
+        Collection<Task> lookup(TaskList tasks) {
+            return mostSelective(tasks).lookup(tasks);
+        }
+
+        @Override
+        RoaringBitmap bitmap(TaskList tasks) {
+            RoaringBitmap result = null;
+            for (Condition part : parts) {
+                RoaringBitmap matching = part.bitmap(tasks);
+                if (matching == null) {
+                    return null;
+                }
+                result = result == null ? matching : result.and(matching);
+            }
+            return result;
+        }
+
+        @Override
+        String describeLookup(TaskList tasks) {
+            return mostSelective(tasks).describeLookup(tasks);
+        }
+
+        @Override
+        public String toString() {
+            List<String> descriptions = new ArrayList<>();
+            for (Condition part : parts) {
+                descriptions.add(part.toString());
+            }
+            return "(" + String.join(" AND ", descriptions) + ")";
+        }
+    }
+
+    /**
+     * Matches tasks that satisfy any one of its conditions. It can only use
+     * the indexes if every one of its conditions can.
+     */
+    static class Or extends Condition {
+        private final List<Condition> parts;
+
+        Or(List<Condition> parts) {
+            this.parts = parts;
+        }
+
+        @Override
+        public boolean test(Task task) {
+            for (Condition part : parts) {
+                if (part.test(task)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        long estimate(TaskList tasks) {
+            long count = 0;
+            for (Condition part : parts) {
+                long estimate = part.estimate(tasks);
+                if (estimate < 0) {
+                    return -1;
+                }
+                count += estimate;
+            }
+            return count;
+        }
+
+        @Override
+        Collection<Task> lookup(TaskList tasks) {
+            TreeSet<Task> found = new TreeSet<>(TaskIndexes.LIST_ORDER);
+            for (Condition part : parts) {
+                found.addAll(part.lookup(tasks));
+            }
+            return found;
+        }
+
+        @Override
+        RoaringBitmap bitmap(TaskList tasks) {
+            RoaringBitmap result = null;
+            for (Condition part : parts) {
+                RoaringBitmap matching = part.bitmap(tasks);
+                if (matching == null) {
+                    return null;
+                }
+                result = result == null ? matching : result.or(matching);
+            }
+            return result;
+        }
+
+        @Override
+        String describeLookup(TaskList tasks) {
+            List<String> lookups = new ArrayList<>();
+            for (Condition part : parts) {
+                lookups.add(part.describeLookup(tasks));
+            }
+            return "union of [" + String.join("; ", lookups) + "]";
+        }
+
+        @Override
+        public String toString() {
+            List<String> descriptions = new ArrayList<>();
+            for (Condition part : parts) {
+                descriptions.add(part.toString());
+            }
+            return "(" + String.join(" OR ", descriptions) + ")";
+        }
+    }
+}
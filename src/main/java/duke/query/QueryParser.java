@@ -0,0 +1,141 @@
+package duke.query;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import duke.exception.DukeException;
+import duke.search.Tokenizer;
+import duke.task.Task;
+import duke.task.Task.Priority;
+import duke.task.Task.Type;
+
+/**
+ * Parses a query into a tree of `Condition`s.
+ * A query is a list of clauses such as `type:deadline`, `done:false`,
+ * `priority>=med`, `due<2026-11-01`, `text:report` or `tag:work`. Clauses
+ * next to each other (optionally joined by `&`) must all hold, `or`
+ * separates alternatives and a leading `!` negates a clause. `tagged work`
+ * is short for `tag:work`, and a bare `done` for `done:true`, so queries
+ * like `tagged work & !done` read naturally.
+ */
+public class QueryParser {
+
+    private static final String[] OPERATORS = {">=", "<=", ":", "=", "<", ">"};
+
+    /**
+     * Parses the words of a query.
+     *
+     * @param words The words of the query, without the command name.
+     * @return The root of the parsed condition tree.
+     * @throws DukeException If the query is empty or has an invalid clause.
+     */
+    public static Condition parse(List<String> words) throws DukeException {
+        List<Condition> alternatives = new ArrayList<>();
+        List<Condition> clauses = new ArrayList<>();
+        for (int i = 0; i < words.size(); i++) {
+            String word = words.get(i);
+            if (word.isEmpty() || word.equals("&")) {
+                continue;
+            }
+            if (word.equalsIgnoreCase("or")) {
+                alternatives.add(combine(clauses));
+                clauses = new ArrayList<>();
+                continue;
+            }
+            boolean isNegated = word.startsWith("!");
+            if (isNegated) {
+                word = word.substring(1);
+            }
+            if (word.equalsIgnoreCase("tagged") && i + 1 < words.size()) {
+                word = "tag:" + words.get(++i);
+            }
+            Condition clause = parseClause(word);
+            clauses.add(isNegated ? new Condition.Not(clause) : clause);
+        }
+        alternatives.add(combine(clauses));
+        return alternatives.size() == 1 ? alternatives.get(0) : new Condition.Or(alternatives);
+    }
+
+    private static Condition combine(List<Condition> clauses) throws DukeException {
+        if (clauses.isEmpty()) {
+            throw new DukeException("Your query is missing some conditions, sweetie!\n"
+                    + "Try something like: query type:deadline done:false priority>=med");
+        }
+        return clauses.size() == 1 ? clauses.get(0) : new Condition.And(clauses);
+    }
+
+    private static Condition parseClause(String clause) throws DukeException {
+        if (clause.equalsIgnoreCase("done")) {
+            return new Condition.DoneIs(true);
+        }
+        for (String symbol : OPERATORS) {
+            int at = clause.indexOf(symbol);
+            if (at > 0) {
+                String field = clause.substring(0, at).toLowerCase(Locale.ROOT);
+                String value = clause.substring(at + symbol.length());
+                return parseField(clause, field, toOperator(symbol), value);
+            }
+        }
+        throw new DukeException("I don't understand '" + clause + "' in your query :(\n"
+                + "Each condition should look like field:value, e.g. done:false");
+    }
+
+    private static Condition.Operator toOperator(String symbol) {
+        switch (symbol) {
+        case ">=":
+            return Condition.Operator.GE;
+        case "<=":
+            return Condition.Operator.LE;
+        case "<":
+            return Condition.Operator.LT;
+        case ">":
+            return Condition.Operator.GT;
+        default:
+            return Condition.Operator.EQ;
+        }
+    }
+
+    private static Condition parseField(String clause, String field, Condition.Operator operator, String value)
+            throws DukeException {
+        boolean isEquality = operator == Condition.Operator.EQ;
+        try {
+            switch (field) {
+            case "type":
+                if (isEquality) {
+                    return new Condition.TypeIs(Type.valueOf(value.toUpperCase(Locale.ROOT)));
+                }
+                break;
+            case "done":
+                if (isEquality && (value.equalsIgnoreCase("true") || value.equalsIgnoreCase("false"))) {
+                    return new Condition.DoneIs(Boolean.parseBoolean(value));
+                }
+                break;
+            case "priority":
+                return new Condition.PriorityIs(operator, Priority.valueOf(value.toUpperCase(Locale.ROOT)));
+            case "due":
+                return new Condition.DueIs(operator, LocalDate.parse(value));
+            case "tag":
+                if (isEquality && Task.isValidTag(value.toLowerCase(Locale.ROOT))) {
+                    return new Condition.TagIs(value.toLowerCase(Locale.ROOT));
+                }
+                break;
+            case "text":
+                List<String> terms = Tokenizer.tokenize(value);
+                if (isEquality && terms.size() == 1) {
+                    return new Condition.TextHas(terms.get(0));
+                }
+                break;
+            default:
+                break;
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // Fall through to the error below.
+        }
+        throw new DukeException("Honey, '" + clause + "' is not a valid condition!\n"
+                + "Use type:todo|deadline|event|recurring, done:true|false, priority>=high|med|low|none, "
+                + "due<yyyy-mm-dd, text:word or tag:name");
+    }
+}
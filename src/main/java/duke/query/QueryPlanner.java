@@ -0,0 +1,78 @@
+package duke.query;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import duke.task.ParallelScan;
+import duke.task.Task;
+import duke.task.TaskList;
+
+/**
+ * Chooses how to evaluate a query over a `TaskList`: with bitmap
+ * operations when every condition has a bitmap index, otherwise through
+ * the index that is expected to return the fewest tasks, or by scanning
+ * every task when no index helps.
+ */
+public class QueryPlanner {
+
+    /**
+     * Returns true if the condition is cheaper to evaluate through an index
+     * than by scanning every task.
+     */
+    private static boolean usesIndex(Condition condition, TaskList tasks) {
+        long estimate = condition.estimate(tasks);
+        return estimate >= 0 && estimate < tasks.getSize();
+    }
+
+    /**
+     * Returns the tasks that satisfy a condition, in list order.
+     *
+     * @param condition The parsed query.
+     * @param tasks     The TaskList to query.
+     */
+    public static List<Task> execute(Condition condition, TaskList tasks) {
+        RoaringBitmap ids = condition.bitmap(tasks);
+        if (ids != null) {
+            List<Task> found = new ArrayList<>(ids.cardinality());
+            ids.forEach(id -> found.add(tasks.getById(id)));
+            return found;
+        }
+        if (!usesIndex(condition, tasks)) {
+            return tasks.filter(condition::test);
+        }
+
+        List<Task> found = new ArrayList<>();
+        Collection<Task> candidates = condition.lookup(tasks);
+        for (Task task : candidates) {
+            if (condition.test(task)) {
+                found.add(task);
+            }
+        }
+        found.sort(TaskIndexes.LIST_ORDER);
+        return found;
+    }
+
+    /**
+     * Describes how a condition would be evaluated, without evaluating it.
+     *
+     * @param condition The parsed query.
+     * @param tasks     The TaskList to query.
+     */
+    public static String explain(Condition condition, TaskList tasks) {
+        RoaringBitmap ids = condition.bitmap(tasks);
+        if (ids != null) {
+            return "Query: " + condition + "\n"
+                    + "Plan: bitmap AND/OR/ANDNOT over the tag and done indexes (" + ids.cardinality()
+                    + " tasks)\n"
+                    + "Then: list the matching ids, which are already in list order\n";
+        }
+        String access = usesIndex(condition, tasks)
+                ? condition.describeLookup(tasks)
+                : "full scan of " + tasks.getSize() + " tasks"
+                        + (tasks.getSize() > ParallelScan.DEFAULT_THRESHOLD ? " in parallel" : "");
+        return "Query: " + condition + "\n"
+                + "Plan: " + access + "\n"
+                + "Then: keep the tasks matching the whole query, in list order\n";
+    }
+}
@@ -0,0 +1,418 @@
+package duke.query;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A compressed set of non-negative ints, such as task ids, in the style of
+ * a Roaring bitmap. Ints are grouped by their upper 16 bits into chunks.
+ * A chunk with few ints stores them as a sorted array, and a dense chunk as
+ * a bitmap of 65536 bits, so both sparse and dense sets stay small and
+ * AND, OR and ANDNOT work a chunk at a time.
+ */
+public class RoaringBitmap {
+
+    private static final int ARRAY_LIMIT = 4096; // Larger chunks are stored as bitmaps.
+    private static final int WORDS = 1 << 10; // 65536 bits per bitmap chunk.
+
+    /**
+     * The ints of one chunk, as a sorted array or as a bitmap.
+     */
+    private static final class Chunk {
+        private char[] values; // Sorted, when the chunk is an array.
+        private long[] words; // When the chunk is a bitmap.
+        private int cardinality;
+
+        private static Chunk ofArray(char[] values, int cardinality) {
+            Chunk chunk = new Chunk();
+            chunk.values = values;
+            chunk.cardinality = cardinality;
+            return chunk;
+        }
+
+        private static Chunk ofWords(long[] words) {
+            int cardinality = 0;
+            for (long word : words) {
+                cardinality += Long.bitCount(word);
+            }
+            if (cardinality <= ARRAY_LIMIT) {
+                char[] values = new char[cardinality];
+                int at = 0;
+                for (int i = 0; i < words.length; i++) {
+                    long word = words[i];
+                    while (word != 0) {
+                        values[at++] = (char) (i * 64 + Long.numberOfTrailingZeros(word));
+                        word &= word - 1;
+                    }
+                }
+                return ofArray(values, cardinality);
+            }
+            Chunk chunk = new Chunk();
+            chunk.words = words;
+            chunk.cardinality = cardinality;
+            return chunk;
+        }
+
+        private Chunk copy() {
+            if (!isBitmap()) {
+                return ofArray(Arrays.copyOf(values, cardinality), cardinality);
+            }
+            Chunk chunk = new Chunk();
+            chunk.words = words.clone();
+            chunk.cardinality = cardinality;
+            return chunk;
+        }
+
+        private boolean isBitmap() {
+            return words != null;
+        }
+
+        private long[] toWords() {
+            if (isBitmap()) {
+                return words.clone();
+            }
+            long[] result = new long[WORDS];
+            for (int i = 0; i < cardinality; i++) {
+                result[values[i] >>> 6] |= 1L << values[i];
+            }
+            return result;
+        }
+
+        private boolean contains(char low) {
+            if (isBitmap()) {
+                return (words[low >>> 6] & (1L << low)) != 0;
+            }
+            return Arrays.binarySearch(values, 0, cardinality, low) >= 0;
+        }
+
+        private boolean add(char low) {
+            if (isBitmap()) {
+                long before = words[low >>> 6];
+                words[low >>> 6] |= 1L << low;
+                if (before == words[low >>> 6]) {
+                    return false;
+                }
+                cardinality++;
+                return true;
+            }
+            int at = Arrays.binarySearch(values, 0, cardinality, low);
+            if (at >= 0) {
+                return false;
+            }
+            if (cardinality == ARRAY_LIMIT) {
+                words = toWords();
+                values = null;
+                return add(low);
+            }
+            at = -at - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_LIMIT, Math.max(4, values.length * 2)));
+            }
+            System.arraycopy(values, at, values, at + 1, cardinality - at);
+            values[at] = low;
+            cardinality++;
+            return true;
+        }
+
+        private boolean remove(char low) {
+            if (isBitmap()) {
+                long before = words[low >>> 6];
+                words[low >>> 6] &= ~(1L << low);
+                if (before == words[low >>> 6]) {
+                    return false;
+                }
+                cardinality--;
+                if (cardinality <= ARRAY_LIMIT / 2) {
+                    Chunk array = ofWords(words);
+                    words = null;
+                    values = array.values;
+                }
+                return true;
+            }
+            int at = Arrays.binarySearch(values, 0, cardinality, low);
+            if (at < 0) {
+                return false;
+            }
+            System.arraycopy(values, at + 1, values, at, cardinality - at - 1);
+            cardinality--;
+            return true;
+        }
+
+        private Chunk and(Chunk other) {
+            if (!isBitmap() && !other.isBitmap()) {
+                char[] result = new char[Math.min(cardinality, other.cardinality)];
+                int count = 0;
+                int i = 0;
+                int j = 0;
+                while (i < cardinality && j < other.cardinality) {
+                    if (values[i] < other.values[j]) {
+                        i++;
+                    } else if (values[i] > other.values[j]) {
+                        j++;
+                    } else {
+                        result[count++] = values[i];
+                        i++;
+                        j++;
+                    }
+                }
+                return ofArray(result, count);
+            }
+            if (!isBitmap() || !other.isBitmap()) {
+                Chunk array = isBitmap() ? other : this;
+                Chunk bitmap = isBitmap() ? this : other;
+                char[] result = new char[array.cardinality];
+                int count = 0;
+                for (int i = 0; i < array.cardinality; i++) {
+                    if (bitmap.contains(array.values[i])) {
+                        result[count++] = array.values[i];
+                    }
+                }
+                return ofArray(result, count);
+            }
+            long[] result = new long[WORDS];
+            for (int i = 0; i < WORDS; i++) {
+                result[i] = words[i] & other.words[i];
+            }
+            return ofWords(result);
+        }
+
+        private Chunk or(Chunk other) {
+            if (!isBitmap() && !other.isBitmap() && cardinality + other.cardinality <= ARRAY_LIMIT) {
+                char[] result = new char[cardinality + other.cardinality];
+                int count = 0;
+                int i = 0;
+                int j = 0;
+                while (i < cardinality || j < other.cardinality) {
+                    if (j == other.cardinality || (i < cardinality && values[i] < other.values[j])) {
+                        result[count++] = values[i++];
+                    } else if (i == cardinality || values[i] > other.values[j]) {
+                        result[count++] = other.values[j++];
+                    } else {
+                        result[count++] = values[i];
+                        i++;
+                        j++;
+                    }
+                }
+                return ofArray(result, count);
+            }
+            long[] result = toWords();
+            if (other.isBitmap()) {
+                for (int i = 0; i < WORDS; i++) {
+                    result[i] |= other.words[i];
+                }
+            } else {
+                for (int i = 0; i < other.cardinality; i++) {
+                    result[other.values[i] >>> 6] |= 1L << other.values[i];
+                }
+            }
+            return ofWords(result);
+        }
+
+        private Chunk andNot(Chunk other) {
+            if (!isBitmap()) {
+                char[] result = new char[cardinality];
+                int count = 0;
+                for (int i = 0; i < cardinality; i++) {
+                    if (!other.contains(values[i])) {
+                        result[count++] = values[i];
+                    }
+                }
+                return ofArray(result, count);
+            }
+            long[] result = words.clone();
+            if (other.isBitmap()) {
+                for (int i = 0; i < WORDS; i++) {
+                    result[i] &= ~other.words[i];
+                }
+            } else {
+                for (int i = 0; i < other.cardinality; i++) {
+                    result[other.values[i] >>> 6] &= ~(1L << other.values[i]);
+                }
+            }
+            return ofWords(result);
+        }
+
+        private void forEach(int high, IntConsumer action) {
+            if (isBitmap()) {
+                for (int i = 0; i < WORDS; i++) {
+                    long word = words[i];
+                    while (word != 0) {
+                        action.accept(high | (i * 64 + Long.numberOfTrailingZeros(word)));
+                        word &= word - 1;
+                    }
+                }
+            } else {
+                for (int i = 0; i < cardinality; i++) {
+                    action.accept(high | values[i]);
+                }
+            }
+        }
+    }
+
+    private char[] keys = new char[0]; // The upper 16 bits of each chunk's ints, in order.
+    private Chunk[] chunks = new Chunk[0];
+    private int size = 0; // The number of chunks in use.
+
+    private int find(char key) {
+        return Arrays.binarySearch(keys, 0, size, key);
+    }
+
+    private void append(char key, Chunk chunk) {
+        if (chunk.cardinality == 0) {
+            return;
+        }
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, Math.max(4, size * 2));
+            chunks = Arrays.copyOf(chunks, keys.length);
+        }
+        keys[size] = key;
+        chunks[size] = chunk;
+        size++;
+    }
+
+    /**
+     * Adds an int to this set.
+     *
+     * @param value The non-negative int to add.
+     * @return True if it was not already in the set.
+     */
+    public boolean add(int value) {
+        assert value >= 0 : "only non-negative ints can be stored";
+        char key = (char) (value >>> 16);
+        int at = find(key);
+        if (at < 0) {
+            at = -at - 1;
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, Math.max(4, size * 2));
+                chunks = Arrays.copyOf(chunks, keys.length);
+            }
+            System.arraycopy(keys, at, keys, at + 1, size - at);
+            System.arraycopy(chunks, at, chunks, at + 1, size - at);
+            keys[at] = key;
+            chunks[at] = Chunk.ofArray(new char[4], 0);
+            size++;
+        }
+        return chunks[at].add((char) value);
+    }
+
+    /**
+     * Removes an int from this set.
+     *
+     * @param value The int to remove.
+     * @return True if it was in the set.
+     */
+    public boolean remove(int value) {
+        int at = find((char) (value >>> 16));
+        if (at < 0 || !chunks[at].remove((char) value)) {
+            return false;
+        }
+        if (chunks[at].cardinality == 0) {
+            System.arraycopy(keys, at + 1, keys, at, size - at - 1);
+            System.arraycopy(chunks, at + 1, chunks, at, size - at - 1);
+            size--;
+            chunks[size] = null;
+        }
+        return true;
+    }
+
+    /**
+     * Returns true if an int is in this set.
+     *
+     * @param value The int to look for.
+     */
+    public boolean contains(int value) {
+        int at = find((char) (value >>> 16));
+        return at >= 0 && chunks[at].contains((char) value);
+    }
+
+    /**
+     * Returns the number of ints in this set.
+     */
+    public int cardinality() {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            count += chunks[i].cardinality;
+        }
+        return count;
+    }
+
+    /**
+     * Returns a new set of the ints that are in both this set and another.
+     *
+     * @param other The other set.
+     */
+    public RoaringBitmap and(RoaringBitmap other) {
+        RoaringBitmap result = new RoaringBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                result.append(keys[i], chunks[i].and(other.chunks[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns a new set of the ints that are in this set, another, or both.
+     *
+     * @param other The other set.
+     */
+    public RoaringBitmap or(RoaringBitmap other) {
+        RoaringBitmap result = new RoaringBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < size || j < other.size) {
+            if (j == other.size || (i < size && keys[i] < other.keys[j])) {
+                result.append(keys[i], chunks[i].copy());
+                i++;
+            } else if (i == size || keys[i] > other.keys[j]) {
+                result.append(other.keys[j], other.chunks[j].copy());
+                j++;
+            } else {
+                result.append(keys[i], chunks[i].or(other.chunks[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns a new set of the ints that are in this set but not in another.
+     *
+     * @param other The other set.
+     */
+    public RoaringBitmap andNot(RoaringBitmap other) {
+        RoaringBitmap result = new RoaringBitmap();
+        int j = 0;
+        for (int i = 0; i < size; i++) {
+            while (j < other.size && other.keys[j] < keys[i]) {
+                j++;
+            }
+            if (j < other.size && other.keys[j] == keys[i]) {
+                result.append(keys[i], chunks[i].andNot(other.chunks[j]));
+            } else {
+                result.append(keys[i], chunks[i].copy());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Performs an action for each int in this set, in increasing order.
+     *
+     * @param action The action to perform.
+     */
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            chunks[i].forEach(keys[i] << 16, action);
+        }
+    }
+}
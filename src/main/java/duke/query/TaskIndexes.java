@@ -0,0 +1,155 @@
+package duke.query;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import duke.task.Task;
+import duke.task.Task.Priority;
+import duke.task.Task.Type;
+import duke.task.TaskListener;
+
+/**
+ * Indexes the tasks of a `TaskList` by type, done status, priority and
+ * date, so that queries can look up matching tasks instead of scanning.
+ * Each index keeps its tasks in list order. Tags and the done status are
+ * also indexed as bitmaps of task ids, so that queries combining them are
+ * answered with bitmap operations.
+ */
+public class TaskIndexes implements TaskListener {
+
+    /**
+     * Orders tasks by id, which is the order they appear in their TaskList.
+     */
+    public static final Comparator<Task> LIST_ORDER = Comparator.comparingInt(Task::getId);
+
+    private final EnumMap<Type, NavigableSet<Task>> byType = new EnumMap<>(Type.class);
+    private final EnumMap<Priority, NavigableSet<Task>> byPriority = new EnumMap<>(Priority.class);
+    private final NavigableSet<Task> done = new TreeSet<>(LIST_ORDER);
+    private final NavigableSet<Task> notDone = new TreeSet<>(LIST_ORDER);
+    private final NavigableMap<LocalDate, NavigableSet<Task>> byDate = new TreeMap<>();
+    private final Map<String, RoaringBitmap> byTag = new HashMap<>();
+    private final RoaringBitmap allIds = new RoaringBitmap();
+    private final RoaringBitmap doneIds = new RoaringBitmap();
+
+    /**
+     * Initialises empty indexes.
+     */
+    public TaskIndexes() {
+        for (Type type : Type.values()) {
+            byType.put(type, new TreeSet<>(LIST_ORDER));
+        }
+        for (Priority priority : Priority.values()) {
+            byPriority.put(priority, new TreeSet<>(LIST_ORDER));
+        }
+    }
+
+    @Override
+    public void taskAdded(Task task) {
+        byType.get(task.getType()).add(task);
+        byPriority.get(task.getPriority()).add(task);
+        (task.isDone() ? done : notDone).add(task);
+        if (task.getDate() != null) {
+            byDate.computeIfAbsent(task.getDate(), date -> new TreeSet<>(LIST_ORDER)).add(task);
+        }
+        allIds.add(task.getId());
+        if (task.isDone()) {
+            doneIds.add(task.getId());
+        }
+        for (String tag : task.getTags()) {
+            byTag.computeIfAbsent(tag, key -> new RoaringBitmap()).add(task.getId());
+        }
+    }
+
+    @Override
+    public void taskRemoved(Task task) {
+        byType.get(task.getType()).remove(task);
+        byPriority.get(task.getPriority()).remove(task);
+        (task.isDone() ? done : notDone).remove(task);
+        if (task.getDate() != null) {
+            NavigableSet<Task> onDate = byDate.get(task.getDate());
+            onDate.remove(task);
+            if (onDate.isEmpty()) {
+                byDate.remove(task.getDate());
+            }
+        }
+        allIds.remove(task.getId());
+        doneIds.remove(task.getId());
+        for (String tag : task.getTags()) {
+            RoaringBitmap tagged = byTag.get(tag);
+            tagged.remove(task.getId());
+            if (tagged.cardinality() == 0) {
+                byTag.remove(tag);
+            }
+        }
+    }
+
+    @Override
+    public void taskChanging(Task task) {
+        taskRemoved(task);
+    }
+
+    @Override
+    public void taskChanged(Task task) {
+        taskAdded(task);
+    }
+
+    /**
+     * Returns the tasks of the given type.
+     */
+    public NavigableSet<Task> withType(Type type) {
+        return byType.get(type);
+    }
+
+    /**
+     * Returns the tasks with the given priority.
+     */
+    public NavigableSet<Task> withPriority(Priority priority) {
+        return byPriority.get(priority);
+    }
+
+    /**
+     * Returns the tasks that are done, or not done.
+     *
+     * @param isDone Whether to return the done tasks.
+     */
+    public NavigableSet<Task> withDone(boolean isDone) {
+        return isDone ? done : notDone;
+    }
+
+    /**
+     * Returns the ids of the tasks with the given tag. The bitmap must not be modified.
+     *
+     * @param tag The tag to look up.
+     */
+    public RoaringBitmap idsWithTag(String tag) {
+        return byTag.getOrDefault(tag, new RoaringBitmap());
+    }
+
+    /**
+     * Returns the ids of the tasks that are done. The bitmap must not be modified.
+     */
+    public RoaringBitmap doneIds() {
+        return doneIds;
+    }
+
+    /**
+     * Returns the ids of all the tasks. The bitmap must not be modified.
+     */
+    public RoaringBitmap allIds() {
+        return allIds;
+    }
+
+    /**
+     * Returns the dated tasks grouped by date, in date order.
+     */
+    public NavigableMap<LocalDate, NavigableSet<Task>> byDate() {
+        return byDate;
+    }
+}
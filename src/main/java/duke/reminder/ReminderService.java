@@ -0,0 +1,221 @@
+package duke.reminder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import duke.task.Task;
+import duke.task.TaskList;
+import duke.task.TaskListener;
+
+/**
+ * Reminds the user when a DEADLINE task is approaching.
+ * Pending reminders are kept in a min-heap ordered by the time they are
+ * due, which is updated incrementally as tasks are added, deleted, marked
+ * or re-dated. Only one wake-up is ever scheduled, for the earliest
+ * reminder, so nothing polls the task list.
+ */
+public class ReminderService implements TaskListener {
+
+    /**
+     * How long before a deadline the reminder is sent, by default.
+     */
+    public static final Duration DEFAULT_LEAD_TIME = Duration.ofDays(1);
+
+    private final Clock clock;
+    private final Duration leadTime;
+    private final Consumer<String> notifier;
+    private final ScheduledExecutorService scheduler; // Null if reminders are only fired by `fireDue`.
+
+    private final PriorityQueue<Reminder> pending = new PriorityQueue<>();
+    private final Map<Task, Reminder> reminderOf = new HashMap<>();
+    private ScheduledFuture<?> wakeUp;
+    private Instant wakeUpAt;
+
+    /**
+     * A reminder for one task. Reminders of deleted or changed tasks are
+     * cancelled rather than removed from the heap, and skipped when reached.
+     */
+    private static class Reminder implements Comparable<Reminder> {
+        private final Task task;
+        private final Instant fireAt;
+        private final Instant dueAt;
+        private boolean isCancelled = false;
+
+        private Reminder(Task task, Instant fireAt, Instant dueAt) {
+            this.task = task;
+            this.fireAt = fireAt;
+            this.dueAt = dueAt;
+        }
+
+        @Override
+        public int compareTo(Reminder other) {
+            return fireAt.compareTo(other.fireAt);
+        }
+    }
+
+    /**
+     * Initialises a ReminderService.
+     *
+     * @param clock     The clock to tell the time by.
+     * @param leadTime  How long before a deadline to send its reminder.
+     * @param notifier  Receives the reminder messages.
+     * @param scheduler Runs the wake-up for the earliest reminder, or null to
+     *                  only send reminders when `fireDue` is called.
+     */
+    public ReminderService(Clock clock, Duration leadTime, Consumer<String> notifier,
+            ScheduledExecutorService scheduler) {
+        this.clock = clock;
+        this.leadTime = leadTime;
+        this.notifier = notifier;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Starts tracking the deadlines of a TaskList, including those it
+     * already has.
+     *
+     * @param tasks The TaskList to track.
+     */
+    public synchronized void watch(TaskList tasks) {
+        for (Task task : tasks.getTasks()) {
+            track(task);
+        }
+        tasks.addListener(this);
+        reschedule();
+    }
+
+    /**
+     * Stops tracking the deadlines of a TaskList, dropping their reminders.
+     *
+     * @param tasks The TaskList to stop tracking.
+     */
+    public synchronized void unwatch(TaskList tasks) {
+        tasks.removeListener(this);
+        for (Task task : tasks.getTasks()) {
+            untrack(task);
+        }
+    }
+
+    /**
+     * Returns the number of reminders that have not been sent yet.
+     */
+    public synchronized int getPendingCount() {
+        return reminderOf.size();
+    }
+
+    private void track(Task task) {
+        if (task.getType() != Task.Type.DEADLINE || task.getDate() == null || task.isDone()) {
+            return;
+        }
+        Instant dueAt = task.getDateTime().atZone(clock.getZone()).toInstant();
+        if (!dueAt.isAfter(clock.instant())) {
+            return; // Already overdue, so it is too late for a reminder.
+        }
+        Reminder reminder = new Reminder(task, dueAt.minus(leadTime), dueAt);
+        reminderOf.put(task, reminder);
+        pending.add(reminder);
+    }
+
+    private void untrack(Task task) {
+        Reminder reminder = reminderOf.remove(task);
+        if (reminder == null) {
+            return;
+        }
+        reminder.isCancelled = true;
+        // Drop cancelled reminders once they make up most of the heap.
+        if (pending.size() > 2 * reminderOf.size() + 16) {
+            pending.removeIf(stale -> stale.isCancelled);
+        }
+    }
+
+    @Override
+    public synchronized void taskAdded(Task task) {
+        track(task);
+        reschedule();
+    }
+
+    @Override
+    public synchronized void taskRemoved(Task task) {
+        untrack(task);
+        reschedule();
+    }
+
+    @Override
+    public synchronized void taskChanging(Task task) {
+        untrack(task);
+    }
+
+    @Override
+    public synchronized void taskChanged(Task task) {
+        track(task);
+        reschedule();
+    }
+
+    /**
+     * Sends every reminder that is due by now, then schedules the wake-up
+     * for the next one.
+     *
+     * @return The number of reminders sent.
+     */
+    public int fireDue() {
+        int sent = 0;
+        while (true) {
+            Reminder due;
+            synchronized (this) {
+                while (!pending.isEmpty() && pending.peek().isCancelled) {
+                    pending.poll();
+                }
+                if (pending.isEmpty() || pending.peek().fireAt.isAfter(clock.instant())) {
+                    wakeUpAt = null;
+                    reschedule();
+                    return sent;
+                }
+                due = pending.poll();
+                reminderOf.remove(due.task);
+            }
+            // Notify outside the lock, so a slow notifier never blocks task changes.
+            notifier.accept(describe(due));
+            sent++;
+        }
+    }
+
+    private String describe(Reminder reminder) {
+        Duration left = Duration.between(clock.instant(), reminder.dueAt);
+        long hours = Math.max(0, left.toHours());
+        return "MumBot: Sweetie, don't forget! '" + reminder.task.getDescription() + "' is due by "
+                + reminder.task.getMiscDescription() + " (in about " + hours + " hours) <3";
+    }
+
+    /**
+     * Makes sure a single wake-up is scheduled for the earliest reminder.
+     */
+    private void reschedule() {
+        if (scheduler == null) {
+            return;
+        }
+        while (!pending.isEmpty() && pending.peek().isCancelled) {
+            pending.poll();
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+        Instant next = pending.peek().fireAt;
+        if (wakeUpAt != null && !next.isBefore(wakeUpAt)) {
+            return; // The scheduled wake-up comes first anyway.
+        }
+        if (wakeUp != null) {
+            wakeUp.cancel(false);
+        }
+        long delay = Math.max(0, Duration.between(clock.instant(), next).toMillis());
+        wakeUpAt = next;
+        wakeUp = scheduler.schedule(this::fireDue, delay, TimeUnit.MILLISECONDS);
+    }
+}
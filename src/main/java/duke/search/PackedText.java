@@ -0,0 +1,350 @@
+package duke.search;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import duke.task.ParallelScan;
+import duke.task.Task;
+import duke.task.TaskListener;
+
+/**
+ * The descriptions of tasks packed one after another into a single UTF-8
+ * byte array, with an array of offsets marking where each task's text
+ * starts. A search reads the array from start to end, eight bytes at a time,
+ * for the byte of its search words that is rarest in the text (SWAR: SIMD
+ * within a register). Where the word holding that byte is found around a
+ * hit, the hit is mapped back to its task through the offsets, and the
+ * task's text is checked for the other words at once with a Bitap
+ * (shift-and) matcher, which follows all of them in the bits of one long.
+ * Reading memory in order like this avoids visiting every Task and its
+ * Strings, which are scattered across the heap.
+ *
+ * Text is stored in lower case, so searches ignore case. A removed task
+ * leaves a gap in the array, which is reclaimed once gaps fill half of it.
+ */
+public class PackedText implements TaskListener {
+
+    /**
+     * Separates a task's description from its other description, so that a
+     * search word cannot match across the two.
+     */
+    private static final byte SEPARATOR = 0;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class,
+            ByteOrder.LITTLE_ENDIAN);
+    private static final long ONES = 0x0101010101010101L;
+    private static final long HIGHS = 0x8080808080808080L;
+
+    private byte[] text = new byte[INITIAL_CAPACITY];
+    private int length = 0;
+    private int[] starts = new int[INITIAL_CAPACITY / 16]; // Where each entry starts in the text.
+    private Task[] owners = new Task[INITIAL_CAPACITY / 16]; // The task of each entry, or null once removed.
+    private int entryCount = 0;
+    private int removedLength = 0; // The length of the text of removed entries.
+    private final long[] byteCounts = new long[256]; // How often each byte appears, to find the rarest of a search.
+    private final Map<Task, Integer> entryOf = new IdentityHashMap<>();
+
+    /**
+     * The search words of one search, as UTF-8 bytes. The anchor is the word
+     * that holds the byte that is rarest in the text, which is scanned for.
+     * The words are also compiled into the bit masks of a shift-and matcher,
+     * where bit i stands for the i-th byte of the words laid end to end, so
+     * up to 64 bytes fit in a long. Longer searches check each word in turn.
+     */
+    private static class Search {
+        private final byte[][] words;
+        private final byte[] anchor;
+        private final int rareOffset; // Where the rare byte is in the anchor.
+        private final byte rare;
+        private final long broadcast; // The rare byte in every byte of a long.
+        private final long firsts; // The bits of the first byte of each word.
+        private final long lasts; // The bits of the last byte of each word.
+        private final long[] masks = new long[256]; // The bits at which each byte appears.
+        private final boolean isBitap;
+
+        private Search(byte[][] words, int anchorIndex, int rareOffset) {
+            this.words = words;
+            this.anchor = words[anchorIndex];
+            this.rareOffset = rareOffset;
+            rare = anchor[rareOffset];
+            broadcast = (rare & 0xFFL) * ONES;
+            long firstBits = 0;
+            long lastBits = 0;
+            int bit = 0;
+            for (byte[] word : words) {
+                if (bit + word.length > Long.SIZE) {
+                    bit = Long.SIZE + 1;
+                    break;
+                }
+                firstBits |= 1L << bit;
+                for (byte b : word) {
+                    masks[b & 0xFF] |= 1L << bit++;
+                }
+                lastBits |= 1L << (bit - 1);
+            }
+            isBitap = bit <= Long.SIZE;
+            firsts = firstBits;
+            lasts = lastBits;
+        }
+
+        /**
+         * Returns true if every word appears in text[from, to), which is
+         * known to hold the anchor.
+         */
+        private boolean matchesAll(byte[] text, int from, int to) {
+            if (words.length == 1) {
+                return true; // The anchor has been found, and it is the only word.
+            }
+            if (!isBitap) {
+                for (byte[] word : words) {
+                    if (indexOf(text, from, to, word) == -1) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            long state = 0;
+            long found = 0;
+            for (int i = from; i < to; i++) {
+                state = ((state << 1) | firsts) & masks[text[i] & 0xFF];
+                found |= state & lasts;
+                if (found == lasts) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Returns the tasks whose descriptions contain every search word, in the
+     * order that they were added.
+     *
+     * @param query The search words, separated by spaces. Case is ignored.
+     * @param limit The maximum number of tasks to return.
+     */
+    public List<Task> find(String query, int limit) {
+        String[] words = toLowerCase(query.trim()).split("\\s+");
+        if (words[0].isEmpty()) {
+            return new ArrayList<>();
+        }
+        byte[][] patterns = new byte[words.length][];
+        int anchor = 0;
+        int rareOffset = 0;
+        for (int i = 0; i < words.length; i++) {
+            patterns[i] = words[i].getBytes(StandardCharsets.UTF_8);
+            for (int j = 0; j < patterns[i].length; j++) {
+                if (byteCounts[patterns[i][j] & 0xFF] < byteCounts[patterns[anchor][rareOffset] & 0xFF]) {
+                    anchor = i;
+                    rareOffset = j;
+                }
+            }
+        }
+        if (byteCounts[patterns[anchor][rareOffset] & 0xFF] == 0) {
+            return new ArrayList<>(); // No task can contain that word.
+        }
+        Search search = new Search(patterns, anchor, rareOffset);
+        List<Task> found = ParallelScan.scan(entryCount, ParallelScan.DEFAULT_THRESHOLD,
+            (from, to) -> scan(from, to, search, limit), (left, right) -> {
+                left.addAll(right);
+                return left;
+            });
+        return found.size() > limit ? new ArrayList<>(found.subList(0, limit)) : found;
+    }
+
+    /**
+     * Finds the tasks of the entries from `from` (inclusive) to `to`
+     * (exclusive) that contain every search word. The text is scanned for
+     * the rare byte, and only where the anchor word is found around it is
+     * the rest of the entry checked.
+     */
+    private List<Task> scan(int from, int to, Search search, int limit) {
+        List<Task> matches = new ArrayList<>();
+        if (from >= to) {
+            return matches;
+        }
+        byte[] anchor = search.anchor;
+        int textStart = starts[from];
+        int textEnd = endOf(to - 1);
+        int entry = from;
+        int at = textStart + search.rareOffset;
+        while (matches.size() < limit) {
+            at = nextIndexOf(search.rare, search.broadcast, at, textEnd);
+            if (at == -1) {
+                break;
+            }
+            int start = at - search.rareOffset;
+            if (start + anchor.length > textEnd
+                    || !Arrays.equals(text, start, start + anchor.length, anchor, 0, anchor.length)) {
+                at++;
+                continue;
+            }
+            entry = entryAt(start, entry, to);
+            int entryEnd = endOf(entry);
+            if (start + anchor.length > entryEnd) {
+                at++; // The word runs on into the next entry.
+                continue;
+            }
+            if (owners[entry] != null && search.matchesAll(text, starts[entry], entryEnd)) {
+                matches.add(owners[entry]);
+            }
+            at = entryEnd + search.rareOffset;
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the index of the next `rare` byte in text[from, to), or -1.
+     * Eight bytes are compared at once: XOR with `broadcast` zeroes the bytes
+     * that match, and the lowest zero byte of the result is found with the
+     * usual "has a zero byte" bit trick.
+     */
+    private int nextIndexOf(byte rare, long broadcast, int from, int to) {
+        int i = from;
+        for (; i + Long.BYTES <= to; i += Long.BYTES) {
+            long x = (long) LONGS.get(text, i) ^ broadcast;
+            long zeroes = (x - ONES) & ~x & HIGHS;
+            if (zeroes != 0) {
+                return i + (Long.numberOfTrailingZeros(zeroes) >>> 3);
+            }
+        }
+        for (; i < to; i++) {
+            if (text[i] == rare) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the entry, from `from` (inclusive) to `to` (exclusive), whose
+     * text holds the byte at the index. Hits usually fall a few entries after
+     * the last one, so those are tried before a binary search.
+     */
+    private int entryAt(int index, int from, int to) {
+        int low = from;
+        for (int step = 0; step < 8; step++) {
+            if (low + 1 >= to || starts[low + 1] > index) {
+                return low;
+            }
+            low++;
+        }
+        int high = to - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (starts[mid] <= index) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    private int endOf(int entry) {
+        return entry + 1 < entryCount ? starts[entry + 1] : length;
+    }
+
+    private static int indexOf(byte[] text, int from, int to, byte[] word) {
+        for (int i = from; i + word.length <= to; i++) {
+            if (Arrays.equals(text, i, i + word.length, word, 0, word.length)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String toLowerCase(String value) {
+        char[] chars = value.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(chars[i]);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Returns the number of tasks whose text is stored.
+     */
+    public int size() {
+        return entryOf.size();
+    }
+
+    private void append(byte[] bytes) {
+        if (length + bytes.length > text.length) {
+            text = Arrays.copyOf(text, Math.max(text.length * 2, length + bytes.length));
+        }
+        System.arraycopy(bytes, 0, text, length, bytes.length);
+        length += bytes.length;
+        for (byte b : bytes) {
+            byteCounts[b & 0xFF]++;
+        }
+    }
+
+    @Override
+    public void taskAdded(Task task) {
+        if (entryCount == starts.length) {
+            starts = Arrays.copyOf(starts, entryCount * 2);
+            owners = Arrays.copyOf(owners, entryCount * 2);
+        }
+        starts[entryCount] = length;
+        owners[entryCount] = task;
+        entryOf.put(task, entryCount);
+        entryCount++;
+        append(toLowerCase(task.getDescription()).getBytes(StandardCharsets.UTF_8));
+        if (task.getMiscDescription() != null) {
+            append(new byte[] {SEPARATOR});
+            append(toLowerCase(task.getMiscDescription()).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Override
+    public void taskRemoved(Task task) {
+        Integer entry = entryOf.remove(task);
+        if (entry == null) {
+            return;
+        }
+        owners[entry] = null;
+        for (int i = starts[entry]; i < endOf(entry); i++) {
+            byteCounts[text[i] & 0xFF]--;
+        }
+        removedLength += endOf(entry) - starts[entry];
+        if (removedLength > length / 2 && length > INITIAL_CAPACITY) {
+            compact();
+        }
+    }
+
+    /**
+     * Moves the text of the remaining tasks together, dropping the gaps left
+     * by removed ones.
+     */
+    private void compact() {
+        int to = 0;
+        int textTo = 0;
+        for (int entry = 0; entry < entryCount; entry++) {
+            if (owners[entry] == null) {
+                continue;
+            }
+            int start = starts[entry];
+            int end = endOf(entry);
+            System.arraycopy(text, start, text, textTo, end - start);
+            starts[to] = textTo;
+            owners[to] = owners[entry];
+            entryOf.put(owners[to], to);
+            textTo += end - start;
+            to++;
+        }
+        Arrays.fill(owners, to, entryCount, null);
+        entryCount = to;
+        length = textTo;
+        removedLength = 0;
+    }
+}
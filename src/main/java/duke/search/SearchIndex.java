@@ -0,0 +1,269 @@
+package duke.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import duke.task.Task;
+import duke.task.TaskListener;
+
+/**
+ * An inverted index over the descriptions of tasks, which ranks
+ * matches with BM25 and tolerates small typos in the query.
+ * The index is updated incrementally as tasks are added and removed.
+ */
+public class SearchIndex implements TaskListener {
+
+    private static final double K1 = 1.2; // BM25 term frequency saturation.
+    private static final double B = 0.75; // BM25 document length normalisation.
+
+    /**
+     * Maps each term to the tasks that contain it, and how many times.
+     */
+    private final Map<String, Map<Task, Integer>> postings = new HashMap<>();
+
+    /**
+     * Maps each trigram to the terms that contain it, to find typo candidates.
+     */
+    private final Map<String, Set<String>> trigrams = new HashMap<>();
+
+    /**
+     * Stores the number of terms in each indexed task.
+     */
+    private final Map<Task, Integer> lengths = new HashMap<>();
+
+    private long totalLength = 0;
+
+    /**
+     * A task together with its score for the current query.
+     */
+    private static class Hit {
+        private final Task task;
+        private final double score;
+
+        private Hit(Task task, double score) {
+            this.task = task;
+            this.score = score;
+        }
+
+        /**
+         * Orders hits from worst to best, with earlier tasks winning ties.
+         */
+        private static int compare(Hit a, Hit b) {
+            int byScore = Double.compare(a.score, b.score);
+            return byScore != 0 ? byScore : Integer.compare(b.task.getId(), a.task.getId());
+        }
+    }
+
+    private static List<String> termsOf(Task task) {
+        List<String> terms = Tokenizer.tokenize(task.getDescription());
+        terms.addAll(Tokenizer.tokenize(task.getMiscDescription()));
+        return terms;
+    }
+
+    private static List<String> trigramsOf(String term) {
+        String padded = "  " + term + " ";
+        List<String> grams = new ArrayList<>(padded.length() - 2);
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    /**
+     * Returns the number of typos a query term of this length may contain.
+     */
+    private static int maxEditsFor(String term) {
+        if (term.length() <= 3) {
+            return 0;
+        } else if (term.length() <= 6) {
+            return 1;
+        } else {
+            return 2;
+        }
+    }
+
+    /**
+     * Computes the Levenshtein distance between two terms, giving up as soon
+     * as it must exceed `bound`.
+     *
+     * @return The distance, or `bound + 1` if it exceeds `bound`.
+     */
+    static int boundedDistance(String a, String b, int bound) {
+        if (Math.abs(a.length() - b.length()) > bound) {
+            return bound + 1;
+        }
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > bound) {
+                return bound + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[b.length()], bound + 1);
+    }
+
+    /**
+     * Adds a task to the index.
+     *
+     * @param task The task to index.
+     */
+    @Override
+    public void taskAdded(Task task) {
+        List<String> terms = termsOf(task);
+        for (String term : terms) {
+            Map<Task, Integer> termPostings = postings.get(term);
+            if (termPostings == null) {
+                termPostings = new HashMap<>();
+                postings.put(term, termPostings);
+                for (String gram : trigramsOf(term)) {
+                    trigrams.computeIfAbsent(gram, g -> new HashSet<>()).add(term);
+                }
+            }
+            termPostings.merge(task, 1, Integer::sum);
+        }
+        lengths.put(task, terms.size());
+        totalLength += terms.size();
+    }
+
+    /**
+     * Removes a task from the index.
+     *
+     * @param task The task to remove.
+     */
+    @Override
+    public void taskRemoved(Task task) {
+        Integer length = lengths.remove(task);
+        if (length == null) {
+            return;
+        }
+        totalLength -= length;
+        for (String term : termsOf(task)) {
+            Map<Task, Integer> termPostings = postings.get(term);
+            if (termPostings == null || termPostings.remove(task) == null || !termPostings.isEmpty()) {
+                continue;
+            }
+            postings.remove(term);
+            for (String gram : trigramsOf(term)) {
+                Set<String> terms = trigrams.get(gram);
+                terms.remove(term);
+                if (terms.isEmpty()) {
+                    trigrams.remove(gram);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the tasks whose descriptions contain exactly the given term.
+     *
+     * @param term A case-folded term, as produced by the `Tokenizer`.
+     */
+    public Set<Task> tasksWithTerm(String term) {
+        Map<Task, Integer> termPostings = postings.get(term);
+        return termPostings == null ? Collections.emptySet() : Collections.unmodifiableSet(termPostings.keySet());
+    }
+
+    /**
+     * Finds the indexed terms that are within the allowed number of typos
+     * of a query term, mapped to their edit distance from it.
+     */
+    private Map<String, Integer> matchingTerms(String queryTerm) {
+        Map<String, Integer> matches = new HashMap<>();
+        if (postings.containsKey(queryTerm)) {
+            matches.put(queryTerm, 0);
+        }
+        int maxEdits = maxEditsFor(queryTerm);
+        if (maxEdits == 0) {
+            return matches;
+        }
+
+        // A term within k edits must still share all but 3k of the query's trigrams.
+        List<String> queryGrams = trigramsOf(queryTerm);
+        int minShared = queryGrams.size() - 3 * maxEdits;
+        Map<String, Integer> sharedCounts = new HashMap<>();
+        for (String gram : new HashSet<>(queryGrams)) {
+            for (String term : trigrams.getOrDefault(gram, Collections.emptySet())) {
+                sharedCounts.merge(term, 1, Integer::sum);
+            }
+        }
+        for (Map.Entry<String, Integer> entry : sharedCounts.entrySet()) {
+            String term = entry.getKey();
+            if (entry.getValue() < minShared || matches.containsKey(term)) {
+                continue;
+            }
+            int distance = boundedDistance(queryTerm, term, maxEdits);
+            if (distance <= maxEdits) {
+                matches.put(term, distance);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the tasks that best match a query, best match first.
+     *
+     * @param query The words to search for.
+     * @param limit The maximum number of tasks to return.
+     * @return Up to `limit` matching tasks, ranked by relevance.
+     */
+    public List<Task> search(String query, int limit) {
+        int taskCount = lengths.size();
+        if (taskCount == 0 || limit <= 0) {
+            return new ArrayList<>();
+        }
+        double averageLength = Math.max(1.0, (double) totalLength / taskCount);
+
+        Map<Task, Double> scores = new HashMap<>();
+        for (String queryTerm : new HashSet<>(Tokenizer.tokenize(query))) {
+            for (Map.Entry<String, Integer> match : matchingTerms(queryTerm).entrySet()) {
+                Map<Task, Integer> termPostings = postings.get(match.getKey());
+                double idf = Math.log(1 + (taskCount - termPostings.size() + 0.5) / (termPostings.size() + 0.5));
+                double weight = idf / (1 + match.getValue()); // Typo matches count for less.
+                for (Map.Entry<Task, Integer> posting : termPostings.entrySet()) {
+                    int tf = posting.getValue();
+                    double norm = K1 * (1 - B + B * lengths.get(posting.getKey()) / averageLength);
+                    scores.merge(posting.getKey(), weight * tf * (K1 + 1) / (tf + norm), Double::sum);
+                }
+            }
+        }
+
+        // Keep only the best `limit` hits in a min-heap, instead of sorting every match.
+        PriorityQueue<Hit> best = new PriorityQueue<>(Math.min(limit, scores.size()) + 1, Hit::compare);
+        for (Map.Entry<Task, Double> entry : scores.entrySet()) {
+            Hit hit = new Hit(entry.getKey(), entry.getValue());
+            if (best.size() < limit) {
+                best.add(hit);
+            } else if (Hit.compare(hit, best.peek()) > 0) {
+                best.poll();
+                best.add(hit);
+            }
+        }
+
+        Task[] ranked = new Task[best.size()];
+        for (int i = ranked.length - 1; i >= 0; i--) {
+            ranked[i] = best.poll().task;
+        }
+        List<Task> results = new ArrayList<>(ranked.length);
+        Collections.addAll(results, ranked);
+        return results;
+    }
+}
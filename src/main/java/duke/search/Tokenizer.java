@@ -0,0 +1,36 @@
+package duke.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Splits text into case-folded search terms.
+ */
+public class Tokenizer {
+
+    /**
+     * Splits text into lower-case terms made up of letters and digits.
+     * Every other character is treated as a separator.
+     *
+     * @param text The text to split. May be null.
+     * @return The terms in the order they appear in the text.
+     */
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean isWordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (isWordChar && start == -1) {
+                start = i;
+            } else if (!isWordChar && start != -1) {
+                terms.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+}
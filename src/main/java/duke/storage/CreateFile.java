@@ -1,7 +1,7 @@
 package duke.storage;
 
-import java.io.File;
 import java.io.IOException;
+import java.nio.file.Paths;
 
 import javafx.fxml.FXMLLoader;
 
@@ -19,15 +19,17 @@ import duke.ui.MainWindow;
 class CreateFile {
 
     /**
-     * Creates a file in the specified location.
+     * Creates a file in the specified location, along with any missing
+     * directories, unless it already exists.
      *
      * @param filePath The location that the file should be created in.
+     * @param disk     The disk to create the file on.
      * @throws DukeException Throws a DukeException if an IOException is caught.
      */
-    public static void makeFile(String filePath) throws DukeException {
+    public static void makeFile(String filePath, Disk disk) throws DukeException {
         try {
-            File file = new File(filePath);
-        } catch (Exception e) {
+            disk.create(Paths.get(filePath));
+        } catch (IOException | SecurityException e) {
             throw new DukeException("Honey! There was a problem with creating or obtaining "
                     + "your list of tasks at " + filePath + " ! :(");
         }
@@ -0,0 +1,93 @@
+package duke.storage;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * The file operations that the saving and loading of tasks go through.
+ * `Storage` uses the real file system unless it is given another Disk, such
+ * as one that fails partway through a write to test that a crash never
+ * loses the saved tasks.
+ */
+public interface Disk {
+
+    /**
+     * The file system of the computer.
+     */
+    Disk LOCAL = new LocalDisk();
+
+    /**
+     * Returns true if the file exists.
+     *
+     * @param path The file.
+     */
+    boolean exists(Path path);
+
+    /**
+     * Creates an empty file, along with any missing directories, unless it
+     * already exists.
+     *
+     * @param path The file to create.
+     * @throws IOException If the file cannot be created.
+     */
+    void create(Path path) throws IOException;
+
+    /**
+     * Returns the contents of a file.
+     *
+     * @param path The file to read.
+     * @throws IOException If the file cannot be read.
+     */
+    byte[] read(Path path) throws IOException;
+
+    /**
+     * Replaces the contents of a file and flushes them to disk before returning.
+     *
+     * @param path     The file to write.
+     * @param contents The new contents of the file.
+     * @throws IOException If the file cannot be written. It may then hold
+     *                     any part of the new contents.
+     */
+    void write(Path path, byte[] contents) throws IOException;
+
+    /**
+     * Renames a file over another, atomically if the file system allows it,
+     * so that readers see either the old or the new file.
+     *
+     * @param source The file to rename.
+     * @param target The file to replace.
+     * @throws IOException If the file cannot be renamed.
+     */
+    void move(Path source, Path target) throws IOException;
+
+    /**
+     * Returns part of the contents of a file.
+     *
+     * @param path     The file to read.
+     * @param position Where the part starts.
+     * @param length   The length of the part.
+     * @throws IOException If the file cannot be read, or ends before the part does.
+     */
+    byte[] read(Path path, long position, int length) throws IOException;
+
+    /**
+     * Writes bytes into a file at a position, creating the file if needed,
+     * drops whatever came after the position before, and flushes the file to
+     * disk before returning. Writing at the end of a file appends to it.
+     *
+     * @param path     The file to write.
+     * @param position Where the bytes go. Earlier bytes are kept.
+     * @param contents The bytes to write.
+     * @throws IOException If the file cannot be written. It may then hold
+     *                     any part of the new bytes after the position.
+     */
+    void writeAt(Path path, long position, byte[] contents) throws IOException;
+
+    /**
+     * Deletes a file, if it exists.
+     *
+     * @param path The file to delete.
+     * @throws IOException If the file exists but cannot be deleted.
+     */
+    void delete(Path path) throws IOException;
+}
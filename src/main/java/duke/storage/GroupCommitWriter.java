@@ -0,0 +1,114 @@
+package duke.storage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import duke.exception.DukeException;
+
+/**
+ * Saves a `Storage` on a single background thread, on behalf of any number
+ * of threads that change its tasks. Every save request that arrives while
+ * the file is being written and flushed is answered by the next write, so
+ * a burst of changes costs one write and one flush instead of one each.
+ *
+ * Each request gets a future that completes once a write that started after
+ * the request has been flushed to disk, and so holds the change made before
+ * it. Threads that change the tasks while a save may be running must hold
+ * the TaskList's monitor, which the writer holds while it encodes the tasks.
+ * Note that this class is package-private.
+ */
+class GroupCommitWriter {
+
+    private static final CompletableFuture<Void> STOP = new CompletableFuture<>();
+
+    private final Storage storage;
+    private final BlockingQueue<CompletableFuture<Void>> requests = new LinkedBlockingQueue<>();
+    private final Thread thread;
+    private boolean isClosed = false;
+    private volatile long writeCount = 0;
+
+    /**
+     * Initialises a GroupCommitWriter and starts its thread.
+     *
+     * @param storage The storage to save.
+     */
+    GroupCommitWriter(Storage storage) {
+        this.storage = storage;
+        thread = new Thread(this::run, "mumbot-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Asks for the tasks to be saved.
+     *
+     * @return A future that completes once the tasks, as they are now, are
+     *         on disk, or completes exceptionally if they could not be saved.
+     */
+    synchronized CompletableFuture<Void> requestSave() {
+        CompletableFuture<Void> request = new CompletableFuture<>();
+        if (isClosed) {
+            request.completeExceptionally(new IllegalStateException("the writer is closed"));
+            return request;
+        }
+        requests.add(request);
+        return request;
+    }
+
+    /**
+     * Returns the number of times the file has been written.
+     */
+    long getWriteCount() {
+        return writeCount;
+    }
+
+    /**
+     * Answers the requests made so far, then stops the thread.
+     */
+    void close() {
+        synchronized (this) {
+            if (isClosed) {
+                return;
+            }
+            isClosed = true;
+            requests.add(STOP);
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        List<CompletableFuture<Void>> batch = new ArrayList<>();
+        while (true) {
+            try {
+                batch.add(requests.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            requests.drainTo(batch);
+            boolean isStopping = batch.remove(STOP);
+            try {
+                if (storage.saveIfChanged()) {
+                    writeCount++;
+                }
+                for (CompletableFuture<Void> request : batch) {
+                    request.complete(null);
+                }
+            } catch (DukeException | RuntimeException e) {
+                for (CompletableFuture<Void> request : batch) {
+                    request.completeExceptionally(e);
+                }
+            }
+            batch.clear();
+            if (isStopping) {
+                return;
+            }
+        }
+    }
+}
@@ -1,12 +1,20 @@
 package duke.storage;
 
-import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
-import java.util.Scanner;
+import java.util.HashMap;
+import java.util.Map;
 
 import duke.exception.DukeException;
+import duke.task.Recurrence;
 import duke.task.Task;
+import duke.task.Task.Priority;
 import duke.task.TaskList;
 
 /**
@@ -18,20 +26,133 @@ import duke.task.TaskList;
  */
 class LoadFile {
 
+    private static final String PRIORITY_DELIMITER = " || Priority: ";
+    private static final String TAGS_DELIMITER = " || Tags: ";
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MMM dd yyyy");
+    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("MMM dd yyyy HH:mm");
+
     /**
      * Parses a task in String format into a `Task`
-     * format, and returns it.
+     * format, and returns it. The done status, priority and tags
+     * written by `Task.toString()`, and the stable identity
+     * written by `SaveFile`, are restored as well.
      *
      * @param taskString The task in String format.
      * @return The task converted to a `Task` format.
+     * @throws DukeException If the rule of a recurring task cannot be parsed.
+     */
+    static Task parseTaskString(String taskString) throws DukeException {
+        return parseTaskString(taskString, null);
+    }
+
+    /**
+     * Parses a task in String format, like `parseTaskString(String)`, and
+     * collects the stable identities of its prerequisites to be linked by
+     * `linkPrerequisites` once every task has been loaded.
+     *
+     * @param taskString    The task in String format.
+     * @param prerequisites Receives the prerequisites of the task, if it has any.
+     * @return The task converted to a `Task` format.
+     * @throws DukeException If the rule of a recurring task cannot be parsed.
+     */
+    static Task parseTaskString(String taskString, Map<Task, String[]> prerequisites) throws DukeException {
+        // Strip the stable identity, if the line has one. Older files do not.
+        String uid = null;
+        int uidStart = taskString.lastIndexOf(SaveFile.UID_DELIMITER);
+        if (uidStart != -1) {
+            uid = taskString.substring(uidStart + SaveFile.UID_DELIMITER.length());
+            taskString = taskString.substring(0, uidStart);
+        }
+        String[] prerequisiteUids = null;
+        int prerequisitesStart = taskString.lastIndexOf(SaveFile.PREREQUISITES_DELIMITER);
+        if (prerequisitesStart != -1) {
+            prerequisiteUids = taskString.substring(prerequisitesStart
+                    + SaveFile.PREREQUISITES_DELIMITER.length()).split(",");
+            taskString = taskString.substring(0, prerequisitesStart);
+        }
+
+        // Strip the tags and priority suffixes next, so that they do not leak into the descriptions.
+        String[] tags = new String[0];
+        int tagsStart = taskString.lastIndexOf(TAGS_DELIMITER);
+        if (tagsStart != -1) {
+            tags = taskString.substring(tagsStart + TAGS_DELIMITER.length()).split(" ");
+            taskString = taskString.substring(0, tagsStart);
+        }
+        Priority priority = Priority.NONE;
+        int priorityStart = taskString.lastIndexOf(PRIORITY_DELIMITER);
+        if (priorityStart != -1) {
+            priority = Priority.valueOf(taskString.substring(priorityStart + PRIORITY_DELIMITER.length()));
+            taskString = taskString.substring(0, priorityStart);
+        }
+        boolean isDone = taskString.charAt(4) == 'X';
+
+        Task task = parseTaskBody(taskString);
+        if (uid != null) {
+            task.setUid(uid);
+        }
+        task.setPriority(priority);
+        for (String tag : tags) {
+            if (Task.isValidTag(tag)) {
+                task.addTag(tag);
+            }
+        }
+        if (isDone) {
+            task.updateStatus(true);
+        }
+        if (prerequisiteUids != null && prerequisites != null) {
+            prerequisites.put(task, prerequisiteUids);
+        }
+        return task;
+    }
+
+    /**
+     * Restores the dependencies between loaded tasks. Prerequisites that are
+     * no longer in the list are skipped.
+     *
+     * @param tasks         The loaded tasks.
+     * @param prerequisites The stable identities of each task's prerequisites.
+     * @param report        Receives the dependencies that form a cycle, or
+     *                      null if they should be thrown instead.
+     * @throws DukeException If the saved dependencies form a cycle and there is no report.
      */
-    private static Task parseTaskString(String taskString) {
+    static void linkPrerequisites(TaskList tasks, Map<Task, String[]> prerequisites, RecoveryReport report)
+            throws DukeException {
+        if (prerequisites.isEmpty()) {
+            return;
+        }
+        Map<String, Integer> indexByUid = new HashMap<>();
+        for (int i = 0; i < tasks.getSize(); i++) {
+            indexByUid.put(tasks.getTasks().get(i).getUid(), i);
+        }
+        for (Map.Entry<Task, String[]> entry : prerequisites.entrySet()) {
+            int dependentIndex = tasks.indexOf(entry.getKey());
+            for (String uid : entry.getValue()) {
+                Integer prerequisiteIndex = indexByUid.get(uid);
+                if (prerequisiteIndex == null) {
+                    continue;
+                }
+                try {
+                    tasks.addDependency(dependentIndex, prerequisiteIndex);
+                } catch (DukeException e) {
+                    if (report == null) {
+                        throw e;
+                    }
+                    report.addProblem("task " + (dependentIndex + 1), "its dependency on task "
+                            + (prerequisiteIndex + 1) + " forms a cycle");
+                }
+            }
+        }
+    }
+
+    private static Task parseTaskBody(String taskString) throws DukeException {
         String taskType = taskString.substring(1, 2);
         String taskDescription;
         String dateDescription;
         if (taskType.equals("T")) { // Task is a Todo
             taskDescription = taskString.substring(7);
             return new Task(taskDescription);
+        } else if (taskType.equals("R")) { // Task is Recurring
+            return parseRecurringTask(taskString);
         } else {
             // Setting the appropriate dateDelimiter.
             String dateDelimiter;
@@ -47,10 +168,66 @@ class LoadFile {
             task in String format by the dateDelimiter. */
             String[] inputArr = taskString.split(dateDelimiter);
             taskDescription = inputArr[0].substring(7);
-            dateDescription = inputArr[1].substring(0, inputArr[1].length() - 1);
+            dateDescription = toInputDate(inputArr[1].substring(0, inputArr[1].length() - 1));
 
+            // Saved dates are never relative, so they are read the same whenever they are loaded.
             return (new Task(taskDescription, dateDescription, (
-                            isDeadline ? Task.Type.DEADLINE : Task.Type.EVENT)));
+                            isDeadline ? Task.Type.DEADLINE : Task.Type.EVENT), null));
+        }
+    }
+
+    /**
+     * Parses a recurring task, together with the occurrences that were
+     * marked as done.
+     */
+    private static Task parseRecurringTask(String taskString) throws DukeException {
+        String doneDelimiter = ") (done on: ";
+        String[] inputArr = taskString.split(" \\(every: ", 2);
+        String taskDescription = inputArr[0].substring(7);
+        String rest = inputArr[1];
+
+        int doneStart = rest.indexOf(doneDelimiter);
+        String rule = rest.substring(0, doneStart == -1 ? rest.length() - 1 : doneStart);
+        Task task = new Task(taskDescription, Recurrence.parse(rule, LocalDate.now()));
+        if (doneStart != -1) {
+            String dates = rest.substring(doneStart + doneDelimiter.length(), rest.length() - 1);
+            for (String date : dates.split(" ")) {
+                task.updateOccurrenceStatus(LocalDate.parse(date), true);
+            }
+        }
+        return task;
+    }
+
+    /**
+     * Converts a date that was displayed as "MMM dd yyyy", or as
+     * "MMM dd yyyy HH:mm" with a time, back to the "yyyy-MM-dd" or
+     * "yyyy-MM-dd HH:mm" format that `Task` parses, so that it is loaded as a
+     * date again whatever the locale. Any other description is returned unchanged.
+     */
+    private static String toInputDate(String dateDescription) {
+        try {
+            LocalDateTime dateTime = LocalDateTime.parse(dateDescription, DATE_TIME_FORMAT);
+            return dateTime.toLocalDate() + " " + dateTime.toLocalTime();
+        } catch (DateTimeParseException e) {
+            // Not a date with a time; try a date alone.
+        }
+        try {
+            LocalDate date = LocalDate.parse(dateDescription, DATE_FORMAT);
+            return date.toString();
+        } catch (DateTimeParseException e) {
+            return dateDescription;
+        }
+    }
+
+    /**
+     * Parses a saved line into a `Task`, turning any damage to the line into
+     * a DukeException instead of an unchecked exception from its parsing.
+     */
+    static Task parseLine(String line, Map<Task, String[]> prerequisites) throws DukeException {
+        try {
+            return parseTaskString(line, prerequisites);
+        } catch (RuntimeException e) {
+            throw new DukeException("Honnney! I couldn't read the task '" + line + "'! :,(");
         }
     }
 
@@ -59,24 +236,40 @@ class LoadFile {
      * and returns it.
      *
      * @param filePath The location of the file.
+     * @param disk     The disk that holds the file.
+     * @param report   Receives the lines that are damaged, which are then
+     *                 skipped, or null if the first one should be thrown instead.
      * @return The `TaskList` converted from the .txt file.
-     * @throws DukeException Throws an exception if an IOException is caught.
+     * @throws DukeException Throws an exception if an IOException is caught, or
+     *                       if a line is damaged and there is no report.
      */
-    public static TaskList load(String filePath) throws DukeException {
+    public static TaskList load(String filePath, Disk disk, RecoveryReport report) throws DukeException {
         TaskList tasks = new TaskList(new ArrayList<Task>());
+        Map<Task, String[]> prerequisites = new HashMap<>();
+        String contents;
         try {
-            File file = new File(filePath);
-            Scanner sc = new Scanner(file);
-
-            while (sc.hasNext()) {
-                String taskString = sc.nextLine();
-                Task task = parseTaskString(taskString);
-                tasks.addTask(task, false);
-            }
+            contents = new String(disk.read(Paths.get(filePath)), StandardCharsets.UTF_8);
         } catch (IOException e) {
             throw new DukeException("Honnney! There was a problem with loading your list "
                     + "of tasks from " + filePath + "! :,(");
         }
+
+        String[] lines = contents.split("\r?\n");
+        for (int i = 0; i < lines.length; i++) {
+            if (lines[i].isEmpty()) {
+                continue;
+            }
+            try {
+                tasks.addTask(parseLine(lines[i], prerequisites), false);
+            } catch (DukeException e) {
+                if (report == null) {
+                    throw new DukeException("Honnney! Line " + (i + 1) + " of " + filePath
+                            + " is damaged! :,(");
+                }
+                report.addProblem("line " + (i + 1), lines[i]);
+            }
+        }
+        linkPrerequisites(tasks, prerequisites, report);
         return tasks;
     }
 }
@@ -0,0 +1,504 @@
+package duke.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import duke.exception.DukeException;
+import duke.task.Task;
+import duke.task.TaskList;
+import duke.task.TaskListener;
+
+/**
+ * Keeps tasks in a log-structured store: a directory holding a log of recent
+ * saves and sorted, immutable `Segment` files, which a manifest lists from
+ * oldest to newest. Each task is a record under a key that it keeps for
+ * good, and keys are handed out in list order.
+ *
+ * A save writes only the tasks that were added, changed or deleted since the
+ * last one. They are appended to the log, which is flushed to disk, and kept
+ * in a memtable until enough have gathered to be written out as a new
+ * segment. Whenever the newest segment has grown at least half as large as
+ * the one before it, the two are merged, so there are O(log n) segments and
+ * each record is rewritten O(log n) times, however many saves there are.
+ *
+ * Loading reads the index of every segment to find the latest record of
+ * each key, and then reads and parses only those records. A record that
+ * cannot be read is reported and left where it is.
+ * Note that this class is package-private.
+ */
+class LogStructuredBackend implements StorageBackend, TaskListener {
+
+    /**
+     * The extension that marks a path as a log-structured store.
+     */
+    static final String EXTENSION = ".lsm";
+
+    /**
+     * The number of records that the memtable holds before they are written
+     * out as a segment, by default.
+     */
+    static final int DEFAULT_MEMTABLE_LIMIT = 4096;
+
+    private static final String MANIFEST = "MANIFEST";
+    private static final String MANIFEST_HEADER = "mumbot-lsm 1";
+    private static final String LOG = "wal.log";
+    private static final int LOG_ENTRY_HEADER_SIZE = 8; // The length and checksum of the entry.
+
+    private final String filePath;
+    private final Path directory;
+    private final Disk disk;
+    private final int memtableLimit;
+
+    private List<Segment> segments = new ArrayList<>(); // Oldest first, as listed in the manifest.
+    private int nextSegment = 1; // The number in the name of the next segment file.
+    private final TreeMap<Long, byte[]> memtable = new TreeMap<>(); // Records in the log but in no segment yet.
+    private long logLength = 0; // Where the next entry goes in the log.
+
+    private TaskList tasks;
+    private final Map<Task, Long> keys = new IdentityHashMap<>();
+    private long nextKey = 0;
+    private final Set<Task> changedTasks = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final List<Long> deletedKeys = new ArrayList<>();
+    private TreeMap<Long, byte[]> unwritten = new TreeMap<>(); // Records whose write failed, for the next save.
+
+    /**
+     * Where a record is in the segments.
+     */
+    private static class Location {
+        private final Segment segment;
+        private final int index;
+
+        private Location(Segment segment, int index) {
+            this.segment = segment;
+            this.index = index;
+        }
+    }
+
+    /**
+     * Initialises a LogStructuredBackend.
+     *
+     * @param filePath The location of the store's directory.
+     * @param disk     The disk that holds it.
+     */
+    LogStructuredBackend(String filePath, Disk disk) {
+        this(filePath, disk, DEFAULT_MEMTABLE_LIMIT);
+    }
+
+    /**
+     * Initialises a LogStructuredBackend with a memtable of the given size.
+     *
+     * @param filePath      The location of the store's directory.
+     * @param disk          The disk that holds it.
+     * @param memtableLimit The number of records that are written out as a segment at once.
+     */
+    LogStructuredBackend(String filePath, Disk disk, int memtableLimit) {
+        assert memtableLimit >= 1 : "the memtable should hold at least one record";
+        this.filePath = filePath;
+        this.directory = Paths.get(filePath);
+        this.disk = disk;
+        this.memtableLimit = memtableLimit;
+    }
+
+    /**
+     * Returns true if the given path should be stored as a log-structured store.
+     *
+     * @param filePath The location of the store.
+     */
+    static boolean isStore(String filePath) {
+        return filePath.endsWith(EXTENSION);
+    }
+
+    /**
+     * Returns the number of segment files that the store is made of.
+     */
+    int getSegmentCount() {
+        return segments.size();
+    }
+
+    @Override
+    public TaskList load(RecoveryReport report) throws DukeException {
+        CreateFile.makeFile(directory.resolve(MANIFEST).toString(), disk);
+        TreeMap<Long, Location> latest = new TreeMap<>();
+        try {
+            boolean isManifestStale = false;
+            for (String name : readManifest()) {
+                nextSegment = Math.max(nextSegment, numberOf(name) + 1);
+                Segment segment;
+                try {
+                    segment = Segment.open(disk, directory, name);
+                } catch (NoSuchFileException e) {
+                    report.addProblem("segment " + name, "is missing");
+                    isManifestStale = true;
+                    continue;
+                } catch (Segment.DamagedException e) {
+                    report.addProblem("segment " + name, e.getMessage());
+                    moveDamagedFile(name, report);
+                    isManifestStale = true;
+                    continue;
+                }
+                segments.add(segment);
+                for (int i = 0; i < segment.size(); i++) {
+                    long key = segment.keyAt(i);
+                    nextKey = Math.max(nextKey, key + 1);
+                    if (segment.isDeletedAt(i)) {
+                        latest.remove(key);
+                    } else {
+                        latest.put(key, new Location(segment, i));
+                    }
+                }
+            }
+            replayLog(report);
+            if (isManifestStale) {
+                writeManifest(segments);
+            }
+            return loadTasks(latest, report);
+        } catch (IOException e) {
+            throw new DukeException("Honnney! There was a problem with loading your list "
+                    + "of tasks from " + filePath + "! :,(");
+        }
+    }
+
+    /**
+     * Reads the latest record of each key, from the segments and the
+     * memtable, and parses them into tasks in key order.
+     */
+    private TaskList loadTasks(TreeMap<Long, Location> latest, RecoveryReport report)
+            throws IOException, DukeException {
+        for (Long key : memtable.keySet()) {
+            nextKey = Math.max(nextKey, key + 1);
+            latest.remove(key);
+        }
+
+        // Read each segment's live records at once, from the first to the last.
+        Map<Segment, long[]> spans = new IdentityHashMap<>();
+        for (Location location : latest.values()) {
+            long[] span = spans.computeIfAbsent(location.segment, segment -> new long[] {Long.MAX_VALUE, 0});
+            span[0] = Math.min(span[0], location.segment.offsetAt(location.index));
+            span[1] = Math.max(span[1], location.segment.endAt(location.index));
+        }
+        Map<Segment, byte[]> parts = new IdentityHashMap<>();
+        for (Map.Entry<Segment, long[]> span : spans.entrySet()) {
+            long[] range = span.getValue();
+            parts.put(span.getKey(), disk.read(directory.resolve(span.getKey().getName()), range[0],
+                    Math.toIntExact(range[1] - range[0])));
+        }
+        TreeMap<Long, byte[]> records = new TreeMap<>();
+        Set<String> damagedFiles = new TreeSet<>();
+        for (Map.Entry<Long, Location> entry : latest.entrySet()) {
+            Segment segment = entry.getValue().segment;
+            byte[] value = segment.valueAt(entry.getValue().index, parts.get(segment), spans.get(segment)[0]);
+            if (value == null) {
+                report.addProblem("task record " + entry.getKey() + " in segment " + segment.getName(),
+                        "failed its checksum");
+                damagedFiles.add(segment.getName());
+            } else {
+                records.put(entry.getKey(), value);
+            }
+        }
+        for (String name : damagedFiles) {
+            copyDamagedFile(name, report);
+        }
+        for (Map.Entry<Long, byte[]> record : memtable.entrySet()) {
+            if (record.getValue() != Segment.DELETED) {
+                records.put(record.getKey(), record.getValue());
+            }
+        }
+
+        TaskList loaded = new TaskList(new ArrayList<Task>());
+        Map<Task, String[]> prerequisites = new HashMap<>();
+        for (Map.Entry<Long, byte[]> record : records.entrySet()) {
+            String line = new String(record.getValue(), StandardCharsets.UTF_8);
+            try {
+                Task task = LoadFile.parseLine(line, prerequisites);
+                loaded.addTask(task, false);
+                keys.put(task, record.getKey());
+            } catch (DukeException e) {
+                report.addProblem("task record " + record.getKey(), line);
+            }
+        }
+        LoadFile.linkPrerequisites(loaded, prerequisites, report);
+        loaded.addListener(this);
+        tasks = loaded;
+        return loaded;
+    }
+
+    /**
+     * Reads the entries of the log into the memtable. Each entry is the
+     * records of one save, and is only read if it passes its checksum; an
+     * entry cut off by a crash, and anything after it, is dropped, and will
+     * be written over by the next save.
+     */
+    private void replayLog(RecoveryReport report) throws IOException {
+        Path log = directory.resolve(LOG);
+        if (!disk.exists(log)) {
+            return;
+        }
+        byte[] contents = disk.read(log);
+        ByteBuffer buffer = ByteBuffer.wrap(contents);
+        while (buffer.remaining() >= LOG_ENTRY_HEADER_SIZE) {
+            int start = buffer.position();
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (length < Integer.BYTES || length > buffer.remaining()
+                    || Segment.checksumOf(contents, buffer.position(), length) != checksum) {
+                buffer.position(start);
+                break;
+            }
+            int count = buffer.getInt();
+            for (int i = 0; i < count; i++) {
+                long key = buffer.getLong();
+                int valueLength = buffer.getInt();
+                byte[] value = Segment.DELETED;
+                if (valueLength >= 0) {
+                    value = new byte[valueLength];
+                    buffer.get(value);
+                }
+                memtable.put(key, value);
+            }
+        }
+        logLength = buffer.position();
+        if (logLength < contents.length) {
+            report.addProblem("log " + LOG, "its last " + (contents.length - logLength)
+                    + " bytes were cut off, so the changes in them are lost");
+            copyDamagedFile(LOG, report);
+        }
+    }
+
+    private static byte[] encodeLogEntry(TreeMap<Long, byte[]> batch) {
+        int length = Integer.BYTES;
+        for (byte[] value : batch.values()) {
+            length += Long.BYTES + Integer.BYTES + value.length;
+        }
+        ByteBuffer entry = ByteBuffer.allocate(LOG_ENTRY_HEADER_SIZE + length);
+        entry.putInt(length).putInt(0).putInt(batch.size());
+        for (Map.Entry<Long, byte[]> record : batch.entrySet()) {
+            byte[] value = record.getValue();
+            entry.putLong(record.getKey()).putInt(value == Segment.DELETED ? -1 : value.length).put(value);
+        }
+        entry.putInt(Integer.BYTES, Segment.checksumOf(entry.array(), LOG_ENTRY_HEADER_SIZE, length));
+        return entry.array();
+    }
+
+    /**
+     * Captures the records of the tasks that were added, changed or deleted
+     * since the last save, together with any whose write failed.
+     */
+    @Override
+    public PendingWrite prepareSave(TaskList tasks) {
+        assert tasks == this.tasks : "only the tasks that were loaded can be saved";
+        TreeMap<Long, byte[]> batch = unwritten;
+        unwritten = new TreeMap<>();
+        for (Long key : deletedKeys) {
+            batch.put(key, Segment.DELETED);
+        }
+        for (Task task : changedTasks) {
+            batch.put(keys.get(task), SaveFile.toLine(task).getBytes(StandardCharsets.UTF_8));
+        }
+        deletedKeys.clear();
+        changedTasks.clear();
+        return () -> write(batch);
+    }
+
+    /**
+     * Appends the records of a save to the log, then writes out the memtable
+     * as a segment if it is full.
+     */
+    private void write(TreeMap<Long, byte[]> batch) throws DukeException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        byte[] entry = encodeLogEntry(batch);
+        try {
+            disk.writeAt(directory.resolve(LOG), logLength, entry);
+        } catch (IOException e) {
+            unwritten = batch;
+            throw new DukeException("Honey! There was a problem with saving your list of "
+                    + "tasks to " + filePath + " ! :(");
+        }
+        logLength += entry.length;
+        memtable.putAll(batch);
+        if (memtable.size() >= memtableLimit) {
+            try {
+                flush();
+                compact();
+            } catch (IOException e) {
+                // The records are safe in the log, and are written out again after the next save.
+            }
+        }
+    }
+
+    /**
+     * Writes the memtable out as the newest segment, and empties the log.
+     */
+    private void flush() throws IOException {
+        Segment segment = Segment.write(disk, directory, nameOf(nextSegment++), memtable);
+        List<Segment> next = new ArrayList<>(segments);
+        next.add(segment);
+        writeManifest(next);
+        segments = next;
+        memtable.clear();
+        // Emptied in place rather than deleted, so that no stale tail can outlive a failure. If this fails, the
+        // log keeps records that are also in the new segment, which are harmless to replay.
+        disk.writeAt(directory.resolve(LOG), 0, new byte[0]);
+        logLength = 0;
+    }
+
+    /**
+     * Merges the two newest segments for as long as the newest holds at least
+     * half as many records as the one before it. Deleted keys are dropped
+     * once no older segment is left that could hold them.
+     */
+    private void compact() throws IOException {
+        while (segments.size() >= 2) {
+            Segment newer = segments.get(segments.size() - 1);
+            Segment older = segments.get(segments.size() - 2);
+            if (newer.size() * 2 < older.size()) {
+                return;
+            }
+            TreeMap<Long, byte[]> merged = new TreeMap<>();
+            readAll(older, merged);
+            readAll(newer, merged);
+            if (segments.size() == 2) {
+                merged.values().removeIf(value -> value == Segment.DELETED);
+            }
+            Segment segment = Segment.write(disk, directory, nameOf(nextSegment++), merged);
+            List<Segment> next = new ArrayList<>(segments.subList(0, segments.size() - 2));
+            next.add(segment);
+            writeManifest(next);
+            segments = next;
+            disk.delete(directory.resolve(older.getName()));
+            disk.delete(directory.resolve(newer.getName()));
+        }
+    }
+
+    /**
+     * Reads every record of a segment into the map, over any records of the
+     * same keys. A record that fails its checksum was left out when the
+     * tasks were loaded, and is left out here too.
+     */
+    private void readAll(Segment segment, TreeMap<Long, byte[]> records) throws IOException {
+        byte[] contents = disk.read(directory.resolve(segment.getName()));
+        for (int i = 0; i < segment.size(); i++) {
+            byte[] value = segment.valueAt(i, contents, 0);
+            if (value == null) {
+                records.remove(segment.keyAt(i));
+            } else {
+                records.put(segment.keyAt(i), value);
+            }
+        }
+    }
+
+    private static String nameOf(int number) {
+        return "seg-" + number + ".dat";
+    }
+
+    private static int numberOf(String name) {
+        return Integer.parseInt(name.substring("seg-".length(), name.length() - ".dat".length()));
+    }
+
+    private List<String> readManifest() throws IOException, DukeException {
+        String contents = new String(disk.read(directory.resolve(MANIFEST)), StandardCharsets.UTF_8);
+        List<String> names = new ArrayList<>();
+        if (contents.isEmpty()) {
+            return names; // The store was just created.
+        }
+        String[] lines = contents.split("\n");
+        for (int i = 1; i < lines.length; i++) {
+            if (!lines[i].matches("seg-\\d{1,9}\\.dat")) {
+                break;
+            }
+            names.add(lines[i]);
+        }
+        if (!lines[0].equals(MANIFEST_HEADER) || names.size() != lines.length - 1) {
+            throw new DukeException("Honnney! I can't read the list of files in " + filePath
+                    + ", so I didn't load your tasks! :,(");
+        }
+        return names;
+    }
+
+    /**
+     * Replaces the manifest with one listing the given segments. The new
+     * manifest is written to a temporary file and renamed over the old one,
+     * so that the store changes from one set of segments to the next at once.
+     */
+    private void writeManifest(List<Segment> next) throws IOException {
+        StringBuilder contents = new StringBuilder(MANIFEST_HEADER).append('\n');
+        for (Segment segment : next) {
+            contents.append(segment.getName()).append('\n');
+        }
+        Path target = directory.resolve(MANIFEST);
+        Path temp = SaveFile.tempFileFor(target);
+        disk.write(temp, contents.toString().getBytes(StandardCharsets.UTF_8));
+        disk.move(temp, target);
+    }
+
+    private Path backupFor(String name) {
+        Path backup = directory.resolve(name + ".damaged");
+        for (int i = 1; disk.exists(backup); i++) {
+            backup = directory.resolve(name + ".damaged" + i);
+        }
+        return backup;
+    }
+
+    /**
+     * Moves a segment that cannot be read at all out of the store.
+     */
+    private void moveDamagedFile(String name, RecoveryReport report) {
+        Path backup = backupFor(name);
+        try {
+            disk.move(directory.resolve(name), backup);
+            report.setBackupPath(backup.toString());
+        } catch (IOException e) {
+            // The report says that no copy was kept.
+        }
+    }
+
+    /**
+     * Copies a file of the store that holds a damaged record, so that the
+     * record is not lost when the file is merged away or written over.
+     */
+    private void copyDamagedFile(String name, RecoveryReport report) {
+        Path backup = backupFor(name);
+        try {
+            disk.write(backup, disk.read(directory.resolve(name)));
+            report.setBackupPath(backup.toString());
+        } catch (IOException e) {
+            // The report says that no copy was kept.
+        }
+    }
+
+    @Override
+    public void taskAdded(Task task) {
+        keys.put(task, nextKey++);
+        changedTasks.add(task);
+    }
+
+    @Override
+    public void taskRemoved(Task task) {
+        Long key = keys.remove(task);
+        changedTasks.remove(task);
+        if (key != null) {
+            deletedKeys.add(key);
+        }
+    }
+
+    @Override
+    public void taskChanged(Task task) {
+        if (keys.containsKey(task)) {
+            changedTasks.add(task);
+        }
+    }
+}
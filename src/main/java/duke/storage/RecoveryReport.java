@@ -0,0 +1,96 @@
+package duke.storage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The damage found while loading a file of tasks. A damaged line or block is
+ * skipped and reported here instead of stopping the programme from starting,
+ * and every task that could still be read is loaded.
+ */
+public class RecoveryReport {
+
+    /**
+     * The number of damaged records that are described in detail.
+     */
+    static final int MAX_REPORTED_PROBLEMS = 20;
+
+    private final String filePath;
+    private final List<String> problems = new ArrayList<>();
+    private int problemCount = 0;
+    private String backupPath;
+
+    /**
+     * Initialises an empty RecoveryReport.
+     *
+     * @param filePath The file being loaded.
+     */
+    RecoveryReport(String filePath) {
+        this.filePath = filePath;
+    }
+
+    /**
+     * Records a part of the file that could not be loaded.
+     *
+     * @param where  The part of the file, such as "line 3" or "block 2".
+     * @param reason What was wrong with it, or the text that could not be read.
+     */
+    void addProblem(String where, String reason) {
+        problemCount++;
+        if (problems.size() < MAX_REPORTED_PROBLEMS) {
+            problems.add(where + ": " + reason);
+        }
+    }
+
+    void setBackupPath(String backupPath) {
+        this.backupPath = backupPath;
+    }
+
+    /**
+     * Returns true if the whole file was loaded.
+     */
+    public boolean isClean() {
+        return problemCount == 0;
+    }
+
+    /**
+     * Returns the number of parts of the file that could not be loaded.
+     */
+    public int getProblemCount() {
+        return problemCount;
+    }
+
+    /**
+     * Returns descriptions of the first few parts of the file that could not be loaded.
+     */
+    public List<String> getProblems() {
+        return problems;
+    }
+
+    /**
+     * Returns where the damaged file was copied to before it is saved over,
+     * or null if it could not be copied.
+     */
+    public String getBackupPath() {
+        return backupPath;
+    }
+
+    /**
+     * Returns the message that MumBot should send about the damage.
+     */
+    @Override
+    public String toString() {
+        StringBuilder output = new StringBuilder("Honey, some of your saved tasks in " + filePath
+                + " were damaged, so I've loaded the ones I could read:");
+        for (String problem : problems) {
+            output.append("\n").append(problem);
+        }
+        if (problemCount > problems.size()) {
+            output.append("\n...");
+        }
+        output.append(backupPath != null
+                ? "\nI've kept a copy of the damaged file in " + backupPath + " for you <3"
+                : "\nI couldn't keep a copy of the damaged file, sweetie :(");
+        return output.toString();
+    }
+}
@@ -1,12 +1,15 @@
 package duke.storage;
 
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 
 import duke.exception.DukeException;
 import duke.task.Task;
 import duke.task.TaskList;
-import duke.ui.MainWindow;
 
 /**
  * Assists with the saving of a `TaskList` to a txt format.
@@ -17,24 +20,105 @@ import duke.ui.MainWindow;
 class SaveFile {
 
     /**
-     * Writes a `TaskList` to a txt file.
+     * Separates a task from its stable identity on a saved line.
+     */
+    static final String UID_DELIMITER = " ~id:";
+
+    /**
+     * Comes before the stable identities of a task's prerequisites on a saved line.
+     */
+    static final String PREREQUISITES_DELIMITER = " ~after:";
+
+    /**
+     * Returns the line that a task is saved as: its String format, followed
+     * by the stable identities of its prerequisites, if it has any, and its
+     * own stable identity.
      *
-     * @param tasks The `TaskList` to write.
+     * @param task The task to save.
+     */
+    static String toLine(Task task) {
+        StringBuilder line = new StringBuilder(task.toString());
+        if (!task.getPrerequisites().isEmpty()) {
+            line.append(PREREQUISITES_DELIMITER);
+            for (Task prerequisite : task.getPrerequisites()) {
+                line.append(prerequisite.getUid()).append(',');
+            }
+            line.setLength(line.length() - 1);
+        }
+        return line.append(UID_DELIMITER).append(task.getUid()).toString();
+    }
+
+    /**
+     * Returns the temporary file that a save to `target` is first written to.
+     *
+     * @param target The file that will eventually be replaced.
+     */
+    static Path tempFileFor(Path target) {
+        return target.resolveSibling(target.getFileName() + ".tmp");
+    }
+
+    /**
+     * Flushes a fully written temporary file to disk and renames it over
+     * `target`, so that readers only ever see the old or the new contents.
+     *
+     * @param temp   The fully written temporary file.
+     * @param target The file to replace.
+     * @throws IOException If the file cannot be flushed or renamed.
+     */
+    static void commit(Path temp, Path target) throws IOException {
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Disk.LOCAL.move(temp, target);
+    }
+
+    /**
+     * Returns the contents of a txt file holding a `TaskList`.
+     *
+     * @param tasks The `TaskList` to encode.
+     */
+    static byte[] encode(TaskList tasks) {
+        StringBuilder contents = new StringBuilder(tasks.getSize() * 64);
+        String separator = System.getProperty("line.separator");
+        for (Task task : tasks.getTasks()) {
+            contents.append(toLine(task)).append(separator);
+        }
+        return contents.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes the contents of a file to a temporary file, flushes it to disk,
+     * and renames it over the old file, so a crash midway never truncates
+     * the saved list.
+     *
+     * @param contents The contents of the file.
      * @param filePath The location of the file to write to.
-     * @throws DukeExceception Throws a DukeException if there is an IOException
-     *                         during the filewriting process.
+     * @param disk     The disk that holds the file.
+     * @throws DukeException If the file cannot be written.
      */
-    public static void save(TaskList tasks, String filePath) throws DukeException {
+    static void write(byte[] contents, String filePath, Disk disk) throws DukeException {
+        Path target = Paths.get(filePath).toAbsolutePath();
+        Path temp = tempFileFor(target);
         try {
-            FileWriter writer = new FileWriter(filePath);
-            for (Task task : tasks.getTasks()) {
-                writer.write(task.toString());
-                writer.write(System.getProperty("line.separator"));
-            }
-            writer.close();
+            disk.write(temp, contents);
+            disk.move(temp, target);
         } catch (IOException e) {
             throw new DukeException("Honey! There was a problem with saving your list of "
                     + "tasks to " + filePath + " ! :(");
         }
     }
+
+    /**
+     * Writes a `TaskList` to a txt file. The tasks are written to a temporary
+     * file that then replaces the old one, so a crash midway never truncates
+     * the saved list.
+     *
+     * @param tasks The `TaskList` to write.
+     * @param filePath The location of the file to write to.
+     * @throws DukeExceception Throws a DukeException if there is an IOException
+     *                         during the filewriting process.
+     */
+    public static void save(TaskList tasks, String filePath) throws DukeException {
+        write(encode(tasks), filePath, Disk.LOCAL);
+    }
 }
@@ -0,0 +1,238 @@
+package duke.storage;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.zip.CRC32C;
+
+/**
+ * One of the sorted, immutable files of task records that a
+ * `LogStructuredBackend` keeps. Each record maps a key to a saved task line,
+ * or marks the key as deleted. The file starts with a header, then holds the
+ * values one after another, and ends with an index of every record:
+ *
+ * header: magic int, version int, record count int, index offset long, index checksum int
+ * index entry: key long, value offset long, value length int (-1 if deleted), value checksum int
+ *
+ * Opening a segment reads only its header and index, so that a store can
+ * work out which record of each key is the latest before it reads any
+ * values, and then read only those.
+ * Note that this class is package-private.
+ */
+class Segment {
+
+    /**
+     * Stands for a deleted key where a value would be. Compared by identity.
+     */
+    static final byte[] DELETED = new byte[0];
+
+    private static final int MAGIC = 0x4D554D4C; // "MUML"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 24;
+    private static final int ENTRY_SIZE = 24;
+
+    /**
+     * Thrown when the header or index of a segment is damaged.
+     */
+    static class DamagedException extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        private DamagedException(String message) {
+            super(message);
+        }
+    }
+
+    private final String name;
+    private final long[] keys;
+    private final long[] offsets;
+    private final int[] lengths;
+    private final int[] checksums;
+
+    private Segment(String name, long[] keys, long[] offsets, int[] lengths, int[] checksums) {
+        this.name = name;
+        this.keys = keys;
+        this.offsets = offsets;
+        this.lengths = lengths;
+        this.checksums = checksums;
+    }
+
+    /**
+     * Returns the CRC32C checksum of part of an array.
+     */
+    static int checksumOf(byte[] data, int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(data, offset, length);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Writes records to a new segment file.
+     *
+     * @param disk      The disk to write it on.
+     * @param directory The directory of the store.
+     * @param name      The name of the file.
+     * @param records   The records, by key. A value of `DELETED` marks a deleted key.
+     * @return The segment.
+     * @throws IOException If the file cannot be written.
+     */
+    static Segment write(Disk disk, Path directory, String name, SortedMap<Long, byte[]> records)
+            throws IOException {
+        int count = records.size();
+        long[] keys = new long[count];
+        long[] offsets = new long[count];
+        int[] lengths = new int[count];
+        int[] checksums = new int[count];
+        long valuesLength = 0;
+        for (byte[] value : records.values()) {
+            valuesLength += value.length;
+        }
+        long fileLength = HEADER_SIZE + valuesLength + (long) count * ENTRY_SIZE;
+        ByteBuffer file = ByteBuffer.allocate(Math.toIntExact(fileLength));
+        file.position(HEADER_SIZE);
+        int i = 0;
+        for (Map.Entry<Long, byte[]> record : records.entrySet()) {
+            byte[] value = record.getValue();
+            keys[i] = record.getKey();
+            offsets[i] = file.position();
+            lengths[i] = value == DELETED ? -1 : value.length;
+            checksums[i] = checksumOf(value, 0, value.length);
+            file.put(value);
+            i++;
+        }
+        int indexOffset = file.position();
+        for (i = 0; i < count; i++) {
+            file.putLong(keys[i]).putLong(offsets[i]).putInt(lengths[i]).putInt(checksums[i]);
+        }
+        int indexChecksum = checksumOf(file.array(), indexOffset, count * ENTRY_SIZE);
+        file.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, count).putLong(12, indexOffset).putInt(20, indexChecksum);
+        disk.write(directory.resolve(name), file.array());
+        return new Segment(name, keys, offsets, lengths, checksums);
+    }
+
+    /**
+     * Reads the header and index of a segment file.
+     *
+     * @param disk      The disk that holds it.
+     * @param directory The directory of the store.
+     * @param name      The name of the file.
+     * @return The segment.
+     * @throws IOException      If the file cannot be read.
+     * @throws DamagedException If the header or index is damaged, with a message saying how.
+     */
+    static Segment open(Disk disk, Path directory, String name) throws IOException, DamagedException {
+        Path path = directory.resolve(name);
+        ByteBuffer header;
+        try {
+            header = ByteBuffer.wrap(disk.read(path, 0, HEADER_SIZE));
+        } catch (EOFException e) {
+            throw new DamagedException("is cut off");
+        }
+        if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+            throw new DamagedException("is not a segment that I can read");
+        }
+        int count = header.getInt();
+        long indexOffset = header.getLong();
+        int indexChecksum = header.getInt();
+        if (count < 0 || indexOffset < HEADER_SIZE || count > (Integer.MAX_VALUE - HEADER_SIZE) / ENTRY_SIZE) {
+            throw new DamagedException("has a damaged header");
+        }
+        byte[] index;
+        try {
+            index = disk.read(path, indexOffset, count * ENTRY_SIZE);
+        } catch (EOFException e) {
+            throw new DamagedException("is cut off");
+        }
+        if (checksumOf(index, 0, index.length) != indexChecksum) {
+            throw new DamagedException("has an index that failed its checksum");
+        }
+        long[] keys = new long[count];
+        long[] offsets = new long[count];
+        int[] lengths = new int[count];
+        int[] checksums = new int[count];
+        ByteBuffer entries = ByteBuffer.wrap(index);
+        for (int i = 0; i < count; i++) {
+            keys[i] = entries.getLong();
+            offsets[i] = entries.getLong();
+            lengths[i] = entries.getInt();
+            checksums[i] = entries.getInt();
+            if (lengths[i] < -1 || offsets[i] < HEADER_SIZE || offsets[i] + Math.max(lengths[i], 0) > indexOffset
+                    || (i > 0 && keys[i] <= keys[i - 1])) {
+                throw new DamagedException("has a damaged index");
+            }
+        }
+        return new Segment(name, keys, offsets, lengths, checksums);
+    }
+
+    /**
+     * Returns the name of the file.
+     */
+    String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the number of records.
+     */
+    int size() {
+        return keys.length;
+    }
+
+    /**
+     * Returns the key of a record.
+     *
+     * @param i The position of the record, in key order.
+     */
+    long keyAt(int i) {
+        return keys[i];
+    }
+
+    /**
+     * Returns true if a record marks its key as deleted.
+     *
+     * @param i The position of the record, in key order.
+     */
+    boolean isDeletedAt(int i) {
+        return lengths[i] == -1;
+    }
+
+    /**
+     * Returns where in the file the value of a record starts.
+     *
+     * @param i The position of the record, in key order.
+     */
+    long offsetAt(int i) {
+        return offsets[i];
+    }
+
+    /**
+     * Returns where in the file the value of a record ends.
+     *
+     * @param i The position of the record, in key order.
+     */
+    long endAt(int i) {
+        return offsets[i] + Math.max(lengths[i], 0);
+    }
+
+    /**
+     * Returns the value of a record from part of the file, or null if it
+     * fails its checksum. A deleted key gives `DELETED`.
+     *
+     * @param i        The position of the record, in key order.
+     * @param part     Bytes read from the file, which hold the value.
+     * @param position Where in the file the bytes were read from.
+     */
+    byte[] valueAt(int i, byte[] part, long position) {
+        if (isDeletedAt(i)) {
+            return DELETED;
+        }
+        int from = Math.toIntExact(offsets[i] - position);
+        if (checksumOf(part, from, lengths[i]) != checksums[i]) {
+            return null;
+        }
+        return Arrays.copyOfRange(part, from, from + lengths[i]);
+    }
+}
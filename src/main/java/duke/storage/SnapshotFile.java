@@ -0,0 +1,488 @@
+package duke.storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32C;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import duke.exception.DukeException;
+import duke.task.StringDictionary;
+import duke.task.Task;
+import duke.task.TaskList;
+
+/**
+ * Reads and writes compressed snapshots of a `TaskList`.
+ * A snapshot is a header followed by Deflate-compressed blocks, each
+ * carrying a CRC32C checksum so that a damaged file is reported instead of
+ * being silently loaded.
+ *
+ * The first block is a dictionary of the strings in the tasks' fields, each
+ * stored once however many tasks share it. The other blocks hold the task
+ * records, which refer to those strings by their codes. Loading gives every
+ * task that shares a string the same String. Snapshots written before the
+ * dictionary was added hold task lines instead, and can still be loaded.
+ * Note that this class is package-private.
+ *
+ * @author Kang Wei
+ */
+class SnapshotFile {
+
+    /**
+     * The file extension that marks a path as a snapshot file.
+     */
+    static final String EXTENSION = ".snap";
+
+    private static final int MAGIC = 0x4D554D53; // "MUMS"
+    private static final int VERSION = 2;
+    private static final int LINES_VERSION = 1; // Task lines, as in a .txt file, without a dictionary.
+    private static final int BLOCK_SIZE = 64 * 1024; // Uncompressed bytes per block.
+    private static final int MAX_INFLATION = 1032; // The most that Deflate can shrink its input by.
+
+    /**
+     * One block of a snapshot, as it is stored on disk.
+     */
+    private static class Block {
+        private final int rawLength;
+        private final int checksum;
+        private final byte[] data;
+
+        private Block(int rawLength, int checksum, byte[] data) {
+            this.rawLength = rawLength;
+            this.checksum = checksum;
+            this.data = data;
+        }
+    }
+
+    /**
+     * Returns true if the given path should be stored as a snapshot.
+     *
+     * @param filePath The location of the file.
+     */
+    static boolean isSnapshot(String filePath) {
+        return filePath.endsWith(EXTENSION);
+    }
+
+    private static int checksumOf(byte[] data) {
+        CRC32C crc = new CRC32C();
+        crc.update(data, 0, data.length);
+        return (int) crc.getValue();
+    }
+
+    private static Block compress(byte[] raw, int length) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        deflater.setInput(raw, 0, length);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(length / 2 + 64);
+        byte[] buffer = new byte[8192];
+        while (!deflater.finished()) {
+            int count = deflater.deflate(buffer);
+            out.write(buffer, 0, count);
+        }
+        deflater.end();
+        byte[] data = out.toByteArray();
+        return new Block(length, checksumOf(data), data);
+    }
+
+    /**
+     * Verifies a block against its checksum and decompresses it.
+     *
+     * @param block The block to verify.
+     * @return The uncompressed contents of the block.
+     * @throws SnapshotCorruptedException If the block is damaged, with a message saying how.
+     */
+    private static byte[] verifyAndInflate(Block block) {
+        if (checksumOf(block.data) != block.checksum) {
+            throw new SnapshotCorruptedException("failed its checksum");
+        }
+        Inflater inflater = new Inflater();
+        inflater.setInput(block.data);
+        byte[] raw = new byte[block.rawLength];
+        try {
+            int count = 0;
+            while (count < raw.length && !inflater.finished()) {
+                int inflated = inflater.inflate(raw, count, raw.length - count);
+                if (inflated == 0 && inflater.needsInput()) {
+                    break;
+                }
+                count += inflated;
+            }
+            if (count != raw.length) {
+                throw new SnapshotCorruptedException("is truncated");
+            }
+        } catch (DataFormatException e) {
+            throw new SnapshotCorruptedException("cannot be decompressed");
+        } finally {
+            inflater.end();
+        }
+        return raw;
+    }
+
+    /**
+     * Reports a damaged part of a snapshot, or throws it if there is no report.
+     *
+     * @param report   Receives the damage, or null if it should be thrown.
+     * @param where    The damaged part, such as "block 2".
+     * @param reason   How it is damaged, such as "failed its checksum".
+     * @param filePath The location of the snapshot.
+     * @throws DukeException If there is no report.
+     */
+    private static void damaged(RecoveryReport report, String where, String reason, String filePath)
+            throws DukeException {
+        if (report == null) {
+            throw new DukeException("Honnney! Your saved tasks in " + filePath + " are damaged: "
+                    + where + " " + reason + "! :,(");
+        }
+        report.addProblem(where, reason);
+    }
+
+    /**
+     * Writes a `TaskList` to a snapshot file. Like a txt save, the snapshot is
+     * written to a temporary file first and then renamed over the old one.
+     *
+     * @param tasks The `TaskList` to write.
+     * @param filePath The location of the file to write to.
+     * @throws DukeException Throws a DukeException if there is an IOException
+     *                       during the writing process.
+     */
+    static void save(TaskList tasks, String filePath) throws DukeException {
+        SaveFile.write(encode(tasks), filePath, Disk.LOCAL);
+    }
+
+    /**
+     * Returns the contents of a snapshot file holding a `TaskList`.
+     *
+     * @param tasks The `TaskList` to encode.
+     */
+    static byte[] encode(TaskList tasks) {
+        try {
+            StringDictionary dictionary = new StringDictionary();
+            List<Block> blocks = new ArrayList<>();
+            blocks.add(null); // The dictionary goes first, once every record has been encoded.
+            ByteArrayOutputStream pending = new ByteArrayOutputStream(BLOCK_SIZE + 1024);
+            DataOutputStream records = new DataOutputStream(pending);
+            for (Task task : tasks.getTasks()) {
+                if (pending.size() > BLOCK_SIZE) {
+                    blocks.add(compress(pending.toByteArray(), pending.size()));
+                    pending.reset();
+                }
+                writeRecord(records, task, dictionary);
+            }
+            if (pending.size() > 0) {
+                blocks.add(compress(pending.toByteArray(), pending.size()));
+            }
+            pending.reset();
+            writeVarInt(records, dictionary.getCodeLimit());
+            for (int code = 0; code < dictionary.getCodeLimit(); code++) {
+                writeString(records, dictionary.get(code));
+            }
+            blocks.set(0, compress(pending.toByteArray(), pending.size()));
+
+            ByteArrayOutputStream contents = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(contents);
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(blocks.size());
+            for (Block block : blocks) {
+                out.writeInt(block.rawLength);
+                out.writeInt(block.data.length);
+                out.writeInt(block.checksum);
+                out.write(block.data);
+            }
+            return contents.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // Only written to memory, so this cannot happen.
+        }
+    }
+
+    /**
+     * Loads a snapshot file, verifying every block before any task is
+     * created. Blocks are verified and decompressed in parallel.
+     *
+     * @param filePath The location of the file.
+     * @return The `TaskList` stored in the snapshot.
+     * @throws DukeException Throws an exception if the file cannot be read or
+     *                       any block fails verification.
+     */
+    static TaskList load(String filePath) throws DukeException {
+        return load(filePath, Disk.LOCAL, null);
+    }
+
+    /**
+     * Loads a snapshot file from a disk, like `load(String)`. Given a report,
+     * a damaged block is reported and skipped instead, and the tasks in every
+     * other block are still loaded.
+     *
+     * @param filePath The location of the file.
+     * @param disk     The disk that holds the file.
+     * @param report   Receives the damaged parts of the file, or null if the
+     *                 first one should be thrown instead.
+     * @return The `TaskList` stored in the snapshot.
+     * @throws DukeException Throws an exception if the file cannot be read, or
+     *                       if it is damaged and there is no report.
+     */
+    static TaskList load(String filePath, Disk disk, RecoveryReport report) throws DukeException {
+        TaskList tasks = new TaskList(new ArrayList<Task>());
+        Path path = Paths.get(filePath);
+        byte[] file;
+        try {
+            if (!disk.exists(path)) {
+                return tasks;
+            }
+            file = disk.read(path);
+        } catch (IOException e) {
+            throw new DukeException("Honnney! There was a problem with loading your list "
+                    + "of tasks from " + filePath + "! :,(");
+        }
+        if (file.length == 0) {
+            return tasks; // A snapshot that was never saved holds no tasks.
+        }
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(file));
+        int version;
+        int blockCount;
+        try {
+            int magic = in.readInt();
+            version = in.readInt();
+            blockCount = in.readInt();
+            if (magic != MAGIC || (version != VERSION && version != LINES_VERSION)) {
+                damaged(report, "the file", "is not a MumBot snapshot", filePath);
+                return tasks;
+            }
+        } catch (IOException e) {
+            damaged(report, "the file", "is too short to be a MumBot snapshot", filePath);
+            return tasks;
+        }
+        List<Block> blocks = readBlocks(in, blockCount, report, filePath);
+
+        String[] errors = new String[blocks.size()];
+        List<byte[]> contents = IntStream.range(0, blocks.size())
+                .parallel()
+                .mapToObj(i -> {
+                    try {
+                        return verifyAndInflate(blocks.get(i));
+                    } catch (SnapshotCorruptedException e) {
+                        errors[i] = e.getMessage();
+                        return null;
+                    }
+                })
+                .collect(Collectors.toList());
+        for (int i = 0; i < errors.length; i++) {
+            if (errors[i] != null) {
+                damaged(report, "block " + i, errors[i], filePath);
+            }
+        }
+
+        Map<Task, String[]> prerequisites = new HashMap<>();
+        if (version == LINES_VERSION) {
+            readLines(tasks, contents, prerequisites, report, filePath);
+        } else {
+            readRecords(tasks, contents, prerequisites, report, filePath);
+        }
+        LoadFile.linkPrerequisites(tasks, prerequisites, report);
+        return tasks;
+    }
+
+    /**
+     * Reads the blocks that follow the header. The first block whose own
+     * header is damaged or missing ends the blocks that can be found.
+     */
+    private static List<Block> readBlocks(DataInputStream in, int blockCount, RecoveryReport report,
+            String filePath) throws DukeException {
+        List<Block> blocks = new ArrayList<>();
+        for (int i = 0; i < blockCount; i++) {
+            try {
+                int rawLength = in.readInt();
+                int length = in.readInt();
+                int checksum = in.readInt();
+                if (length < 0 || length > in.available() || rawLength < 0
+                        || rawLength > (long) length * MAX_INFLATION + 64) {
+                    damaged(report, "block " + i, "has a damaged header, so it and the blocks after it are lost",
+                            filePath);
+                    break;
+                }
+                byte[] data = new byte[length];
+                in.readFully(data);
+                blocks.add(new Block(rawLength, checksum, data));
+            } catch (IOException e) {
+                damaged(report, "block " + i, "is missing, as the file was cut short", filePath);
+                break;
+            }
+        }
+        return blocks;
+    }
+
+    /**
+     * Reads the task lines of a snapshot written before the dictionary was added.
+     */
+    private static void readLines(TaskList tasks, List<byte[]> contents, Map<Task, String[]> prerequisites,
+            RecoveryReport report, String filePath) throws DukeException {
+        for (int i = 0; i < contents.size(); i++) {
+            if (contents.get(i) == null) {
+                continue;
+            }
+            for (String taskString : new String(contents.get(i), StandardCharsets.UTF_8).split("\n")) {
+                if (taskString.isEmpty()) {
+                    continue;
+                }
+                try {
+                    tasks.addTask(LoadFile.parseTaskString(taskString, prerequisites), false);
+                } catch (DukeException | RuntimeException e) {
+                    damaged(report, "block " + i, "holds the task '" + taskString + "', which cannot be read",
+                            filePath);
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes a task as a record: the codes of its fields, of the kind written
+     * by `TaskFormat.toFields`, and of its tags, then its stable identity and
+     * those of its prerequisites, which are unique and so are written out.
+     */
+    private static void writeRecord(DataOutputStream out, Task task, StringDictionary dictionary)
+            throws IOException {
+        for (String value : TaskFormat.toFields(task)) {
+            writeVarInt(out, dictionary.add(value));
+        }
+        writeVarInt(out, dictionary.add(String.join(" ", task.getTags())));
+        writeString(out, task.getUid());
+        writeVarInt(out, task.getPrerequisites().size());
+        for (Task prerequisite : task.getPrerequisites()) {
+            writeString(out, prerequisite.getUid());
+        }
+    }
+
+    /**
+     * Reads the dictionary block and then every task record. A damaged
+     * record block loses the records from the damage to the end of the block.
+     */
+    private static void readRecords(TaskList tasks, List<byte[]> contents, Map<Task, String[]> prerequisites,
+            RecoveryReport report, String filePath) throws DukeException {
+        if (contents.isEmpty() || contents.get(0) == null) {
+            return; // The damage to the dictionary has been reported, and no record can be read without it.
+        }
+        String[] dictionary;
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(contents.get(0)));
+            dictionary = new String[readLength(in)];
+            for (int code = 0; code < dictionary.length; code++) {
+                dictionary[code] = readString(in);
+            }
+        } catch (IOException | RuntimeException e) {
+            damaged(report, "block 0", "holds a damaged dictionary, so no task can be read", filePath);
+            return;
+        }
+        for (int i = 1; i < contents.size(); i++) {
+            if (contents.get(i) == null) {
+                continue;
+            }
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(contents.get(i)));
+            int readCount = 0;
+            try {
+                while (in.available() > 0) {
+                    tasks.addTask(readRecord(in, dictionary, prerequisites), false);
+                    readCount++;
+                }
+            } catch (IOException | DukeException | RuntimeException e) {
+                damaged(report, "block " + i, "cannot be read after its first " + readCount + " tasks", filePath);
+            }
+        }
+    }
+
+    /**
+     * Reads a task record written by `writeRecord`.
+     */
+    private static Task readRecord(DataInputStream in, String[] dictionary, Map<Task, String[]> prerequisites)
+            throws IOException, DukeException {
+        String[] values = new String[TaskFormat.FIELDS.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = dictionary[readVarInt(in)];
+        }
+        Task task = TaskFormat.fromFields(values);
+        String tags = dictionary[readVarInt(in)];
+        for (String tag : tags.split(" ")) {
+            if (Task.isValidTag(tag)) {
+                task.addTag(tag);
+            }
+        }
+        task.setUid(readString(in));
+        String[] prerequisiteUids = new String[readLength(in)];
+        for (int i = 0; i < prerequisiteUids.length; i++) {
+            prerequisiteUids[i] = readString(in);
+        }
+        if (prerequisiteUids.length > 0) {
+            prerequisites.put(task, prerequisiteUids);
+        }
+        return task;
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("varint is too long");
+    }
+
+    /**
+     * Reads the length of what follows, which a damaged file could give as
+     * far more than the bytes that are left.
+     */
+    private static int readLength(DataInputStream in) throws IOException {
+        int length = readVarInt(in);
+        if (length < 0 || length > in.available()) {
+            throw new IOException("length is larger than the rest of the block");
+        }
+        return length;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[readLength(in)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Thrown from inside the parallel verification when a block is damaged.
+     */
+    private static class SnapshotCorruptedException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private SnapshotCorruptedException(String message) {
+            super(message);
+        }
+    }
+}
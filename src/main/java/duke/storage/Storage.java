@@ -1,10 +1,15 @@
 package duke.storage;
 
+import java.util.concurrent.CompletableFuture;
+
 import duke.exception.DukeException;
 import duke.task.TaskList;
 
 /**
- * Handles the creating, loading and saving of tasks.
+ * Handles the creating, loading and saving of tasks, through a
+ * `StorageBackend`. By default, a path ending in ".lsm" is stored as a
+ * log-structured store, a path ending in ".snap" as a compressed,
+ * checksummed snapshot, and any other path as a plain .txt file.
  *
  * @author Kang Wei
  */
@@ -21,6 +26,32 @@ public class Storage {
      */
     private TaskList tasks;
 
+    /**
+     * Where the tasks are loaded from and saved to.
+     */
+    private final StorageBackend backend;
+
+    /**
+     * The damage found in the file when the tasks were loaded.
+     */
+    private final RecoveryReport recovery;
+
+    /**
+     * Stores the modification count of the tasks when they were last
+     * loaded or saved.
+     */
+    private volatile long savedModCount;
+
+    /**
+     * Makes sure that only one save writes the file at a time.
+     */
+    private final Object saveLock = new Object();
+
+    /**
+     * Saves the tasks in the background, started by the first `saveAsync`.
+     */
+    private GroupCommitWriter writer;
+
     /**
      * Initialises a Storage object.
      *
@@ -28,14 +59,37 @@ public class Storage {
      *                 user's tasks.
      */
     public Storage(String filePath) throws DukeException {
-        this.filePath = filePath;
+        this(filePath, Disk.LOCAL);
+    }
 
-        // Create the .txt file if it hasn't already been created.
-        CreateFile.makeFile(filePath);
+    /**
+     * Initialises a Storage object that loads and saves its tasks on the
+     * given disk. A damaged file does not stop the tasks from loading: the
+     * damaged parts are skipped and reported by `getRecoveryReport`, and the
+     * file is copied before it is saved over.
+     *
+     * @param filePath The path of the file to store a user's tasks.
+     * @param disk     The disk that holds the file.
+     * @throws DukeException If the file cannot be created or read at all.
+     */
+    public Storage(String filePath, Disk disk) throws DukeException {
+        this(filePath, StorageBackend.forPath(filePath, disk));
+    }
 
-        /* Load the .txt file, and get the list of tasks if the .txt
-           file contains any data. */
-        tasks = LoadFile.load(filePath);
+    /**
+     * Initialises a Storage object that loads and saves its tasks through the
+     * given backend.
+     *
+     * @param filePath The location of the tasks, as shown to the user.
+     * @param backend  The backend that stores the tasks there.
+     * @throws DukeException If the tasks cannot be created or read at all.
+     */
+    public Storage(String filePath, StorageBackend backend) throws DukeException {
+        this.filePath = filePath;
+        this.backend = backend;
+        recovery = new RecoveryReport(filePath);
+        tasks = backend.load(recovery);
+        savedModCount = tasks.getModCount();
     }
 
     /**
@@ -45,11 +99,94 @@ public class Storage {
         return tasks;
     }
 
+    /**
+     * Returns the damage that was found in the file when the tasks were loaded.
+     */
+    public RecoveryReport getRecoveryReport() {
+        return recovery;
+    }
+
     /**
      * Saves the current tasks to a .txt file, and store it
      * in filePath.
      */
     public void save() throws DukeException {
-        SaveFile.save(tasks, filePath);
+        synchronized (saveLock) {
+            write();
+        }
+    }
+
+    /**
+     * Saves the tasks if they have changed since they were last loaded or saved.
+     *
+     * @return True if the tasks were saved.
+     */
+    boolean saveIfChanged() throws DukeException {
+        synchronized (saveLock) {
+            if (!isDirty()) {
+                return false;
+            }
+            write();
+            return true;
+        }
+    }
+
+    /**
+     * Captures the tasks while holding their monitor, so that other threads
+     * that hold it while changing them cannot change them midway, then
+     * writes them without it.
+     */
+    private void write() throws DukeException {
+        StorageBackend.PendingWrite pending;
+        long modCount;
+        synchronized (tasks) {
+            pending = backend.prepareSave(tasks);
+            modCount = tasks.getModCount();
+        }
+        pending.write();
+        savedModCount = modCount;
+    }
+
+    /**
+     * Saves the tasks on a background thread, together with every other save
+     * asked for while the file is being written. Threads that change the
+     * tasks while a save may be running should hold the TaskList's monitor.
+     *
+     * @return A future that completes once the tasks, as they are now, are on disk.
+     */
+    public synchronized CompletableFuture<Void> saveAsync() {
+        if (writer == null) {
+            writer = new GroupCommitWriter(this);
+        }
+        return writer.requestSave();
+    }
+
+    /**
+     * Returns the number of times that `saveAsync` requests have written the file.
+     */
+    public synchronized long getAsyncWriteCount() {
+        return writer == null ? 0 : writer.getWriteCount();
+    }
+
+    /**
+     * Finishes the saves asked for by `saveAsync` and stops the thread that
+     * performs them. A later `saveAsync` starts a new one.
+     */
+    public void close() {
+        GroupCommitWriter closing;
+        synchronized (this) {
+            closing = writer;
+            writer = null;
+        }
+        if (closing != null) {
+            closing.close();
+        }
+    }
+
+    /**
+     * Returns true if the tasks have changed since they were last loaded or saved.
+     */
+    public boolean isDirty() {
+        return tasks.getModCount() != savedModCount;
     }
 }
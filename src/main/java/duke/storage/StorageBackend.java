@@ -0,0 +1,62 @@
+package duke.storage;
+
+import duke.exception.DukeException;
+import duke.task.TaskList;
+
+/**
+ * Where `Storage` keeps a list of tasks between runs of the programme.
+ * A save happens in two steps: `prepareSave` captures what needs writing
+ * while the caller holds the TaskList's monitor, so that no other thread
+ * changes the tasks midway, and the returned `PendingWrite` then writes it
+ * without the monitor.
+ */
+public interface StorageBackend {
+
+    /**
+     * Writes what a save captured.
+     */
+    @FunctionalInterface
+    interface PendingWrite {
+        /**
+         * Writes the captured tasks.
+         *
+         * @throws DukeException If they cannot be written. The next save
+         *                       writes them again.
+         */
+        void write() throws DukeException;
+    }
+
+    /**
+     * Returns the backend that suits a path: a log-structured store for a
+     * path ending in ".lsm", and a single file otherwise.
+     *
+     * @param filePath The location of the tasks.
+     * @param disk     The disk that holds them.
+     */
+    static StorageBackend forPath(String filePath, Disk disk) {
+        if (LogStructuredBackend.isStore(filePath)) {
+            return new LogStructuredBackend(filePath, disk);
+        }
+        return new TextFileBackend(filePath, disk);
+    }
+
+    /**
+     * Creates the store if it does not exist yet, and loads its tasks. This
+     * is called once, before any save.
+     *
+     * @param report Receives the parts of the store that are damaged, which
+     *               are then skipped.
+     * @return The tasks.
+     * @throws DukeException If the store cannot be created or read at all.
+     */
+    TaskList load(RecoveryReport report) throws DukeException;
+
+    /**
+     * Captures the tasks that a save should write. The caller holds the
+     * TaskList's monitor, and writes the result before it prepares another save.
+     *
+     * @param tasks The tasks returned by `load`.
+     * @return The write that completes the save.
+     */
+    PendingWrite prepareSave(TaskList tasks);
+}
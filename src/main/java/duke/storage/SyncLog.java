@@ -0,0 +1,790 @@
+package duke.storage;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+import duke.exception.DukeException;
+import duke.task.Task;
+import duke.task.Task.Priority;
+import duke.task.TaskList;
+import duke.task.TaskListener;
+
+/**
+ * Records every change to a workspace in an append-only log, so that two
+ * copies of the workspace (replicas) can be merged.
+ *
+ * Each change is an operation on a task's stable identity, stamped with a
+ * Lamport clock and the id of the replica that made it. Merging reads only
+ * the part of the other replica's log that has not been read before, and
+ * applies the operations it has not seen. Conflicting changes to the same
+ * field are settled by the later stamp, and a deleted task stays deleted,
+ * so both replicas end up with the same tasks whichever order they sync in.
+ *
+ * Once enough has been appended, the log is checkpointed: it is rewritten
+ * without the changes that later ones have overridden, and the clocks and
+ * latest stamps are saved beside it, so that opening the workspace reads
+ * the checkpoint and only the part of the log written since. Deleted tasks
+ * are saved in the checkpoint too, and their deletions stay in the log, so
+ * that a replica that hears of a deletion before the task was added never
+ * adds it afterwards.
+ */
+public class SyncLog implements TaskListener {
+
+    /**
+     * The file extension of a workspace's log.
+     */
+    static final String LOG_EXTENSION = ".oplog";
+
+    /**
+     * The file extension of a workspace's replica id and read positions.
+     */
+    static final String STATE_EXTENSION = ".sync";
+
+    /**
+     * The file extension of a workspace's last checkpoint.
+     */
+    static final String CHECKPOINT_EXTENSION = ".ckpt";
+
+    /**
+     * How many characters are appended to the log, by default, before it is
+     * checkpointed, unless the log was larger than that after the last one.
+     */
+    static final long DEFAULT_CHECKPOINT_CHARS = 1024 * 1024;
+
+    private static final String ADD = "add";
+    private static final String DELETE = "delete";
+    private static final String DONE = "done";
+    private static final String OCCURRENCE = "occurrence";
+    private static final String PRIORITY = "priority";
+
+    private static final String REPLICA_KEY = "replica";
+    private static final String PEER_KEY_PREFIX = "peer.";
+    private static final String GENERATION_KEY_SUFFIX = ".generation";
+
+    private static final String HEADER_PREFIX = "#checkpoint "; // Starts a checkpointed log, then its generation.
+    private static final String CHECKPOINT_MAGIC = "mumbot-checkpoint 1";
+
+    /**
+     * One change to one task, as it is stored in the log.
+     */
+    private static class Operation {
+        private final long lamport;
+        private final String replica;
+        private final long sequence; // Counts the operations made by the replica itself.
+        private final String kind;
+        private final String uid;
+        private final String[] args;
+
+        private Operation(long lamport, String replica, long sequence, String kind, String uid, String... args) {
+            this.lamport = lamport;
+            this.replica = replica;
+            this.sequence = sequence;
+            this.kind = kind;
+            this.uid = uid;
+            this.args = args;
+        }
+
+        /**
+         * Returns true if this operation was made after the one stamped with
+         * the given clock and replica. Replica ids break ties, so every
+         * replica picks the same winner.
+         */
+        private boolean isAfter(Operation other) {
+            if (other == null) {
+                return true;
+            }
+            if (lamport != other.lamport) {
+                return lamport > other.lamport;
+            }
+            return replica.compareTo(other.replica) > 0;
+        }
+
+        private String toLine() {
+            StringBuilder line = new StringBuilder();
+            line.append(lamport).append('\t').append(replica).append('\t').append(sequence)
+                    .append('\t').append(kind).append('\t').append(uid);
+            for (String arg : args) {
+                line.append('\t');
+                escape(line, arg);
+            }
+            return line.toString();
+        }
+
+        private static Operation parse(String line) throws DukeException {
+            String[] parts = line.split("\t", -1);
+            if (parts.length < 5) {
+                throw new DukeException("a log entry has too few fields");
+            }
+            String[] args = new String[parts.length - 5];
+            for (int i = 0; i < args.length; i++) {
+                args[i] = unescape(parts[i + 5]);
+            }
+            try {
+                return new Operation(Long.parseLong(parts[0]), parts[1], Long.parseLong(parts[2]),
+                        parts[3], parts[4], args);
+            } catch (NumberFormatException e) {
+                throw new DukeException("a log entry has a bad clock");
+            }
+        }
+    }
+
+    private final TaskList tasks;
+    private final Path logPath;
+    private final Path statePath;
+    private final Path checkpointPath;
+    private final Properties state = new Properties();
+    private final String replicaId;
+    private final long checkpointChars;
+    private Writer writer;
+    private int unflushed = 0; // Changes appended since the last flush.
+    private DukeException writeFailure; // The first change that could not be recorded since it was last reported.
+
+    private long generation = 0; // Counts the checkpoints of the log.
+    private long checkpointSize = 0; // The size of the log in bytes just after the last checkpoint.
+    private long appendedChars = 0; // Roughly how much has been appended to the log since then.
+
+    private long lamport = 0;
+    private long sequence = 0;
+    private final Map<String, Long> seen = new HashMap<>(); // The last operation seen from each replica.
+    private final Map<String, Map<String, Operation>> stamps = new HashMap<>(); // Latest change to each field.
+    private final Set<String> deleted = new HashSet<>();
+    private final Map<String, Task> byUid = new HashMap<>();
+
+    private boolean isApplying = false; // True while operations from another replica are applied.
+    private boolean wasDone;
+    private Priority oldPriority;
+    private TreeSet<LocalDate> oldOccurrences;
+
+    private SyncLog(TaskList tasks, Path logPath, Path statePath, Path checkpointPath, long checkpointChars)
+            throws DukeException {
+        this.tasks = tasks;
+        this.logPath = logPath;
+        this.statePath = statePath;
+        this.checkpointPath = checkpointPath;
+        this.checkpointChars = checkpointChars;
+        loadState();
+        String replica = state.getProperty(REPLICA_KEY);
+        if (replica == null) {
+            replica = UUID.randomUUID().toString().substring(0, 8);
+            state.setProperty(REPLICA_KEY, replica);
+            saveState();
+        }
+        this.replicaId = replica;
+    }
+
+    /**
+     * Opens the log of a workspace and starts recording changes to its tasks.
+     * Tasks that the log has never seen, such as those saved before the log
+     * existed, are recorded as added.
+     *
+     * @param dataDirectory The directory that holds the workspace.
+     * @param name          The name of the workspace.
+     * @param tasks         The tasks of the workspace.
+     * @return The opened log.
+     * @throws DukeException If the log cannot be read or written.
+     */
+    public static SyncLog open(Path dataDirectory, String name, TaskList tasks) throws DukeException {
+        return open(dataDirectory, name, tasks, DEFAULT_CHECKPOINT_CHARS);
+    }
+
+    /**
+     * Opens the log of a workspace, checkpointing it once the given number
+     * of characters has been appended.
+     */
+    static SyncLog open(Path dataDirectory, String name, TaskList tasks, long checkpointChars)
+            throws DukeException {
+        SyncLog log = new SyncLog(tasks, dataDirectory.resolve(name + LOG_EXTENSION),
+                dataDirectory.resolve(name + STATE_EXTENSION), dataDirectory.resolve(name + CHECKPOINT_EXTENSION),
+                checkpointChars);
+        log.replay();
+        for (Task task : tasks.getTasks()) {
+            log.byUid.put(task.getUid(), task);
+            if (!log.isKnown(task.getUid())) {
+                log.record(ADD, task.getUid(), TaskFormat.toFields(task));
+            }
+        }
+        tasks.addListener(log);
+        return log;
+    }
+
+    /**
+     * Returns the id of this replica.
+     */
+    public String getReplicaId() {
+        return replicaId;
+    }
+
+    /**
+     * Returns true if changes have been appended since the log was last flushed.
+     */
+    public boolean hasUnflushedChanges() {
+        return unflushed > 0;
+    }
+
+    /**
+     * Restores this replica's clocks and the latest stamp of every field
+     * from the last checkpoint, if it belongs to the log as it is, then
+     * reads the part of the log written since.
+     */
+    private void replay() throws DukeException {
+        if (!Files.exists(logPath)) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(logPath, StandardOpenOption.READ)) {
+            generation = generationOf(channel);
+            long offset = Files.exists(checkpointPath) ? loadCheckpoint() : 0;
+            checkpointSize = offset;
+            channel.position(offset);
+            InputStream in = new BufferedInputStream(Channels.newInputStream(channel));
+            long[] position = {offset};
+            String line;
+            while ((line = readLine(in, position)) != null) {
+                if (line.startsWith("#")) {
+                    continue;
+                }
+                Operation op = Operation.parse(line);
+                lamport = Math.max(lamport, op.lamport);
+                seen.merge(op.replica, op.sequence, Math::max);
+                if (op.replica.equals(replicaId)) {
+                    sequence = Math.max(sequence, op.sequence);
+                }
+                remember(op);
+            }
+            appendedChars = position[0] - offset;
+        } catch (IOException e) {
+            throw new DukeException("Honnney! I couldn't read the change log " + logPath + "! :,(");
+        }
+    }
+
+    /**
+     * Restores the clocks and latest stamps saved by the last checkpoint,
+     * unless the log was not replaced after it was saved, as when MumBot
+     * stopped in between.
+     *
+     * @return The position in the log from which changes were made after
+     *         the checkpoint, or 0 if the checkpoint was not used.
+     */
+    private long loadCheckpoint() throws IOException, DukeException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(checkpointPath))) {
+            if (!CHECKPOINT_MAGIC.equals(readLine(in, null))) {
+                throw new DukeException("Honnney! The sync checkpoint " + checkpointPath + " is damaged! :,(");
+            }
+            String[] header = readFields(in, 4);
+            if (Long.parseLong(header[0]) != generation) {
+                return 0;
+            }
+            long offset = Long.parseLong(header[1]);
+            lamport = Long.parseLong(header[2]);
+            sequence = Long.parseLong(header[3]);
+            String line;
+            while ((line = readLine(in, null)) != null) {
+                if (line.startsWith("seen\t")) {
+                    String[] fields = line.split("\t");
+                    seen.put(fields[1], Long.parseLong(fields[2]));
+                } else if (line.startsWith("deleted\t")) {
+                    deleted.add(line.substring("deleted\t".length()));
+                } else if (line.startsWith("live\t")) {
+                    stamps.put(line.substring("live\t".length()), new HashMap<>());
+                } else {
+                    remember(Operation.parse(line));
+                }
+            }
+            return offset;
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            throw new DukeException("Honnney! The sync checkpoint " + checkpointPath + " is damaged! :,(");
+        }
+    }
+
+    private static String[] readFields(InputStream in, int count) throws IOException, DukeException {
+        String line = readLine(in, null);
+        String[] fields = line == null ? new String[0] : line.split("\t");
+        if (fields.length != count) {
+            throw new DukeException("a checkpoint has a bad header");
+        }
+        return fields;
+    }
+
+    /**
+     * Returns the generation of a log, from its header, or 0 if it has never
+     * been checkpointed.
+     */
+    private static long generationOf(FileChannel channel) throws IOException {
+        ByteBuffer start = ByteBuffer.allocate(64);
+        channel.read(start, 0);
+        String text = new String(start.array(), 0, start.position(), StandardCharsets.UTF_8);
+        int end = text.indexOf('\n');
+        if (!text.startsWith(HEADER_PREFIX) || end == -1) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(text.substring(HEADER_PREFIX.length(), end));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private boolean isKnown(String uid) {
+        return stamps.containsKey(uid) || deleted.contains(uid);
+    }
+
+    /**
+     * Updates the latest stamps with an operation that has been applied.
+     */
+    private void remember(Operation op) {
+        switch (op.kind) {
+        case ADD:
+            if (!deleted.contains(op.uid)) {
+                stamps.putIfAbsent(op.uid, new HashMap<>());
+            }
+            break;
+        case DELETE:
+            deleted.add(op.uid);
+            stamps.remove(op.uid);
+            break;
+        default:
+            Map<String, Operation> fields = stamps.get(op.uid);
+            String field = fieldOf(op);
+            if (fields != null && op.isAfter(fields.get(field))) {
+                fields.put(field, op);
+            }
+        }
+    }
+
+    /**
+     * Returns the name of the field that an operation changes. Each
+     * occurrence of a recurring task is its own field.
+     */
+    private static String fieldOf(Operation op) {
+        return op.kind.equals(OCCURRENCE) ? OCCURRENCE + ":" + op.args[0] : op.kind;
+    }
+
+    /**
+     * Stamps a change made on this replica and appends it to the log.
+     */
+    private void record(String kind, String uid, String... args) throws DukeException {
+        lamport++;
+        sequence++;
+        Operation op = new Operation(lamport, replicaId, sequence, kind, uid, args);
+        seen.put(replicaId, sequence);
+        remember(op);
+        append(op);
+    }
+
+    private void append(Operation op) throws DukeException {
+        try {
+            if (writer == null) {
+                writer = Files.newBufferedWriter(logPath, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            String line = op.toLine();
+            writer.write(line);
+            writer.write('\n');
+            unflushed++;
+            appendedChars += line.length() + 1;
+        } catch (IOException e) {
+            throw new DukeException("Honey! I couldn't write to the change log " + logPath + " ! :(");
+        }
+    }
+
+    /**
+     * Records a change without stopping the change itself, which has already
+     * been made to the tasks. A failure is kept to be reported by
+     * `takeWriteFailure` or the next `flush`.
+     */
+    private void recordQuietly(String kind, String uid, String... args) {
+        try {
+            record(kind, uid, args);
+        } catch (DukeException e) {
+            if (writeFailure == null) {
+                writeFailure = e;
+            }
+        }
+    }
+
+    /**
+     * Returns the first failure to record a change since the last one was
+     * returned, or null if every change was recorded.
+     */
+    public DukeException takeWriteFailure() {
+        DukeException failure = writeFailure;
+        writeFailure = null;
+        return failure;
+    }
+
+    @Override
+    public void taskAdded(Task task) {
+        byUid.put(task.getUid(), task);
+        if (!isApplying) {
+            recordQuietly(ADD, task.getUid(), TaskFormat.toFields(task));
+        }
+    }
+
+    @Override
+    public void taskRemoved(Task task) {
+        byUid.remove(task.getUid());
+        if (!isApplying) {
+            recordQuietly(DELETE, task.getUid());
+        }
+    }
+
+    @Override
+    public void taskChanging(Task task) {
+        wasDone = task.isDone();
+        oldPriority = task.getPriority();
+        oldOccurrences = new TreeSet<>(task.getDoneOccurrences());
+    }
+
+    @Override
+    public void taskChanged(Task task) {
+        if (isApplying) {
+            return;
+        }
+        String uid = task.getUid();
+        if (task.isDone() != wasDone) {
+            recordQuietly(DONE, uid, Boolean.toString(task.isDone()));
+        }
+        if (task.getPriority() != oldPriority) {
+            recordQuietly(PRIORITY, uid, task.getPriority().name());
+        }
+        for (LocalDate date : task.getDoneOccurrences()) {
+            if (!oldOccurrences.remove(date)) {
+                recordQuietly(OCCURRENCE, uid, date.toString(), "true");
+            }
+        }
+        for (LocalDate date : oldOccurrences) {
+            recordQuietly(OCCURRENCE, uid, date.toString(), "false");
+        }
+    }
+
+    /**
+     * Merges the changes in another replica's log of the same workspace into
+     * this one. Only the part of the other log after where the last merge
+     * stopped is read, and changes that were already seen are skipped.
+     *
+     * @param otherDirectory The data directory of the other replica.
+     * @param name           The name of the workspace.
+     * @return The number of changes that were applied.
+     * @throws DukeException If the other log cannot be read, or is damaged.
+     */
+    public int pull(Path otherDirectory, String name) throws DukeException {
+        Path otherLog = otherDirectory.resolve(name + LOG_EXTENSION).toAbsolutePath().normalize();
+        if (!Files.exists(otherLog)) {
+            throw new DukeException("Honey! There's no " + name + " workspace to sync with in "
+                    + otherDirectory + " ! :(");
+        }
+        String peerKey = PEER_KEY_PREFIX + otherLog;
+        long offset = Long.parseLong(state.getProperty(peerKey, "0"));
+        long otherGeneration;
+        int applied = 0;
+        try {
+            if (Files.exists(logPath) && Files.isSameFile(otherLog, logPath)) {
+                throw new DukeException("Sweetie, that's this workspace! I can't sync it with itself.");
+            }
+            try (FileChannel channel = FileChannel.open(otherLog, StandardOpenOption.READ)) {
+                otherGeneration = generationOf(channel);
+                boolean isCheckpointed = otherGeneration != Long.parseLong(
+                        state.getProperty(peerKey + GENERATION_KEY_SUFFIX, "0"));
+                if (channel.size() < offset || isCheckpointed) {
+                    offset = 0; // The other log was replaced, so read it again. Seen changes are skipped.
+                }
+                channel.position(offset);
+                InputStream in = new BufferedInputStream(Channels.newInputStream(channel));
+                long[] position = {offset};
+                String line;
+                while ((line = readLine(in, position)) != null) {
+                    if (!line.startsWith("#") && apply(Operation.parse(line))) {
+                        applied++;
+                    }
+                }
+                offset = position[0];
+            }
+        } catch (IOException e) {
+            throw new DukeException("Honnney! I couldn't read the change log " + otherLog + "! :,(");
+        }
+        state.setProperty(peerKey, Long.toString(offset));
+        state.setProperty(peerKey + GENERATION_KEY_SUFFIX, Long.toString(otherGeneration));
+        return applied;
+    }
+
+    /**
+     * Applies an operation from another replica to the tasks, unless it has
+     * already been seen, and appends it to this replica's log so that it is
+     * passed on to replicas that sync with this one.
+     *
+     * @return True if the operation had not been seen before.
+     */
+    private boolean apply(Operation op) throws DukeException {
+        if (op.sequence <= seen.getOrDefault(op.replica, 0L)) {
+            return false;
+        }
+        seen.put(op.replica, op.sequence);
+        lamport = Math.max(lamport, op.lamport);
+
+        Task task = byUid.get(op.uid);
+        Map<String, Operation> fields = stamps.get(op.uid);
+        boolean isNewer = fields != null && op.isAfter(fields.get(fieldOf(op)));
+        isApplying = true;
+        try {
+            if (op.kind.equals(ADD)) {
+                if (task == null && !isKnown(op.uid)) {
+                    Task added = TaskFormat.fromFields(op.args);
+                    added.setUid(op.uid);
+                    tasks.addTask(added, false);
+                }
+            } else if (op.kind.equals(DELETE)) {
+                if (task != null) {
+                    tasks.deleteTaskByIndex(tasks.indexOf(task));
+                }
+            } else if (task != null && isNewer) {
+                applyChange(op, tasks.indexOf(task));
+            }
+        } finally {
+            isApplying = false;
+        }
+        remember(op);
+        append(op);
+        return true;
+    }
+
+    private void applyChange(Operation op, int index) throws DukeException {
+        try {
+            switch (op.kind) {
+            case DONE:
+                if (Boolean.parseBoolean(op.args[0])) {
+                    tasks.mark(index);
+                } else {
+                    tasks.unmark(index);
+                }
+                break;
+            case PRIORITY:
+                tasks.setPriority(index, Priority.valueOf(op.args[0]));
+                break;
+            case OCCURRENCE:
+                tasks.updateOccurrence(index, LocalDate.parse(op.args[0]), Boolean.parseBoolean(op.args[1]));
+                break;
+            default:
+                throw new DukeException("a log entry has an unknown kind '" + op.kind + "'");
+            }
+        } catch (RuntimeException e) {
+            throw new DukeException("a log entry for " + op.kind + " has bad arguments");
+        }
+    }
+
+    /**
+     * Writes buffered changes to the log, checkpoints it if enough has been
+     * appended since the last checkpoint, and saves how far each other
+     * replica's log has been read.
+     *
+     * @throws DukeException If the log or the read positions cannot be
+     *                       written, or a change could not be recorded.
+     */
+    public void flush() throws DukeException {
+        try {
+            if (writer != null) {
+                writer.flush();
+            }
+            unflushed = 0;
+            if (appendedChars >= Math.max(checkpointChars, checkpointSize)) {
+                checkpoint();
+            }
+        } catch (IOException e) {
+            throw new DukeException("Honey! I couldn't write to the change log " + logPath + " ! :(");
+        }
+        saveState();
+        DukeException failure = takeWriteFailure();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Rewrites the log without the changes that later ones have overridden,
+     * keeping deletions, and saves the clocks, latest stamps and deleted
+     * tasks beside it.
+     * The checkpoint is saved first, for the next generation of the log, so
+     * that if MumBot stops before the log is replaced, the old log is read
+     * in full instead.
+     */
+    private void checkpoint() throws IOException, DukeException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+        long nextGeneration = generation + 1;
+        Path target = logPath.toAbsolutePath();
+        Path temp = SaveFile.tempFileFor(target);
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(logPath));
+                Writer out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            out.write(HEADER_PREFIX + nextGeneration + "\n");
+            String line;
+            while ((line = readLine(in, null)) != null) {
+                if (!line.startsWith("#") && isLatest(Operation.parse(line))) {
+                    out.write(line);
+                    out.write('\n');
+                }
+            }
+        }
+        long size = Files.size(temp);
+        saveCheckpoint(nextGeneration, size);
+        SaveFile.commit(temp, target);
+        generation = nextGeneration;
+        checkpointSize = size;
+        appendedChars = 0;
+    }
+
+    /**
+     * Returns true if an operation in the log still matters: it adds a task
+     * that is still there, deletes a task, or is the latest change to a field.
+     */
+    private boolean isLatest(Operation op) {
+        Map<String, Operation> fields = stamps.get(op.uid);
+        switch (op.kind) {
+        case ADD:
+            return fields != null;
+        case DELETE:
+            return true;
+        default:
+            Operation latest = fields == null ? null : fields.get(fieldOf(op));
+            return latest != null && latest.lamport == op.lamport && latest.replica.equals(op.replica);
+        }
+    }
+
+    private void saveCheckpoint(long nextGeneration, long offset) throws IOException {
+        Path target = checkpointPath.toAbsolutePath();
+        Path temp = SaveFile.tempFileFor(target);
+        try (Writer out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            out.write(CHECKPOINT_MAGIC + "\n");
+            out.write(nextGeneration + "\t" + offset + "\t" + lamport + "\t" + sequence + "\n");
+            for (Map.Entry<String, Long> entry : seen.entrySet()) {
+                out.write("seen\t" + entry.getKey() + "\t" + entry.getValue() + "\n");
+            }
+            for (String uid : deleted) {
+                out.write("deleted\t" + uid + "\n");
+            }
+            for (Map.Entry<String, Map<String, Operation>> entry : stamps.entrySet()) {
+                out.write("live\t" + entry.getKey() + "\n");
+                for (Operation op : entry.getValue().values()) {
+                    out.write(op.toLine());
+                    out.write('\n');
+                }
+            }
+        }
+        SaveFile.commit(temp, target);
+    }
+
+    /**
+     * Flushes the log and stops recording changes to the tasks.
+     *
+     * @throws DukeException If the log cannot be written.
+     */
+    public void close() throws DukeException {
+        tasks.removeListener(this);
+        flush();
+        try {
+            if (writer != null) {
+                writer.close();
+                writer = null;
+            }
+        } catch (IOException e) {
+            throw new DukeException("Honey! I couldn't close the change log " + logPath + " ! :(");
+        }
+    }
+
+    private void loadState() throws DukeException {
+        if (!Files.exists(statePath)) {
+            return;
+        }
+        try (Reader reader = Files.newBufferedReader(statePath, StandardCharsets.UTF_8)) {
+            state.load(reader);
+        } catch (IOException e) {
+            throw new DukeException("Honnney! I couldn't read the sync state " + statePath + "! :,(");
+        }
+    }
+
+    private void saveState() throws DukeException {
+        Path target = statePath.toAbsolutePath();
+        Path temp = SaveFile.tempFileFor(target);
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                state.store(out, "MumBot sync state");
+            }
+            SaveFile.commit(temp, target);
+        } catch (IOException e) {
+            throw new DukeException("Honey! I couldn't save the sync state " + statePath + " ! :(");
+        }
+    }
+
+    /**
+     * Reads one complete line of UTF-8 text, or returns null at the end of
+     * the input. A last line without a line break may still be being
+     * written, so it is left to be read by the next merge.
+     *
+     * @param position If not null, advanced by the bytes of each complete line read.
+     */
+    private static String readLine(InputStream in, long[] position) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream(128);
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == '\n') {
+                if (position != null) {
+                    position[0] += line.size() + 1;
+                }
+                return line.toString(StandardCharsets.UTF_8.name());
+            }
+            line.write(b);
+        }
+        return null;
+    }
+
+    private static void escape(StringBuilder line, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\') {
+                line.append("\\\\");
+            } else if (c == '\t') {
+                line.append("\\t");
+            } else if (c == '\n') {
+                line.append("\\n");
+            } else {
+                line.append(c);
+            }
+        }
+    }
+
+    private static String unescape(String value) {
+        if (value.indexOf('\\') == -1) {
+            return value;
+        }
+        StringBuilder unescaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char next = value.charAt(++i);
+                unescaped.append(next == 't' ? '\t' : next == 'n' ? '\n' : next);
+            } else {
+                unescaped.append(c);
+            }
+        }
+        return unescaped.toString();
+    }
+}
@@ -0,0 +1,58 @@
+package duke.storage;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import duke.exception.DukeException;
+import duke.task.Task;
+import duke.task.TaskList;
+
+/**
+ * Exports a `TaskList` to a CSV or JSON file. Tasks are encoded one at a
+ * time through a buffered channel writer, so the whole document is never
+ * held in memory.
+ */
+public class TaskExporter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Writes every task to a file, replacing any existing file.
+     *
+     * @param tasks  The tasks to export.
+     * @param path   The file to write to.
+     * @param format The format to write in.
+     * @return The number of tasks written.
+     * @throws DukeException If the file cannot be written.
+     */
+    public static int export(TaskList tasks, Path path, TaskFormat format) throws DukeException {
+        int count = 0;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+                Writer writer = new BufferedWriter(
+                        Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), BUFFER_SIZE),
+                        BUFFER_SIZE)) {
+            writer.write(format.header());
+            writer.write('\n');
+            for (Task task : tasks.getTasks()) {
+                writer.write(format.encode(task, count == 0));
+                writer.write('\n');
+                count++;
+            }
+            if (format.footer() != null) {
+                writer.write(format.footer());
+                writer.write('\n');
+            }
+        } catch (IOException e) {
+            throw new DukeException("Honey! There was a problem with exporting your list of "
+                    + "tasks to " + path + " ! :(");
+        }
+        return count;
+    }
+}
@@ -0,0 +1,411 @@
+package duke.storage;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import duke.exception.DukeException;
+import duke.task.Recurrence;
+import duke.task.Task;
+
+/**
+ * The formats that tasks can be imported from and exported to. Each task
+ * is one line, so both formats can be written and read as a stream.
+ * A JSON export is an array with one task object per line.
+ */
+public enum TaskFormat {
+    CSV,
+    JSON;
+
+    /**
+     * The fields of a task record, in order.
+     */
+    static final String[] FIELDS = {"type", "done", "priority", "description", "detail", "done_on"};
+
+    /**
+     * Returns the format named by a file extension or format name, such as
+     * "csv" or "tasks.json", or null if it is not a known format.
+     *
+     * @param name The file name or format name.
+     */
+    public static TaskFormat fromName(String name) {
+        String lowerCase = name.toLowerCase(Locale.ROOT);
+        for (TaskFormat format : values()) {
+            String extension = format.name().toLowerCase(Locale.ROOT);
+            if (lowerCase.equals(extension) || lowerCase.endsWith("." + extension)) {
+                return format;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the line that starts a file in this format.
+     */
+    String header() {
+        return this == CSV ? String.join(",", FIELDS) : "[";
+    }
+
+    /**
+     * Returns the line that ends a file in this format, or null if there is none.
+     */
+    String footer() {
+        return this == CSV ? null : "]";
+    }
+
+    /**
+     * Encodes a task as one line.
+     *
+     * @param task    The task to encode.
+     * @param isFirst Whether this is the first task in the file.
+     */
+    String encode(Task task, boolean isFirst) {
+        String[] values = toFields(task);
+        StringBuilder line = new StringBuilder();
+        if (this == CSV) {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    line.append(',');
+                }
+                appendCsv(line, values[i]);
+            }
+        } else {
+            line.append(isFirst ? "{" : ",{");
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    line.append(',');
+                }
+                appendJsonString(line, FIELDS[i]);
+                line.append(':');
+                if (FIELDS[i].equals("done")) {
+                    line.append(values[i]);
+                } else {
+                    appendJsonString(line, values[i]);
+                }
+            }
+            line.append('}');
+        }
+        return line.toString();
+    }
+
+    /**
+     * Decodes one line into the values of a task record.
+     *
+     * @param line The line to decode.
+     * @return The field values in the order of `FIELDS`, or null if the line
+     *         holds no task (such as a header or blank line).
+     * @throws IllegalArgumentException If the line is malformed.
+     */
+    String[] decode(String line) {
+        String trimmed = line.trim();
+        if (this == CSV) {
+            if (trimmed.isEmpty() || trimmed.equals(header())) {
+                return null;
+            }
+            return parseCsv(line);
+        }
+        if (trimmed.startsWith(",")) {
+            trimmed = trimmed.substring(1).trim();
+        }
+        if (trimmed.isEmpty() || trimmed.equals("[") || trimmed.equals("]")) {
+            return null;
+        }
+        return parseJsonObject(trimmed);
+    }
+
+    /**
+     * Returns the field values of a task, in the order of `FIELDS`.
+     */
+    static String[] toFields(Task task) {
+        String detail = "";
+        if (task.getRecurrence() != null) {
+            detail = task.getRecurrence().toString();
+        } else if (task.getDate() != null) {
+            detail = task.hasTime()
+                    ? task.getDate() + " " + task.getDateTime().toLocalTime()
+                    : task.getDate().toString();
+        } else if (task.getMiscDescription() != null) {
+            detail = task.getMiscDescription();
+        }
+        List<String> doneOn = new ArrayList<>();
+        for (LocalDate date : task.getDoneOccurrences()) {
+            doneOn.add(date.toString());
+        }
+        return new String[] {
+            task.getType().name().toLowerCase(Locale.ROOT),
+            Boolean.toString(task.isDone()),
+            task.getPriority().name().toLowerCase(Locale.ROOT),
+            task.getDescription(),
+            detail,
+            String.join(" ", doneOn)
+        };
+    }
+
+    /**
+     * Creates a task from the values of a task record.
+     *
+     * @param values The field values, in the order of `FIELDS`.
+     * @throws DukeException If a value is invalid.
+     */
+    static Task fromFields(String[] values) throws DukeException {
+        if (values.length != FIELDS.length) {
+            throw new DukeException("expected " + FIELDS.length + " fields but found " + values.length);
+        }
+        String description = values[3];
+        String detail = values[4];
+        if (description.isEmpty()) {
+            throw new DukeException("the description is empty");
+        }
+
+        // Dates are only read if they are absolute, so that every copy of a synced task has the same date.
+        Task task;
+        switch (values[0].toLowerCase(Locale.ROOT)) {
+        case "todo":
+            task = new Task(description);
+            break;
+        case "deadline":
+            task = new Task(description, detail, Task.Type.DEADLINE, null);
+            break;
+        case "event":
+            task = new Task(description, detail, Task.Type.EVENT, null);
+            break;
+        case "recurring":
+            task = new Task(description, Recurrence.parse(detail, LocalDate.now()));
+            break;
+        default:
+            throw new DukeException("unknown task type '" + values[0] + "'");
+        }
+
+        try {
+            task.setPriority(Task.Priority.valueOf(values[2].toUpperCase(Locale.ROOT)));
+            if (!values[5].isEmpty()) {
+                for (String date : values[5].split(" ")) {
+                    task.updateOccurrenceStatus(LocalDate.parse(date), true);
+                }
+            }
+        } catch (RuntimeException e) {
+            throw new DukeException("invalid priority or done_on value");
+        }
+        if (values[1].equalsIgnoreCase("true")) {
+            if (task.getRecurrence() == null) {
+                task.updateStatus(true);
+            }
+        } else if (!values[1].equalsIgnoreCase("false")) {
+            throw new DukeException("done must be true or false");
+        }
+        return task;
+    }
+
+    /**
+     * Appends a CSV field, quoting it if it holds a comma, quote or line
+     * break. Within quotes, line breaks and backslashes are escaped as in
+     * JSON, so that every task stays on one line.
+     */
+    private static void appendCsv(StringBuilder line, String value) {
+        if (value.indexOf(',') == -1 && value.indexOf('"') == -1 && value.indexOf('\n') == -1
+                && value.indexOf('\r') == -1) {
+            line.append(value);
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+            case '"':
+                line.append("\"\"");
+                break;
+            case '\\':
+                line.append("\\\\");
+                break;
+            case '\n':
+                line.append("\\n");
+                break;
+            case '\r':
+                line.append("\\r");
+                break;
+            default:
+                line.append(c);
+            }
+        }
+        line.append('"');
+    }
+
+    private static String[] parseCsv(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean isQuoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (isQuoted) {
+                char next = i + 1 < line.length() ? line.charAt(i + 1) : 0;
+                if (c == '"' && next == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '\\' && (next == '\\' || next == 'n' || next == 'r')) {
+                    value.append(next == 'n' ? '\n' : next == 'r' ? '\r' : '\\');
+                    i++;
+                } else if (c == '"') {
+                    isQuoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"' && value.length() == 0) {
+                isQuoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        if (isQuoted) {
+            throw new IllegalArgumentException("unterminated quoted field");
+        }
+        values.add(value.toString());
+        return values.toArray(new String[0]);
+    }
+
+    private static void appendJsonString(StringBuilder line, String value) {
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+            case '"':
+                line.append("\\\"");
+                break;
+            case '\\':
+                line.append("\\\\");
+                break;
+            case '\n':
+                line.append("\\n");
+                break;
+            case '\t':
+                line.append("\\t");
+                break;
+            default:
+                if (c < 0x20) {
+                    line.append(String.format("\\u%04x", (int) c));
+                } else {
+                    line.append(c);
+                }
+            }
+        }
+        line.append('"');
+    }
+
+    /**
+     * Parses a flat JSON object whose values are strings or booleans.
+     */
+    private static String[] parseJsonObject(String text) {
+        String[] values = new String[FIELDS.length];
+        int[] at = {0};
+        expect(text, at, '{');
+        skipSpaces(text, at);
+        if (peek(text, at) == '}') {
+            at[0]++;
+        } else {
+            while (true) {
+                String key = parseJsonString(text, at);
+                expect(text, at, ':');
+                skipSpaces(text, at);
+                String value;
+                if (peek(text, at) == '"') {
+                    value = parseJsonString(text, at);
+                } else if (text.startsWith("true", at[0]) || text.startsWith("false", at[0])) {
+                    value = text.startsWith("true", at[0]) ? "true" : "false";
+                    at[0] += value.length();
+                } else {
+                    throw new IllegalArgumentException("unexpected value at column " + (at[0] + 1));
+                }
+                for (int i = 0; i < FIELDS.length; i++) {
+                    if (FIELDS[i].equals(key)) {
+                        values[i] = value;
+                    }
+                }
+                skipSpaces(text, at);
+                char next = peek(text, at);
+                at[0]++;
+                if (next == '}') {
+                    break;
+                } else if (next != ',') {
+                    throw new IllegalArgumentException("expected ',' or '}' at column " + at[0]);
+                }
+            }
+        }
+        skipSpaces(text, at);
+        if (at[0] != text.length()) {
+            throw new IllegalArgumentException("unexpected text after the object");
+        }
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == null) {
+                values[i] = FIELDS[i].equals("done") ? "false" : FIELDS[i].equals("priority") ? "none" : "";
+            }
+        }
+        return values;
+    }
+
+    private static String parseJsonString(String text, int[] at) {
+        expect(text, at, '"');
+        StringBuilder value = new StringBuilder();
+        while (at[0] < text.length()) {
+            char c = text.charAt(at[0]++);
+            if (c == '"') {
+                return value.toString();
+            } else if (c != '\\') {
+                value.append(c);
+                continue;
+            }
+            char escaped = peek(text, at);
+            at[0]++;
+            switch (escaped) {
+            case 'n':
+                value.append('\n');
+                break;
+            case 't':
+                value.append('\t');
+                break;
+            case 'r':
+                value.append('\r');
+                break;
+            case 'b':
+                value.append('\b');
+                break;
+            case 'f':
+                value.append('\f');
+                break;
+            case 'u':
+                if (at[0] + 4 > text.length()) {
+                    throw new IllegalArgumentException("truncated unicode escape");
+                }
+                value.append((char) Integer.parseInt(text.substring(at[0], at[0] + 4), 16));
+                at[0] += 4;
+                break;
+            default:
+                value.append(escaped);
+            }
+        }
+        throw new IllegalArgumentException("unterminated string");
+    }
+
+    private static void skipSpaces(String text, int[] at) {
+        while (at[0] < text.length() && Character.isWhitespace(text.charAt(at[0]))) {
+            at[0]++;
+        }
+    }
+
+    private static char peek(String text, int[] at) {
+        if (at[0] >= text.length()) {
+            throw new IllegalArgumentException("unexpected end of line");
+        }
+        return text.charAt(at[0]);
+    }
+
+    private static void expect(String text, int[] at, char expected) {
+        skipSpaces(text, at);
+        if (peek(text, at) != expected) {
+            throw new IllegalArgumentException("expected '" + expected + "' at column " + (at[0] + 1));
+        }
+        at[0]++;
+    }
+}
@@ -0,0 +1,120 @@
+package duke.storage;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import duke.exception.DukeException;
+import duke.task.Task;
+import duke.task.TaskList;
+
+/**
+ * Imports tasks from a CSV or JSON file written by `TaskExporter`. The
+ * file is read one line at a time and tasks are appended to the
+ * `TaskList` in batches, so memory use does not grow with the file.
+ * A bad line is reported and skipped instead of aborting the import.
+ */
+public class TaskImporter {
+
+    /**
+     * The number of tasks appended to the TaskList at once.
+     */
+    static final int BATCH_SIZE = 1000;
+
+    /**
+     * The number of bad lines that are described in detail.
+     */
+    static final int MAX_REPORTED_ERRORS = 20;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * The outcome of an import.
+     */
+    public static class Result {
+        private int importedCount = 0;
+        private int errorCount = 0;
+        private final List<String> errors = new ArrayList<>();
+
+        private void addError(long lineNumber, String reason) {
+            errorCount++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add("line " + lineNumber + ": " + reason);
+            }
+        }
+
+        /**
+         * Returns the number of tasks that were imported.
+         */
+        public int getImportedCount() {
+            return importedCount;
+        }
+
+        /**
+         * Returns the number of lines that could not be imported.
+         */
+        public int getErrorCount() {
+            return errorCount;
+        }
+
+        /**
+         * Returns descriptions of the first few lines that could not be imported.
+         */
+        public List<String> getErrors() {
+            return errors;
+        }
+    }
+
+    /**
+     * Appends the tasks in a file to a TaskList.
+     *
+     * @param tasks  The TaskList to append to.
+     * @param path   The file to read.
+     * @param format The format of the file.
+     * @return The number of tasks imported and the lines that failed.
+     * @throws DukeException If the file cannot be read at all.
+     */
+    public static Result importFile(TaskList tasks, Path path, TaskFormat format) throws DukeException {
+        Result result = new Result();
+        List<Task> batch = new ArrayList<>(BATCH_SIZE);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+                BufferedReader reader = new BufferedReader(
+                        Channels.newReader(channel, StandardCharsets.UTF_8.newDecoder(), BUFFER_SIZE),
+                        BUFFER_SIZE)) {
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                try {
+                    String[] values = format.decode(line);
+                    if (values == null) {
+                        continue;
+                    }
+                    batch.add(TaskFormat.fromFields(values));
+                } catch (IllegalArgumentException | DukeException e) {
+                    result.addError(lineNumber, e.getMessage());
+                    continue;
+                }
+                if (batch.size() == BATCH_SIZE) {
+                    tasks.addTasks(batch);
+                    result.importedCount += batch.size();
+                    batch.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new DukeException("Honnney! There was a problem with importing tasks from "
+                    + path + "! :,(");
+        } finally {
+            // Keep whatever was read before a failure.
+            tasks.addTasks(batch);
+            result.importedCount += batch.size();
+        }
+        return result;
+    }
+}
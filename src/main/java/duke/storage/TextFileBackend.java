@@ -0,0 +1,79 @@
+package duke.storage;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import duke.exception.DukeException;
+import duke.task.TaskList;
+
+/**
+ * Keeps every task in one file, which each save writes anew: a compressed,
+ * checksummed snapshot if the path ends in ".snap", and a plain .txt file
+ * of task lines otherwise.
+ * Note that this class is package-private.
+ */
+class TextFileBackend implements StorageBackend {
+
+    private final String filePath;
+    private final Disk disk;
+
+    /**
+     * Initialises a TextFileBackend.
+     *
+     * @param filePath The location of the file.
+     * @param disk     The disk that holds the file.
+     */
+    TextFileBackend(String filePath, Disk disk) {
+        this.filePath = filePath;
+        this.disk = disk;
+    }
+
+    /**
+     * Loads the file, creating it first if it does not exist. A damaged file
+     * is copied before it is saved over.
+     */
+    @Override
+    public TaskList load(RecoveryReport report) throws DukeException {
+        // Create the .txt file if it hasn't already been created.
+        CreateFile.makeFile(filePath, disk);
+
+        TaskList tasks;
+        if (SnapshotFile.isSnapshot(filePath)) {
+            tasks = SnapshotFile.load(filePath, disk, report);
+        } else {
+            tasks = LoadFile.load(filePath, disk, report);
+        }
+        if (!report.isClean()) {
+            keepDamagedFile(report);
+        }
+        return tasks;
+    }
+
+    /**
+     * Copies the damaged file next to it, under a name that is not taken yet,
+     * so that the parts that could not be loaded are not lost when it is saved over.
+     */
+    private void keepDamagedFile(RecoveryReport report) {
+        Path path = Paths.get(filePath);
+        Path backup = path.resolveSibling(path.getFileName() + ".damaged");
+        for (int i = 1; disk.exists(backup); i++) {
+            backup = path.resolveSibling(path.getFileName() + ".damaged" + i);
+        }
+        try {
+            disk.write(backup, disk.read(path));
+            report.setBackupPath(backup.toString());
+        } catch (IOException e) {
+            // The report says that no copy was kept.
+        }
+    }
+
+    /**
+     * Encodes every task, to be written over the whole file.
+     */
+    @Override
+    public PendingWrite prepareSave(TaskList tasks) {
+        byte[] contents = SnapshotFile.isSnapshot(filePath) ? SnapshotFile.encode(tasks) : SaveFile.encode(tasks);
+        return () -> SaveFile.write(contents, filePath, disk);
+    }
+}
@@ -0,0 +1,256 @@
+package duke.storage;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+import duke.exception.DukeException;
+import duke.task.TaskList;
+
+/**
+ * Manages named workspaces, each with its own list of tasks stored in its
+ * own file, or log-structured store, under a data directory. A workspace is only loaded when it is
+ * opened, and at most a fixed number stay loaded: opening another one
+ * saves and unloads the least recently used workspace.
+ * Every loaded workspace records its changes in a `SyncLog`, so that it can
+ * be synced with a copy of it in another data directory.
+ */
+public class WorkspaceManager {
+
+    /**
+     * The workspace that is opened when the programme starts.
+     */
+    public static final String DEFAULT_WORKSPACE = "duke";
+
+    /**
+     * The number of workspaces that stay loaded, by default.
+     */
+    public static final int DEFAULT_MAX_RESIDENT = 8;
+
+    /**
+     * The extension of a workspace kept in a .txt file.
+     */
+    public static final String TEXT_EXTENSION = ".txt";
+
+    /**
+     * The extension of a workspace kept in a log-structured store, which
+     * saves only the tasks that changed.
+     */
+    public static final String LOG_STRUCTURED_EXTENSION = LogStructuredBackend.EXTENSION;
+
+    private final Path dataDirectory;
+    private final String fileExtension;
+    private final int maxResident;
+    private final Consumer<TaskList> onLoad;
+    private final Consumer<TaskList> onUnload;
+
+    /**
+     * The loaded workspaces, from least to most recently used.
+     */
+    private final LinkedHashMap<String, Storage> resident = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, SyncLog> logs = new HashMap<>();
+    private String currentName;
+
+    /**
+     * Initialises a WorkspaceManager. No workspace is loaded until one is opened.
+     *
+     * @param dataDirectory The directory that holds the workspace files.
+     * @param maxResident   The number of workspaces that may stay loaded at once.
+     * @param onLoad        Called with the tasks of each workspace when it is loaded.
+     * @param onUnload      Called with the tasks of each workspace when it is unloaded.
+     */
+    public WorkspaceManager(Path dataDirectory, int maxResident, Consumer<TaskList> onLoad,
+            Consumer<TaskList> onUnload) {
+        this(dataDirectory, TEXT_EXTENSION, maxResident, onLoad, onUnload);
+    }
+
+    /**
+     * Initialises a WorkspaceManager whose workspaces are stored under the
+     * given extension, which picks how they are stored.
+     *
+     * @param dataDirectory The directory that holds the workspaces.
+     * @param fileExtension `TEXT_EXTENSION` or `LOG_STRUCTURED_EXTENSION`.
+     * @param maxResident   The number of workspaces that may stay loaded at once.
+     * @param onLoad        Called with the tasks of each workspace when it is loaded.
+     * @param onUnload      Called with the tasks of each workspace when it is unloaded.
+     */
+    public WorkspaceManager(Path dataDirectory, String fileExtension, int maxResident, Consumer<TaskList> onLoad,
+            Consumer<TaskList> onUnload) {
+        assert maxResident >= 1 : "at least one workspace should stay loaded";
+        this.dataDirectory = dataDirectory;
+        this.fileExtension = fileExtension;
+        this.maxResident = maxResident;
+        this.onLoad = onLoad;
+        this.onUnload = onUnload;
+    }
+
+    /**
+     * Returns true if the name can be used for a workspace.
+     *
+     * @param name The name to check.
+     */
+    public static boolean isValidName(String name) {
+        return name.matches("[A-Za-z0-9_-]{1,64}");
+    }
+
+    private Path fileOf(String name) {
+        return dataDirectory.resolve(name + fileExtension);
+    }
+
+    /**
+     * Makes the named workspace the current one, creating it if it does not
+     * exist and loading it if it is not loaded.
+     *
+     * @param name The name of the workspace.
+     * @return The tasks of the workspace.
+     * @throws DukeException If the workspace cannot be loaded, or another
+     *                       workspace cannot be saved to make room for it.
+     */
+    public TaskList open(String name) throws DukeException {
+        assert isValidName(name) : "workspace names should be validated first";
+        Storage storage = resident.get(name);
+        if (storage == null) {
+            storage = new Storage(fileOf(name).toString());
+            SyncLog log = SyncLog.open(dataDirectory, name, storage.getTasks());
+            if (log.hasUnflushedChanges()) {
+                // Tasks new to the log were given their identities just now, and must keep them.
+                storage.save();
+                log.flush();
+            }
+            resident.put(name, storage);
+            logs.put(name, log);
+            onLoad.accept(storage.getTasks());
+        }
+        currentName = name;
+        evictExcess();
+        return storage.getTasks();
+    }
+
+    /**
+     * Saves and unloads the least recently used workspaces until no more than
+     * the maximum are loaded. The current workspace is never unloaded.
+     */
+    private void evictExcess() throws DukeException {
+        Iterator<Map.Entry<String, Storage>> leastRecent = resident.entrySet().iterator();
+        while (resident.size() > maxResident && leastRecent.hasNext()) {
+            Map.Entry<String, Storage> entry = leastRecent.next();
+            if (entry.getKey().equals(currentName)) {
+                continue;
+            }
+            Storage storage = entry.getValue();
+            storage.close();
+            if (storage.isDirty()) {
+                storage.save();
+            }
+            logs.remove(entry.getKey()).close();
+            leastRecent.remove();
+            onUnload.accept(storage.getTasks());
+        }
+    }
+
+    /**
+     * Returns the name of the current workspace.
+     */
+    public String getCurrentName() {
+        return currentName;
+    }
+
+    /**
+     * Returns the tasks of the current workspace.
+     */
+    public TaskList getCurrentTasks() {
+        return resident.get(currentName).getTasks();
+    }
+
+    /**
+     * Returns the damage that was found in the file of the current workspace
+     * when it was loaded.
+     */
+    public RecoveryReport getCurrentRecoveryReport() {
+        return resident.get(currentName).getRecoveryReport();
+    }
+
+    /**
+     * Returns the first change to the current workspace that could not be
+     * written to its change log since this was last called, or null if
+     * every change was written.
+     */
+    public DukeException takeCurrentLogFailure() {
+        return logs.get(currentName).takeWriteFailure();
+    }
+
+    /**
+     * Returns true if the named workspace is loaded.
+     *
+     * @param name The name of the workspace.
+     */
+    public boolean isResident(String name) {
+        return resident.containsKey(name);
+    }
+
+    /**
+     * Returns the names of every workspace, loaded or not, in name order.
+     *
+     * @throws DukeException If the data directory cannot be read.
+     */
+    public List<String> getNames() throws DukeException {
+        TreeSet<String> names = new TreeSet<>(resident.keySet());
+        if (Files.isDirectory(dataDirectory)) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(dataDirectory, "*" + fileExtension)) {
+                for (Path file : files) {
+                    String fileName = file.getFileName().toString();
+                    String name = fileName.substring(0, fileName.length() - fileExtension.length());
+                    if (isValidName(name)) {
+                        names.add(name);
+                    }
+                }
+            } catch (IOException e) {
+                throw new DukeException("Honey! I couldn't look through your workspaces in "
+                        + dataDirectory + " ! :(");
+            }
+        }
+        return new ArrayList<>(names);
+    }
+
+    /**
+     * Saves every loaded workspace that has unsaved changes.
+     *
+     * @throws DukeException If a workspace cannot be saved.
+     */
+    public void saveAll() throws DukeException {
+        for (Map.Entry<String, Storage> entry : resident.entrySet()) {
+            if (entry.getValue().isDirty()) {
+                entry.getValue().save();
+            }
+            logs.get(entry.getKey()).flush();
+        }
+    }
+
+    /**
+     * Merges the changes made to the current workspace in another data
+     * directory into it, then saves it.
+     *
+     * @param otherDirectory The data directory that holds the other copy of the workspace.
+     * @return The number of changes that were merged.
+     * @throws DukeException If the other copy cannot be read, or the workspace cannot be saved.
+     */
+    public int syncCurrent(Path otherDirectory) throws DukeException {
+        SyncLog log = logs.get(currentName);
+        int applied = log.pull(otherDirectory, currentName);
+        Storage storage = resident.get(currentName);
+        if (storage.isDirty()) {
+            storage.save();
+        }
+        log.flush();
+        return applied;
+    }
+}
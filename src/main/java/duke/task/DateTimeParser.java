@@ -0,0 +1,498 @@
+package duke.task;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Parses the dates and times that users write for deadlines and events, such
+ * as "2026-10-20 14:00", "20/10/2026", "oct 20", "tomorrow 9am",
+ * "next fri 5pm" and "in 3 days". The words it knows are compiled once into
+ * a trie, which each word of the text is matched against a letter at a time,
+ * and numbers are read in place. Parsing thus creates no objects until it
+ * has succeeded, and never throws: text that is not a date, such as the
+ * location of an event, is simply rejected.
+ *
+ * A weekday on its own, or after "this", is the soonest such day from today
+ * on; after "next", it is the one a week later. A month and day without a
+ * year that have already passed this year fall in the next year. A time
+ * without a date is today.
+ *
+ * A parser keeps its last result, so it should not be shared between threads.
+ */
+public class DateTimeParser {
+
+    // The kinds of token.
+    private static final int END = 0;
+    private static final int NUMBER = 1;
+    private static final int WORD = 2;
+    private static final int DATE = 3;
+    private static final int TIME = 4;
+    private static final int INVALID = 5;
+
+    // The words, as group * 100 + value. Weekdays count from Monday, and months from January, as in java.time.
+    private static final int WEEKDAY = 100;
+    private static final int MONTH = 200;
+    private static final int UNIT = 300;
+    private static final int MINUTES = 301;
+    private static final int HOURS = 302;
+    private static final int DAYS = 303;
+    private static final int WEEKS = 304;
+    private static final int MONTHS = 305;
+    private static final int YEARS = 306;
+    private static final int TODAY = 401;
+    private static final int TOMORROW = 402;
+    private static final int NEXT = 403;
+    private static final int THIS = 404;
+    private static final int IN = 405;
+    private static final int AT = 406;
+    private static final int ON = 407;
+    private static final int AM = 408;
+    private static final int PM = 409;
+    private static final int NOON = 410;
+    private static final int MIDNIGHT = 411;
+
+    private static final String[][] WORDS = {
+        {"mon", "monday"}, {"tue", "tues", "tuesday"}, {"wed", "weds", "wednesday"},
+        {"thu", "thur", "thurs", "thursday"}, {"fri", "friday"}, {"sat", "saturday"}, {"sun", "sunday"},
+        {"jan", "january"}, {"feb", "february"}, {"mar", "march"}, {"apr", "april"}, {"may"},
+        {"jun", "june"}, {"jul", "july"}, {"aug", "august"}, {"sep", "sept", "september"},
+        {"oct", "october"}, {"nov", "november"}, {"dec", "december"},
+        {"min", "mins", "minute", "minutes"}, {"hr", "hrs", "hour", "hours"}, {"day", "days"},
+        {"wk", "wks", "week", "weeks"}, {"month", "months"}, {"yr", "yrs", "year", "years"},
+        {"today"}, {"tomorrow", "tmr", "tmrw"}, {"next"}, {"this"}, {"in"}, {"at"}, {"on"}, {"am"}, {"pm"},
+        {"noon"}, {"midnight"}
+    };
+    private static final int[] WORD_CODES = {
+        101, 102, 103, 104, 105, 106, 107,
+        201, 202, 203, 204, 205, 206, 207, 208, 209, 210, 211, 212,
+        MINUTES, HOURS, DAYS, WEEKS, MONTHS, YEARS,
+        TODAY, TOMORROW, NEXT, THIS, IN, AT, ON, AM, PM, NOON, MIDNIGHT
+    };
+
+    private static final int LETTERS = 26;
+    private static final int[] CHILDREN; // CHILDREN[node * LETTERS + letter] is the next node, or 0 if none.
+    private static final int[] CODES; // The code of the word that ends at each node, or 0.
+
+    static {
+        int maxNodes = 1;
+        for (String[] spellings : WORDS) {
+            for (String spelling : spellings) {
+                maxNodes += spelling.length();
+            }
+        }
+        int[] children = new int[maxNodes * LETTERS];
+        int[] codes = new int[maxNodes];
+        int nodeCount = 1;
+        for (int i = 0; i < WORDS.length; i++) {
+            for (String spelling : WORDS[i]) {
+                int node = 0;
+                for (int j = 0; j < spelling.length(); j++) {
+                    int slot = node * LETTERS + spelling.charAt(j) - 'a';
+                    if (children[slot] == 0) {
+                        children[slot] = nodeCount++;
+                    }
+                    node = children[slot];
+                }
+                codes[node] = WORD_CODES[i];
+            }
+        }
+        CHILDREN = children;
+        CODES = codes;
+    }
+
+    private static final long NONE = Long.MIN_VALUE; // Stands for no date.
+    private static final int MAX_AMOUNT = 10000; // The most units that "in N units" may count.
+    private static final long MAX_DAY = 2932896; // 9999-12-31, the last date that can be saved and read back.
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    // The text being parsed, and the token that was read last.
+    private CharSequence text;
+    private int pos;
+    private int kind;
+    private int value; // The code of a WORD, or the value of a NUMBER.
+    private int digits; // The number of digits of a NUMBER.
+    private int year;
+    private int month;
+    private int day;
+    private int hour;
+    private int minute;
+
+    // The result of the last successful parse.
+    private long resultDay;
+    private int resultMinute;
+    private boolean resultHasTime;
+
+    /**
+     * Parses a date, with or without a time.
+     *
+     * @param text The text to parse. Case is ignored.
+     * @param now  The time that relative dates, such as "tomorrow" or
+     *             "in 3 days", count from, or null to accept only dates
+     *             that do not depend on it, as when a saved task is restored.
+     * @return True if the whole text is a date or time, which is then
+     *         returned by `getDateTime`.
+     */
+    public boolean parse(CharSequence text, LocalDateTime now) {
+        this.text = text;
+        pos = 0;
+        long today = now == null ? NONE : epochDay(now.getYear(), now.getMonthValue(), now.getDayOfMonth());
+        long date = NONE;
+        int time = -1;
+        for (next(); kind != END; next()) {
+            if (kind == DATE) {
+                if (date != NONE || (date = epochDay(year, month, day)) == NONE) {
+                    return false;
+                }
+            } else if (kind == TIME || kind == NUMBER) {
+                boolean isBare = kind == NUMBER;
+                int number = value;
+                int hours = hour;
+                int minutes = minute;
+                int mark = pos;
+                next();
+                if (isBare && kind == WORD && groupOf(value) == MONTH) {
+                    if (date != NONE || (date = monthDay(value - MONTH, number, today)) == NONE) {
+                        return false;
+                    }
+                    continue;
+                }
+                if (kind == WORD && (value == AM || value == PM)) {
+                    if (isBare) {
+                        hours = number;
+                        minutes = 0;
+                    }
+                    if (hours < 1 || hours > 12) {
+                        return false;
+                    }
+                    hours = hours % 12 + (value == PM ? 12 : 0);
+                } else if (isBare) {
+                    return false;
+                } else {
+                    pos = mark; // A 24-hour time.
+                }
+                if (time != -1) {
+                    return false;
+                }
+                time = hours * 60 + minutes;
+            } else if (kind != WORD) {
+                return false;
+            } else if (value == AT || value == ON) {
+                continue;
+            } else if (value == NOON || value == MIDNIGHT) {
+                if (time != -1) {
+                    return false;
+                }
+                time = value == NOON ? 12 * 60 : 0;
+            } else if (value == IN) {
+                if (today == NONE || date != NONE || time != -1) {
+                    return false;
+                }
+                next();
+                int amount = value;
+                if (kind != NUMBER || amount > MAX_AMOUNT) {
+                    return false;
+                }
+                next();
+                if (kind != WORD || groupOf(value) != UNIT) {
+                    return false;
+                }
+                if (value == MINUTES || value == HOURS) {
+                    long minutesFromToday = now.getHour() * 60L + now.getMinute()
+                            + amount * (value == HOURS ? 60L : 1L);
+                    date = today + Math.floorDiv(minutesFromToday, MINUTES_PER_DAY);
+                    time = Math.floorMod(minutesFromToday, MINUTES_PER_DAY);
+                } else if ((date = plus(today, amount, value)) == NONE) {
+                    return false;
+                }
+            } else {
+                if (today == NONE && groupOf(value) != MONTH) {
+                    return false; // Every other word counts from today.
+                }
+                if (date != NONE || (date = wordDate(today)) == NONE) {
+                    return false;
+                }
+            }
+        }
+        if (date == NONE && time == -1) {
+            return false;
+        } else if (date == NONE) {
+            if (today == NONE) {
+                return false;
+            }
+            date = today;
+        }
+        resultDay = date;
+        resultMinute = Math.max(time, 0);
+        resultHasTime = time != -1;
+        return true;
+    }
+
+    private static int groupOf(int code) {
+        return code / 100 * 100;
+    }
+
+    /**
+     * Returns the date of a phrase that starts with the word just read:
+     * "today", "tomorrow", a weekday, "this" or "next" and a weekday, "next"
+     * and a unit, or a month and a day, with an optional year.
+     *
+     * @return The date as an epoch day, or NONE if the phrase is not a date.
+     */
+    private long wordDate(long today) {
+        if (value == TODAY) {
+            return today;
+        } else if (value == TOMORROW) {
+            return today + 1;
+        } else if (groupOf(value) == MONTH) {
+            int monthOfYear = value - MONTH;
+            next();
+            return kind == NUMBER ? monthDay(monthOfYear, value, today) : NONE;
+        }
+        boolean isNext = value == NEXT;
+        if (value == NEXT || value == THIS) {
+            next();
+            if (kind != WORD) {
+                return NONE;
+            } else if (isNext && groupOf(value) == UNIT && value != MINUTES && value != HOURS) {
+                return plus(today, 1, value);
+            }
+        }
+        if (kind != WORD || groupOf(value) != WEEKDAY) {
+            return NONE;
+        }
+        long days = Math.floorMod(value - WEEKDAY - 1 - dayOfWeek(today), 7);
+        return today + days + (isNext ? 7 : 0);
+    }
+
+    /**
+     * Returns the date of a day of a month, followed by an optional year.
+     * Without a year, it is the next such day from today on.
+     *
+     * @return The date as an epoch day, or NONE if there is no such date.
+     */
+    private long monthDay(int monthOfYear, int dayOfMonth, long today) {
+        int mark = pos;
+        next();
+        if (kind == NUMBER && digits == 4) {
+            return epochDay(value, monthOfYear, dayOfMonth);
+        }
+        pos = mark;
+        if (today == NONE) {
+            return NONE;
+        }
+        int thisYear = (int) (civilDate(today) / 10000);
+        long date = epochDay(thisYear, monthOfYear, dayOfMonth);
+        if (date != NONE && date < today) {
+            date = epochDay(thisYear + 1, monthOfYear, dayOfMonth);
+        }
+        return date == NONE ? epochDay(thisYear + 1, monthOfYear, dayOfMonth) : date;
+    }
+
+    /**
+     * Returns the date a number of days, weeks, months or years after
+     * today. Adding months or years keeps the day of the month, or the last
+     * day of the month if it is shorter.
+     *
+     * @return The date as an epoch day, or NONE if it is after the year 9999.
+     */
+    private static long plus(long today, int amount, int unit) {
+        if (unit == DAYS || unit == WEEKS) {
+            long date = today + (unit == WEEKS ? 7L * amount : amount);
+            return date > MAX_DAY ? NONE : date;
+        }
+        long civil = civilDate(today);
+        long months = civil / 10000 * 12 + civil / 100 % 100 - 1 + (unit == MONTHS ? amount : 12L * amount);
+        if (months / 12 > 9999) {
+            return NONE;
+        }
+        int year = (int) (months / 12);
+        int month = (int) (months % 12) + 1;
+        return epochDay(year, month, Math.min((int) (civil % 100), lengthOfMonth(year, month)));
+    }
+
+    /**
+     * Returns the date of an epoch day as year * 10000 + month * 100 + day,
+     * without creating a LocalDate.
+     */
+    private static long civilDate(long epochDay) {
+        long shifted = epochDay + 719468; // Days since 0000-03-01, so that leap days end a year.
+        long era = Math.floorDiv(shifted, 146097);
+        long dayOfEra = shifted - era * 146097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long shiftedMonth = (5 * dayOfYear + 2) / 153;
+        long day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+        long month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        return year * 10000 + month * 100 + day;
+    }
+
+    /**
+     * Returns the day of the week of an epoch day, from 0 for Monday.
+     */
+    private static int dayOfWeek(long epochDay) {
+        return Math.floorMod(epochDay + 3, 7); // 1970-01-01 was a Thursday.
+    }
+
+    /**
+     * Returns the epoch day of a date, or NONE if there is no such
+     * date, without creating a LocalDate.
+     */
+    private static long epochDay(int year, int month, int day) {
+        if (year < 1 || year > 9999 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)) {
+            return NONE;
+        }
+        long y = month <= 2 ? year - 1 : year;
+        long era = y / 400;
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        if (month == 2) {
+            return year % 4 == 0 && (year % 100 != 0 || year % 400 == 0) ? 29 : 28;
+        }
+        return month == 4 || month == 6 || month == 9 || month == 11 ? 30 : 31;
+    }
+
+    /**
+     * Reads the next token of the text: a word, a number, a date such as
+     * "2026-10-20" or "20/10/2026", or a time such as "14:00".
+     */
+    private void next() {
+        int end = text.length();
+        while (pos < end && (text.charAt(pos) == ' ' || text.charAt(pos) == ',')) {
+            pos++;
+        }
+        if (pos == end) {
+            kind = END;
+            return;
+        }
+        char c = text.charAt(pos);
+        if (isDigit(c)) {
+            readNumber();
+            if (kind == NUMBER && pos < end) {
+                readCompound(text.charAt(pos));
+            }
+        } else if ((c | 0x20) >= 'a' && (c | 0x20) <= 'z') {
+            readWord();
+        } else {
+            pos++;
+            kind = INVALID;
+        }
+    }
+
+    private void readNumber() {
+        int start = pos;
+        int number = 0;
+        int end = text.length();
+        while (pos < end && isDigit(text.charAt(pos)) && pos - start < 9) {
+            number = number * 10 + text.charAt(pos) - '0';
+            pos++;
+        }
+        boolean isTooLong = pos < end && isDigit(text.charAt(pos));
+        kind = isTooLong ? INVALID : NUMBER;
+        value = number;
+        digits = pos - start;
+    }
+
+    /**
+     * Continues a number that is followed by a date or time separator.
+     */
+    private void readCompound(char separator) {
+        int first = value;
+        if (separator == '-' && digits == 4) {
+            if (!readPart('-', 2, 2)) {
+                return;
+            }
+            int monthOfYear = value;
+            if (!readPart('-', 2, 2)) {
+                return;
+            }
+            year = first;
+            month = monthOfYear;
+            day = value;
+            kind = DATE;
+            if (pos + 1 < text.length() && (text.charAt(pos) | 0x20) == 't' && isDigit(text.charAt(pos + 1))) {
+                pos++; // The time of an ISO date and time, as in 2026-10-20T14:00.
+            }
+        } else if (separator == '/' && digits <= 2) {
+            if (!readPart('/', 1, 2)) {
+                return;
+            }
+            int monthOfYear = value;
+            if (!readPart('/', 4, 4)) {
+                return;
+            }
+            day = first;
+            month = monthOfYear;
+            year = value;
+            kind = DATE;
+        } else if (separator == ':' && digits <= 2) {
+            if (!readPart(':', 2, 2) || first > 23 || value > 59) {
+                kind = INVALID;
+                return;
+            }
+            hour = first;
+            minute = value;
+            kind = TIME;
+        }
+    }
+
+    /**
+     * Reads a separator and a number of the given number of digits. Marks
+     * the token as invalid and returns false if they are not there.
+     */
+    private boolean readPart(char separator, int minDigits, int maxDigits) {
+        if (pos + 1 >= text.length() || text.charAt(pos) != separator || !isDigit(text.charAt(pos + 1))) {
+            kind = INVALID;
+            return false;
+        }
+        pos++;
+        readNumber();
+        if (kind != NUMBER || digits < minDigits || digits > maxDigits) {
+            kind = INVALID;
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Reads a word by walking the trie a letter at a time.
+     */
+    private void readWord() {
+        int end = text.length();
+        int node = 0;
+        for (; pos < end && Character.isLetter(text.charAt(pos)); pos++) {
+            int letter = (text.charAt(pos) | 0x20) - 'a';
+            if (node != -1) {
+                node = letter >= 0 && letter < LETTERS ? CHILDREN[node * LETTERS + letter] : 0;
+                node = node == 0 ? -1 : node;
+            }
+        }
+        value = node == -1 ? 0 : CODES[node];
+        kind = value == 0 ? INVALID : WORD;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Returns the date and time of the last successful parse. A date without
+     * a time is at the start of the day.
+     */
+    public LocalDateTime getDateTime() {
+        return LocalDate.ofEpochDay(resultDay).atTime(resultMinute / 60, resultMinute % 60);
+    }
+
+    /**
+     * Returns true if the last successful parse was given a time, and not
+     * only a date.
+     */
+    public boolean hasTime() {
+        return resultHasTime;
+    }
+}
@@ -0,0 +1,203 @@
+package duke.task;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * A sorted set that can also find its elements by rank. It is a treap: a
+ * binary search tree whose nodes also carry random priorities, kept in heap
+ * order, which keeps the tree balanced with high probability. Every node
+ * knows the size of its subtree, so the element at a rank, and a run of
+ * elements from a rank, are found without walking the elements before it.
+ *
+ * Adding, removing and finding by rank take O(log n) time, and a run of k
+ * elements takes O(log n + k).
+ *
+ * @param <T> The type of the elements, which the comparator must tell apart.
+ */
+public class OrderStatisticTree<T> {
+
+    private static final class Node<T> {
+        private final T value;
+        private final int priority;
+        private int size = 1;
+        private Node<T> left;
+        private Node<T> right;
+
+        private Node(T value, int priority) {
+            this.value = value;
+            this.priority = priority;
+        }
+    }
+
+    private final Comparator<? super T> comparator;
+    private final SplittableRandom random = new SplittableRandom();
+    private Node<T> root;
+
+    /**
+     * Initialises an empty OrderStatisticTree.
+     *
+     * @param comparator The order of the elements. No two elements may compare as equal.
+     */
+    public OrderStatisticTree(Comparator<? super T> comparator) {
+        this.comparator = comparator;
+    }
+
+    private static int sizeOf(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static <T> Node<T> update(Node<T> node) {
+        node.size = 1 + sizeOf(node.left) + sizeOf(node.right);
+        return node;
+    }
+
+    /**
+     * Joins two treaps, where every element of the first comes before every
+     * element of the second.
+     */
+    private static <T> Node<T> merge(Node<T> first, Node<T> second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        if (first.priority > second.priority) {
+            first.right = merge(first.right, second);
+            return update(first);
+        }
+        second.left = merge(first, second.left);
+        return update(second);
+    }
+
+    /**
+     * Splits a treap into the elements before a value (or up to and including
+     * it, if `isInclusive`) and the rest.
+     *
+     * @return The two treaps, in order.
+     */
+    @SuppressWarnings("unchecked")
+    private Node<T>[] split(Node<T> node, T value, boolean isInclusive) {
+        if (node == null) {
+            return (Node<T>[]) new Node<?>[2];
+        }
+        int comparison = comparator.compare(node.value, value);
+        if (comparison < 0 || (isInclusive && comparison == 0)) {
+            Node<T>[] parts = split(node.right, value, isInclusive);
+            node.right = parts[0];
+            parts[0] = update(node);
+            return parts;
+        }
+        Node<T>[] parts = split(node.left, value, isInclusive);
+        node.left = parts[1];
+        parts[1] = update(node);
+        return parts;
+    }
+
+    /**
+     * Returns true if an element equal to the value is in this tree.
+     *
+     * @param value The value to look for.
+     */
+    public boolean contains(T value) {
+        Node<T> node = root;
+        while (node != null) {
+            int comparison = comparator.compare(value, node.value);
+            if (comparison == 0) {
+                return true;
+            }
+            node = comparison < 0 ? node.left : node.right;
+        }
+        return false;
+    }
+
+    /**
+     * Adds an element.
+     *
+     * @param value The element to add.
+     * @return True if it was not already in this tree.
+     */
+    public boolean add(T value) {
+        if (contains(value)) {
+            return false;
+        }
+        Node<T>[] parts = split(root, value, false);
+        root = merge(merge(parts[0], new Node<>(value, random.nextInt())), parts[1]);
+        return true;
+    }
+
+    /**
+     * Removes an element.
+     *
+     * @param value The element to remove.
+     * @return True if it was in this tree.
+     */
+    public boolean remove(T value) {
+        Node<T>[] before = split(root, value, false);
+        Node<T>[] rest = split(before[1], value, true);
+        root = merge(before[0], rest[1]);
+        return rest[0] != null;
+    }
+
+    /**
+     * Returns the number of elements.
+     */
+    public int size() {
+        return sizeOf(root);
+    }
+
+    /**
+     * Returns the element at a rank, counting from 0.
+     *
+     * @param rank The rank of the element.
+     * @throws IndexOutOfBoundsException If there is no element at that rank.
+     */
+    public T get(int rank) {
+        if (rank < 0 || rank >= size()) {
+            throw new IndexOutOfBoundsException("rank " + rank + " of " + size());
+        }
+        Node<T> node = root;
+        while (true) {
+            int leftSize = sizeOf(node.left);
+            if (rank < leftSize) {
+                node = node.left;
+            } else if (rank == leftSize) {
+                return node.value;
+            } else {
+                rank -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * Returns the elements from a rank onwards, in order.
+     *
+     * @param from  The rank of the first element, counting from 0.
+     * @param count The most elements to return.
+     */
+    public List<T> range(int from, int count) {
+        List<T> result = new ArrayList<>(Math.max(0, Math.min(count, size() - from)));
+        collect(root, from, from + count, result);
+        return result;
+    }
+
+    /**
+     * Adds the elements of a subtree whose ranks within it are in [from, to)
+     * to the result, skipping the subtrees that are wholly outside that range.
+     */
+    private static <T> void collect(Node<T> node, int from, int to, List<T> result) {
+        if (node == null || to <= 0 || from >= node.size) {
+            return;
+        }
+        int leftSize = sizeOf(node.left);
+        collect(node.left, from, to, result);
+        if (from <= leftSize && leftSize < to) {
+            result.add(node.value);
+        }
+        collect(node.right, from - leftSize - 1, to - leftSize - 1, result);
+    }
+}
@@ -0,0 +1,215 @@
+package duke.task;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An immutable array that grows as needed, where setting an element returns
+ * a new array instead of changing this one. It is a trie of 32-slot nodes:
+ * setting an element copies only the O(log32 n) nodes on the path to it, and
+ * the new array shares every other node with the old one. Many versions of
+ * a large array therefore cost memory in proportion to their differences.
+ * Unset elements are null.
+ *
+ * @param <T> The type of the elements.
+ */
+public final class PersistentArray<T> {
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    private static final PersistentArray<?> EMPTY = new PersistentArray<>(new Object[WIDTH], 0);
+
+    /**
+     * Receives the elements that differ between two arrays.
+     *
+     * @param <T> The type of the elements.
+     */
+    @FunctionalInterface
+    public interface DiffConsumer<T> {
+        /**
+         * Called with an index whose elements differ, and the elements.
+         */
+        void accept(int index, T before, T after);
+    }
+
+    private final Object[] root;
+    private final int shift; // The number of index bits below the root: 0 if the root holds elements.
+
+    private PersistentArray(Object[] root, int shift) {
+        this.root = root;
+        this.shift = shift;
+    }
+
+    /**
+     * Returns an array with no elements set.
+     *
+     * @param <T> The type of the elements.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> PersistentArray<T> empty() {
+        return (PersistentArray<T>) EMPTY;
+    }
+
+    /**
+     * Returns an array holding the given elements from index 0, built
+     * bottom-up in O(n) time.
+     *
+     * @param values The elements.
+     * @param <T>    The type of the elements.
+     */
+    public static <T> PersistentArray<T> of(List<? extends T> values) {
+        if (values.isEmpty()) {
+            return empty();
+        }
+        List<Object[]> level = new ArrayList<>();
+        for (int i = 0; i < values.size(); i += WIDTH) {
+            Object[] leaf = new Object[WIDTH];
+            for (int j = i; j < Math.min(i + WIDTH, values.size()); j++) {
+                leaf[j - i] = values.get(j);
+            }
+            level.add(leaf);
+        }
+        int shift = 0;
+        while (level.size() > 1) {
+            List<Object[]> parents = new ArrayList<>();
+            for (int i = 0; i < level.size(); i += WIDTH) {
+                Object[] parent = new Object[WIDTH];
+                for (int j = i; j < Math.min(i + WIDTH, level.size()); j++) {
+                    parent[j - i] = level.get(j);
+                }
+                parents.add(parent);
+            }
+            level = parents;
+            shift += BITS;
+        }
+        return new PersistentArray<>(level.get(0), shift);
+    }
+
+    /**
+     * Returns the number of elements that fit without adding a level.
+     */
+    private long capacity() {
+        return 1L << (shift + BITS);
+    }
+
+    /**
+     * Returns the element at an index, or null if it is not set.
+     *
+     * @param index The index, which may not be negative.
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        if (index >= capacity()) {
+            return null;
+        }
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(index >>> level) & MASK];
+            if (node == null) {
+                return null;
+            }
+        }
+        return (T) node[index & MASK];
+    }
+
+    /**
+     * Returns an array with the element at an index replaced, sharing every
+     * node off the path to it with this array.
+     *
+     * @param index The index, which may not be negative.
+     * @param value The new element, or null to unset it.
+     */
+    public PersistentArray<T> set(int index, T value) {
+        Object[] newRoot = root;
+        int newShift = shift;
+        while (index >= 1L << (newShift + BITS)) {
+            Object[] parent = new Object[WIDTH];
+            parent[0] = newRoot;
+            newRoot = parent;
+            newShift += BITS;
+        }
+        return new PersistentArray<>(set(newRoot, newShift, index, value), newShift);
+    }
+
+    private static Object[] set(Object[] node, int level, int index, Object value) {
+        Object[] copy = node == null ? new Object[WIDTH] : node.clone();
+        int slot = (index >>> level) & MASK;
+        copy[slot] = level == 0 ? value : set((Object[]) copy[slot], level - BITS, index, value);
+        return copy;
+    }
+
+    /**
+     * Returns the elements that are set, in index order.
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> values() {
+        List<Object> values = new ArrayList<>();
+        collect(root, shift, values);
+        return (List<T>) values;
+    }
+
+    private static void collect(Object[] node, int level, List<Object> values) {
+        for (Object child : node) {
+            if (child == null) {
+                continue;
+            }
+            if (level == 0) {
+                values.add(child);
+            } else {
+                collect((Object[]) child, level - BITS, values);
+            }
+        }
+    }
+
+    /**
+     * Finds the elements that differ between two arrays, in index order.
+     * Nodes that the arrays share are skipped without being read, so two
+     * versions of an array are compared in time proportional to their
+     * differences.
+     *
+     * @param before   The first array.
+     * @param after    The second array.
+     * @param consumer Receives each index whose elements are not the same object.
+     * @param <T>      The type of the elements.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> void diff(PersistentArray<T> before, PersistentArray<T> after, DiffConsumer<T> consumer) {
+        int shift = Math.max(before.shift, after.shift);
+        diff(before.rootAt(shift), after.rootAt(shift), shift, 0, (DiffConsumer<Object>) consumer);
+    }
+
+    /**
+     * Returns the root of this array as if it had the given number of
+     * levels, which is no fewer than it has.
+     */
+    private Object[] rootAt(int targetShift) {
+        Object[] node = root;
+        for (int level = shift; level < targetShift; level += BITS) {
+            Object[] parent = new Object[WIDTH];
+            parent[0] = node;
+            node = parent;
+        }
+        return node;
+    }
+
+    private static void diff(Object[] before, Object[] after, int level, int base, DiffConsumer<Object> consumer) {
+        if (before == after) {
+            return;
+        }
+        for (int slot = 0; slot < WIDTH; slot++) {
+            Object left = before == null ? null : before[slot];
+            Object right = after == null ? null : after[slot];
+            if (left == right) {
+                continue;
+            }
+            int index = base + (slot << level);
+            if (level == 0) {
+                consumer.accept(index, left, right);
+            } else {
+                diff((Object[]) left, (Object[]) right, level - BITS, index, consumer);
+            }
+        }
+    }
+}
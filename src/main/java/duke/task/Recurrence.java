@@ -0,0 +1,257 @@
+package duke.task;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.time.format.TextStyle;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+import duke.exception.DukeException;
+
+/**
+ * Describes when a RECURRING task happens, such as "daily", "every 2 weeks
+ * on mon,thu" or "monthly from 2026-10-31 until 2027-06-30". Occurrences
+ * are computed on demand, so a series takes the same memory however many
+ * times it repeats.
+ */
+public class Recurrence {
+
+    /**
+     * The unit that a recurrence repeats in.
+     */
+    public enum Unit {
+        DAY,
+        WEEK,
+        MONTH
+    }
+
+    private final Unit unit;
+    private final int interval;
+    private final EnumSet<DayOfWeek> days; // Only used for WEEK.
+    private final LocalDate start;
+    private final LocalDate until; // The last possible occurrence, or null if there is no end.
+
+    /**
+     * Initialises a Recurrence.
+     *
+     * @param unit     The unit that the recurrence repeats in.
+     * @param interval How many units there are between repeats.
+     * @param days     The days of the week that a weekly recurrence falls on.
+     * @param start    The first possible occurrence.
+     * @param until    The last possible occurrence, or null if there is no end.
+     */
+    public Recurrence(Unit unit, int interval, EnumSet<DayOfWeek> days, LocalDate start, LocalDate until) {
+        assert interval > 0 : "interval should be positive";
+        this.unit = unit;
+        this.interval = interval;
+        this.days = days.isEmpty() ? EnumSet.of(start.getDayOfWeek()) : EnumSet.copyOf(days);
+        this.start = start;
+        this.until = until;
+    }
+
+    /**
+     * Parses a recurrence rule, such as "weekly on mon,thu from 2026-10-19".
+     * A rule is a frequency (daily, weekly, monthly, or n days/weeks/months),
+     * optionally followed by "on" and days of the week for weekly rules, a
+     * "from" date and an "until" date.
+     *
+     * @param rule  The rule to parse.
+     * @param today The start date to use when the rule has no "from" date.
+     * @return The parsed Recurrence.
+     * @throws DukeException If the rule is not valid.
+     */
+    public static Recurrence parse(String rule, LocalDate today) throws DukeException {
+        String[] words = rule.trim().toLowerCase(Locale.ROOT).split("\\s+");
+        Unit unit = null;
+        int interval = 1;
+        EnumSet<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+        LocalDate start = today;
+        LocalDate until = null;
+
+        try {
+            int i = 0;
+            if (words[i].equals("every")) {
+                i++;
+            }
+            if (i < words.length && words[i].matches("\\d+")) {
+                interval = Integer.parseInt(words[i]);
+                i++;
+            }
+            if (i < words.length) {
+                unit = parseUnit(words[i], interval);
+                i++;
+            }
+            while (unit != null && i + 1 < words.length) {
+                String keyword = words[i];
+                String value = words[i + 1];
+                if (keyword.equals("on") && unit == Unit.WEEK) {
+                    for (String day : value.split(",")) {
+                        days.add(parseDay(day));
+                    }
+                } else if (keyword.equals("from")) {
+                    start = LocalDate.parse(value);
+                } else if (keyword.equals("until")) {
+                    until = LocalDate.parse(value);
+                } else {
+                    unit = null;
+                }
+                i += 2;
+            }
+            if (unit == null || interval <= 0 || i != words.length) {
+                throw new IllegalArgumentException(rule);
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new DukeException("Honey, I don't understand how often '" + rule + "' repeats!\n"
+                    + "Try something like: daily, 2 weeks on mon,thu, or monthly from 2026-10-31 until 2027-06-30");
+        }
+        return new Recurrence(unit, interval, days, start, until);
+    }
+
+    private static Unit parseUnit(String word, int interval) {
+        switch (word) {
+        case "daily":
+            return interval == 1 ? Unit.DAY : null;
+        case "weekly":
+            return interval == 1 ? Unit.WEEK : null;
+        case "monthly":
+            return interval == 1 ? Unit.MONTH : null;
+        case "day":
+        case "days":
+            return Unit.DAY;
+        case "week":
+        case "weeks":
+            return Unit.WEEK;
+        case "month":
+        case "months":
+            return Unit.MONTH;
+        default:
+            return null;
+        }
+    }
+
+    private static DayOfWeek parseDay(String word) {
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if (day.name().toLowerCase(Locale.ROOT).startsWith(word) && word.length() >= 3) {
+                return day;
+            }
+        }
+        throw new IllegalArgumentException(word);
+    }
+
+    /**
+     * Returns the first occurrence on or after the given date, or null if
+     * the recurrence has ended by then.
+     *
+     * @param date The earliest date to consider.
+     */
+    public LocalDate nextOnOrAfter(LocalDate date) {
+        if (date.isBefore(start)) {
+            date = start;
+        }
+        LocalDate next;
+        switch (unit) {
+        case DAY: {
+            long steps = ceilDiv(ChronoUnit.DAYS.between(start, date), interval);
+            next = start.plusDays(steps * interval);
+            break;
+        }
+        case MONTH: {
+            // plusMonths clamps to the end of shorter months, e.g. Jan 31 to Feb 28.
+            long steps = ChronoUnit.MONTHS.between(start.withDayOfMonth(1), date.withDayOfMonth(1)) / interval;
+            next = start.plusMonths(steps * interval);
+            while (next.isBefore(date)) {
+                steps++;
+                next = start.plusMonths(steps * interval);
+            }
+            break;
+        }
+        default:
+            next = nextWeekly(date);
+            break;
+        }
+        return until != null && next.isAfter(until) ? null : next;
+    }
+
+    private LocalDate nextWeekly(LocalDate date) {
+        LocalDate firstWeek = start.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        long weeks = ChronoUnit.WEEKS.between(firstWeek, date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)));
+        long steps = weeks / interval;
+        // The answer is in the current active week, or else the next one.
+        while (true) {
+            LocalDate weekStart = firstWeek.plusWeeks(steps * interval);
+            for (DayOfWeek day : days) {
+                LocalDate candidate = weekStart.plusDays(day.getValue() - 1);
+                if (!candidate.isBefore(date)) {
+                    return candidate;
+                }
+            }
+            steps++;
+        }
+    }
+
+    private static long ceilDiv(long dividend, long divisor) {
+        return -Math.floorDiv(-dividend, divisor);
+    }
+
+    /**
+     * Returns the occurrences between two dates, inclusive. Each occurrence
+     * is computed only when the iterator reaches it.
+     *
+     * @param from The earliest date to include.
+     * @param to   The latest date to include.
+     */
+    public Iterator<LocalDate> occurrencesBetween(LocalDate from, LocalDate to) {
+        return new Iterator<LocalDate>() {
+            private LocalDate next = nextOnOrAfter(from);
+
+            @Override
+            public boolean hasNext() {
+                return next != null && !next.isAfter(to);
+            }
+
+            @Override
+            public LocalDate next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                LocalDate current = next;
+                next = nextOnOrAfter(current.plusDays(1));
+                return current;
+            }
+        };
+    }
+
+    /**
+     * Returns true if the recurrence has an occurrence on the given date.
+     *
+     * @param date The date to check.
+     */
+    public boolean occursOn(LocalDate date) {
+        return date.equals(nextOnOrAfter(date));
+    }
+
+    @Override
+    public String toString() {
+        String frequency;
+        if (interval == 1) {
+            frequency = unit == Unit.DAY ? "daily" : unit == Unit.WEEK ? "weekly" : "monthly";
+        } else {
+            frequency = interval + " " + unit.name().toLowerCase(Locale.ROOT) + "s";
+        }
+        if (unit == Unit.WEEK) {
+            List<String> dayNames = new ArrayList<>();
+            for (DayOfWeek day : days) {
+                dayNames.add(day.getDisplayName(TextStyle.SHORT, Locale.ENGLISH).toLowerCase(Locale.ROOT));
+            }
+            frequency += " on " + String.join(",", dayNames);
+        }
+        return frequency + " from " + start + (until == null ? "" : " until " + until);
+    }
+}
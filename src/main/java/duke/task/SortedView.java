@@ -0,0 +1,98 @@
+package duke.task;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The tasks of a `TaskList` in a sorted order, kept up to date as tasks are
+ * added, removed and changed, so that any page of the sorted tasks can be
+ * read without sorting them again.
+ */
+public class SortedView implements TaskListener {
+
+    /**
+     * The orders that tasks can be sorted in. Tasks that are equal in an
+     * order stay in list order.
+     */
+    public enum Key {
+        /**
+         * HIGH priority first, then MED, LOW and NONE.
+         */
+        PRIORITY(Comparator.comparing(Task::getPriority)),
+
+        /**
+         * Earliest date first. A RECURRING task, or one without a date,
+         * comes last, since the date of its next occurrence changes over time.
+         */
+        DATE(Comparator.comparing(Task::getDateTime, Comparator.nullsLast(Comparator.naturalOrder()))),
+
+        /**
+         * Tasks that are not done first.
+         */
+        STATUS(Comparator.comparing(Task::isDone));
+
+        private final Comparator<Task> order;
+
+        Key(Comparator<Task> order) {
+            this.order = order.thenComparingInt(Task::getId);
+        }
+    }
+
+    private final OrderStatisticTree<Task> tree;
+
+    /**
+     * Initialises a SortedView of the given tasks.
+     *
+     * @param key   The order to sort the tasks in.
+     * @param tasks The tasks.
+     */
+    SortedView(Key key, List<Task> tasks) {
+        tree = new OrderStatisticTree<>(key.order);
+        for (Task task : tasks) {
+            tree.add(task);
+        }
+    }
+
+    /**
+     * Returns the number of tasks.
+     */
+    public int size() {
+        return tree.size();
+    }
+
+    /**
+     * Returns one page of the sorted tasks.
+     *
+     * @param page     The page, counting from 1.
+     * @param pageSize The number of tasks on a page.
+     * @return The tasks on the page, which is empty if there is no such page.
+     */
+    public List<Task> getPage(int page, int pageSize) {
+        long from = (long) (page - 1) * pageSize; // Computed as a long, as a huge page would overflow an int.
+        if (from >= size()) {
+            return Collections.emptyList();
+        }
+        return tree.range((int) from, pageSize);
+    }
+
+    @Override
+    public void taskAdded(Task task) {
+        tree.add(task);
+    }
+
+    @Override
+    public void taskRemoved(Task task) {
+        tree.remove(task);
+    }
+
+    @Override
+    public void taskChanging(Task task) {
+        tree.remove(task);
+    }
+
+    @Override
+    public void taskChanged(Task task) {
+        tree.add(task);
+    }
+}
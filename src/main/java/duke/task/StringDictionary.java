@@ -0,0 +1,100 @@
+package duke.task;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Stores each distinct string once and gives it an int code. Strings are
+ * counted as they are added and released, and a string whose count drops
+ * to zero is forgotten, so that its code can be given to another string.
+ *
+ * A `TaskList` uses one to make the tasks that share a description,
+ * location or tag share a single String, and a snapshot file uses one to
+ * store each repeated string once and refer to it by code.
+ */
+public class StringDictionary {
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private String[] strings = new String[16];
+    private int[] counts = new int[16];
+    private int[] freeCodes = new int[0]; // Codes of forgotten strings, to be reused.
+    private int freeCount = 0;
+    private int nextCode = 0;
+
+    /**
+     * Adds one use of a string.
+     *
+     * @param value The string.
+     * @return The code of the string.
+     */
+    public int add(String value) {
+        Integer code = codes.get(value);
+        if (code != null) {
+            counts[code]++;
+            return code;
+        }
+        int newCode = freeCount > 0 ? freeCodes[--freeCount] : nextCode++;
+        if (newCode == strings.length) {
+            strings = Arrays.copyOf(strings, newCode * 2);
+            counts = Arrays.copyOf(counts, newCode * 2);
+        }
+        strings[newCode] = value;
+        counts[newCode] = 1;
+        codes.put(value, newCode);
+        return newCode;
+    }
+
+    /**
+     * Adds one use of a string and returns the stored copy of it, so that
+     * equal strings can share one instance.
+     *
+     * @param value The string.
+     */
+    public String intern(String value) {
+        int code = add(value); // Before reading the array, which adding may replace.
+        return strings[code];
+    }
+
+    /**
+     * Removes one use of a string, forgetting it if it is no longer used.
+     *
+     * @param value The string, which must have been added.
+     */
+    public void release(String value) {
+        Integer code = codes.get(value);
+        assert code != null : "only added strings can be released";
+        if (--counts[code] > 0) {
+            return;
+        }
+        codes.remove(value);
+        strings[code] = null;
+        if (freeCount == freeCodes.length) {
+            freeCodes = Arrays.copyOf(freeCodes, Math.max(8, freeCount * 2));
+        }
+        freeCodes[freeCount++] = code;
+    }
+
+    /**
+     * Returns the string with the given code, or null if the code is not in use.
+     *
+     * @param code The code.
+     */
+    public String get(int code) {
+        return code < nextCode ? strings[code] : null;
+    }
+
+    /**
+     * Returns the number of distinct strings stored.
+     */
+    public int size() {
+        return codes.size();
+    }
+
+    /**
+     * Returns one more than the highest code given out so far.
+     */
+    public int getCodeLimit() {
+        return nextCode;
+    }
+}
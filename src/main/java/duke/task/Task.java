@@ -1,8 +1,14 @@
 package duke.task;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Handles the initialising of Tasks.
@@ -17,7 +23,8 @@ public class Task {
     public enum Type {
         TODO,
         EVENT,
-        DEADLINE;
+        DEADLINE,
+        RECURRING;
     }
 
     /**
@@ -30,14 +37,25 @@ public class Task {
         NONE
     }
 
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MMM dd yyyy");
+    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("MMM dd yyyy HH:mm");
+
     protected String taskDescription;
     protected String miscDescription;
-    protected LocalDate taskDate;
+    protected LocalDateTime taskDateTime;
     protected boolean hasDateTime = false; // Changed to true if the task is linked to a LocalDateTime dateTime
+    private boolean hasTime = false; // False if the task has a date but no time of day.
     protected boolean isDone;
 
     private Type taskType;
     private Priority priority = Priority.NONE;
+    private int id = -1; // Assigned by the TaskList that the task is first added to.
+    private String uid; // Identifies the task across saves and copies of the list. Created when first needed.
+    private Recurrence recurrence; // Only set for a RECURRING task.
+    private TreeSet<LocalDate> doneOccurrences; // The occurrences of a RECURRING task that are done.
+    private Set<Task> prerequisites = Collections.emptySet(); // The tasks that must be done before this one.
+    private TreeSet<String> tags; // Created when the first tag is added.
+    private StringDictionary strings; // Holds this task's strings, once it is added to a TaskList.
 
     /**
      * Constructor for a TODO task.
@@ -51,7 +69,9 @@ public class Task {
     }
 
     /**
-     * Constructor for a DEADLINE or EVENT task.
+     * Constructor for a DEADLINE or EVENT task. Its miscellaneous description
+     * is read as a date and time if it is one, such as "2026-10-20 14:00" or
+     * "next fri 5pm", counting from now.
      *
      * @param taskDescription The main description for the task.
      * @param miscDescription The miscellaneous description for the task.
@@ -59,27 +79,55 @@ public class Task {
      *                        or a EVENT.
      */
     public Task(String taskDescription, String miscDescription, Type taskType) {
+        this(taskDescription, miscDescription, taskType, LocalDateTime.now());
+    }
+
+    /**
+     * Constructor for a DEADLINE or EVENT task, whose miscellaneous
+     * description is read as a date and time if it is one.
+     *
+     * @param taskDescription The main description for the task.
+     * @param miscDescription The miscellaneous description for the task.
+     * @param taskType        A Type Enum specifying it the task is a DEADLINE
+     *                        or a EVENT.
+     * @param now             The time that relative dates such as "tomorrow"
+     *                        count from, or null to only read dates that do
+     *                        not depend on it, as when restoring a saved task.
+     */
+    public Task(String taskDescription, String miscDescription, Type taskType, LocalDateTime now) {
         this.taskDescription = taskDescription;
         this.taskType = taskType;
 
-        if (taskType.equals(Type.DEADLINE)) {
-            /* If miscDescription is of a particular format, then convert it into a LocalDateTime object.
+        if (taskType.equals(Type.DEADLINE) || taskType.equals(Type.EVENT)) {
+            /* If miscDescription is a date, then convert it into a LocalDateTime object.
             If not, then the miscDescription is stored as a String. */
-            DateTimeFormatter inputFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-            DateTimeFormatter outputFormatter = DateTimeFormatter.ofPattern("MMM dd yyyy");
-            try {
-                LocalDate date = LocalDate.parse(miscDescription, inputFormatter);
-                taskDate = date;
+            DateTimeParser parser = new DateTimeParser();
+            if (parser.parse(miscDescription, now)) {
+                taskDateTime = parser.getDateTime();
                 hasDateTime = true;
-                this.miscDescription = outputFormatter.format(date);
-            } catch (DateTimeParseException e) {
+                hasTime = parser.hasTime();
+                this.miscDescription = (hasTime ? DATE_TIME_FORMAT : DATE_FORMAT).format(taskDateTime);
+            } else {
                 this.miscDescription = miscDescription;
             }
-        } else if (taskType.equals(Type.EVENT)) {
-            this.miscDescription = miscDescription;
         }
     }
 
+    /**
+     * Constructor for a RECURRING task. Its occurrences are never stored;
+     * only the ones that have been marked as done are remembered.
+     *
+     * @param taskDescription The main description for the task.
+     * @param recurrence      When the task repeats.
+     */
+    public Task(String taskDescription, Recurrence recurrence) {
+        this.taskDescription = taskDescription;
+        this.taskType = Type.RECURRING;
+        this.recurrence = recurrence;
+        this.miscDescription = recurrence.toString();
+        this.doneOccurrences = new TreeSet<>();
+    }
+
     /**
      * Sets this tasks's priority to the input priority.
      *
@@ -89,8 +137,247 @@ public class Task {
         this.priority = priority;
     }
 
-    private String getStatusIcon() {
-        return ("[" + (isDone ? "X" : " ") + "]");
+    /**
+     * Returns the id of this task, which is unique within its TaskList and
+     * increases in the order that tasks were added. Returns -1 if the task
+     * has not been added to a TaskList yet.
+     */
+    public int getId() {
+        return id;
+    }
+
+    void setId(int id) {
+        this.id = id;
+    }
+
+    /**
+     * Returns the stable identity of this task, which is saved with it and is
+     * the same in every copy of the list it is synced to.
+     */
+    public String getUid() {
+        if (uid == null) {
+            uid = String.format("%016x", ThreadLocalRandom.current().nextLong());
+        }
+        return uid;
+    }
+
+    /**
+     * Restores the stable identity of a task that was loaded or synced.
+     *
+     * @param uid The identity that the task was saved with.
+     */
+    public void setUid(String uid) {
+        this.uid = uid;
+    }
+
+    /**
+     * Returns the main description of this task.
+     */
+    public String getDescription() {
+        return taskDescription;
+    }
+
+    /**
+     * Returns the miscellaneous description of this task, which is the due
+     * date of a DEADLINE or the location of an EVENT. Returns null for a TODO.
+     */
+    public String getMiscDescription() {
+        return miscDescription;
+    }
+
+    /**
+     * Returns the type of this task.
+     */
+    public Type getType() {
+        return taskType;
+    }
+
+    /**
+     * Returns the priority of this task.
+     */
+    public Priority getPriority() {
+        return priority;
+    }
+
+    /**
+     * Returns true if this task has been marked as done.
+     */
+    public boolean isDone() {
+        return isDone;
+    }
+
+    /**
+     * Returns the date of this task, or null if it does not have one.
+     */
+    public LocalDate getDate() {
+        return hasDateTime ? taskDateTime.toLocalDate() : null;
+    }
+
+    /**
+     * Returns the date and time of this task, or null if it does not have a
+     * date. A date without a time is at the start of the day.
+     */
+    public LocalDateTime getDateTime() {
+        return hasDateTime ? taskDateTime : null;
+    }
+
+    /**
+     * Returns true if this task has a time of day, and not only a date.
+     */
+    public boolean hasTime() {
+        return hasTime;
+    }
+
+    /**
+     * Returns when this task repeats, or null if it is not a RECURRING task.
+     */
+    public Recurrence getRecurrence() {
+        return recurrence;
+    }
+
+    /**
+     * Returns the tags of this task, in alphabetical order.
+     */
+    public SortedSet<String> getTags() {
+        return tags == null ? Collections.emptySortedSet() : Collections.unmodifiableSortedSet(tags);
+    }
+
+    /**
+     * Returns true if the text can be used as a tag: a single word of
+     * lowercase letters, digits, '-' or '_'.
+     *
+     * @param tag The text to check.
+     */
+    public static boolean isValidTag(String tag) {
+        return tag.matches("[a-z0-9_-]{1,32}");
+    }
+
+    /**
+     * Adds a tag to this task.
+     *
+     * @param tag The tag to add, which must be valid.
+     * @return True if the task did not already have the tag.
+     */
+    public boolean addTag(String tag) {
+        assert isValidTag(tag) : "tags should be validated first";
+        if (tags == null) {
+            tags = new TreeSet<>();
+        }
+        if (strings == null) {
+            return tags.add(tag);
+        }
+        String interned = strings.intern(tag);
+        if (!tags.add(interned)) {
+            strings.release(interned);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Replaces this task's description, other description and tags with the
+     * copies stored in a dictionary, adding one use of each. Tags added later
+     * are stored in the same dictionary. Nothing is done if the task's
+     * strings are already stored in a dictionary.
+     */
+    void internStrings(StringDictionary strings) {
+        if (this.strings != null) {
+            return;
+        }
+        this.strings = strings;
+        taskDescription = strings.intern(taskDescription);
+        if (miscDescription != null) {
+            miscDescription = strings.intern(miscDescription);
+        }
+        if (tags != null) {
+            TreeSet<String> interned = new TreeSet<>();
+            for (String tag : tags) {
+                interned.add(strings.intern(tag));
+            }
+            tags = interned;
+        }
+    }
+
+    /**
+     * Removes this task's uses of the strings added by `internStrings`, if
+     * they were added to the given dictionary.
+     */
+    void releaseStrings(StringDictionary strings) {
+        if (this.strings != strings) {
+            return;
+        }
+        this.strings = null;
+        strings.release(taskDescription);
+        if (miscDescription != null) {
+            strings.release(miscDescription);
+        }
+        for (String tag : getTags()) {
+            strings.release(tag);
+        }
+    }
+
+    /**
+     * Returns the tasks that must be done before this one, in the order
+     * they were added.
+     */
+    public Set<Task> getPrerequisites() {
+        return Collections.unmodifiableSet(prerequisites);
+    }
+
+    void addPrerequisite(Task prerequisite) {
+        if (prerequisites.isEmpty()) {
+            prerequisites = new LinkedHashSet<>();
+        }
+        prerequisites.add(prerequisite);
+    }
+
+    void removePrerequisite(Task prerequisite) {
+        if (!prerequisites.isEmpty()) {
+            prerequisites.remove(prerequisite);
+        }
+    }
+
+    /**
+     * Returns true if the occurrence of this RECURRING task on the given date
+     * has been marked as done.
+     *
+     * @param date The date of the occurrence.
+     */
+    public boolean isDoneOn(LocalDate date) {
+        return doneOccurrences != null && doneOccurrences.contains(date);
+    }
+
+    /**
+     * Returns the dates of the occurrences of a RECURRING task that are done,
+     * in date order. Returns an empty set for any other task.
+     */
+    public SortedSet<LocalDate> getDoneOccurrences() {
+        return doneOccurrences == null
+                ? Collections.emptySortedSet()
+                : Collections.unmodifiableSortedSet(doneOccurrences);
+    }
+
+    /**
+     * Updates the status of one occurrence of a RECURRING task.
+     *
+     * @param date     The date of the occurrence.
+     * @param changeTo True to mark the occurrence as done, false to mark it as not done.
+     * @return Returns a string that describes the change made/not made.
+     */
+    public String updateOccurrenceStatus(LocalDate date, boolean changeTo) {
+        if (recurrence == null) {
+            return "Honeypie, only recurring tasks have occurrences!";
+        } else if (!recurrence.occursOn(date)) {
+            return "Honeypie, this task doesn't happen on " + date + "!";
+        } else if (changeTo) {
+            return doneOccurrences.add(date)
+                    ? "The occurrence on " + date + " has been successfully marked as done!"
+                    : "Honeypie, the occurrence on " + date + " has already been marked as done!";
+        } else {
+            return doneOccurrences.remove(date)
+                    ? "The occurrence on " + date + " has been successfully marked as not done yet!"
+                    : "Honeypie, the occurrence on " + date + " has already been marked as not done yet!";
+        }
     }
 
     /**
@@ -104,6 +391,16 @@ public class Task {
      * @return         Returns a string that describes the change made/not made.
      */
     public String updateStatus(boolean changeTo) {
+        if (recurrence != null) {
+            // A series is never done as a whole, so update its next pending or last done occurrence.
+            LocalDate date = changeTo ? nextPendingOccurrence(LocalDate.now()) : lastDoneOccurrence();
+            if (date == null) {
+                return changeTo
+                        ? "Honeypie, this task has no more occurrences to mark as done!"
+                        : "Honeypie, this task has no occurrences marked as done yet!";
+            }
+            return updateOccurrenceStatus(date, changeTo);
+        }
         if (isDone) {
             if (changeTo) {
                 return ("Honeypie, this task has already been marked as done!");
@@ -121,17 +418,66 @@ public class Task {
         }
     }
 
-    @Override
-    public String toString() {
+    private LocalDate nextPendingOccurrence(LocalDate from) {
+        LocalDate date = recurrence.nextOnOrAfter(from);
+        while (date != null && doneOccurrences.contains(date)) {
+            date = recurrence.nextOnOrAfter(date.plusDays(1));
+        }
+        return date;
+    }
+
+    private LocalDate lastDoneOccurrence() {
+        return doneOccurrences.isEmpty() ? null : doneOccurrences.last();
+    }
+
+    /**
+     * Appends the String format of this task to a buffer, without creating
+     * any intermediate Strings.
+     *
+     * @param buffer The buffer to append to.
+     */
+    public void appendTo(StringBuilder buffer) {
         switch (taskType) {
-        case TODO:
-            return "[T]" + getStatusIcon() + " " + taskDescription + " || Priority: " + priority;
         case DEADLINE:
-            return "[D]" + getStatusIcon() + " " + taskDescription + " (by: " + miscDescription + ")" + " || Priority: " + priority;
+            buffer.append("[D]");
+            break;
         case EVENT:
-            return "[E]" + getStatusIcon() + " " + taskDescription + " (at: " + miscDescription + ")" + " || Priority: " + priority;
+            buffer.append("[E]");
+            break;
+        case RECURRING:
+            buffer.append("[R]");
+            break;
         default:
-            return "";
+            buffer.append("[T]");
+        }
+        buffer.append(isDone ? "[X] " : "[ ] ").append(taskDescription);
+        if (taskType == Type.DEADLINE) {
+            buffer.append(" (by: ").append(miscDescription).append(')');
+        } else if (taskType == Type.EVENT) {
+            buffer.append(" (at: ").append(miscDescription).append(')');
+        } else if (taskType == Type.RECURRING) {
+            buffer.append(" (every: ").append(miscDescription).append(')');
+            if (!doneOccurrences.isEmpty()) {
+                buffer.append(" (done on:");
+                for (LocalDate date : doneOccurrences) {
+                    buffer.append(' ').append(date);
+                }
+                buffer.append(')');
+            }
+        }
+        buffer.append(" || Priority: ").append(priority);
+        if (tags != null && !tags.isEmpty()) {
+            buffer.append(" || Tags:");
+            for (String tag : tags) {
+                buffer.append(' ').append(tag);
+            }
         }
     }
+
+    @Override
+    public String toString() {
+        StringBuilder buffer = new StringBuilder(64);
+        appendTo(buffer);
+        return buffer.toString();
+    }
 }
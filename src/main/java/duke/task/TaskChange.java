@@ -0,0 +1,107 @@
+package duke.task;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One change to the tasks of a `TaskList`, as published by a
+ * `TaskChangeStream`. The task is identified by its id, and its text is
+ * taken when the change is made, so that a subscriber on another thread
+ * never has to read a task that may be changing.
+ */
+public final class TaskChange {
+
+    /**
+     * The kinds of change.
+     */
+    public enum Kind {
+        /**
+         * A task was added.
+         */
+        ADDED,
+
+        /**
+         * A task was removed.
+         */
+        REMOVED,
+
+        /**
+         * A task's status, priority, date, tags or dependencies changed.
+         */
+        UPDATED,
+
+        /**
+         * The subscriber should replace everything it has with the
+         * snapshot. Sent first to every subscriber, and again if a
+         * subscriber falls so far behind that its changes were dropped.
+         */
+        RESET
+    }
+
+    private final Kind kind;
+    private final int taskId;
+    private final String text; // Null for REMOVED and RESET.
+    private final List<TaskChange> snapshot; // The tasks as ADDED changes, in list order, for RESET only.
+
+    private TaskChange(Kind kind, int taskId, String text, List<TaskChange> snapshot) {
+        this.kind = kind;
+        this.taskId = taskId;
+        this.text = text;
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Returns an ADDED, REMOVED or UPDATED change to a task.
+     */
+    static TaskChange of(Kind kind, Task task) {
+        assert kind != Kind.RESET : "a RESET needs a snapshot";
+        return new TaskChange(kind, task.getId(), kind == Kind.REMOVED ? null : task.toString(), null);
+    }
+
+    /**
+     * Returns a RESET to the given tasks.
+     */
+    static TaskChange reset(List<Task> tasks) {
+        ArrayList<TaskChange> snapshot = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            snapshot.add(of(Kind.ADDED, task));
+        }
+        return new TaskChange(Kind.RESET, -1, null, Collections.unmodifiableList(snapshot));
+    }
+
+    /**
+     * Returns the kind of change.
+     */
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Returns the id of the task that changed, or -1 for a RESET.
+     */
+    public int getTaskId() {
+        return taskId;
+    }
+
+    /**
+     * Returns the task as it was shown after the change, or null if it was
+     * removed or this is a RESET.
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Returns the tasks to reset to, as ADDED changes in list order, or an
+     * empty list if this is not a RESET.
+     */
+    public List<TaskChange> getSnapshot() {
+        return snapshot == null ? Collections.emptyList() : snapshot;
+    }
+
+    @Override
+    public String toString() {
+        return kind == Kind.RESET ? "RESET " + getSnapshot().size() : kind + " " + taskId;
+    }
+}
@@ -0,0 +1,213 @@
+package duke.task;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+
+/**
+ * Publishes every change to the tasks of a `TaskList` to its subscribers,
+ * so that views of the tasks can apply each change instead of rebuilding
+ * themselves from the whole list.
+ *
+ * A subscriber first receives a RESET holding the tasks as they are, then
+ * one change for every task added, removed or updated, delivered on the
+ * executor in order and only as fast as it requests them. Changes it has
+ * not yet requested are buffered, up to a limit; a subscriber that falls
+ * further behind than that has its buffered changes replaced by a single
+ * RESET, so that neither the thread changing the tasks nor the memory
+ * held for a slow subscriber depends on how slow it is.
+ *
+ * Subscribe on the thread that changes the tasks, as the first RESET is
+ * taken from the list as it is then.
+ */
+public class TaskChangeStream implements Flow.Publisher<TaskChange>, TaskListener {
+
+    /**
+     * How many changes are buffered for a subscriber, by default, before
+     * they are replaced by a RESET.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 1024;
+
+    private final List<Task> tasks;
+    private final Executor executor;
+    private final int bufferSize;
+    private final ArrayList<ChangeSubscription> subscriptions = new ArrayList<>();
+
+    /**
+     * Initialises a TaskChangeStream over the given tasks. It must also be
+     * registered as a listener of their TaskList.
+     *
+     * @param tasks      The tasks.
+     * @param executor   Delivers the changes to subscribers.
+     * @param bufferSize How many changes are buffered for a subscriber.
+     */
+    TaskChangeStream(List<Task> tasks, Executor executor, int bufferSize) {
+        assert bufferSize > 0 : "bufferSize should be positive";
+        this.tasks = tasks;
+        this.executor = executor;
+        this.bufferSize = bufferSize;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super TaskChange> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("subscriber");
+        }
+        ChangeSubscription subscription;
+        synchronized (this) {
+            subscription = new ChangeSubscription(subscriber, TaskChange.reset(tasks));
+            subscriptions.add(subscription);
+        }
+        subscriber.onSubscribe(subscription);
+    }
+
+    /**
+     * Returns the number of subscribers that have not cancelled.
+     */
+    public synchronized int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    private synchronized void unsubscribe(ChangeSubscription subscription) {
+        subscriptions.remove(subscription);
+    }
+
+    /**
+     * Offers a change to every subscriber. Nothing is created if there
+     * are no subscribers.
+     */
+    private synchronized void publish(TaskChange.Kind kind, Task task) {
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        TaskChange change = TaskChange.of(kind, task);
+        TaskChange reset = null; // Shared by every subscriber that fell behind.
+        for (int i = 0; i < subscriptions.size(); i++) {
+            ChangeSubscription subscription = subscriptions.get(i);
+            if (!subscription.offer(change)) {
+                if (reset == null) {
+                    reset = TaskChange.reset(tasks);
+                }
+                subscription.resetTo(reset);
+            }
+        }
+    }
+
+    @Override
+    public void taskAdded(Task task) {
+        publish(TaskChange.Kind.ADDED, task);
+    }
+
+    @Override
+    public void taskRemoved(Task task) {
+        publish(TaskChange.Kind.REMOVED, task);
+    }
+
+    @Override
+    public void taskChanged(Task task) {
+        publish(TaskChange.Kind.UPDATED, task);
+    }
+
+    /**
+     * The changes waiting for one subscriber, and how many more it has
+     * asked for. At most one delivery runs on the executor at a time, so
+     * the subscriber receives the changes one after another, in order.
+     */
+    private class ChangeSubscription implements Flow.Subscription, Runnable {
+        private final Flow.Subscriber<? super TaskChange> subscriber;
+        private final ArrayDeque<TaskChange> buffer = new ArrayDeque<>();
+        private long demand = 0;
+        private boolean isDelivering = false;
+        private boolean isCancelled = false;
+
+        private ChangeSubscription(Flow.Subscriber<? super TaskChange> subscriber, TaskChange reset) {
+            this.subscriber = subscriber;
+            buffer.add(reset);
+        }
+
+        /**
+         * Buffers a change, unless the buffer is full.
+         *
+         * @return False if the buffer is full.
+         */
+        private synchronized boolean offer(TaskChange change) {
+            if (isCancelled) {
+                return true;
+            }
+            if (buffer.size() >= bufferSize) {
+                return false;
+            }
+            buffer.add(change);
+            startDelivering();
+            return true;
+        }
+
+        /**
+         * Replaces the buffered changes with a RESET.
+         */
+        private synchronized void resetTo(TaskChange reset) {
+            buffer.clear();
+            buffer.add(reset);
+            startDelivering();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancel();
+                subscriber.onError(new IllegalArgumentException("non-positive request: " + n));
+                return;
+            }
+            synchronized (this) {
+                demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+                startDelivering();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            synchronized (this) {
+                isCancelled = true;
+                buffer.clear();
+            }
+            unsubscribe(this);
+        }
+
+        private void startDelivering() {
+            if (!isDelivering && !isCancelled && demand > 0 && !buffer.isEmpty()) {
+                isDelivering = true;
+                executor.execute(this);
+            }
+        }
+
+        /**
+         * Delivers the buffered changes that the subscriber has asked for.
+         */
+        @Override
+        public void run() {
+            while (true) {
+                TaskChange change;
+                synchronized (this) {
+                    if (isCancelled || demand == 0 || buffer.isEmpty()) {
+                        isDelivering = false;
+                        return;
+                    }
+                    change = buffer.poll();
+                    demand--;
+                }
+                try {
+                    subscriber.onNext(change);
+                } catch (RuntimeException e) {
+                    // A subscriber should not throw; stop sending it anything more.
+                    cancel();
+                    synchronized (this) {
+                        isDelivering = false;
+                    }
+                    return;
+                }
+            }
+        }
+    }
+}
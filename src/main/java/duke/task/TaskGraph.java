@@ -0,0 +1,274 @@
+package duke.task;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import duke.exception.DukeException;
+
+/**
+ * Keeps track of which tasks depend on which, and of the tasks that are
+ * ready to be done: those that are not done and whose prerequisites are all
+ * done. Each task's prerequisites are stored on the task itself; this graph
+ * keeps the reverse edges, the number of unfinished prerequisites of each
+ * task, and the set of ready tasks up to date as tasks change, so that none
+ * of them is ever recomputed from scratch.
+ *
+ * A RECURRING task is never done as a whole, so it always blocks the tasks
+ * that depend on it.
+ */
+public class TaskGraph implements TaskListener {
+
+    private final Map<Task, List<Task>> dependents = new HashMap<>();
+    private final Map<Task, Integer> blockerCounts = new HashMap<>(); // Unfinished prerequisites, if any.
+    private final TreeSet<Task> ready = new TreeSet<>(Comparator.comparingInt(Task::getId));
+
+    /**
+     * A topological order of the tasks with dependencies: every prerequisite
+     * comes before the tasks that depend on it. Kept up to date as
+     * dependencies are added, so that most new dependencies are checked for
+     * cycles without a search, and the rest only search between the two
+     * tasks' positions (the Pearce-Kelly algorithm).
+     */
+    private final Map<Task, Integer> order = new HashMap<>();
+    private int nextOrder = 0;
+
+    private boolean wasDone;
+
+    /**
+     * Initialises a TaskGraph over the given tasks and the dependencies
+     * already stored on them.
+     *
+     * @param tasks The tasks, in list order.
+     */
+    TaskGraph(List<Task> tasks) {
+        for (Task task : tasks) {
+            for (Task prerequisite : task.getPrerequisites()) {
+                dependents.computeIfAbsent(prerequisite, key -> new ArrayList<>()).add(task);
+                if (!prerequisite.isDone()) {
+                    blockerCounts.merge(task, 1, Integer::sum);
+                }
+            }
+        }
+        for (Task task : tasks) {
+            if (isReady(task)) {
+                ready.add(task);
+            }
+        }
+        assignInitialOrder(tasks);
+    }
+
+    /**
+     * Orders the tasks that have dependencies topologically, by Kahn's algorithm.
+     */
+    private void assignInitialOrder(List<Task> tasks) {
+        Map<Task, Integer> remaining = new HashMap<>();
+        Deque<Task> next = new ArrayDeque<>();
+        for (Task task : tasks) {
+            int count = task.getPrerequisites().size();
+            if (count > 0) {
+                remaining.put(task, count);
+            } else if (dependents.containsKey(task)) {
+                next.add(task);
+            }
+        }
+        while (!next.isEmpty()) {
+            Task task = next.poll();
+            order.put(task, nextOrder++);
+            for (Task dependent : dependents.getOrDefault(task, List.of())) {
+                if (remaining.merge(dependent, -1, Integer::sum) == 0) {
+                    next.add(dependent);
+                }
+            }
+        }
+        for (Task task : remaining.keySet()) {
+            orderOf(task); // Only left unordered if a saved file was edited into a cycle.
+        }
+    }
+
+    private boolean isReady(Task task) {
+        return !task.isDone() && !blockerCounts.containsKey(task);
+    }
+
+    private int orderOf(Task task) {
+        return order.computeIfAbsent(task, key -> nextOrder++);
+    }
+
+    /**
+     * Makes one task depend on another, so that it is not ready until the
+     * other is done.
+     *
+     * @param dependent    The task that has to wait.
+     * @param prerequisite The task that has to be done first.
+     * @throws DukeException If the dependency would make a task wait on itself,
+     *                       directly or through other tasks.
+     */
+    void addDependency(Task dependent, Task prerequisite) throws DukeException {
+        if (dependent == prerequisite) {
+            throw new DukeException("Sweetie, a task can't depend on itself!");
+        }
+        if (dependent.getPrerequisites().contains(prerequisite)) {
+            return;
+        }
+        reorder(dependent, prerequisite);
+        dependent.addPrerequisite(prerequisite);
+        dependents.computeIfAbsent(prerequisite, key -> new ArrayList<>()).add(dependent);
+        if (!prerequisite.isDone()) {
+            block(dependent);
+        }
+    }
+
+    /**
+     * Moves tasks in the topological order so that the prerequisite comes
+     * before the dependent, or throws if that is impossible.
+     */
+    private void reorder(Task dependent, Task prerequisite) throws DukeException {
+        int lower = orderOf(dependent);
+        int upper = orderOf(prerequisite);
+        if (upper < lower) {
+            return;
+        }
+
+        // Everything that waits on the dependent and is not yet after the prerequisite.
+        List<Task> forward = new ArrayList<>();
+        Set<Task> visited = new HashSet<>();
+        Deque<Task> stack = new ArrayDeque<>();
+        stack.push(dependent);
+        visited.add(dependent);
+        while (!stack.isEmpty()) {
+            Task task = stack.pop();
+            forward.add(task);
+            for (Task next : dependents.getOrDefault(task, List.of())) {
+                if (next == prerequisite) {
+                    throw new DukeException("Honey, that would make these tasks wait on each other forever!");
+                }
+                if (order.get(next) < upper && visited.add(next)) {
+                    stack.push(next);
+                }
+            }
+        }
+
+        // Everything the prerequisite waits on that is not yet before the dependent.
+        List<Task> backward = new ArrayList<>();
+        stack.push(prerequisite);
+        visited.add(prerequisite);
+        while (!stack.isEmpty()) {
+            Task task = stack.pop();
+            backward.add(task);
+            for (Task next : task.getPrerequisites()) {
+                if (order.get(next) > lower && visited.add(next)) {
+                    stack.push(next);
+                }
+            }
+        }
+
+        Comparator<Task> byOrder = Comparator.comparingInt(order::get);
+        forward.sort(byOrder);
+        backward.sort(byOrder);
+        List<Integer> slots = new ArrayList<>(forward.size() + backward.size());
+        for (Task task : backward) {
+            slots.add(order.get(task));
+        }
+        for (Task task : forward) {
+            slots.add(order.get(task));
+        }
+        slots.sort(null);
+        int slot = 0;
+        for (Task task : backward) {
+            order.put(task, slots.get(slot++));
+        }
+        for (Task task : forward) {
+            order.put(task, slots.get(slot++));
+        }
+    }
+
+    private void block(Task task) {
+        blockerCounts.merge(task, 1, Integer::sum);
+        ready.remove(task);
+    }
+
+    private void unblock(Task task) {
+        if (blockerCounts.merge(task, -1, Integer::sum) == 0) {
+            blockerCounts.remove(task);
+            if (!task.isDone()) {
+                ready.add(task);
+            }
+        }
+    }
+
+    /**
+     * Returns the tasks that are ready to be done, in list order.
+     */
+    public List<Task> getReady() {
+        return new ArrayList<>(ready);
+    }
+
+    /**
+     * Returns the number of unfinished prerequisites of a task.
+     *
+     * @param task The task to look up.
+     */
+    public int getBlockerCount(Task task) {
+        return blockerCounts.getOrDefault(task, 0);
+    }
+
+    @Override
+    public void taskAdded(Task task) {
+        if (isReady(task)) {
+            ready.add(task);
+        }
+    }
+
+    @Override
+    public void taskRemoved(Task task) {
+        ready.remove(task);
+        blockerCounts.remove(task);
+        order.remove(task);
+        for (Task prerequisite : task.getPrerequisites()) {
+            dependents.get(prerequisite).remove(task);
+        }
+        List<Task> waiting = dependents.remove(task);
+        if (waiting == null) {
+            return;
+        }
+        for (Task dependent : waiting) {
+            dependent.removePrerequisite(task);
+            if (!task.isDone()) {
+                unblock(dependent);
+            }
+        }
+    }
+
+    @Override
+    public void taskChanging(Task task) {
+        wasDone = task.isDone();
+    }
+
+    @Override
+    public void taskChanged(Task task) {
+        if (task.isDone() == wasDone) {
+            return;
+        }
+        List<Task> waiting = dependents.getOrDefault(task, List.of());
+        if (task.isDone()) {
+            ready.remove(task);
+            for (Task dependent : waiting) {
+                unblock(dependent);
+            }
+        } else {
+            if (isReady(task)) {
+                ready.add(task);
+            }
+            for (Task dependent : waiting) {
+                block(dependent);
+            }
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package duke.task;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+import duke.exception.DukeException;
+
+/**
+ * The versions of a `TaskList` over time, one for every command that changed
+ * it, so that the list can be shown as it was at an earlier time and two
+ * versions can be compared.
+ *
+ * Each version is a `PersistentArray` of the tasks by id, and shares every
+ * part that did not change with the version before it. A task's line is only
+ * copied out when the task is about to change or be removed; until then,
+ * every version that holds it reads the task itself. Keeping history thus
+ * costs memory in proportion to the changes made, not to the number of
+ * versions times the number of tasks. Versions are never changed once
+ * committed, so they can be read without locks.
+ */
+public class TaskHistory implements TaskListener {
+
+    /**
+     * The most versions that are kept. The oldest is dropped to make room.
+     */
+    public static final int MAX_VERSIONS = 5000;
+
+    /**
+     * A task as it was in some versions: the task itself while it is
+     * unchanged, then the line it was shown as just before it changed. The
+     * task is let go of once its line is frozen, so that history holds no
+     * removed or changed task, nor the tasks and tags it refers to.
+     */
+    private static final class Cell {
+        private volatile Task task; // Null once frozen.
+        private volatile String frozen;
+
+        private Cell(Task task) {
+            this.task = task;
+        }
+
+        private void freeze() {
+            if (frozen == null) {
+                frozen = task.toString();
+                task = null; // After `frozen` is set, so that a reader that finds no task finds the line.
+            }
+        }
+
+        private String render() {
+            String line = frozen;
+            if (line != null) {
+                return line;
+            }
+            Task unchanged = task;
+            if (unchanged == null) {
+                return frozen;
+            }
+            line = unchanged.toString();
+            String frozenSince = frozen; // The task may have begun to change while it was rendered.
+            return frozenSince != null ? frozenSince : line;
+        }
+    }
+
+    /**
+     * The list of tasks as it was after a command.
+     */
+    public static final class Version {
+        private final int number;
+        private final LocalDateTime time;
+        private final PersistentArray<Cell> cells;
+
+        private Version(int number, LocalDateTime time, PersistentArray<Cell> cells) {
+            this.number = number;
+            this.time = time;
+            this.cells = cells;
+        }
+
+        /**
+         * Returns the number of this version, counting from 0 for the list
+         * as it was when the history began.
+         */
+        public int getNumber() {
+            return number;
+        }
+
+        /**
+         * Returns the time at which this version was committed.
+         */
+        public LocalDateTime getTime() {
+            return time;
+        }
+
+        /**
+         * Returns the tasks of this version, as lines in list order.
+         */
+        public List<String> getTasks() {
+            List<String> lines = new ArrayList<>();
+            for (Cell cell : cells.values()) {
+                lines.add(cell.render());
+            }
+            return lines;
+        }
+
+        /**
+         * Returns the list of this version in the format of `TaskList.list()`.
+         */
+        public String list() {
+            StringBuilder output = new StringBuilder();
+            List<String> lines = getTasks();
+            for (int i = 0; i < lines.size(); i++) {
+                output.append(i + 1).append(". ").append(lines.get(i)).append('\n');
+            }
+            return output.toString();
+        }
+
+        /**
+         * Returns the changes from this version to a later one: a line
+         * starting with "+" for each task added, "-" for each task removed,
+         * and "~" followed by "->" for each task changed, in list order.
+         *
+         * @param later The later version.
+         */
+        public List<String> diff(Version later) {
+            List<String> changes = new ArrayList<>();
+            PersistentArray.diff(cells, later.cells, (id, before, after) -> {
+                String beforeLine = before == null ? null : before.render();
+                String afterLine = after == null ? null : after.render();
+                if (before == null) {
+                    changes.add("+ " + afterLine);
+                } else if (after == null) {
+                    changes.add("- " + beforeLine);
+                } else if (!beforeLine.equals(afterLine)) {
+                    changes.add("~ " + beforeLine + "\n  -> " + afterLine);
+                }
+            });
+            return changes;
+        }
+    }
+
+    private final ArrayList<Version> versions = new ArrayList<>();
+    private PersistentArray<Cell> working; // The tasks as they are now, committed or not.
+    private boolean isDirty = false;
+
+    /**
+     * Initialises a TaskHistory whose first version holds the given tasks.
+     *
+     * @param tasks The tasks, in list order, which is also the order of their ids.
+     * @param time  The time of the first version.
+     */
+    public TaskHistory(List<Task> tasks, LocalDateTime time) {
+        PersistentArray<Cell> cells = PersistentArray.empty();
+        if (!tasks.isEmpty() && tasks.get(tasks.size() - 1).getId() == tasks.size() - 1) {
+            List<Cell> dense = new ArrayList<>(tasks.size());
+            for (Task task : tasks) {
+                dense.add(new Cell(task));
+            }
+            cells = PersistentArray.of(dense); // No task was ever removed, so ids are positions.
+        } else {
+            for (Task task : tasks) {
+                cells = cells.set(task.getId(), new Cell(task));
+            }
+        }
+        working = cells;
+        versions.add(new Version(0, time, working));
+    }
+
+    /**
+     * Commits the changes made since the last commit as a new version, if
+     * there are any.
+     *
+     * @param time The time of the new version.
+     * @return True if a version was committed.
+     */
+    public boolean commit(LocalDateTime time) {
+        if (!isDirty) {
+            return false;
+        }
+        if (versions.size() == MAX_VERSIONS) {
+            versions.remove(0);
+        }
+        versions.add(new Version(getLatest().number + 1, time, working));
+        isDirty = false;
+        return true;
+    }
+
+    /**
+     * Returns the most recently committed version.
+     */
+    public Version getLatest() {
+        return versions.get(versions.size() - 1);
+    }
+
+    /**
+     * Returns the version that was current at a time: the last one committed
+     * at or before it.
+     *
+     * @param time The time.
+     * @return The version, or null if the time is before the oldest version kept.
+     */
+    public Version at(LocalDateTime time) {
+        int low = 0;
+        int high = versions.size() - 1;
+        Version found = null;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (versions.get(mid).time.isAfter(time)) {
+                high = mid - 1;
+            } else {
+                found = versions.get(mid);
+                low = mid + 1;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Returns the version named by the user, which is one of:
+     * "now", the latest version; "yesterday", the version at the end of
+     * yesterday; a date such as "2026-10-19", the version at the end of that
+     * day; a date and time such as "2026-10-19T18:30"; or "-N", the version
+     * N commands before the latest.
+     *
+     * @param when The name of the version.
+     * @param now  The current time.
+     * @throws DukeException If the name is not understood, or the version is no longer kept.
+     */
+    public Version find(String when, LocalDateTime now) throws DukeException {
+        Version version;
+        if (when.equals("now")) {
+            version = getLatest();
+        } else if (when.equals("yesterday")) {
+            version = at(now.toLocalDate().atStartOfDay().minusNanos(1));
+        } else if (when.matches("-\\d{1,9}")) {
+            int index = versions.size() - 1 - Integer.parseInt(when.substring(1));
+            version = index >= 0 ? versions.get(index) : null;
+        } else {
+            try {
+                version = at(when.contains("T")
+                        ? LocalDateTime.parse(when)
+                        : LocalDate.parse(when).plusDays(1).atStartOfDay().minusNanos(1));
+            } catch (DateTimeParseException e) {
+                throw new DukeException("Sweetie, I don't know when '" + when + "' is! Please use now, "
+                        + "yesterday, a date like 2026-10-19, a time like 2026-10-19T18:30, or -3 for "
+                        + "three changes ago.");
+            }
+        }
+        if (version == null) {
+            throw new DukeException("Honey, I only remember your tasks from " + versions.get(0).time
+                    .withNano(0) + " on!");
+        }
+        return version;
+    }
+
+    /**
+     * Describes a version named as in `find`, such as "yesterday" or
+     * "3 changes ago", for use in a sentence.
+     *
+     * @param when The name of the version.
+     */
+    public static String describe(String when) {
+        if (when.equals("now") || when.equals("yesterday")) {
+            return when;
+        } else if (when.matches("-\\d{1,9}")) {
+            return when.substring(1) + " changes ago";
+        }
+        return (when.contains("T") ? "at " : "on ") + when;
+    }
+
+    @Override
+    public void taskAdded(Task task) {
+        working = working.set(task.getId(), new Cell(task));
+        isDirty = true;
+    }
+
+    @Override
+    public void taskRemoved(Task task) {
+        Cell cell = working.get(task.getId());
+        if (cell != null) {
+            cell.freeze();
+        }
+        working = working.set(task.getId(), null);
+        isDirty = true;
+    }
+
+    @Override
+    public void taskChanging(Task task) {
+        // Earlier versions keep the line that the task had until now.
+        Cell cell = working.get(task.getId());
+        if (cell != null) {
+            cell.freeze();
+        }
+        working = working.set(task.getId(), new Cell(task));
+        isDirty = true;
+    }
+}
@@ -1,7 +1,17 @@
 package duke.task;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
 
+import duke.exception.DukeException;
+import duke.query.TaskIndexes;
+import duke.search.PackedText;
+import duke.search.SearchIndex;
 import duke.task.Task.Priority;
 import duke.ui.Ui;
 
@@ -14,6 +24,18 @@ import duke.ui.Ui;
 public class TaskList {
 
     private ArrayList<Task> tasks; // The list of all tasks of a user.
+    private int nextId = 0; // The id to give the next task that is added.
+    private SearchIndex searchIndex; // Built on the first search, then kept up to date.
+    private PackedText packedText; // Built on the first exact search, then kept up to date.
+    private TaskIndexes indexes; // Built on the first query, then kept up to date.
+    private TaskGraph graph; // Built when the first dependency is added or asked about, then kept up to date.
+    private EnumMap<SortedView.Key, SortedView> sortedViews = new EnumMap<>(SortedView.Key.class); // Built lazily.
+    private TaskStats stats; // Kept up to date from the start, so that reading it is always cheap.
+    private StringDictionary strings = new StringDictionary(); // Shares the strings repeated across tasks.
+    private TaskHistory history; // Started when first asked for, then records every change.
+    private TaskChangeStream changes; // Started when first asked for, then publishes every change.
+    private ArrayList<TaskListener> listeners = new ArrayList<>();
+    private long modCount = 0; // Increased on every change to the tasks.
 
     /**
      * Initialises a TaskList object with an
@@ -23,6 +45,72 @@ public class TaskList {
      */
     public TaskList(ArrayList<Task> tasks) {
         this.tasks = tasks;
+        for (Task task : tasks) {
+            assignId(task);
+        }
+        stats = new TaskStats(tasks);
+        addListener(stats);
+    }
+
+    /**
+     * Gives a task the next id and stores its strings in this TaskList's
+     * dictionary, unless it already belongs to another TaskList (such as
+     * when this TaskList holds search results).
+     */
+    private void assignId(Task task) {
+        if (task.getId() == -1) {
+            task.setId(nextId);
+            task.internStrings(strings);
+        }
+        nextId = Math.max(nextId, task.getId() + 1);
+    }
+
+    /**
+     * Registers a listener to be notified of every later change to the tasks.
+     *
+     * @param listener The listener to register.
+     */
+    public void addListener(TaskListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Unregisters a listener, so that it is no longer notified of changes.
+     *
+     * @param listener The listener to unregister.
+     */
+    public void removeListener(TaskListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Returns a counter that increases whenever a task is added, removed or
+     * changed, so that callers can tell if the tasks changed since they last
+     * looked.
+     */
+    public long getModCount() {
+        return modCount;
+    }
+
+    /**
+     * Notifies listeners that a task is about to change. Changes are made
+     * between this and `changed`, without a lambda, so that frequent changes
+     * such as marking a task create no garbage.
+     */
+    private void changing(Task task) {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).taskChanging(task);
+        }
+    }
+
+    /**
+     * Notifies listeners that a task has changed.
+     */
+    private void changed(Task task) {
+        modCount++;
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).taskChanged(task);
+        }
     }
 
     /**
@@ -33,12 +121,30 @@ public class TaskList {
      * @param isVerbose If true, then outputs a message to the ui. False if otherwise.
      */
     public void addTask(Task task, boolean isVerbose) {
+        assignId(task);
         tasks.add(task);
+        modCount++;
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).taskAdded(task);
+        }
         if (isVerbose) {
             Ui.print("Hey sweetie, I've added: '" + task + "' to your lists of tasks~");
         }
     }
 
+    /**
+     * Adds a batch of tasks to the currently stored
+     * `ArrayList&lt;Task&gt;` of tasks, without any output to the ui.
+     *
+     * @param newTasks The tasks to store, in order.
+     */
+    public void addTasks(List<Task> newTasks) {
+        tasks.ensureCapacity(tasks.size() + newTasks.size());
+        for (Task task : newTasks) {
+            addTask(task, false);
+        }
+    }
+
     /**
      * Deletes a task from the currently stored
      * `ArrayList&lt;Task&rt;` of tasks, by its index.
@@ -49,6 +155,11 @@ public class TaskList {
         int taskSizeBeforeDeletion = tasks.size();
         Task taskToRemove = tasks.get(index);
         tasks.remove(index);
+        taskToRemove.releaseStrings(strings);
+        modCount++;
+        for (TaskListener listener : listeners) {
+            listener.taskRemoved(taskToRemove);
+        }
         assert tasks.size() == taskSizeBeforeDeletion - 1: "Length of tasks should have dropped by 1";
         Ui.print(
                 "I've successfully removed this task:\n"
@@ -59,20 +170,51 @@ public class TaskList {
     }
 
     /**
-     * Returns a list of all the user's tasks.
+     * Returns a list of all the user's tasks. Large lists are rendered
+     * in parallel.
      *
      * @return The list of all tasks.
      */
     public String list() {
-        String output = "";
+        return ParallelScan.render(tasks, ParallelScan.DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Appends the same list as `list()` to a buffer. Lists too small to be
+     * rendered in parallel are appended directly, without creating garbage.
+     *
+     * @param buffer The buffer to append to.
+     */
+    public void appendList(StringBuilder buffer) {
+        if (tasks.size() >= ParallelScan.DEFAULT_THRESHOLD) {
+            buffer.append(list());
+            return;
+        }
         for (int i = 0; i < tasks.size(); i++) {
-            output += ((
-                        i + 1)
-                    + ". "
-                    + tasks.get(i)
-                    + "\n");
+            buffer.append(i + 1).append(". ");
+            tasks.get(i).appendTo(buffer);
+            buffer.append('\n');
         }
-        return output;
+    }
+
+    /**
+     * Returns the tasks that satisfy a predicate, in list order. Large
+     * lists are scanned in parallel.
+     *
+     * @param predicate The condition to test each task against.
+     */
+    public ArrayList<Task> filter(Predicate<Task> predicate) {
+        return ParallelScan.filter(tasks, ParallelScan.DEFAULT_THRESHOLD, predicate);
+    }
+
+    /**
+     * Returns the number of tasks that satisfy a predicate. Large lists are
+     * scanned in parallel.
+     *
+     * @param predicate The condition to test each task against.
+     */
+    public long count(Predicate<Task> predicate) {
+        return ParallelScan.count(tasks, ParallelScan.DEFAULT_THRESHOLD, predicate);
     }
 
     /**
@@ -82,7 +224,9 @@ public class TaskList {
      */
     public void mark(int index) {
         Task task = tasks.get(index);
+        changing(task);
         task.updateStatus(true);
+        changed(task);
     }
 
     /**
@@ -92,7 +236,67 @@ public class TaskList {
      */
     public void unmark(int index) {
         Task task = tasks.get(index);
+        changing(task);
         task.updateStatus(false);
+        changed(task);
+    }
+
+    /**
+     * Marks or unmarks one occurrence of a RECURRING task.
+     *
+     * @param index    The index of the task.
+     * @param date     The date of the occurrence.
+     * @param changeTo True to mark the occurrence as done, false to unmark it.
+     * @return A message describing the change made/not made.
+     */
+    public String updateOccurrence(int index, LocalDate date, boolean changeTo) {
+        Task task = tasks.get(index);
+        changing(task);
+        String message = task.updateOccurrenceStatus(date, changeTo);
+        changed(task);
+        return message;
+    }
+
+    /**
+     * Adds tags to a task.
+     *
+     * @param index The index of the task.
+     * @param tags  The tags to add, which must be valid.
+     * @return The number of tags that the task did not already have.
+     */
+    public int tag(int index, List<String> tags) {
+        Task task = this.tasks.get(index);
+        changing(task);
+        int added = 0;
+        for (String tag : tags) {
+            if (task.addTag(tag)) {
+                added++;
+            }
+        }
+        changed(task);
+        return added;
+    }
+
+    /**
+     * Returns the task with the given id, or null if it is not in this TaskList.
+     *
+     * @param id The id of the task.
+     */
+    public Task getById(int id) {
+        int low = 0;
+        int high = tasks.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midId = tasks.get(mid).getId();
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return tasks.get(mid);
+            }
+        }
+        return null;
     }
 
     /**
@@ -118,20 +322,195 @@ public class TaskList {
      * @return A `TaskList&lt;Task&rt;` containing the tasks,
      */
     public TaskList searchUsingString(String searchString) {
-        ArrayList<Task> foundTasks = new ArrayList<Task>();
-        for (Task task : tasks) {
+        return new TaskList(filter(task -> {
             if (task.taskDescription != null) {
-                if (task.taskDescription.contains(searchString)) {
-                    foundTasks.add(task);
-                }
+                return task.taskDescription.contains(searchString);
             } else if (task.miscDescription != null) {
-                if (task.miscDescription.contains(searchString)) {
-                    foundTasks.add(task);
-                }
+                return task.miscDescription.contains(searchString);
+            }
+            return false;
+        }));
+    }
+
+    /**
+     * Searches through its tasks for the best matches to a query, allowing
+     * for differences in case and small typos in the query.
+     *
+     * @param query The words to search for.
+     * @param limit The maximum number of tasks to return.
+     * @return A `TaskList` containing the matching tasks, best match first.
+     */
+    public TaskList search(String query, int limit) {
+        List<Task> found = getSearchIndex().search(query, limit);
+        return new TaskList(new ArrayList<Task>(found));
+    }
+
+    /**
+     * Searches through its tasks for those whose descriptions contain every
+     * search word, ignoring case. Unlike `search`, the words may match part
+     * of a word, such as "repo" in "report", but must be spelt exactly.
+     *
+     * @param query The words to search for.
+     * @param limit The maximum number of tasks to return.
+     * @return A `TaskList` containing the matching tasks, in list order.
+     */
+    public TaskList searchExact(String query, int limit) {
+        return new TaskList(new ArrayList<Task>(getPackedText().find(query, limit)));
+    }
+
+    /**
+     * Returns the descriptions of this TaskList's tasks packed into one
+     * buffer, building it on first use.
+     */
+    public PackedText getPackedText() {
+        if (packedText == null) {
+            packedText = new PackedText();
+            for (Task task : tasks) {
+                packedText.taskAdded(task);
+            }
+            addListener(packedText);
+        }
+        return packedText;
+    }
+
+    /**
+     * Returns the search index over this TaskList's tasks, building it on
+     * first use.
+     */
+    public SearchIndex getSearchIndex() {
+        if (searchIndex == null) {
+            searchIndex = new SearchIndex();
+            for (Task task : tasks) {
+                searchIndex.taskAdded(task);
+            }
+            addListener(searchIndex);
+        }
+        return searchIndex;
+    }
+
+    /**
+     * Returns the type, status, priority and date indexes over this
+     * TaskList's tasks, building them on first use.
+     */
+    public TaskIndexes getIndexes() {
+        if (indexes == null) {
+            indexes = new TaskIndexes();
+            for (Task task : tasks) {
+                indexes.taskAdded(task);
             }
+            addListener(indexes);
+        }
+        return indexes;
+    }
+
+    /**
+     * Returns the dictionary that holds the strings of this TaskList's tasks.
+     */
+    public StringDictionary getStrings() {
+        return strings;
+    }
+
+    /**
+     * Returns the counts of this TaskList's tasks by type, priority and
+     * status, and of its deadlines by week.
+     */
+    public TaskStats getStats() {
+        return stats;
+    }
+
+    /**
+     * Returns this TaskList's tasks sorted in the given order, building the
+     * sorted view on first use.
+     *
+     * @param key The order to sort the tasks in.
+     */
+    public SortedView getSortedView(SortedView.Key key) {
+        SortedView view = sortedViews.get(key);
+        if (view == null) {
+            view = new SortedView(key, tasks);
+            sortedViews.put(key, view);
+            addListener(view);
+        }
+        return view;
+    }
+
+    /**
+     * Returns the versions of this TaskList over time, starting the history
+     * on first use with the tasks as they are now.
+     */
+    public TaskHistory getHistory() {
+        if (history == null) {
+            history = new TaskHistory(tasks, LocalDateTime.now());
+            addListener(history);
+        }
+        return history;
+    }
+
+    /**
+     * Returns a stream of the changes to this TaskList's tasks, which are
+     * delivered to subscribers on the common fork-join pool, starting it on
+     * first use.
+     */
+    public TaskChangeStream getChanges() {
+        if (changes == null) {
+            changes = new TaskChangeStream(tasks, ForkJoinPool.commonPool(), TaskChangeStream.DEFAULT_BUFFER_SIZE);
+            addListener(changes);
+        }
+        return changes;
+    }
+
+    /**
+     * Returns the dependency graph of this TaskList's tasks, building it on
+     * first use.
+     */
+    public TaskGraph getGraph() {
+        if (graph == null) {
+            graph = new TaskGraph(tasks);
+            addListener(graph);
+        }
+        return graph;
+    }
+
+    /**
+     * Makes one task depend on another, so that it is not ready to be done
+     * until the other is done.
+     *
+     * @param dependentIndex    The index of the task that has to wait.
+     * @param prerequisiteIndex The index of the task that has to be done first.
+     * @throws DukeException If the dependency would make tasks wait on each other.
+     */
+    public void addDependency(int dependentIndex, int prerequisiteIndex) throws DukeException {
+        Task dependent = tasks.get(dependentIndex);
+        changing(dependent);
+        try {
+            getGraph().addDependency(dependent, tasks.get(prerequisiteIndex));
+        } finally {
+            changed(dependent);
         }
+    }
 
-        return new TaskList(foundTasks);
+    /**
+     * Returns the index of a task in this TaskList, or -1 if it is not in it.
+     * Tasks are kept in the order they were added, which is also the order
+     * of their ids, so the task is found by binary search.
+     *
+     * @param task The task to look for.
+     */
+    public int indexOf(Task task) {
+        int low = 0;
+        int high = tasks.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midId = tasks.get(mid).getId();
+            if (midId < task.getId()) {
+                low = mid + 1;
+            } else if (midId > task.getId()) {
+                high = mid - 1;
+            } else {
+                return tasks.get(mid) == task ? mid : -1;
+            }
+        }
+        return -1;
     }
 
     /**
@@ -142,6 +521,8 @@ public class TaskList {
      */
     public void setPriority(int index, Priority priority) {
         Task task = tasks.get(index);
+        changing(task);
         task.setPriority(priority);
+        changed(task);
     }
 }
@@ -0,0 +1,38 @@
+package duke.task;
+
+/**
+ * Receives notifications when the tasks in a `TaskList` change, so that
+ * indexes and other derived data can be kept up to date incrementally.
+ */
+public interface TaskListener {
+
+    /**
+     * Called after a task is added to the TaskList.
+     *
+     * @param task The task that was added.
+     */
+    void taskAdded(Task task);
+
+    /**
+     * Called after a task is removed from the TaskList.
+     *
+     * @param task The task that was removed.
+     */
+    void taskRemoved(Task task);
+
+    /**
+     * Called just before a task's status, priority or date is changed.
+     *
+     * @param task The task that is about to change.
+     */
+    default void taskChanging(Task task) {
+    }
+
+    /**
+     * Called just after a task's status, priority or date has changed.
+     *
+     * @param task The task that changed.
+     */
+    default void taskChanged(Task task) {
+    }
+}
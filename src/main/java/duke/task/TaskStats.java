@@ -0,0 +1,125 @@
+package duke.task;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Collections;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import duke.task.Task.Priority;
+import duke.task.Task.Type;
+
+/**
+ * Counts the tasks of a `TaskList` by type, priority and status, and its
+ * deadlines by week. The counts are updated as tasks are added, removed and
+ * changed, so reading them never depends on the number of tasks.
+ *
+ * A RECURRING task is never done as a whole, so it is always counted as not done.
+ */
+public class TaskStats implements TaskListener {
+
+    private static final Type[] TYPES = Type.values();
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private final int[][][] counts = new int[TYPES.length][PRIORITIES.length][2]; // Not done, then done.
+    private final TreeMap<LocalDate, Integer> deadlinesPerWeek = new TreeMap<>(); // By the Monday of the week.
+    private final TreeMap<LocalDate, Integer> pendingDeadlines = new TreeMap<>(); // By due date.
+
+    TaskStats(Iterable<Task> tasks) {
+        for (Task task : tasks) {
+            taskAdded(task);
+        }
+    }
+
+    /**
+     * Returns the Monday of the week that a date falls in.
+     *
+     * @param date The date.
+     */
+    public static LocalDate weekOf(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    private void update(Task task, int delta) {
+        counts[task.getType().ordinal()][task.getPriority().ordinal()][task.isDone() ? 1 : 0] += delta;
+        LocalDate date = task.getDate();
+        if (task.getType() != Type.DEADLINE || date == null) {
+            return;
+        }
+        deadlinesPerWeek.merge(weekOf(date), delta, Integer::sum);
+        deadlinesPerWeek.remove(weekOf(date), 0);
+        if (!task.isDone()) {
+            pendingDeadlines.merge(date, delta, Integer::sum);
+            pendingDeadlines.remove(date, 0);
+        }
+    }
+
+    /**
+     * Returns the number of tasks with the given type, priority and status.
+     * A null argument matches any value.
+     *
+     * @param type     The type to count, or null for any.
+     * @param priority The priority to count, or null for any.
+     * @param isDone   The status to count, or null for any.
+     */
+    public int count(Type type, Priority priority, Boolean isDone) {
+        int total = 0;
+        for (Type t : TYPES) {
+            if (type != null && t != type) {
+                continue;
+            }
+            for (Priority p : PRIORITIES) {
+                if (priority != null && p != priority) {
+                    continue;
+                }
+                int[] byStatus = counts[t.ordinal()][p.ordinal()];
+                total += isDone == null ? byStatus[0] + byStatus[1] : byStatus[isDone ? 1 : 0];
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Returns the number of deadlines due in each week, keyed by the Monday
+     * of the week. Weeks without deadlines are left out.
+     */
+    public SortedMap<LocalDate, Integer> getDeadlinesPerWeek() {
+        return Collections.unmodifiableSortedMap(deadlinesPerWeek);
+    }
+
+    /**
+     * Returns the number of deadlines that are not done and were due before
+     * a date. This takes time in the number of distinct overdue dates, not
+     * the number of tasks.
+     *
+     * @param today The date to compare against.
+     */
+    public int countOverdue(LocalDate today) {
+        int total = 0;
+        for (int count : pendingDeadlines.headMap(today).values()) {
+            total += count;
+        }
+        return total;
+    }
+
+    @Override
+    public void taskAdded(Task task) {
+        update(task, 1);
+    }
+
+    @Override
+    public void taskRemoved(Task task) {
+        update(task, -1);
+    }
+
+    @Override
+    public void taskChanging(Task task) {
+        update(task, -1);
+    }
+
+    @Override
+    public void taskChanged(Task task) {
+        update(task, 1);
+    }
+}
@@ -1,5 +1,10 @@
 package duke.ui;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
 import javafx.scene.control.ScrollPane;
@@ -15,6 +20,11 @@ import duke.exception.DukeException;
  * Controller for MainWindow. Provides the layout for the other controls.
  */
 public class MainWindow extends AnchorPane {
+    /**
+     * Runs a task on the JavaFX thread.
+     */
+    private static final Executor FX_THREAD = Platform::runLater;
+
     @FXML
     private ScrollPane scrollPane;
     @FXML
@@ -23,21 +33,55 @@ public class MainWindow extends AnchorPane {
     private TextField userInput;
     @FXML
     private Button sendButton;
+    @FXML
+    private TaskPanel taskPanel;
 
     private Duke duke;
 
-    private Image userImage = new Image(this.getClass().getResourceAsStream("/images/user.png"));
-    private Image dukeImage = new Image(this.getClass().getResourceAsStream("/images/mum.png"));
+    /**
+     * Completes on the JavaFX thread once the tasks are loaded and every input
+     * so far has been answered. Each input is chained onto it, so that inputs
+     * sent while the tasks are still loading are answered in order afterwards.
+     */
+    private CompletableFuture<Void> pending;
+
+    // Decoded in the background, so that the window does not wait for them.
+    private Image userImage = new Image(MainWindow.class.getResource("/images/user.png").toExternalForm(), true);
+    private Image dukeImage = new Image(MainWindow.class.getResource("/images/mum.png").toExternalForm(), true);
 
     @FXML
     public void initialize() throws DukeException {
         scrollPane.vvalueProperty().bind(dialogContainer.heightProperty());
     }
 
-    public void setDuke(Duke d) throws DukeException {
+    /**
+     * Greets the user and starts loading their tasks in the background. The
+     * user can type straight away; anything sent before the tasks are loaded
+     * is answered once they are.
+     *
+     * @param d The MumBot to answer the user.
+     * @return A future that completes on the JavaFX thread once the tasks are loaded.
+     */
+    public CompletableFuture<Void> setDuke(Duke d) {
         duke = d;
         sendSystemMsg(Duke.getWelcomeMsg());
-        d.loadFile();
+        pending = CompletableFuture.runAsync(() -> {
+            try {
+                // Reminders arrive on a background thread, so hand them over to the JavaFX thread.
+                d.loadFile(message -> Platform.runLater(() -> sendSystemMsg(message)));
+            } catch (DukeException e) {
+                throw new CompletionException(e);
+            }
+        }).whenCompleteAsync((ignored, error) -> {
+            if (error != null) {
+                sendSystemMsg(error.getCause().toString());
+                userInput.setDisable(true);
+                sendButton.setDisable(true);
+            } else {
+                taskPanel.show(d.getCurrentTasks());
+            }
+        }, FX_THREAD);
+        return pending.exceptionally(error -> null);
     }
 
     /**
@@ -45,14 +89,27 @@ public class MainWindow extends AnchorPane {
      * the dialog container. Clears the user input after processing.
      */
     @FXML
-    private void handleUserInput() throws DukeException, InterruptedException {
+    private void handleUserInput() {
         String input = userInput.getText();
-        String response = duke.getResponse(input);
-        dialogContainer.getChildren().addAll(
-                DialogBox.getUserDialog(input, userImage),
-                DialogBox.getDukeDialog(response, dukeImage)
-        );
+        dialogContainer.getChildren().add(DialogBox.getUserDialog(input, userImage));
         userInput.clear();
+        pending = pending.thenRunAsync(() -> respond(input), FX_THREAD);
+    }
+
+    /**
+     * Shows Duke's reply to an input. Changes that it made to the tasks
+     * reach the task panel on their own.
+     */
+    private void respond(String input) {
+        String response;
+        try {
+            response = duke.getResponse(input);
+        } catch (DukeException e) {
+            response = e.toString();
+        }
+        dialogContainer.getChildren().add(DialogBox.getDukeDialog(response, dukeImage));
+        // The panel follows the tasks through their changes, but has to be told when the workspace is switched.
+        taskPanel.show(duke.getCurrentTasks());
         if (input.equals("Bye")) {
             System.exit(0);
         }
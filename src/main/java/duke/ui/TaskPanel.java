@@ -0,0 +1,162 @@
+package duke.ui;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javafx.application.Platform;
+import javafx.collections.ObservableList;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListView;
+
+import duke.task.TaskChange;
+import duke.task.TaskList;
+
+/**
+ * Shows the tasks of a `TaskList` and keeps them up to date as they change.
+ * Each change is applied to the one row it affects, so a change to a long
+ * list costs the same as one to a short list, and only the rows on screen
+ * are ever drawn.
+ */
+public class TaskPanel extends ListView<String> {
+    /**
+     * How many changes are asked for at a time. Changes are applied on the
+     * JavaFX thread in batches, and more are only asked for once a batch
+     * has been applied, so a burst of changes cannot flood that thread.
+     */
+    private static final int BATCH_SIZE = 256;
+
+    private final ArrayList<Integer> ids = new ArrayList<>(); // The ids of the rows, which are in increasing order.
+    private TaskList shown;
+    private Feed feed;
+
+    public TaskPanel() {
+        setPlaceholder(new Label("No tasks yet, sweetie!"));
+    }
+
+    /**
+     * Shows the given tasks instead of those shown before, unless they are
+     * already shown. Must be called on the JavaFX thread.
+     *
+     * @param tasks The tasks to show.
+     */
+    public void show(TaskList tasks) {
+        if (tasks == shown) {
+            return;
+        }
+        if (feed != null) {
+            feed.cancel();
+        }
+        shown = tasks;
+        feed = new Feed();
+        tasks.getChanges().subscribe(feed);
+    }
+
+    /**
+     * Applies a change to the rows.
+     */
+    private void apply(TaskChange change) {
+        ObservableList<String> rows = getItems();
+        if (change.getKind() == TaskChange.Kind.RESET) {
+            ArrayList<String> texts = new ArrayList<>(change.getSnapshot().size());
+            ids.clear();
+            for (TaskChange added : change.getSnapshot()) {
+                ids.add(added.getTaskId());
+                texts.add(added.getText());
+            }
+            rows.setAll(texts);
+            return;
+        }
+        int row = Collections.binarySearch(ids, change.getTaskId());
+        switch (change.getKind()) {
+        case ADDED:
+            if (row < 0) {
+                row = -row - 1; // Almost always the end, as tasks are appended.
+                ids.add(row, change.getTaskId());
+                rows.add(row, change.getText());
+            }
+            break;
+        case REMOVED:
+            if (row >= 0) {
+                ids.remove(row);
+                rows.remove(row);
+            }
+            break;
+        case UPDATED:
+            if (row >= 0) {
+                rows.set(row, change.getText());
+            }
+            break;
+        default:
+            assert false : "unknown kind of change: " + change.getKind();
+        }
+    }
+
+    /**
+     * Receives the changes to the shown tasks on a background thread and
+     * hands them over to the JavaFX thread. A new Feed is subscribed for
+     * each TaskList shown, so that changes to one that is no longer shown
+     * are dropped.
+     */
+    private class Feed implements Flow.Subscriber<TaskChange> {
+        private final ConcurrentLinkedQueue<TaskChange> received = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean isApplyScheduled = new AtomicBoolean();
+        private volatile Flow.Subscription subscription;
+        private volatile boolean isCancelled = false;
+
+        private void cancel() {
+            isCancelled = true;
+            if (subscription != null) {
+                subscription.cancel();
+            }
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (isCancelled) {
+                subscription.cancel();
+                return;
+            }
+            subscription.request(BATCH_SIZE);
+        }
+
+        @Override
+        public void onNext(TaskChange change) {
+            received.add(change);
+            if (isApplyScheduled.compareAndSet(false, true)) {
+                Platform.runLater(this::applyReceived);
+            }
+        }
+
+        /**
+         * Applies every change received so far, then asks for as many more.
+         */
+        private void applyReceived() {
+            isApplyScheduled.set(false);
+            int applied = 0;
+            TaskChange change;
+            while ((change = received.poll()) != null) {
+                if (!isCancelled) {
+                    apply(change);
+                }
+                applied++;
+            }
+            if (applied > 0 && !isCancelled) {
+                subscription.request(applied);
+            }
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            // The stream only fails if it is misused, which leaves the rows as they were last updated.
+        }
+
+        @Override
+        public void onComplete() {
+            // The stream never completes, as tasks can always be changed.
+        }
+    }
+}
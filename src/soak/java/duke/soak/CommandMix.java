@@ -0,0 +1,140 @@
+package duke.soak;
+
+import java.time.LocalDate;
+import java.util.Random;
+
+/**
+ * Generates a stream of valid MumBot commands, mixed roughly the way a
+ * user would type them. The generator tracks how many tasks there should
+ * be, so that every index it produces exists, and keeps the list hovering
+ * around a target size so that a long run reaches a steady state in which
+ * memory should stop growing.
+ */
+final class CommandMix {
+
+    /**
+     * The kinds of command in the mix, reported separately.
+     */
+    enum Kind {
+        ADD, MARK, UNMARK, PRIORITY, FIND, LIST, QUERY, DELETE, SAVE
+    }
+
+    private static final String[] WORDS = {
+        "sweep", "room", "buy", "milk", "call", "grandma", "pay", "rent", "water", "plants",
+        "walk", "dog", "fold", "laundry", "book", "dentist", "return", "library", "cook", "dinner",
+        "wash", "car", "study", "maths", "clean", "fridge", "iron", "shirts", "write", "letter"
+    };
+    private static final String[] PRIORITIES = {"high", "med", "low", "none"};
+    private static final String[] QUERIES = {
+        "query done:false", "query type:deadline done:false", "query priority:high", "query type:todo or done",
+        "query text:milk", "query due<2027-01-01"
+    };
+
+    private final Random random;
+    private final int targetSize;
+    private final int saveEvery;
+    private final LocalDate today;
+    private int size = 0;
+    private long generated = 0;
+    private Kind lastKind;
+
+    /**
+     * Initialises a CommandMix.
+     *
+     * @param seed       The seed, so that a run can be repeated exactly.
+     * @param targetSize The number of tasks to keep the list around.
+     * @param saveEvery  The number of commands between saves.
+     * @param today      The date that deadlines are spread around.
+     */
+    CommandMix(long seed, int targetSize, int saveEvery, LocalDate today) {
+        this.random = new Random(seed);
+        this.targetSize = targetSize;
+        this.saveEvery = saveEvery;
+        this.today = today;
+    }
+
+    /**
+     * Returns the number of tasks the list should hold after every command
+     * generated so far.
+     */
+    int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the kind of the command last returned by `next` or `nextAdd`.
+     */
+    Kind getLastKind() {
+        return lastKind;
+    }
+
+    /**
+     * Returns the next command in the mix.
+     */
+    String next() {
+        generated++;
+        if (generated % saveEvery == 0) {
+            lastKind = Kind.SAVE;
+            return "Bye";
+        }
+        if (size == 0) {
+            return nextAdd();
+        }
+        boolean isGrowing = size < targetSize;
+        int roll = random.nextInt(100);
+        if (roll < (isGrowing ? 25 : 10)) {
+            return nextAdd();
+        }
+        roll -= isGrowing ? 25 : 10;
+        if (roll < (isGrowing ? 5 : 20)) {
+            lastKind = Kind.DELETE;
+            size--;
+            return "delete " + (random.nextInt(size + 1) + 1);
+        }
+        roll = random.nextInt(70);
+        if (roll < 20) {
+            lastKind = Kind.MARK;
+            return "mark " + randomIndex();
+        } else if (roll < 30) {
+            lastKind = Kind.UNMARK;
+            return "unmark " + randomIndex();
+        } else if (roll < 40) {
+            lastKind = Kind.PRIORITY;
+            return "priority " + randomIndex() + " " + PRIORITIES[random.nextInt(PRIORITIES.length)];
+        } else if (roll < 58) {
+            lastKind = Kind.FIND;
+            return "find " + randomWord();
+        } else if (roll < 64) {
+            lastKind = Kind.LIST;
+            return "list";
+        } else {
+            lastKind = Kind.QUERY;
+            return QUERIES[random.nextInt(QUERIES.length)];
+        }
+    }
+
+    /**
+     * Returns a command that adds a todo, deadline or event.
+     */
+    String nextAdd() {
+        lastKind = Kind.ADD;
+        size++;
+        String description = randomWord() + " " + randomWord();
+        int roll = random.nextInt(10);
+        if (roll < 5) {
+            return "todo " + description;
+        } else if (roll < 8) {
+            return "deadline " + description + " /by " + today.plusDays(random.nextInt(120) - 30);
+        } else {
+            return "event " + description + " /at " + randomWord() + " hall";
+        }
+    }
+
+    private int randomIndex() {
+        return random.nextInt(size) + 1;
+    }
+
+    private String randomWord() {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+}
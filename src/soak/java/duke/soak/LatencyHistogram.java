@@ -0,0 +1,107 @@
+package duke.soak;
+
+import java.util.Arrays;
+
+/**
+ * Records durations in nanoseconds into log-linear buckets, so that
+ * percentiles can be read to within about 3% without keeping every sample.
+ * Recording does not allocate.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BITS = 5; // 32 buckets per power of two.
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+
+    private final long[] counts = new long[64 * SUB_COUNT];
+    private long total = 0;
+    private long max = 0;
+    private long sum = 0;
+
+    private static int bucketOf(long nanos) {
+        long value = Math.max(nanos, 1);
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent < SUB_BITS) {
+            return (int) value;
+        }
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_COUNT - 1);
+        return (exponent - SUB_BITS + 1) * SUB_COUNT + sub;
+    }
+
+    private static long upperBoundOf(int bucket) {
+        if (bucket < SUB_COUNT) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_COUNT + SUB_BITS - 1;
+        long sub = bucket % SUB_COUNT;
+        return ((SUB_COUNT + sub + 1) << (exponent - SUB_BITS)) - 1;
+    }
+
+    /**
+     * Records one duration.
+     *
+     * @param nanos The duration in nanoseconds.
+     */
+    void record(long nanos) {
+        counts[bucketOf(nanos)]++;
+        total++;
+        sum += nanos;
+        max = Math.max(max, nanos);
+    }
+
+    /**
+     * Adds every duration recorded by another histogram to this one.
+     *
+     * @param other The other histogram.
+     */
+    void add(LatencyHistogram other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        total += other.total;
+        sum += other.sum;
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Forgets every recorded duration.
+     */
+    void reset() {
+        Arrays.fill(counts, 0);
+        total = 0;
+        sum = 0;
+        max = 0;
+    }
+
+    long getCount() {
+        return total;
+    }
+
+    long getMax() {
+        return max;
+    }
+
+    long getSum() {
+        return sum;
+    }
+
+    /**
+     * Returns a duration that at least the given fraction of the recorded
+     * durations are no longer than.
+     *
+     * @param fraction The fraction, from 0 to 1.
+     */
+    long percentile(double fraction) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(fraction * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), max);
+            }
+        }
+        return max;
+    }
+}
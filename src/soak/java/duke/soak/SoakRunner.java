@@ -0,0 +1,317 @@
+package duke.soak;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import duke.Duke;
+import duke.exception.DukeException;
+import duke.soak.CommandMix.Kind;
+import duke.storage.Storage;
+
+/**
+ * Replays a long, seeded stream of synthetic commands against MumBot in
+ * process, through `Duke.getResponse` and a real data directory, and
+ * reports throughput, latency percentiles per kind of command, heap growth
+ * and GC pauses as it goes. Where the text UI test checks that a short
+ * session gives the right output, this looks for slowdowns and leaks that
+ * only show up over minutes and thousands of tasks.
+ *
+ * Run with: ./gradlew soak -PsoakArgs="--minutes 10 --tasks 5000 --seed 7"
+ *
+ * At every report the tasks are saved and loaded back with a fresh `Storage`,
+ * and the heap is measured after a full collection, outside of the timed
+ * commands. The run fails if any command is rejected, if a reload does not
+ * give back every task, or if the heap grew by more than --max-heap-growth-mb,
+ * 16 MB unless given; a negative limit turns that check off.
+ */
+public final class SoakRunner {
+
+    private static final String USAGE = "Options: --minutes <n> --tasks <n> --seed <n> --interval <seconds> "
+            + "--save-every <commands> --max-heap-growth-mb <n>";
+    private static final double MB = 1024.0 * 1024.0;
+    private static final String DEFAULT_MAX_HEAP_GROWTH_MB = "16";
+
+    private final PrintStream out;
+    private final Path dataDirectory;
+    private final double minutes;
+    private final int targetSize;
+    private final long seed;
+    private final int intervalSeconds;
+    private final int saveEvery;
+    private final double maxHeapGrowthMb;
+
+    private final Map<Kind, LatencyHistogram> totals = new EnumMap<>(Kind.class);
+    private final LatencyHistogram interval = new LatencyHistogram();
+    private final GcPauses gcPauses = new GcPauses();
+    private final List<double[]> heapSamples = new ArrayList<>(); // Minutes since start, then MB in use.
+    private long errors = 0;
+    private long reloadFailures = 0;
+
+    private SoakRunner(PrintStream out, Path dataDirectory, Map<String, String> options) {
+        this.out = out;
+        this.dataDirectory = dataDirectory;
+        this.minutes = Double.parseDouble(options.getOrDefault("minutes", "1"));
+        this.targetSize = Integer.parseInt(options.getOrDefault("tasks", "1000"));
+        this.seed = Long.parseLong(options.getOrDefault("seed", "1"));
+        this.intervalSeconds = Integer.parseInt(options.getOrDefault("interval", "10"));
+        this.saveEvery = Integer.parseInt(options.getOrDefault("save-every", "500"));
+        this.maxHeapGrowthMb = Double.parseDouble(
+                options.getOrDefault("max-heap-growth-mb", DEFAULT_MAX_HEAP_GROWTH_MB));
+        for (Kind kind : Kind.values()) {
+            totals.put(kind, new LatencyHistogram());
+        }
+    }
+
+    /**
+     * Collects the pauses of the garbage collectors. Concurrent cycles are
+     * left out since they do not stop the programme, as are the collections
+     * that the runner asks for itself when measuring the heap.
+     */
+    private static final class GcPauses implements NotificationListener {
+        private final LatencyHistogram pauses = new LatencyHistogram();
+
+        private void install() {
+            for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+                String name = bean.getName();
+                if (bean instanceof NotificationEmitter && !name.contains("Concurrent") && !name.contains("Cycles")) {
+                    ((NotificationEmitter) bean).addNotificationListener(this, null, null);
+                }
+            }
+        }
+
+        @Override
+        public synchronized void handleNotification(Notification notification, Object handback) {
+            if (!notification.getType().equals(GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION)) {
+                return;
+            }
+            GarbageCollectionNotificationInfo info =
+                    GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+            if (!info.getGcCause().equals("System.gc()")) {
+                pauses.record(info.getGcInfo().getDuration() * 1_000_000L);
+            }
+        }
+
+        private synchronized LatencyHistogram snapshot() {
+            LatencyHistogram copy = new LatencyHistogram();
+            copy.add(pauses);
+            return copy;
+        }
+    }
+
+    /**
+     * Runs the soak test.
+     *
+     * @param args Options, as listed by USAGE.
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        Path dataDirectory = Files.createTempDirectory("mumbot-soak");
+        System.setProperty("duke.dataDir", dataDirectory.toString());
+
+        // MumBot prints some confirmations straight to the console; keep them out of the report.
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        boolean isPassed;
+        try {
+            isPassed = new SoakRunner(out, dataDirectory, options).run();
+        } finally {
+            System.setOut(out);
+            deleteRecursively(dataDirectory);
+        }
+        System.exit(isPassed ? 0 : 1);
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i += 2) {
+            if (!args[i].startsWith("--") || i + 1 == args.length) {
+                throw new IllegalArgumentException(USAGE);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private boolean run() throws DukeException {
+        gcPauses.install();
+        Duke duke = new Duke();
+        duke.loadFile(message -> { });
+        CommandMix mix = new CommandMix(seed, targetSize, saveEvery, LocalDate.now());
+        out.printf("Soak test: %.1f min, %d tasks, seed %d, data in %s%n", minutes, targetSize, seed, dataDirectory);
+
+        long fillStart = System.nanoTime();
+        while (mix.getSize() < targetSize) {
+            execute(duke, mix.nextAdd());
+        }
+        out.printf("Added %d tasks in %d ms%n", targetSize, (System.nanoTime() - fillStart) / 1_000_000);
+        interval.reset();
+        for (LatencyHistogram histogram : totals.values()) {
+            histogram.reset();
+        }
+
+        long start = System.nanoTime();
+        long end = start + (long) (minutes * 60e9);
+        long nextReport = start + intervalSeconds * 1_000_000_000L;
+        long intervalStart = start;
+        checkpoint(duke, mix, 0);
+        while (true) {
+            long now = System.nanoTime();
+            if (now >= nextReport || now >= end) {
+                report(now - intervalStart, (now - start) / 60e9, mix.getSize());
+                checkpoint(duke, mix, (now - start) / 60e9);
+                if (now >= end) {
+                    break;
+                }
+                nextReport += intervalSeconds * 1_000_000_000L;
+                intervalStart = System.nanoTime(); // Leave the checkpoint out of the throughput.
+            }
+            String command = mix.next();
+            long latency = execute(duke, command);
+            interval.record(latency);
+            totals.get(mix.getLastKind()).record(latency);
+        }
+        return summarise();
+    }
+
+    /**
+     * Performs one command and returns how long it took.
+     */
+    private long execute(Duke duke, String command) {
+        long start = System.nanoTime();
+        try {
+            duke.getResponse(command);
+        } catch (DukeException e) {
+            if (errors++ < 5) {
+                out.println("  rejected '" + command + "': " + e.getMessage());
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Saves the tasks, loads them back, and measures the heap after a full
+     * collection.
+     */
+    private void checkpoint(Duke duke, CommandMix mix, double elapsedMinutes) throws DukeException {
+        duke.getResponse("Bye");
+        Path file = dataDirectory.resolve("duke.txt");
+        int loaded = new Storage(file.toString()).getTasks().getSize();
+        if (loaded != mix.getSize()) {
+            reloadFailures++;
+            out.printf("  reload gave %d tasks, expected %d%n", loaded, mix.getSize());
+        }
+        ManagementFactory.getMemoryMXBean().gc();
+        double usedMb = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed() / MB;
+        heapSamples.add(new double[] {elapsedMinutes, usedMb});
+    }
+
+    private void report(long intervalNanos, double elapsedMinutes, int size) {
+        LatencyHistogram pauses = gcPauses.snapshot();
+        out.printf("[%6.2f min] %9.0f ops/s  p50 %s  p99 %s  p99.9 %s  max %s | gc pauses %d, max %s | %d tasks%n",
+                elapsedMinutes, interval.getCount() * 1e9 / intervalNanos, format(interval.percentile(0.5)),
+                format(interval.percentile(0.99)), format(interval.percentile(0.999)), format(interval.getMax()),
+                pauses.getCount(), format(pauses.getMax()), size);
+        interval.reset();
+    }
+
+    private boolean summarise() {
+        LatencyHistogram all = new LatencyHistogram();
+        out.println();
+        out.printf("%-9s %10s %10s %10s %10s %10s %10s%n", "command", "count", "mean", "p50", "p99", "p99.9", "max");
+        for (Map.Entry<Kind, LatencyHistogram> entry : totals.entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            all.add(histogram);
+            if (histogram.getCount() > 0) {
+                printRow(entry.getKey().name().toLowerCase(), histogram);
+            }
+        }
+        printRow("all", all);
+        out.printf("Throughput: %.0f commands/s over %.1f min%n", all.getCount() / (minutes * 60), minutes);
+
+        LatencyHistogram pauses = gcPauses.snapshot();
+        out.printf("GC pauses: %d, total %s, p99 %s, max %s%n", pauses.getCount(), format(pauses.getSum()),
+                format(pauses.percentile(0.99)), format(pauses.getMax()));
+
+        double baseline = heapSamples.get(0)[1];
+        double last = heapSamples.get(heapSamples.size() - 1)[1];
+        out.printf("Heap after GC: %.1f MB at start, %.1f MB at end (%+.1f MB, %+.2f MB/min)%n",
+                baseline, last, last - baseline, slope(heapSamples));
+
+        boolean isPassed = true;
+        if (errors > 0) {
+            out.println("FAILED: " + errors + " commands were rejected");
+            isPassed = false;
+        }
+        if (reloadFailures > 0) {
+            out.println("FAILED: " + reloadFailures + " reloads did not give back every task");
+            isPassed = false;
+        }
+        if (maxHeapGrowthMb >= 0 && last - baseline > maxHeapGrowthMb) {
+            out.printf("FAILED: the heap grew by more than %.1f MB%n", maxHeapGrowthMb);
+            isPassed = false;
+        }
+        return isPassed;
+    }
+
+    private void printRow(String name, LatencyHistogram histogram) {
+        out.printf("%-9s %10d %10s %10s %10s %10s %10s%n", name, histogram.getCount(),
+                format(histogram.getSum() / Math.max(1, histogram.getCount())), format(histogram.percentile(0.5)),
+                format(histogram.percentile(0.99)), format(histogram.percentile(0.999)), format(histogram.getMax()));
+    }
+
+    /**
+     * Returns the least-squares slope of the samples, in MB per minute.
+     */
+    private static double slope(List<double[]> samples) {
+        double n = samples.size();
+        double sumX = 0;
+        double sumY = 0;
+        double sumXy = 0;
+        double sumXx = 0;
+        for (double[] sample : samples) {
+            sumX += sample[0];
+            sumY += sample[1];
+            sumXy += sample[0] * sample[1];
+            sumXx += sample[0] * sample[0];
+        }
+        double denominator = n * sumXx - sumX * sumX;
+        return denominator == 0 ? 0 : (n * sumXy - sumX * sumY) / denominator;
+    }
+
+    private static String format(long nanos) {
+        if (nanos < 1_000) {
+            return nanos + "ns";
+        } else if (nanos < 1_000_000) {
+            return String.format("%.1fus", nanos / 1e3);
+        } else {
+            return String.format("%.1fms", nanos / 1e6);
+        }
+    }
+}
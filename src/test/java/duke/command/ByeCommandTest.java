@@ -3,7 +3,7 @@ package duke.command;
 import duke.task.TaskListStub;
 
 import org.junit.jupiter.api.Test;
-import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 public class ByeCommandTest {
   @Test
@@ -19,6 +19,6 @@ public class ByeCommandTest {
     String[] commandArgs = new String[1];
     commandArgs[0] = "Bye";
     ByeCommand byeCommand = new ByeCommand(commandArgs, new TaskListStub());
-    assertFalse(byeCommand.performAction());
+    assertEquals("MumBot: Goodbyeeee sweetheart <3", byeCommand.performAction());
   }
 }
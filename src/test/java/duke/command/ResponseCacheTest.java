@@ -0,0 +1,87 @@
+package duke.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import duke.task.Task;
+import duke.task.TaskList;
+
+public class ResponseCacheTest {
+
+  private static TaskList newTasks() {
+    TaskList tasks = new TaskList(new ArrayList<Task>());
+    tasks.addTask(new Task("sweep room"), false);
+    tasks.addTask(new Task("buy milk"), false);
+    return tasks;
+  }
+
+  @Test
+  public void get_missesOnceTheTasksChange() {
+    ResponseCache cache = new ResponseCache(ResponseCache.DEFAULT_MAX_WEIGHT);
+    TaskList tasks = newTasks();
+    TaskList otherTasks = newTasks();
+    cache.put(tasks, "list", "both tasks");
+
+    assertEquals("both tasks", cache.get(tasks, "list"));
+    assertNull(cache.get(otherTasks, "list"));
+    assertNull(cache.get(tasks, "find milk"));
+
+    tasks.mark(0);
+    assertNull(cache.get(tasks, "list"));
+    assertEquals(0, cache.getWeight());
+    assertEquals(1, cache.getHits());
+    assertEquals(3, cache.getMisses());
+  }
+
+  @Test
+  public void put_evictsLeastRecentlyUsedByWeight() {
+    TaskList tasks = newTasks();
+    String response = "x".repeat(400);
+    ResponseCache cache = new ResponseCache(3 * 1000);
+    cache.put(tasks, "find a", response);
+    cache.put(tasks, "find b", response);
+    cache.put(tasks, "find c", response);
+    cache.get(tasks, "find a");
+    cache.put(tasks, "find d", response);
+
+    assertNull(cache.get(tasks, "find b"));
+    assertEquals(response, cache.get(tasks, "find a"));
+    assertEquals(response, cache.get(tasks, "find d"));
+    assertTrue(cache.getWeight() <= 3 * 1000);
+
+    cache.put(tasks, "list", "y".repeat(2000));
+    assertNull(cache.get(tasks, "list"));
+  }
+
+  @Test
+  public void isCacheable_onlyReadingCommands() {
+    assertTrue(ResponseCache.isCacheable("list"));
+    assertTrue(ResponseCache.isCacheable("find milk"));
+    assertTrue(ResponseCache.isCacheable("query tagged work"));
+    assertFalse(ResponseCache.isCacheable("mark 1"));
+    assertFalse(ResponseCache.isCacheable("agenda"));
+    assertFalse(ResponseCache.isCacheable("listing"));
+  }
+
+  @Test
+  public void forget_dropsOnlyThoseTasksResponses() {
+    ResponseCache cache = new ResponseCache(ResponseCache.DEFAULT_MAX_WEIGHT);
+    TaskList unloaded = newTasks();
+    TaskList current = newTasks();
+    cache.put(current, "list", "both tasks");
+    long currentWeight = cache.getWeight();
+    cache.put(unloaded, "list", "both tasks");
+    cache.put(unloaded, "find milk", "buy milk");
+
+    cache.forget(unloaded);
+    assertNull(cache.get(unloaded, "list"));
+    assertEquals("both tasks", cache.get(current, "list"));
+    assertEquals(currentWeight, cache.getWeight());
+  }
+}
@@ -0,0 +1,50 @@
+package duke.parse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import duke.exception.DukeException;
+import duke.task.Task;
+import duke.task.TaskList;
+
+public class FastParserTest {
+
+  private static TaskList newTasks() {
+    TaskList tasks = new TaskList(new ArrayList<Task>());
+    tasks.addTask(new Task("sweep room"), false);
+    tasks.addTask(new Task("project", "2026-11-02", Task.Type.DEADLINE), false);
+    tasks.addTask(new Task("party", "home", Task.Type.EVENT), false);
+    return tasks;
+  }
+
+  @Test
+  public void settleInput_respondsLikeParser() throws DukeException {
+    String[] inputs = {"mark 2", "unmark 2", "priority 3 high", "priority 1 urgent", "list"};
+    TaskList slowTasks = newTasks();
+    TaskList fastTasks = newTasks();
+    FastParser fastParser = new FastParser();
+    for (String input : inputs) {
+      String expected = Parser.settleInput(input, slowTasks);
+      assertEquals(expected, fastParser.settleInput(input, fastTasks).toString());
+      assertEquals(slowTasks.list(), fastTasks.list());
+    }
+  }
+
+  @Test
+  public void settleInput_leavesIrregularInputToParser() {
+    FastParser fastParser = new FastParser();
+    TaskList tasks = newTasks();
+    assertNull(fastParser.settleInput("mark 4", tasks));
+    assertNull(fastParser.settleInput("mark 0", tasks));
+    assertNull(fastParser.settleInput("mark  2", tasks));
+    assertNull(fastParser.settleInput("mark two", tasks));
+    assertNull(fastParser.settleInput("mark 2 2026-10-19", tasks));
+    assertNull(fastParser.settleInput("list all", tasks));
+    assertNull(fastParser.settleInput("todo sweep", tasks));
+    assertNull(fastParser.settleInput("", tasks));
+  }
+}
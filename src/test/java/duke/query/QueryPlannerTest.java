@@ -0,0 +1,119 @@
+package duke.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import duke.exception.DukeException;
+import duke.task.Task;
+import duke.task.TaskList;
+
+public class QueryPlannerTest {
+  private TaskList sampleTasks() {
+    TaskList tasks = new TaskList(new ArrayList<Task>());
+    for (int i = 0; i < 50; i++) {
+      tasks.addTask(new Task("chore " + i), false);
+    }
+    tasks.addTask(new Task("monthly report", "2026-10-25", Task.Type.DEADLINE), false); // 51
+    tasks.addTask(new Task("weekly report", "2026-11-05", Task.Type.DEADLINE), false); // 52
+    tasks.addTask(new Task("read report", "library", Task.Type.EVENT), false); // 53
+    tasks.setPriority(50, Task.Priority.HIGH);
+    tasks.setPriority(51, Task.Priority.MED);
+    tasks.setPriority(3, Task.Priority.HIGH);
+    return tasks;
+  }
+
+  private List<Task> run(TaskList tasks, String query) throws DukeException {
+    return QueryPlanner.execute(QueryParser.parse(Arrays.asList(query.split(" "))), tasks);
+  }
+
+  private List<Task> scan(TaskList tasks, String query) throws DukeException {
+    Condition condition = QueryParser.parse(Arrays.asList(query.split(" ")));
+    List<Task> found = new ArrayList<>();
+    for (Task task : tasks.getTasks()) {
+      if (condition.test(task)) {
+        found.add(task);
+      }
+    }
+    return found;
+  }
+
+  @Test
+  public void execute_matchesFullScan() throws DukeException {
+    TaskList tasks = sampleTasks();
+    String[] queries = {
+        "type:deadline done:false priority>=med due<2026-11-01 text:report",
+        "priority>=med",
+        "text:report !type:event",
+        "type:event or priority:high",
+        "due>=2026-10-25 due<=2026-11-05",
+    };
+    for (String query : queries) {
+      assertEquals(scan(tasks, query), run(tasks, query), query);
+    }
+    assertEquals("monthly report", run(tasks, queries[0]).get(0).getDescription());
+  }
+
+  @Test
+  public void execute_followsMarks() throws DukeException {
+    TaskList tasks = sampleTasks();
+    tasks.getIndexes();
+    tasks.mark(50);
+    assertEquals(1, run(tasks, "done:true").size());
+    tasks.deleteTaskByIndex(50);
+    assertEquals(0, run(tasks, "done:true").size());
+  }
+
+  @Test
+  public void explain_picksMostSelectiveIndex() throws DukeException {
+    TaskList tasks = sampleTasks();
+    String plan = QueryPlanner.explain(QueryParser.parse(Arrays.asList("done:false", "text:weekly")), tasks);
+    assertTrue(plan.contains("index lookup on text has 'weekly' (~1 tasks)"), plan);
+
+    plan = QueryPlanner.explain(QueryParser.parse(Arrays.asList("!type:event")), tasks);
+    assertTrue(plan.contains("full scan of 53 tasks"), plan);
+
+    plan = QueryPlanner.explain(QueryParser.parse(Arrays.asList("!done:true")), tasks);
+    assertTrue(plan.contains("bitmap"), plan);
+  }
+
+  @Test
+  public void execute_tagQueriesMatchFullScan() throws DukeException {
+    TaskList tasks = sampleTasks();
+    for (int i = 0; i < tasks.getSize(); i += 3) {
+      tasks.tag(i, List.of("work"));
+    }
+    for (int i = 0; i < tasks.getSize(); i += 5) {
+      tasks.tag(i, List.of("urgent"));
+    }
+    tasks.mark(0);
+    tasks.mark(15);
+    String[] queries = {
+        "tagged work & !done",
+        "tag:work tag:urgent",
+        "tagged urgent or done",
+        "!tagged work",
+        "tagged work priority:high",
+        "tagged nothing",
+    };
+    for (String query : queries) {
+      assertEquals(scan(tasks, query), run(tasks, query), query);
+    }
+    assertEquals(16, run(tasks, "tagged work & !done").size());
+
+    tasks.deleteTaskByIndex(3);
+    assertEquals(scan(tasks, queries[0]), run(tasks, queries[0]));
+  }
+
+  @Test
+  public void parse_invalidClause_throws() {
+    assertThrows(DukeException.class, () -> QueryParser.parse(Arrays.asList("colour:red")));
+    assertThrows(DukeException.class, () -> QueryParser.parse(Arrays.asList("done:true", "or")));
+  }
+}
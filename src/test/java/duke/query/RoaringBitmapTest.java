@@ -0,0 +1,63 @@
+package duke.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+public class RoaringBitmapTest {
+
+  private static List<Integer> toList(RoaringBitmap bitmap) {
+    List<Integer> values = new ArrayList<>();
+    bitmap.forEach(values::add);
+    return values;
+  }
+
+  @Test
+  public void operations_matchTreeSets() {
+    Random random = new Random(37);
+    // Sparse and dense sets across several chunks, so both kinds of chunk are combined.
+    RoaringBitmap sparse = new RoaringBitmap();
+    RoaringBitmap dense = new RoaringBitmap();
+    TreeSet<Integer> sparseSet = new TreeSet<>();
+    TreeSet<Integer> denseSet = new TreeSet<>();
+    for (int i = 0; i < 3000; i++) {
+      int value = random.nextInt(200_000);
+      sparse.add(value);
+      sparseSet.add(value);
+    }
+    for (int i = 0; i < 150_000; i++) {
+      if (random.nextInt(3) != 0) {
+        dense.add(i);
+        denseSet.add(i);
+      }
+    }
+    for (int i = 0; i < 60_000; i += 7) {
+      dense.remove(i);
+      denseSet.remove(i);
+    }
+
+    assertEquals(new ArrayList<>(sparseSet), toList(sparse));
+    assertEquals(denseSet.size(), dense.cardinality());
+
+    TreeSet<Integer> and = new TreeSet<>(sparseSet);
+    and.retainAll(denseSet);
+    assertEquals(new ArrayList<>(and), toList(sparse.and(dense)));
+
+    TreeSet<Integer> or = new TreeSet<>(sparseSet);
+    or.addAll(denseSet);
+    assertEquals(new ArrayList<>(or), toList(dense.or(sparse)));
+
+    TreeSet<Integer> andNot = new TreeSet<>(denseSet);
+    andNot.removeAll(sparseSet);
+    assertEquals(new ArrayList<>(andNot), toList(dense.andNot(sparse)));
+
+    TreeSet<Integer> notAnd = new TreeSet<>(sparseSet);
+    notAnd.removeAll(denseSet);
+    assertEquals(new ArrayList<>(notAnd), toList(sparse.andNot(dense)));
+  }
+}
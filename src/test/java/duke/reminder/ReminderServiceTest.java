@@ -0,0 +1,94 @@
+package duke.reminder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import duke.task.Task;
+import duke.task.TaskList;
+
+public class ReminderServiceTest {
+  /**
+   * A clock that only moves when the test advances it.
+   */
+  private static class TestClock extends Clock {
+    private Instant now = Instant.parse("2026-10-19T09:00:00Z");
+
+    void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+
+  private final TestClock clock = new TestClock();
+  private final List<String> sent = new ArrayList<>();
+  private final ReminderService reminders = new ReminderService(clock, Duration.ofDays(1), sent::add, null);
+
+  private TaskList sampleTasks() {
+    TaskList tasks = new TaskList(new ArrayList<Task>());
+    tasks.addTask(new Task("pay bills", "2026-10-21", Task.Type.DEADLINE), false);
+    tasks.addTask(new Task("sweep room"), false);
+    tasks.addTask(new Task("overdue essay", "2026-10-01", Task.Type.DEADLINE), false);
+    reminders.watch(tasks);
+    return tasks;
+  }
+
+  @Test
+  public void fireDue_onlyOnceLeadTimeIsReached() {
+    sampleTasks();
+    assertEquals(1, reminders.getPendingCount());
+    assertEquals(0, reminders.fireDue());
+
+    clock.advance(Duration.ofHours(15)); // Oct 20, 00:00 - one day before the deadline.
+    assertEquals(1, reminders.fireDue());
+    assertTrue(sent.get(0).contains("pay bills"));
+    assertEquals(0, reminders.fireDue());
+  }
+
+  @Test
+  public void markAndDelete_cancelReminders() {
+    TaskList tasks = sampleTasks();
+    tasks.addTask(new Task("file taxes", "2026-10-22", Task.Type.DEADLINE), false);
+    assertEquals(2, reminders.getPendingCount());
+
+    tasks.mark(0);
+    assertEquals(1, reminders.getPendingCount());
+    tasks.deleteTaskByIndex(3);
+    assertEquals(0, reminders.getPendingCount());
+
+    clock.advance(Duration.ofDays(3));
+    assertEquals(0, reminders.fireDue());
+  }
+
+  @Test
+  public void unmark_restoresReminder() {
+    TaskList tasks = sampleTasks();
+    tasks.mark(0);
+    tasks.unmark(0);
+    clock.advance(Duration.ofDays(1));
+    assertEquals(1, reminders.fireDue());
+  }
+}
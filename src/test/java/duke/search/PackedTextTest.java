@@ -0,0 +1,77 @@
+package duke.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import duke.task.Task;
+import duke.task.TaskList;
+
+public class PackedTextTest {
+  private static final String[] WORDS = {"sweep", "room", "report", "Dinner", "caf\u00e9", "plan", "homework", "rent"};
+
+  private static List<Task> naiveFind(TaskList tasks, String[] words) {
+    List<Task> found = new ArrayList<>();
+    for (Task task : tasks.getTasks()) {
+      String description = task.getDescription().toLowerCase(Locale.ROOT);
+      String misc = task.getMiscDescription() == null ? "" : task.getMiscDescription().toLowerCase(Locale.ROOT);
+      boolean isMatch = true;
+      for (String word : words) {
+        String lowerCase = word.toLowerCase(Locale.ROOT);
+        isMatch &= description.contains(lowerCase) || misc.contains(lowerCase);
+      }
+      if (isMatch) {
+        found.add(task);
+      }
+    }
+    return found;
+  }
+
+  @Test
+  public void find_partialWordsAndCase_matchesEveryWord() {
+    TaskList tasks = new TaskList(new ArrayList<Task>());
+    tasks.addTask(new Task("finish HOMEwork"), false);
+    tasks.addTask(new Task("work from home"), false);
+    tasks.addTask(new Task("homestay booking"), false);
+    tasks.addTask(new Task("dinner", "Caf\u00e9 Home", Task.Type.EVENT), false);
+
+    List<Task> found = tasks.searchExact("home work", 10).getTasks();
+    assertEquals(2, found.size());
+    assertEquals("finish HOMEwork", found.get(0).getDescription());
+    assertEquals(1, tasks.searchExact("CAF\u00c9", 10).getSize());
+    assertEquals(0, tasks.searchExact("dinnercaf\u00e9", 10).getSize());
+    assertEquals(0, tasks.searchExact("homeworkwork", 10).getSize());
+    assertEquals(1, tasks.searchExact("home work", 1).getSize());
+  }
+
+  @Test
+  public void find_randomChanges_agreesWithNaiveScan() {
+    Random random = new Random(46);
+    TaskList tasks = new TaskList(new ArrayList<Task>());
+    PackedText packed = tasks.getPackedText();
+    for (int round = 0; round < 3000; round++) {
+      if (tasks.getSize() > 0 && random.nextInt(3) == 0) {
+        tasks.deleteTaskByIndex(random.nextInt(tasks.getSize()));
+      } else {
+        String description = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + round;
+        if (random.nextBoolean()) {
+          tasks.addTask(new Task(description, WORDS[random.nextInt(WORDS.length)], Task.Type.EVENT), false);
+        } else {
+          tasks.addTask(new Task(description), false);
+        }
+      }
+      if (round % 100 == 0) {
+        String[] words = {WORDS[random.nextInt(WORDS.length)], WORDS[random.nextInt(WORDS.length)].substring(1, 4)};
+        assertEquals(naiveFind(tasks, words), packed.find(String.join(" ", words), Integer.MAX_VALUE));
+      }
+    }
+    assertEquals(tasks.getSize(), packed.size());
+    String longQuery = "sweep room report dinner caf\u00e9 plan homework rent sweep room report dinner";
+    assertEquals(naiveFind(tasks, longQuery.split(" ")), packed.find(longQuery, Integer.MAX_VALUE));
+  }
+}
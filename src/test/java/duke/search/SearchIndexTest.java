@@ -0,0 +1,73 @@
+package duke.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import duke.task.Task;
+import duke.task.TaskList;
+
+public class SearchIndexTest {
+  private TaskList sampleTasks() {
+    TaskList tasks = new TaskList(new ArrayList<Task>());
+    tasks.addTask(new Task("buy groceries"), false);
+    tasks.addTask(new Task("Write REPORT draft"), false);
+    tasks.addTask(new Task("report report report"), false);
+    tasks.addTask(new Task("team dinner", "restaurant", Task.Type.EVENT), false);
+    return tasks;
+  }
+
+  @Test
+  public void boundedDistance_withinAndBeyondBound() {
+    assertEquals(2, SearchIndex.boundedDistance("report", "reprot", 2));
+    assertEquals(0, SearchIndex.boundedDistance("dinner", "dinner", 1));
+    assertEquals(2, SearchIndex.boundedDistance("kitten", "sitting", 1));
+  }
+
+  @Test
+  public void search_caseInsensitive_ranksByRelevance() {
+    List<Task> found = sampleTasks().search("Report", 10).getTasks();
+    assertEquals(2, found.size());
+    assertEquals("report report report", found.get(0).getDescription());
+  }
+
+  @Test
+  public void search_typoInQuery_stillMatches() {
+    List<Task> found = sampleTasks().search("grocereis", 10).getTasks();
+    assertEquals(1, found.size());
+    assertEquals("buy groceries", found.get(0).getDescription());
+  }
+
+  @Test
+  public void search_matchesMiscDescription() {
+    List<Task> found = sampleTasks().search("restaurant", 10).getTasks();
+    assertEquals("team dinner", found.get(0).getDescription());
+  }
+
+  @Test
+  public void search_afterDelete_dropsTask() {
+    TaskList tasks = sampleTasks();
+    tasks.search("report", 10);
+    tasks.deleteTaskByIndex(2);
+    List<Task> found = tasks.search("report", 10).getTasks();
+    assertEquals(1, found.size());
+    assertTrue(found.get(0).getDescription().startsWith("Write"));
+  }
+
+  @Test
+  public void search_limit_keepsBestMatches() {
+    TaskList tasks = new TaskList(new ArrayList<Task>());
+    for (int i = 0; i < 100; i++) {
+      tasks.addTask(new Task("chore " + i), false);
+    }
+    tasks.addTask(new Task("chore chore"), false);
+    List<Task> found = tasks.search("chore", 3).getTasks();
+    assertEquals(3, found.size());
+    assertEquals("chore chore", found.get(0).getDescription());
+    assertEquals("chore 0", found.get(1).getDescription());
+  }
+}
@@ -0,0 +1,87 @@
+package duke.storage;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * A disk that can be told to fail, the way a crash or a full disk would.
+ */
+class FaultyDisk implements Disk {
+  private int writeLimit = -1;
+  private boolean isMoveFailing = false;
+  private boolean isReadFailing = false;
+
+  /**
+   * Makes every write stop after the given number of bytes, leaving the
+   * file torn, and then fail.
+   */
+  void tearWritesAfter(int byteCount) {
+    writeLimit = byteCount;
+  }
+
+  void failMoves() {
+    isMoveFailing = true;
+  }
+
+  void failReads() {
+    isReadFailing = true;
+  }
+
+  @Override
+  public boolean exists(Path path) {
+    return LOCAL.exists(path);
+  }
+
+  @Override
+  public void create(Path path) throws IOException {
+    LOCAL.create(path);
+  }
+
+  @Override
+  public byte[] read(Path path) throws IOException {
+    if (isReadFailing) {
+      throw new IOException("injected read failure");
+    }
+    return LOCAL.read(path);
+  }
+
+  @Override
+  public void write(Path path, byte[] contents) throws IOException {
+    if (writeLimit >= 0 && writeLimit < contents.length) {
+      LOCAL.write(path, Arrays.copyOf(contents, writeLimit));
+      throw new IOException("injected torn write");
+    }
+    LOCAL.write(path, contents);
+  }
+
+  @Override
+  public void move(Path source, Path target) throws IOException {
+    if (isMoveFailing) {
+      throw new IOException("injected rename failure");
+    }
+    LOCAL.move(source, target);
+  }
+
+  @Override
+  public byte[] read(Path path, long position, int length) throws IOException {
+    if (isReadFailing) {
+      throw new IOException("injected read failure");
+    }
+    return LOCAL.read(path, position, length);
+  }
+
+  @Override
+  public void writeAt(Path path, long position, byte[] contents) throws IOException {
+    if (writeLimit >= 0 && writeLimit < contents.length) {
+      LOCAL.writeAt(path, position, Arrays.copyOf(contents, writeLimit));
+      throw new IOException("injected torn write");
+    }
+    LOCAL.writeAt(path, position, contents);
+  }
+
+  @Override
+  public void delete(Path path) throws IOException {
+    LOCAL.delete(path);
+  }
+}
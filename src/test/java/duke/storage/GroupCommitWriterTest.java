@@ -0,0 +1,74 @@
+package duke.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import duke.task.Task;
+import duke.task.TaskList;
+
+public class GroupCommitWriterTest {
+  private static final int THREADS = 8;
+  private static final int SAVES_PER_THREAD = 50;
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  public void saveAsync_concurrentChanges_allSavedInFewerWrites() throws Exception {
+    String filePath = tempDir.resolve("duke.txt").toString();
+    Storage storage = new Storage(filePath);
+    TaskList tasks = storage.getTasks();
+    List<CompletableFuture<Void>> saves = new ArrayList<>();
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < THREADS; t++) {
+      int thread = t;
+      threads.add(new Thread(() -> {
+        for (int i = 0; i < SAVES_PER_THREAD; i++) {
+          synchronized (tasks) {
+            tasks.addTask(new Task("chore " + thread + "-" + i), false);
+          }
+          CompletableFuture<Void> save = storage.saveAsync();
+          synchronized (saves) {
+            saves.add(save);
+          }
+        }
+      }));
+    }
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    CompletableFuture.allOf(saves.toArray(CompletableFuture<?>[]::new)).get(30, TimeUnit.SECONDS);
+
+    assertFalse(storage.isDirty());
+    assertEquals(THREADS * SAVES_PER_THREAD, new Storage(filePath).getTasks().getSize());
+    assertTrue(storage.getAsyncWriteCount() < saves.size());
+    storage.close();
+  }
+
+  @Test
+  public void saveAsync_afterClose_startsNewWriter() throws Exception {
+    String filePath = tempDir.resolve("duke.txt").toString();
+    Storage storage = new Storage(filePath);
+    storage.getTasks().addTask(new Task("sweep room"), false);
+    storage.saveAsync().get(30, TimeUnit.SECONDS);
+    storage.close();
+
+    storage.getTasks().addTask(new Task("water plants"), false);
+    storage.saveAsync().get(30, TimeUnit.SECONDS);
+    storage.close();
+    assertEquals(2, new Storage(filePath).getTasks().getSize());
+  }
+}
@@ -0,0 +1,112 @@
+package duke.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import duke.exception.DukeException;
+import duke.task.Task;
+import duke.task.TaskList;
+
+public class LogStructuredBackendTest {
+  @TempDir
+  Path tempDir;
+
+  private Storage open(Path path, Disk disk) throws DukeException {
+    return new Storage(path.toString(), new LogStructuredBackend(path.toString(), disk, 8));
+  }
+
+  private static String contentsOf(TaskList tasks) {
+    return new String(SaveFile.encode(tasks));
+  }
+
+  @Test
+  public void save_randomChanges_reloadedAsSaved() throws Exception {
+    Path path = tempDir.resolve("duke.lsm");
+    Storage storage = open(path, Disk.LOCAL);
+    Random random = new Random(48);
+    for (int round = 1; round <= 600; round++) {
+      TaskList tasks = storage.getTasks();
+      int operation = random.nextInt(10);
+      if (tasks.getSize() < 5 || operation < 4) {
+        tasks.addTask(new Task("chore " + round), false);
+      } else if (operation < 6) {
+        tasks.deleteTaskByIndex(random.nextInt(tasks.getSize()));
+      } else if (operation < 8) {
+        tasks.mark(random.nextInt(tasks.getSize()));
+      } else if (operation < 9) {
+        tasks.setPriority(random.nextInt(tasks.getSize()), Task.Priority.HIGH);
+      } else {
+        int dependent = random.nextInt(tasks.getSize());
+        try {
+          tasks.addDependency(dependent, random.nextInt(tasks.getSize()));
+        } catch (DukeException e) {
+          // A cycle; the list is unchanged.
+        }
+      }
+      storage.save();
+      if (round % 100 == 0) {
+        Storage reloaded = open(path, Disk.LOCAL);
+        assertEquals(contentsOf(storage.getTasks()), contentsOf(reloaded.getTasks()));
+        assertTrue(reloaded.getRecoveryReport().isClean());
+        storage = reloaded;
+      }
+    }
+    LogStructuredBackend backend = new LogStructuredBackend(path.toString(), Disk.LOCAL, 8);
+    backend.load(new RecoveryReport(path.toString()));
+    assertTrue(backend.getSegmentCount() <= 10, "segments: " + backend.getSegmentCount());
+  }
+
+  @Test
+  public void save_tornLogWrite_writtenByNextSave() throws Exception {
+    Path path = tempDir.resolve("duke.lsm");
+    FaultyDisk disk = new FaultyDisk();
+    Storage storage = open(path, disk);
+    storage.getTasks().addTask(new Task("sweep room"), false);
+    storage.save();
+    storage.getTasks().addTask(new Task("buy milk"), false);
+    disk.tearWritesAfter(10);
+
+    assertThrows(DukeException.class, storage::save);
+    Storage afterCrash = open(path, Disk.LOCAL);
+    assertEquals(1, afterCrash.getTasks().getSize());
+    assertFalse(afterCrash.getRecoveryReport().isClean());
+
+    disk.tearWritesAfter(-1);
+    storage.getTasks().mark(0);
+    storage.save();
+    Storage reloaded = open(path, Disk.LOCAL);
+    assertEquals(contentsOf(storage.getTasks()), contentsOf(reloaded.getTasks()));
+    assertTrue(reloaded.getRecoveryReport().isClean());
+  }
+
+  @Test
+  public void load_damagedRecord_skipsItAndKeepsCopy() throws Exception {
+    Path path = tempDir.resolve("duke.lsm");
+    Storage storage = open(path, Disk.LOCAL);
+    for (int i = 0; i < 8; i++) {
+      storage.getTasks().addTask(new Task("chore " + i), false);
+    }
+    storage.save();
+    assertEquals(0, Files.size(path.resolve("wal.log"))); // Emptied by the flush.
+    Path segment = path.resolve("seg-1.dat");
+    byte[] contents = Files.readAllBytes(segment);
+    contents[30] ^= 1; // Inside the first task's line.
+    Files.write(segment, contents);
+
+    Storage reloaded = open(path, Disk.LOCAL);
+    assertEquals(7, reloaded.getTasks().getSize());
+    assertEquals(1, reloaded.getRecoveryReport().getProblemCount());
+    assertNotNull(reloaded.getRecoveryReport().getBackupPath());
+    assertTrue(Files.exists(path.resolve("seg-1.dat.damaged")));
+  }
+}
@@ -0,0 +1,94 @@
+package duke.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import duke.exception.DukeException;
+import duke.task.Recurrence;
+import duke.task.Task;
+import duke.task.TaskList;
+
+public class SnapshotFileTest {
+  @TempDir
+  Path tempDir;
+
+  private TaskList sampleTasks(int count) throws DukeException {
+    TaskList tasks = new TaskList(new ArrayList<Task>());
+    for (int i = 0; i < count; i++) {
+      tasks.addTask(new Task("sweep room " + i), false);
+      tasks.addTask(new Task("submit report " + i, "2026-11-01", Task.Type.DEADLINE), false);
+      tasks.addTask(new Task("dinner " + i, "home", Task.Type.EVENT), false);
+    }
+    tasks.addTask(new Task("water plants", Recurrence.parse("weekly on mon from 2026-10-19", LocalDate.now())), false);
+    tasks.updateOccurrence(tasks.getSize() - 1, LocalDate.of(2026, 10, 26), true);
+    tasks.mark(1);
+    tasks.setPriority(2, Task.Priority.HIGH);
+    return tasks;
+  }
+
+  @Test
+  public void saveAndLoad_manyBlocks_roundTrips() throws DukeException {
+    String filePath = tempDir.resolve("duke.snap").toString();
+    TaskList tasks = sampleTasks(5000);
+    SnapshotFile.save(tasks, filePath);
+
+    TaskList loaded = SnapshotFile.load(filePath);
+    assertEquals(tasks.list(), loaded.list());
+    assertFalse(Files.exists(tempDir.resolve("duke.snap.tmp")));
+  }
+
+  @Test
+  public void saveAndLoad_repeatedStrings_storedOnceAndShared() throws Exception {
+    TaskList tasks = new TaskList(new ArrayList<Task>());
+    for (int i = 0; i < 2000; i++) {
+      tasks.addTask(new Task("team meeting", "office", Task.Type.EVENT), false);
+    }
+    tasks.tag(0, List.of("work", "weekly"));
+    tasks.addDependency(1, 0);
+    String snapPath = tempDir.resolve("duke.snap").toString();
+    String txtPath = tempDir.resolve("duke.txt").toString();
+    SnapshotFile.save(tasks, snapPath);
+    SaveFile.save(tasks, txtPath);
+
+    TaskList loaded = SnapshotFile.load(snapPath);
+    assertEquals(tasks.list(), loaded.list());
+    assertEquals(tasks.getTasks().get(0).getUid(), loaded.getTasks().get(0).getUid());
+    assertEquals(1, loaded.getTasks().get(1).getPrerequisites().size());
+    assertSame(loaded.getTasks().get(0).getDescription(), loaded.getTasks().get(1999).getDescription());
+    assertSame(loaded.getTasks().get(0).getMiscDescription(), loaded.getTasks().get(1999).getMiscDescription());
+    // Only the stable identities differ between the tasks, so they make up most of the snapshot.
+    assertTrue(Files.size(Path.of(snapPath)) * 3 < Files.size(Path.of(txtPath)));
+  }
+
+  @Test
+  public void load_corruptedBlock_throwsDukeException() throws Exception {
+    Path path = tempDir.resolve("duke.snap");
+    SnapshotFile.save(sampleTasks(10), path.toString());
+
+    try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+      file.seek(file.length() - 1);
+      int last = file.read();
+      file.seek(file.length() - 1);
+      file.write(last ^ 0xFF);
+    }
+    assertThrows(DukeException.class, () -> SnapshotFile.load(path.toString()));
+  }
+
+  @Test
+  public void load_missingFile_returnsEmptyList() throws DukeException {
+    assertEquals(0, SnapshotFile.load(tempDir.resolve("none.snap").toString()).getSize());
+  }
+}
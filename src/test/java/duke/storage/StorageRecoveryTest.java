@@ -0,0 +1,150 @@
+package duke.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import duke.exception.DukeException;
+import duke.task.Recurrence;
+import duke.task.Task;
+import duke.task.TaskList;
+
+public class StorageRecoveryTest {
+  @TempDir
+  Path tempDir;
+
+  private static void addSampleTasks(TaskList tasks, int count) throws DukeException {
+    for (int i = 0; i < count; i++) {
+      tasks.addTask(new Task("sweep room " + i), false);
+      tasks.addTask(new Task("submit report " + i, "2026-11-01", Task.Type.DEADLINE), false);
+      tasks.addTask(new Task("dinner " + i, "home", Task.Type.EVENT), false);
+    }
+    tasks.addTask(new Task("water plants", Recurrence.parse("weekly on mon from 2026-10-19", LocalDate.now())), false);
+    tasks.mark(1);
+    tasks.setPriority(2, Task.Priority.HIGH);
+    tasks.addDependency(1, 0);
+  }
+
+  private Path savedFile(String name, int count) throws DukeException {
+    Path path = tempDir.resolve(name);
+    Storage storage = new Storage(path.toString());
+    addSampleTasks(storage.getTasks(), count);
+    storage.save();
+    return path;
+  }
+
+  @Test
+  public void save_tornWrite_keepsPreviousFile() throws Exception {
+    Path path = savedFile("duke.txt", 2);
+    FaultyDisk disk = new FaultyDisk();
+    Storage storage = new Storage(path.toString(), disk);
+    storage.getTasks().addTask(new Task("buy milk"), false);
+    disk.tearWritesAfter(10);
+
+    assertThrows(DukeException.class, storage::save);
+    Storage reloaded = new Storage(path.toString());
+    assertEquals(7, reloaded.getTasks().getSize());
+    assertTrue(reloaded.getRecoveryReport().isClean());
+  }
+
+  @Test
+  public void save_failedRename_keepsPreviousFile() throws Exception {
+    Path path = savedFile("duke.snap", 2);
+    FaultyDisk disk = new FaultyDisk();
+    Storage storage = new Storage(path.toString(), disk);
+    storage.getTasks().addTask(new Task("buy milk"), false);
+    disk.failMoves();
+
+    assertThrows(DukeException.class, storage::save);
+    assertTrue(storage.isDirty());
+    assertEquals(7, new Storage(path.toString()).getTasks().getSize());
+  }
+
+  @Test
+  public void load_unreadableFile_throwsDukeException() throws Exception {
+    Path path = savedFile("duke.txt", 1);
+    FaultyDisk disk = new FaultyDisk();
+    disk.failReads();
+    assertThrows(DukeException.class, () -> new Storage(path.toString(), disk));
+  }
+
+  @Test
+  public void load_damagedLines_salvagesTheRest() throws Exception {
+    Path path = tempDir.resolve("duke.txt");
+    String contents = String.join("\n",
+        "[T][ ] sweep room || Priority: NONE",
+        "",
+        "[D][ ] submit report",
+        "[X]",
+        "garbage",
+        "[T][ ] feed cat || Priority: URGENT",
+        "[R][ ] water plants (every: fortnightly)",
+        "[E][X] dinner (at: home) || Priority: HIGH",
+        "[T][ ] pay ren");
+    Files.write(path, contents.getBytes(StandardCharsets.UTF_8));
+
+    Storage storage = new Storage(path.toString());
+    RecoveryReport report = storage.getRecoveryReport();
+    assertEquals(3, storage.getTasks().getSize());
+    assertEquals(5, report.getProblemCount());
+    assertEquals("line 3: [D][ ] submit report", report.getProblems().get(0));
+    assertEquals(contents, Files.readString(Path.of(report.getBackupPath())));
+  }
+
+  @Test
+  public void load_truncatedAtEveryByte_neverFailsAndKeepsCompleteLines() throws Exception {
+    byte[] saved = Files.readAllBytes(savedFile("saved.txt", 3));
+    Path path = tempDir.resolve("duke.txt");
+    for (int length = 0; length <= saved.length; length++) {
+      byte[] torn = Arrays.copyOf(saved, length);
+      Files.write(path, torn);
+      int completeLines = 0;
+      for (byte b : torn) {
+        completeLines += b == '\n' ? 1 : 0;
+      }
+
+      Storage storage = new Storage(path.toString());
+      int loaded = storage.getTasks().getSize();
+      assertTrue(loaded >= completeLines && loaded <= completeLines + 1, "cut at byte " + length);
+      assertTrue(storage.getRecoveryReport().getProblemCount() <= 1, "cut at byte " + length);
+    }
+  }
+
+  @Test
+  public void load_damagedSnapshotBlock_salvagesOtherBlocks() throws Exception {
+    Path path = savedFile("duke.snap", 5000);
+    byte[] contents = Files.readAllBytes(path);
+    contents[contents.length - 1] ^= (byte) 0xFF;
+    Files.write(path, contents);
+
+    Storage storage = new Storage(path.toString());
+    RecoveryReport report = storage.getRecoveryReport();
+    assertEquals(1, report.getProblemCount());
+    assertTrue(report.getProblems().get(0).endsWith("failed its checksum"));
+    assertTrue(storage.getTasks().getSize() > 5000);
+    assertTrue(storage.getTasks().getSize() < 15001);
+    assertEquals("sweep room 0", storage.getTasks().getTasks().get(0).getDescription());
+  }
+
+  @Test
+  public void load_truncatedSnapshot_neverFails() throws Exception {
+    byte[] saved = Files.readAllBytes(savedFile("saved.snap", 2000));
+    Path path = tempDir.resolve("duke.snap");
+    for (int length = 0; length < saved.length; length += 97) {
+      Files.write(path, Arrays.copyOf(saved, length));
+      Storage storage = new Storage(path.toString());
+      assertTrue(storage.getTasks().getSize() < 6001, "cut at byte " + length);
+      assertFalse(length > 0 && storage.getRecoveryReport().isClean(), "cut at byte " + length);
+    }
+  }
+}
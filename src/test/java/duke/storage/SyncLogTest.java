@@ -0,0 +1,171 @@
+package duke.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import duke.exception.DukeException;
+import duke.task.Task;
+import duke.task.TaskList;
+
+public class SyncLogTest {
+  @TempDir
+  Path tempDir;
+
+  private WorkspaceManager newReplica(String directory) throws DukeException {
+    WorkspaceManager workspaces = new WorkspaceManager(tempDir.resolve(directory), 2, tasks -> { }, tasks -> { });
+    workspaces.open(WorkspaceManager.DEFAULT_WORKSPACE);
+    return workspaces;
+  }
+
+  @Test
+  public void sync_copiesNewTasksAndReadsOnlyTheTail() throws DukeException {
+    WorkspaceManager a = newReplica("a");
+    WorkspaceManager b = newReplica("b");
+    a.getCurrentTasks().addTask(new Task("buy milk"), false);
+    a.getCurrentTasks().addTask(new Task("project", "2026-11-02", Task.Type.DEADLINE), false);
+    a.saveAll();
+
+    assertEquals(2, b.syncCurrent(tempDir.resolve("a")));
+    assertEquals(a.getCurrentTasks().list(), b.getCurrentTasks().list());
+    assertEquals(0, b.syncCurrent(tempDir.resolve("a")));
+
+    // Changes that came from a are not applied to a again.
+    assertEquals(0, a.syncCurrent(tempDir.resolve("b")));
+  }
+
+  @Test
+  public void sync_concurrentChangesConverge() throws DukeException {
+    WorkspaceManager a = newReplica("a");
+    WorkspaceManager b = newReplica("b");
+    TaskList tasksA = a.getCurrentTasks();
+    tasksA.addTask(new Task("buy milk"), false);
+    tasksA.addTask(new Task("call mum"), false);
+    tasksA.addTask(new Task("water plants"), false);
+    a.saveAll();
+    b.syncCurrent(tempDir.resolve("a"));
+    TaskList tasksB = b.getCurrentTasks();
+
+    tasksA.setPriority(1, Task.Priority.LOW);
+    a.saveAll();
+    b.syncCurrent(tempDir.resolve("a"));
+
+    tasksA.mark(0);
+    tasksB.setPriority(1, Task.Priority.HIGH); // Made after seeing a's change, so it wins.
+    tasksB.deleteTaskByIndex(2);
+    tasksB.addTask(new Task("fold laundry"), false);
+    a.saveAll();
+    b.saveAll();
+
+    a.syncCurrent(tempDir.resolve("b"));
+    b.syncCurrent(tempDir.resolve("a"));
+
+    assertEquals(tasksA.list(), tasksB.list());
+    assertEquals(3, tasksA.getSize());
+    assertTrue(tasksA.getTasks().get(0).isDone());
+    assertEquals(Task.Priority.HIGH, tasksA.getTasks().get(1).getPriority());
+    assertEquals("fold laundry", tasksA.getTasks().get(2).getDescription());
+  }
+
+  @Test
+  public void reopen_keepsTaskIdentities() throws DukeException {
+    WorkspaceManager a = newReplica("a");
+    a.getCurrentTasks().addTask(new Task("buy milk"), false);
+    a.saveAll();
+    WorkspaceManager b = newReplica("b");
+    b.syncCurrent(tempDir.resolve("a"));
+    b.saveAll();
+
+    // Reloading both must not make the task look new to either of them.
+    WorkspaceManager reopenedA = newReplica("a");
+    WorkspaceManager reopenedB = newReplica("b");
+    assertEquals(0, reopenedB.syncCurrent(tempDir.resolve("a")));
+    assertEquals(0, reopenedA.syncCurrent(tempDir.resolve("b")));
+    assertEquals(1, reopenedA.getCurrentTasks().getSize());
+  }
+
+  @Test
+  public void checkpoint_shrinksLogAndKeepsSyncing() throws DukeException, IOException {
+    Path directoryA = tempDir.resolve("a");
+    Path directoryB = tempDir.resolve("b");
+    Files.createDirectories(directoryA);
+    Files.createDirectories(directoryB);
+    TaskList tasksA = new TaskList(new ArrayList<Task>());
+    TaskList tasksB = new TaskList(new ArrayList<Task>());
+    SyncLog logA = SyncLog.open(directoryA, "main", tasksA, 2048);
+    SyncLog logB = SyncLog.open(directoryB, "main", tasksB, 2048);
+    tasksA.addTask(new Task("buy milk"), false);
+    tasksA.addTask(new Task("call mum"), false);
+    logA.flush();
+    logB.pull(directoryA, "main");
+
+    // b sees the second task before a deletes it and checkpoints its log.
+    tasksA.deleteTaskByIndex(1);
+    for (int i = 0; i < 200; i++) {
+      tasksA.addTask(new Task("chore " + i), false);
+      tasksA.mark(0);
+      tasksA.unmark(0);
+      tasksA.deleteTaskByIndex(1);
+      logA.flush();
+    }
+    tasksA.setPriority(0, Task.Priority.HIGH);
+    logA.close();
+
+    Path logPath = directoryA.resolve("main" + SyncLog.LOG_EXTENSION);
+    assertTrue(Files.exists(directoryA.resolve("main" + SyncLog.CHECKPOINT_EXTENSION)));
+    assertTrue(Files.readAllLines(logPath).get(0).startsWith("#checkpoint "));
+    assertTrue(Files.size(logPath) < 3 * 2048 + 200 * 64, "log size: " + Files.size(logPath));
+
+    logB.pull(directoryA, "main");
+    assertEquals(tasksA.list(), tasksB.list());
+    assertEquals(Task.Priority.HIGH, tasksB.getTasks().get(0).getPriority());
+
+    // Reopened from the checkpoint, a still knows what it has seen and keeps counting its changes.
+    SyncLog reopenedA = SyncLog.open(directoryA, "main", tasksA, 2048);
+    tasksA.mark(0);
+    reopenedA.flush();
+    logB.flush();
+    assertEquals(0, reopenedA.pull(directoryB, "main"));
+    assertEquals(1, logB.pull(directoryA, "main"));
+    assertEquals(tasksA.list(), tasksB.list());
+  }
+
+  @Test
+  public void checkpoint_deletionSeenBeforeAdd_staysDeleted() throws DukeException, IOException {
+    Path[] directories = new Path[3];
+    TaskList[] tasks = new TaskList[3];
+    SyncLog[] logs = new SyncLog[3];
+    for (int i = 0; i < 3; i++) {
+      directories[i] = Files.createDirectories(tempDir.resolve("abc".substring(i, i + 1)));
+      tasks[i] = new TaskList(new ArrayList<Task>());
+      logs[i] = SyncLog.open(directories[i], "main", tasks[i], 1); // Checkpoints on every flush.
+    }
+    tasks[0].addTask(new Task("x"), false);
+    logs[0].flush();
+    logs[1].pull(directories[0], "main");
+    tasks[1].deleteTaskByIndex(0);
+    logs[1].flush();
+    logs[2].flush();
+
+    // b's log now holds only the deletion, which c hears of before the task itself.
+    logs[2].pull(directories[1], "main");
+    logs[2].pull(directories[0], "main");
+    logs[0].pull(directories[1], "main");
+    assertEquals(0, tasks[0].getSize());
+    assertEquals(0, tasks[1].getSize());
+    assertEquals(0, tasks[2].getSize());
+
+    // Reopened from its checkpoint, c still remembers the deletion.
+    logs[2].close();
+    logs[2] = SyncLog.open(directories[2], "main", tasks[2], 1);
+    logs[2].pull(directories[0], "main");
+    assertEquals(0, tasks[2].getSize());
+  }
+}
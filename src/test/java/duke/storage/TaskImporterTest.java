@@ -0,0 +1,101 @@
+package duke.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import duke.exception.DukeException;
+import duke.task.Recurrence;
+import duke.task.Task;
+import duke.task.TaskList;
+
+public class TaskImporterTest {
+  @TempDir
+  Path tempDir;
+
+  private TaskList sampleTasks() throws DukeException {
+    TaskList tasks = new TaskList(new ArrayList<Task>());
+    for (int i = 0; i < 2500; i++) {
+      tasks.addTask(new Task("sweep, \"mop\" room " + i), false);
+    }
+    tasks.addTask(new Task("submit report", "2026-11-01", Task.Type.DEADLINE), false);
+    tasks.addTask(new Task("dinner", "mum's place", Task.Type.EVENT), false);
+    tasks.addTask(new Task("water plants", Recurrence.parse("weekly on mon from 2026-10-19", LocalDate.now())), false);
+    tasks.updateOccurrence(2502, LocalDate.of(2026, 10, 26), true);
+    tasks.mark(2500);
+    tasks.setPriority(2501, Task.Priority.HIGH);
+    return tasks;
+  }
+
+  private void assertRoundTrips(TaskFormat format, String fileName) throws DukeException {
+    TaskList tasks = sampleTasks();
+    Path path = tempDir.resolve(fileName);
+    assertEquals(tasks.getSize(), TaskExporter.export(tasks, path, format));
+
+    TaskList imported = new TaskList(new ArrayList<Task>());
+    TaskImporter.Result result = TaskImporter.importFile(imported, path, format);
+    assertEquals(0, result.getErrorCount());
+    assertEquals(tasks.list(), imported.list());
+  }
+
+  @Test
+  public void csv_roundTrips() throws DukeException {
+    assertRoundTrips(TaskFormat.CSV, "tasks.csv");
+  }
+
+  @Test
+  public void json_roundTrips() throws DukeException {
+    assertRoundTrips(TaskFormat.JSON, "tasks.json");
+  }
+
+  @Test
+  public void importFile_badLines_reportedAndSkipped() throws Exception {
+    Path path = tempDir.resolve("tasks.csv");
+    Files.write(path, List.of(
+        "type,done,priority,description,detail,done_on",
+        "todo,false,none,sweep room,,",
+        "chore,false,none,mystery,,",
+        "todo,maybe,none,eat,,",
+        "\"unterminated,false",
+        "deadline,true,high,pay bills,2026-10-21,"));
+
+    TaskList tasks = new TaskList(new ArrayList<Task>());
+    TaskImporter.Result result = TaskImporter.importFile(tasks, path, TaskFormat.CSV);
+    assertEquals(2, result.getImportedCount());
+    assertEquals(3, result.getErrorCount());
+    assertTrue(result.getErrors().get(0).startsWith("line 3: "));
+    assertTrue(tasks.getTasks().get(1).isDone());
+  }
+
+  @Test
+  public void csv_lineBreakFromJson_roundTrips() throws Exception {
+    Path json = tempDir.resolve("tasks.json");
+    Files.write(json, List.of(
+        "[",
+        "{\"type\":\"todo\",\"done\":false,\"priority\":\"none\",\"description\":\"buy:\\nmilk, eggs\","
+            + "\"detail\":\"\",\"done_on\":\"\"}",
+        ",{\"type\":\"todo\",\"done\":false,\"priority\":\"none\",\"description\":\"C:\\\\n, not a break\","
+            + "\"detail\":\"\",\"done_on\":\"\"}",
+        "]"));
+    TaskList tasks = new TaskList(new ArrayList<Task>());
+    TaskImporter.importFile(tasks, json, TaskFormat.JSON);
+    assertEquals("buy:\nmilk, eggs", tasks.getTasks().get(0).getDescription());
+    assertEquals("C:\\n, not a break", tasks.getTasks().get(1).getDescription());
+
+    Path csv = tempDir.resolve("tasks.csv");
+    TaskExporter.export(tasks, csv, TaskFormat.CSV);
+    assertEquals(3, Files.readAllLines(csv).size());
+    TaskList imported = new TaskList(new ArrayList<Task>());
+    TaskImporter.Result result = TaskImporter.importFile(imported, csv, TaskFormat.CSV);
+    assertEquals(0, result.getErrorCount());
+    assertEquals(tasks.list(), imported.list());
+  }
+}
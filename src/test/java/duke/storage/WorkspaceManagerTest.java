@@ -0,0 +1,69 @@
+package duke.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import duke.exception.DukeException;
+import duke.task.Task;
+import duke.task.TaskList;
+
+public class WorkspaceManagerTest {
+  @TempDir
+  Path tempDir;
+
+  private final List<TaskList> loaded = new ArrayList<>();
+  private final List<TaskList> unloaded = new ArrayList<>();
+
+  private WorkspaceManager newManager(int maxResident) {
+    return new WorkspaceManager(tempDir.resolve("data"), maxResident, loaded::add, unloaded::add);
+  }
+
+  @Test
+  public void open_loadsLazilyAndEvictsLeastRecentlyUsed() throws DukeException {
+    WorkspaceManager workspaces = newManager(2);
+    assertTrue(loaded.isEmpty());
+
+    workspaces.open("work").addTask(new Task("write report"), false);
+    workspaces.open("home");
+    workspaces.open("work");
+    workspaces.open("gym");
+
+    assertEquals(3, loaded.size());
+    assertEquals(1, unloaded.size());
+    assertFalse(workspaces.isResident("home"));
+    assertTrue(workspaces.isResident("work"));
+    assertEquals(List.of("gym", "home", "work"), workspaces.getNames());
+  }
+
+  @Test
+  public void eviction_savesDirtyWorkspace() throws DukeException {
+    WorkspaceManager workspaces = newManager(1);
+    workspaces.open("work").addTask(new Task("write report"), false);
+    workspaces.open("home");
+    assertTrue(Files.exists(tempDir.resolve("data").resolve("work.txt")));
+
+    TaskList reloaded = workspaces.open("work");
+    assertEquals(1, reloaded.getSize());
+    assertEquals("write report", reloaded.getTasks().get(0).getDescription());
+  }
+
+  @Test
+  public void saveAll_onlyWritesDirtyWorkspaces() throws Exception {
+    WorkspaceManager workspaces = newManager(4);
+    workspaces.open("home");
+    Path homeFile = tempDir.resolve("data").resolve("home.txt");
+    Files.writeString(homeFile, "[T][ ] edited elsewhere || Priority: NONE\n");
+
+    workspaces.saveAll();
+    assertEquals("[T][ ] edited elsewhere || Priority: NONE\n", Files.readString(homeFile));
+  }
+}
@@ -0,0 +1,92 @@
+package duke.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import duke.storage.Storage;
+
+public class DateTimeParserTest {
+  private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 19, 10, 30); // A Monday.
+
+  @TempDir
+  Path tempDir;
+
+  private static String parse(String text, LocalDateTime now) {
+    DateTimeParser parser = new DateTimeParser();
+    if (!parser.parse(text, now)) {
+      return null;
+    }
+    return parser.hasTime() ? parser.getDateTime().toString() : parser.getDateTime().toLocalDate().toString();
+  }
+
+  @Test
+  public void parse_phrases_resolvedFromNow() {
+    String[][] cases = {
+      {"next fri 5pm", "2026-10-30T17:00"},
+      {"Fri", "2026-10-23"},
+      {"mon", "2026-10-19"},
+      {"this sunday at 9:15 pm", "2026-10-25T21:15"},
+      {"in 3 days", "2026-10-22"},
+      {"in 2 hours", "2026-10-19T12:30"},
+      {"in 20 hrs", "2026-10-20T06:30"},
+      {"2026-10-20 14:00", "2026-10-20T14:00"},
+      {"2026-10-20T14:00", "2026-10-20T14:00"},
+      {"20/10/2026", "2026-10-20"},
+      {"Oct 20 2026 17:00", "2026-10-20T17:00"},
+      {"oct 20", "2026-10-20"},
+      {"jan 5", "2027-01-05"},
+      {"5 Nov, 8am", "2026-11-05T08:00"},
+      {"tomorrow 9am", "2026-10-20T09:00"},
+      {"12am", "2026-10-19T00:00"},
+      {"noon tmr", "2026-10-20T12:00"},
+      {"next week", "2026-10-26"},
+      {"next month", "2026-11-19"},
+      {"in 4 months", "2027-02-19"},
+      {"in 7973 years", "9999-10-19"},
+    };
+    for (String[] testCase : cases) {
+      assertEquals(testCase[1], parse(testCase[0], NOW), testCase[0]);
+    }
+    assertEquals("2028-02-29", parse("in 1 month", LocalDateTime.of(2028, 1, 31, 9, 0)));
+    assertEquals("2029-02-28", parse("in 1 year", LocalDateTime.of(2028, 2, 29, 9, 0)));
+  }
+
+  @Test
+  public void parse_notDates_rejected() {
+    String[] texts = {"home", "Caf\u00e9 Home", "room 12", "May", "2026-02-30", "13pm", "25:00", "5", "next",
+        "in 3", "tomorrow tomorrow", "fri 5pm 6pm", "2026-10-20 extra", "1234567890 days", "in 7974 years",
+        "in 10000 years", "in 10000 years 5pm", ""};
+    for (String text : texts) {
+      assertEquals(null, parse(text, NOW), text);
+    }
+    assertEquals("2026-10-20", parse("2026-10-20", null));
+    assertEquals("2026-10-20T17:00", parse("Oct 20 2026 17:00", null));
+    assertEquals(null, parse("tomorrow", null));
+    assertEquals(null, parse("oct 20", null));
+    assertEquals(null, parse("5pm", null));
+  }
+
+  @Test
+  public void task_eventWithTime_savedAndLoaded() throws Exception {
+    String path = tempDir.resolve("duke.txt").toString();
+    Storage storage = new Storage(path);
+    storage.getTasks().addTask(new Task("meeting", "next fri 5pm", Task.Type.EVENT, NOW), false);
+    storage.getTasks().addTask(new Task("dinner", "home", Task.Type.EVENT, NOW), false);
+    storage.save();
+
+    TaskList loaded = new Storage(path).getTasks();
+    Task meeting = loaded.getTasks().get(0);
+    assertEquals("[E][ ] meeting (at: Oct 30 2026 17:00) || Priority: NONE", meeting.toString());
+    assertEquals(LocalDateTime.of(2026, 10, 30, 17, 0), meeting.getDateTime());
+    assertTrue(meeting.hasTime());
+    assertEquals(null, loaded.getTasks().get(1).getDate());
+    assertFalse(loaded.getTasks().get(1).hasTime());
+  }
+}
@@ -0,0 +1,37 @@
+package duke.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class ParallelScanTest {
+  private List<Task> sampleTasks() {
+    List<Task> tasks = new ArrayList<>();
+    for (int i = 0; i < 10000; i++) {
+      tasks.add(new Task("chore " + i));
+    }
+    return tasks;
+  }
+
+  @Test
+  public void filter_parallel_matchesSequentialOrder() {
+    List<Task> tasks = sampleTasks();
+    assertEquals(ParallelScan.filter(tasks, Integer.MAX_VALUE, task -> task.getDescription().endsWith("7")),
+        ParallelScan.filter(tasks, 16, task -> task.getDescription().endsWith("7")));
+  }
+
+  @Test
+  public void count_parallel_matchesSequential() {
+    List<Task> tasks = sampleTasks();
+    assertEquals(1000, ParallelScan.count(tasks, 16, task -> task.getDescription().endsWith("3")));
+  }
+
+  @Test
+  public void render_parallel_matchesSequential() {
+    List<Task> tasks = sampleTasks();
+    assertEquals(ParallelScan.render(tasks, Integer.MAX_VALUE), ParallelScan.render(tasks, 16));
+  }
+}
@@ -0,0 +1,76 @@
+package duke.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import duke.exception.DukeException;
+
+public class RecurrenceTest {
+  private static final LocalDate TODAY = LocalDate.of(2026, 10, 19); // A Monday.
+
+  private List<LocalDate> expand(String rule, LocalDate from, LocalDate to) throws DukeException {
+    List<LocalDate> dates = new ArrayList<>();
+    Iterator<LocalDate> occurrences = Recurrence.parse(rule, TODAY).occurrencesBetween(from, to);
+    occurrences.forEachRemaining(dates::add);
+    return dates;
+  }
+
+  @Test
+  public void daily_withInterval_skipsDays() throws DukeException {
+    List<LocalDate> dates = expand("3 days", LocalDate.of(2026, 10, 20), LocalDate.of(2026, 10, 28));
+    assertEquals(List.of(LocalDate.of(2026, 10, 22), LocalDate.of(2026, 10, 25), LocalDate.of(2026, 10, 28)), dates);
+  }
+
+  @Test
+  public void weekly_onDays_farInTheFuture() throws DukeException {
+    List<LocalDate> dates = expand("every 2 weeks on mon,thu", LocalDate.of(2036, 1, 1), LocalDate.of(2036, 1, 14));
+    assertEquals(2, dates.size());
+    for (LocalDate date : dates) {
+      assertTrue(date.getDayOfWeek().getValue() == 1 || date.getDayOfWeek().getValue() == 4);
+    }
+  }
+
+  @Test
+  public void monthly_clampsToShortMonths_andStopsAtUntil() throws DukeException {
+    List<LocalDate> dates = expand("monthly from 2027-01-31 until 2027-04-01", TODAY, LocalDate.of(2027, 12, 31));
+    assertEquals(List.of(LocalDate.of(2027, 1, 31), LocalDate.of(2027, 2, 28), LocalDate.of(2027, 3, 31)), dates);
+    assertNull(Recurrence.parse("monthly until 2026-11-01", TODAY).nextOnOrAfter(LocalDate.of(2026, 11, 2)));
+  }
+
+  @Test
+  public void parse_invalidRule_throws() {
+    assertThrows(DukeException.class, () -> Recurrence.parse("fortnightly", TODAY));
+    assertThrows(DukeException.class, () -> Recurrence.parse("daily on mon", TODAY));
+    assertThrows(DukeException.class, () -> Recurrence.parse("weekly from tomorrow", TODAY));
+  }
+
+  @Test
+  public void toString_parsesBackToSameRule() throws DukeException {
+    Recurrence rule = Recurrence.parse("2 weeks on thu,mon from 2026-10-19 until 2027-01-01", TODAY);
+    assertEquals("2 weeks on mon,thu from 2026-10-19 until 2027-01-01", rule.toString());
+    assertEquals(rule.toString(), Recurrence.parse(rule.toString(), TODAY).toString());
+  }
+
+  @Test
+  public void updateOccurrence_recordsOnlyThatDate() throws DukeException {
+    TaskList tasks = new TaskList(new ArrayList<Task>());
+    tasks.addTask(new Task("water plants", Recurrence.parse("daily", TODAY)), false);
+    tasks.updateOccurrence(0, LocalDate.of(2026, 10, 21), true);
+
+    Task task = tasks.getTasks().get(0);
+    assertTrue(task.isDoneOn(LocalDate.of(2026, 10, 21)));
+    assertFalse(task.isDoneOn(LocalDate.of(2026, 10, 22)));
+    assertFalse(task.isDone());
+    assertTrue(task.toString().contains("(done on: 2026-10-21)"));
+  }
+}
@@ -0,0 +1,94 @@
+package duke.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+import duke.task.Task.Priority;
+
+public class SortedViewTest {
+
+  @Test
+  public void tree_matchesSortedSet() {
+    Random random = new Random(43);
+    OrderStatisticTree<Integer> tree = new OrderStatisticTree<>(Comparator.naturalOrder());
+    TreeSet<Integer> expected = new TreeSet<>();
+    for (int i = 0; i < 5000; i++) {
+      int value = random.nextInt(1000);
+      if (random.nextBoolean()) {
+        assertEquals(expected.add(value), tree.add(value));
+      } else {
+        assertEquals(expected.remove(value), tree.remove(value));
+      }
+    }
+    List<Integer> sorted = new ArrayList<>(expected);
+    assertEquals(sorted.size(), tree.size());
+    for (int rank = 0; rank < sorted.size(); rank += 7) {
+      assertEquals(sorted.get(rank), tree.get(rank));
+    }
+    assertEquals(sorted.subList(100, 120), tree.range(100, 20));
+    assertEquals(sorted.subList(sorted.size() - 3, sorted.size()), tree.range(sorted.size() - 3, 20));
+    assertTrue(tree.range(sorted.size(), 20).isEmpty());
+    assertFalse(tree.contains(-1));
+  }
+
+  @Test
+  public void pages_followChangesToTheTasks() {
+    Random random = new Random(7);
+    TaskList tasks = new TaskList(new ArrayList<Task>());
+    for (int i = 0; i < 300; i++) {
+      if (random.nextBoolean()) {
+        tasks.addTask(new Task("chore " + i), false);
+      } else {
+        String time = random.nextBoolean() ? " " + (10 + random.nextInt(10)) + ":00" : "";
+        tasks.addTask(new Task("bill " + i, LocalDate.of(2026, 11, 1).plusDays(random.nextInt(60)) + time,
+            Task.Type.DEADLINE), false);
+      }
+    }
+    SortedView byPriority = tasks.getSortedView(SortedView.Key.PRIORITY);
+    SortedView byDate = tasks.getSortedView(SortedView.Key.DATE);
+    SortedView byStatus = tasks.getSortedView(SortedView.Key.STATUS);
+    for (int step = 0; step < 500; step++) {
+      int index = random.nextInt(tasks.getSize());
+      int operation = random.nextInt(4);
+      if (operation == 0) {
+        tasks.mark(index);
+      } else if (operation == 1) {
+        tasks.unmark(index);
+      } else if (operation == 2) {
+        tasks.setPriority(index, Priority.values()[random.nextInt(Priority.values().length)]);
+      } else {
+        tasks.deleteTaskByIndex(index);
+        tasks.addTask(new Task("chore again " + step), false);
+      }
+    }
+
+    for (SortedView.Key key : SortedView.Key.values()) {
+      List<Task> sorted = new ArrayList<>(tasks.getTasks());
+      if (key == SortedView.Key.PRIORITY) {
+        sorted.sort(Comparator.comparing(Task::getPriority).thenComparingInt(Task::getId));
+      } else if (key == SortedView.Key.DATE) {
+        sorted.sort(Comparator.comparing(Task::getDateTime,
+            Comparator.nullsLast(Comparator.<LocalDateTime>naturalOrder())).thenComparingInt(Task::getId));
+      } else {
+        sorted.sort(Comparator.comparing(Task::isDone).thenComparingInt(Task::getId));
+      }
+      SortedView view = key == SortedView.Key.PRIORITY ? byPriority : key == SortedView.Key.DATE ? byDate : byStatus;
+      assertEquals(sorted.subList(0, 20), view.getPage(1, 20));
+      assertEquals(sorted.subList(280, 300), view.getPage(15, 20));
+      assertTrue(view.getPage(16, 20).isEmpty());
+      assertTrue(view.getPage(858993460, 20).isEmpty()); // (page - 1) * 20 overflows an int.
+      assertEquals(300, view.size());
+    }
+  }
+}
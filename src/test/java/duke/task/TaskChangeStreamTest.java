@@ -0,0 +1,132 @@
+package duke.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.Flow;
+
+import org.junit.jupiter.api.Test;
+
+public class TaskChangeStreamTest {
+
+  /**
+   * Keeps a copy of the tasks up to date from the changes it receives.
+   */
+  private static class Mirror implements Flow.Subscriber<TaskChange> {
+    final TreeMap<Integer, String> rows = new TreeMap<>();
+    final List<TaskChange> received = new ArrayList<>();
+    Flow.Subscription subscription;
+    private final long initialRequest;
+
+    Mirror(long initialRequest) {
+      this.initialRequest = initialRequest;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+      this.subscription = subscription;
+      subscription.request(initialRequest);
+    }
+
+    @Override
+    public void onNext(TaskChange change) {
+      received.add(change);
+      switch (change.getKind()) {
+      case RESET:
+        rows.clear();
+        for (TaskChange added : change.getSnapshot()) {
+          rows.put(added.getTaskId(), added.getText());
+        }
+        break;
+      case REMOVED:
+        rows.remove(change.getTaskId());
+        break;
+      default:
+        rows.put(change.getTaskId(), change.getText());
+      }
+    }
+
+    @Override
+    public void onError(Throwable error) {
+      throw new AssertionError(error);
+    }
+
+    @Override
+    public void onComplete() {
+    }
+  }
+
+  private static List<String> textsOf(TaskList tasks) {
+    List<String> texts = new ArrayList<>();
+    for (Task task : tasks.getTasks()) {
+      texts.add(task.toString());
+    }
+    return texts;
+  }
+
+  private static TaskChangeStream streamOf(TaskList tasks, int bufferSize) {
+    TaskChangeStream stream = new TaskChangeStream(tasks.getTasks(), Runnable::run, bufferSize);
+    tasks.addListener(stream);
+    return stream;
+  }
+
+  @Test
+  public void subscriber_randomChanges_keepsUp() {
+    TaskList tasks = new TaskList(new ArrayList<Task>());
+    tasks.addTask(new Task("sweep room"), false);
+    Mirror mirror = new Mirror(Long.MAX_VALUE);
+    streamOf(tasks, 16).subscribe(mirror);
+
+    Random random = new Random(50);
+    for (int i = 0; i < 500; i++) {
+      int operation = random.nextInt(4);
+      if (tasks.getSize() < 3 || operation == 0) {
+        tasks.addTask(new Task("chore " + i), false);
+      } else if (operation == 1) {
+        tasks.deleteTaskByIndex(random.nextInt(tasks.getSize()));
+      } else if (operation == 2) {
+        tasks.mark(random.nextInt(tasks.getSize()));
+      } else {
+        tasks.setPriority(random.nextInt(tasks.getSize()), Task.Priority.HIGH);
+      }
+      assertEquals(textsOf(tasks), new ArrayList<>(mirror.rows.values()));
+    }
+    assertEquals(1, mirror.received.stream().filter(change -> change.getKind() == TaskChange.Kind.RESET).count());
+  }
+
+  @Test
+  public void subscriber_fallsBehind_receivesResetThenCancels() {
+    TaskList tasks = new TaskList(new ArrayList<Task>());
+    TaskChangeStream stream = streamOf(tasks, 4);
+    Mirror mirror = new Mirror(2);
+    stream.subscribe(mirror);
+    assertEquals(1, mirror.received.size());
+
+    tasks.addTask(new Task("buy milk"), false);
+    assertEquals(TaskChange.Kind.ADDED, mirror.received.get(1).getKind());
+    for (int i = 0; i < 10; i++) {
+      tasks.addTask(new Task("chore " + i), false);
+    }
+    tasks.mark(0);
+    assertEquals(2, mirror.received.size());
+
+    mirror.subscription.request(10);
+    assertEquals(TaskChange.Kind.RESET, mirror.received.get(2).getKind());
+    assertTrue(mirror.received.size() <= 2 + 4, "buffered: " + (mirror.received.size() - 2));
+    assertEquals(textsOf(tasks), new ArrayList<>(mirror.rows.values()));
+    int receivedBefore = mirror.received.size();
+    tasks.unmark(0);
+    assertEquals(TaskChange.Kind.UPDATED, mirror.received.get(receivedBefore).getKind());
+    assertEquals(textsOf(tasks), new ArrayList<>(mirror.rows.values()));
+
+    mirror.subscription.cancel();
+    tasks.addTask(new Task("sleep"), false);
+    assertEquals(receivedBefore + 1, mirror.received.size());
+    assertEquals(0, stream.getSubscriberCount());
+    assertTrue(mirror.rows.size() < tasks.getSize());
+  }
+}
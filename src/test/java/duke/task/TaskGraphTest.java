@@ -0,0 +1,88 @@
+package duke.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import duke.exception.DukeException;
+import duke.storage.Storage;
+
+public class TaskGraphTest {
+  @TempDir
+  Path tempDir;
+
+  private static TaskList newTasks(int count) {
+    TaskList tasks = new TaskList(new ArrayList<Task>());
+    for (int i = 1; i <= count; i++) {
+      tasks.addTask(new Task("step " + i), false);
+    }
+    return tasks;
+  }
+
+  private static List<String> readyDescriptions(TaskList tasks) {
+    List<String> descriptions = new ArrayList<>();
+    for (Task task : tasks.getGraph().getReady()) {
+      descriptions.add(task.getDescription());
+    }
+    return descriptions;
+  }
+
+  @Test
+  public void ready_followsMarksAndDeletes() throws DukeException {
+    TaskList tasks = newTasks(4);
+    tasks.addDependency(2, 0); // step 3 waits on step 1
+    tasks.addDependency(2, 1); // and on step 2
+    tasks.addDependency(3, 2); // step 4 waits on step 3
+    assertEquals(List.of("step 1", "step 2"), readyDescriptions(tasks));
+
+    tasks.mark(0);
+    assertEquals(List.of("step 2"), readyDescriptions(tasks));
+    tasks.mark(1);
+    assertEquals(List.of("step 3"), readyDescriptions(tasks));
+    tasks.unmark(0);
+    assertEquals(List.of("step 1"), readyDescriptions(tasks));
+
+    tasks.deleteTaskByIndex(0);
+    assertEquals(List.of("step 3"), readyDescriptions(tasks));
+    tasks.addTask(new Task("step 5"), false);
+    assertEquals(List.of("step 3", "step 5"), readyDescriptions(tasks));
+  }
+
+  @Test
+  public void addDependency_rejectsCycles() throws DukeException {
+    TaskList tasks = newTasks(5);
+    assertThrows(DukeException.class, () -> tasks.addDependency(0, 0));
+    tasks.addDependency(0, 1);
+    tasks.addDependency(1, 2);
+    tasks.addDependency(3, 0);
+    assertThrows(DukeException.class, () -> tasks.addDependency(2, 0));
+    assertThrows(DukeException.class, () -> tasks.addDependency(2, 3));
+
+    // A task seen last can still become the first prerequisite of the chain.
+    tasks.addDependency(2, 4);
+    assertThrows(DukeException.class, () -> tasks.addDependency(4, 3));
+    assertEquals(List.of("step 5"), readyDescriptions(tasks));
+  }
+
+  @Test
+  public void dependencies_surviveSaveAndLoad() throws DukeException {
+    String filePath = tempDir.resolve("duke.txt").toString();
+    Storage storage = new Storage(filePath);
+    TaskList tasks = storage.getTasks();
+    tasks.addTask(new Task("buy paint"), false);
+    tasks.addTask(new Task("paint fence"), false);
+    tasks.addDependency(1, 0);
+    storage.save();
+
+    TaskList loaded = new Storage(filePath).getTasks();
+    assertEquals(tasks.list(), loaded.list());
+    assertEquals(List.of("buy paint"), readyDescriptions(loaded));
+    assertEquals(1, loaded.getGraph().getBlockerCount(loaded.getTasks().get(1)));
+  }
+}
@@ -0,0 +1,94 @@
+package duke.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import duke.exception.DukeException;
+
+public class TaskHistoryTest {
+  private static final LocalDateTime START = LocalDateTime.of(2026, 10, 18, 9, 0);
+
+  @Test
+  public void versions_afterChanges_keepEarlierStates() throws DukeException {
+    TaskList tasks = new TaskList(new ArrayList<Task>());
+    tasks.addTask(new Task("sweep room"), false);
+    tasks.addTask(new Task("buy milk"), false);
+    TaskHistory history = new TaskHistory(tasks.getTasks(), START);
+    tasks.addListener(history);
+
+    tasks.mark(0);
+    history.commit(START.plusHours(1));
+    tasks.deleteTaskByIndex(1);
+    tasks.addTask(new Task("pay rent"), false);
+    history.commit(START.plusDays(1));
+    assertFalse(history.commit(START.plusDays(2)));
+
+    LocalDateTime now = START.plusDays(1).plusHours(1);
+    assertEquals(List.of("[T][ ] sweep room || Priority: NONE", "[T][ ] buy milk || Priority: NONE"),
+        history.find("2026-10-18T09:30", now).getTasks());
+    assertEquals(List.of("[T][X] sweep room || Priority: NONE", "[T][ ] buy milk || Priority: NONE"),
+        history.find("yesterday", now).getTasks());
+    assertSame(history.getLatest(), history.find("now", now));
+    assertEquals(1, history.find("-1", now).getNumber());
+
+    List<String> changes = history.find("-2", now).diff(history.getLatest());
+    assertEquals(List.of(
+        "~ [T][ ] sweep room || Priority: NONE\n  -> [T][X] sweep room || Priority: NONE",
+        "- [T][ ] buy milk || Priority: NONE",
+        "+ [T][ ] pay rent || Priority: NONE"), changes);
+    assertThrows(DukeException.class, () -> history.find("2026-10-17", now));
+    assertThrows(DukeException.class, () -> history.find("last week", now));
+  }
+
+  @Test
+  public void persistentArray_randomSets_oldVersionsUnchanged() {
+    Random random = new Random(47);
+    List<PersistentArray<Integer>> versions = new ArrayList<>();
+    List<List<Integer>> expected = new ArrayList<>();
+    PersistentArray<Integer> array = PersistentArray.empty();
+    List<Integer> model = new ArrayList<>();
+    for (int round = 0; round < 2000; round++) {
+      int index = random.nextInt(round < 1000 ? 50 : 40000);
+      Integer value = random.nextInt(4) == 0 ? null : round;
+      array = array.set(index, value);
+      while (model.size() <= index) {
+        model.add(null);
+      }
+      model.set(index, value);
+      if (round % 100 == 0) {
+        versions.add(array);
+        expected.add(new ArrayList<>(model));
+      }
+    }
+    for (int v = 0; v < versions.size(); v++) {
+      List<Integer> values = new ArrayList<>();
+      for (Integer value : expected.get(v)) {
+        if (value != null) {
+          values.add(value);
+        }
+      }
+      assertEquals(values, versions.get(v).values());
+    }
+    assertNull(array.get(Integer.MAX_VALUE));
+
+    List<Integer> changed = new ArrayList<>();
+    PersistentArray.diff(versions.get(5), versions.get(6), (index, before, after) -> changed.add(index));
+    List<Integer> naive = new ArrayList<>();
+    for (int i = 0; i < 40000; i++) {
+      if (versions.get(5).get(i) != versions.get(6).get(i)) {
+        naive.add(i);
+      }
+    }
+    assertEquals(naive, changed);
+  }
+}
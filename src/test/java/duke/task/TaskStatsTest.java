@@ -0,0 +1,98 @@
+package duke.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+
+import duke.task.Task.Priority;
+import duke.task.Task.Type;
+
+public class TaskStatsTest {
+
+  private static final LocalDate TODAY = LocalDate.of(2026, 10, 19);
+
+  private static Task randomTask(Random random, int n) {
+    switch (random.nextInt(3)) {
+    case 0:
+      return new Task("chore " + n);
+    case 1:
+      return new Task("visit " + n, "grandma's", Type.EVENT);
+    default:
+      return new Task("pay bill " + n, TODAY.plusDays(random.nextInt(60) - 30).toString(), Type.DEADLINE);
+    }
+  }
+
+  private static void assertMatchesRecount(TaskList tasks) {
+    TaskStats stats = tasks.getStats();
+    for (Type type : Type.values()) {
+      for (Priority priority : Priority.values()) {
+        for (boolean isDone : new boolean[] {false, true}) {
+          long expected = tasks.count(task -> task.getType() == type && task.getPriority() == priority
+              && task.isDone() == isDone);
+          assertEquals(expected, stats.count(type, priority, isDone), type + " " + priority + " " + isDone);
+        }
+      }
+    }
+    assertEquals(tasks.getSize(), stats.count(null, null, null));
+
+    TreeMap<LocalDate, Integer> perWeek = new TreeMap<>();
+    int overdue = 0;
+    for (Task task : tasks.getTasks()) {
+      if (task.getType() == Type.DEADLINE) {
+        perWeek.merge(TaskStats.weekOf(task.getDate()), 1, Integer::sum);
+        if (!task.isDone() && task.getDate().isBefore(TODAY)) {
+          overdue++;
+        }
+      }
+    }
+    assertEquals(perWeek, stats.getDeadlinesPerWeek());
+    assertEquals(overdue, stats.countOverdue(TODAY));
+  }
+
+  @Test
+  public void counters_matchFullRecountAfterRandomChanges() {
+    Random random = new Random(39);
+    TaskList tasks = new TaskList(new ArrayList<Task>());
+    for (int step = 0; step < 2000; step++) {
+      int operation = random.nextInt(5);
+      if (tasks.getSize() == 0 || operation == 0) {
+        tasks.addTask(randomTask(random, step), false);
+        continue;
+      }
+      int index = random.nextInt(tasks.getSize());
+      if (operation == 1) {
+        tasks.deleteTaskByIndex(index);
+      } else if (operation == 2) {
+        tasks.mark(index);
+      } else if (operation == 3) {
+        tasks.unmark(index);
+      } else {
+        tasks.setPriority(index, Priority.values()[random.nextInt(Priority.values().length)]);
+      }
+      if (step % 100 == 0) {
+        assertMatchesRecount(tasks);
+      }
+    }
+    assertMatchesRecount(tasks);
+  }
+
+  @Test
+  public void counters_includeTasksGivenAtConstruction() {
+    ArrayList<Task> initial = new ArrayList<>();
+    initial.add(new Task("sweep"));
+    initial.add(new Task("pay rent", "2026-10-20", Type.DEADLINE));
+    initial.add(new Task("pay tax", "2026-10-25", Type.DEADLINE));
+    initial.get(0).updateStatus(true);
+    TaskList tasks = new TaskList(initial);
+
+    assertEquals(1, tasks.getStats().count(null, null, true));
+    assertEquals(2, tasks.getStats().count(Type.DEADLINE, Priority.NONE, false));
+    assertEquals(Integer.valueOf(2), tasks.getStats().getDeadlinesPerWeek().get(LocalDate.of(2026, 10, 19)));
+    assertMatchesRecount(tasks);
+  }
+}